@@ -38,6 +38,8 @@ import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.impl.CoveredAttributesLayout;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.security.permission.MapPermission;
@@ -110,6 +112,7 @@ public final class MapIndexScanP extends AbstractProcessor {
 
     private final ArrayList<Split> splits = new ArrayList<>();
     private MapScanRow row;
+    private CoveredAttributesLayout coveredAttributesLayout;
     private JetSqlRow pendingItem;
     private boolean isIndexSorted;
 
@@ -124,8 +127,10 @@ public final class MapIndexScanP extends AbstractProcessor {
         reader = new LocalMapIndexReader(hazelcastInstance, evalContext.getSerializationService(), metadata);
 
         MapContainer mapContainer = QueryUtils.getMapContainer(hazelcastInstance.getMap(metadata.getMapName()));
-        boolean compositeIndex = MapFetchIndexOperation.getInternalIndex(mapContainer,
-                        metadata.getMapName(), metadata.getIndexName()).isComposite();
+        InternalIndex index = MapFetchIndexOperation.getInternalIndex(mapContainer,
+                metadata.getMapName(), metadata.getIndexName());
+        boolean compositeIndex = index.isComposite();
+        coveredAttributesLayout = index.getCoveredAttributesLayout();
 
         int[] memberPartitions = context.processorPartitions();
         IndexIterationPointer[] pointers = indexFilterToPointers(metadata.getFilter(), compositeIndex,
@@ -144,7 +149,8 @@ public final class MapIndexScanP extends AbstractProcessor {
                 Extractors.newBuilder(evalContext.getSerializationService())
                         .setGetterCacheSupplier(SIMPLE_GETTER_CACHE_SUPPLIER)
                         .build(),
-                evalContext.getSerializationService()
+                evalContext.getSerializationService(),
+                coveredAttributesLayout
         );
         isIndexSorted = metadata.getComparator() != null;
     }
@@ -395,6 +401,8 @@ public final class MapIndexScanP extends AbstractProcessor {
                     entry.getKeyIfPresent(), entry.getKeyDataIfPresent(),
                     entry.getValueIfPresent(), entry.getValueDataIfPresent()
             );
+            // entries fetched from remote members don't carry the covered values
+            row.setCoveredValues(coveredAttributesLayout == null ? null : entry.getCoveredValues(coveredAttributesLayout));
             return ExpressionUtil.projection(metadata.getRemainingFilter(), metadata.getProjection(), row, evalContext);
         }
 
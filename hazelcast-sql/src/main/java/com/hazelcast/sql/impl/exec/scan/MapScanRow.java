@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.exec.scan;
 
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.query.impl.CoveredAttributesLayout;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
 import com.hazelcast.sql.impl.extract.QueryPath;
@@ -30,21 +31,32 @@ import java.util.List;
 
 /**
  * Key-value row that is used for iteration over maps. The row is mutable and is not used by parent operators.
+ * <p>
+ * Fields covered by the index the map is scanned with are read from the values the index captured on the
+ * current entry, if any, without extracting them from the key or value.
  */
 public final class MapScanRow implements Row {
 
     private final QueryTarget keyTarget;
     private final QueryTarget valueTarget;
     private final QueryExtractor[] fieldExtractors;
+    private final QueryDataType[] fieldTypes;
+    private final int[] coveredPositions;
+
+    private Object[] coveredValues;
 
     private MapScanRow(
         QueryTarget keyTarget,
         QueryTarget valueTarget,
-        QueryExtractor[] fieldExtractors
+        QueryExtractor[] fieldExtractors,
+        QueryDataType[] fieldTypes,
+        int[] coveredPositions
     ) {
         this.keyTarget = keyTarget;
         this.valueTarget = valueTarget;
         this.fieldExtractors = fieldExtractors;
+        this.fieldTypes = fieldTypes;
+        this.coveredPositions = coveredPositions;
     }
 
     public static MapScanRow create(
@@ -53,21 +65,26 @@ public final class MapScanRow implements Row {
         List<QueryPath> fieldPaths,
         List<QueryDataType> fieldTypes,
         Extractors extractors,
-        InternalSerializationService serializationService
+        InternalSerializationService serializationService,
+        CoveredAttributesLayout coveredAttributesLayout
     ) {
         QueryTarget keyTarget = keyDescriptor.create(serializationService, extractors, true);
         QueryTarget valueTarget = valueDescriptor.create(serializationService, extractors, false);
 
         QueryExtractor[] fieldExtractors = new QueryExtractor[fieldPaths.size()];
+        QueryDataType[] fieldTypes0 = new QueryDataType[fieldPaths.size()];
+        int[] coveredPositions = new int[fieldPaths.size()];
 
         for (int i = 0; i < fieldPaths.size(); i++) {
             QueryPath fieldPath = fieldPaths.get(i);
             QueryDataType fieldType = fieldTypes.get(i);
 
             fieldExtractors[i] = createExtractor(keyTarget, valueTarget, fieldPath, fieldType);
+            fieldTypes0[i] = fieldType;
+            coveredPositions[i] = coveredPosition(coveredAttributesLayout, fieldPath);
         }
 
-        return new MapScanRow(keyTarget, valueTarget, fieldExtractors);
+        return new MapScanRow(keyTarget, valueTarget, fieldExtractors, fieldTypes0, coveredPositions);
     }
 
     /**
@@ -83,15 +100,32 @@ public final class MapScanRow implements Row {
         valueTarget.setTarget(rawValue, rawValueData);
     }
 
+    /**
+     * Set the values the index captured on the current entry.
+     *
+     * @param coveredValues the values positioned as in the layout the row was created with, might be null
+     */
+    public void setCoveredValues(Object[] coveredValues) {
+        this.coveredValues = coveredValues;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(int idx) {
+        int coveredPosition = coveredPositions[idx];
+        if (coveredValues != null && coveredPosition >= 0) {
+            return (T) fieldTypes[idx].convert(coveredValues[coveredPosition]);
+        }
         return (T) fieldExtractors[idx].get();
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(int idx, boolean useLazyDeserialization) {
+        int coveredPosition = coveredPositions[idx];
+        if (coveredValues != null && coveredPosition >= 0) {
+            return (T) fieldTypes[idx].convert(coveredValues[coveredPosition]);
+        }
         return (T) fieldExtractors[idx].get(useLazyDeserialization);
     }
 
@@ -100,6 +134,20 @@ public final class MapScanRow implements Row {
         return fieldExtractors.length;
     }
 
+    private static int coveredPosition(CoveredAttributesLayout layout, QueryPath fieldPath) {
+        if (layout == null) {
+            return -1;
+        }
+
+        for (int i = 0; i < layout.size(); i++) {
+            if (QueryPath.create(layout.getAttributeName(i)).equals(fieldPath)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     private static QueryExtractor createExtractor(
         QueryTarget keyTarget,
         QueryTarget valueTarget,
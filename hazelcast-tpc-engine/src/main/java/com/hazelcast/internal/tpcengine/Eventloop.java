@@ -57,6 +57,8 @@ public abstract class Eventloop {
     protected final NanoClock nanoClock;
     protected final PromiseAllocator promiseAllocator;
     protected final Scheduler scheduler;
+    // the default TaskGroup if the scheduler is a FairScheduler; otherwise null.
+    private final TaskGroup defaultTaskGroup;
 
     protected long earliestDeadlineNanos = -1;
     protected boolean stop;
@@ -75,6 +77,9 @@ public abstract class Eventloop {
                 : new CachedNanoClock(builder.clockRefreshPeriod);
         this.scheduler = builder.schedulerSupplier.get();
         scheduler.init(this);
+        this.defaultTaskGroup = scheduler instanceof FairScheduler
+                ? ((FairScheduler) scheduler).defaultTaskGroup()
+                : null;
     }
 
     /**
@@ -130,6 +135,19 @@ public abstract class Eventloop {
     protected final boolean runLocalTasks() {
         final int batchSize0 = batchSize;
         final CircularQueue localTaskQueue0 = localTaskQueue;
+        final TaskGroup defaultTaskGroup0 = defaultTaskGroup;
+        if (defaultTaskGroup0 != null) {
+            int moved = 0;
+            for (; moved < batchSize0; moved++) {
+                Object task = localTaskQueue0.peek();
+                if (task == null || !offer(defaultTaskGroup0, task)) {
+                    break;
+                }
+                localTaskQueue0.poll();
+            }
+            return moved > 0 || !localTaskQueue0.isEmpty();
+        }
+
         for (int k = 0; k < batchSize0; k++) {
             Object task = localTaskQueue0.poll();
             if (task == null) {
@@ -157,6 +175,19 @@ public abstract class Eventloop {
         final int batchSize0 = batchSize;
         final MpmcArrayQueue externalTaskQueue0 = externalTaskQueue;
         final Scheduler scheduler0 = scheduler;
+        final TaskGroup defaultTaskGroup0 = defaultTaskGroup;
+        if (defaultTaskGroup0 != null) {
+            int moved = 0;
+            for (; moved < batchSize0; moved++) {
+                Object task = externalTaskQueue0.peek();
+                if (task == null || !offer(defaultTaskGroup0, task)) {
+                    break;
+                }
+                externalTaskQueue0.poll();
+            }
+            return moved > 0 || !externalTaskQueue0.isEmpty();
+        }
+
         for (int k = 0; k < batchSize0; k++) {
             Object task = externalTaskQueue0.poll();
             if (task == null) {
@@ -180,6 +211,23 @@ public abstract class Eventloop {
         return !externalTaskQueue0.isEmpty();
     }
 
+    /**
+     * Offers a task to the given TaskGroup so that the {@link FairScheduler}
+     * controls when it runs.
+     *
+     * @return false if the TaskGroup is full and the task should stay on its queue
+     * until the scheduler has made room; true otherwise. A task the TaskGroup can't
+     * process, is logged and dropped.
+     */
+    private boolean offer(TaskGroup taskGroup, Object task) {
+        try {
+            return taskGroup.offer(task);
+        } catch (IllegalArgumentException e) {
+            logger.warning(e);
+            return true;
+        }
+    }
+
     /**
      * Schedules a one shot action with the given delay.
      *
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpcengine;
+
+import com.hazelcast.internal.tpcengine.logging.TpcLogger;
+import com.hazelcast.internal.tpcengine.logging.TpcLoggerLocator;
+import com.hazelcast.internal.tpcengine.util.NanoClock;
+import com.hazelcast.internal.tpcengine.util.StandardNanoClock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * A {@link Scheduler} that divides the run time of the eventloop fairly over
+ * {@link TaskGroup}s; similar to the completely fair scheduler of Linux.
+ * <p/>
+ * The wall-clock time the tasks of a TaskGroup run is measured with the
+ * {@link NanoClock} of the scheduler and, weighted by the shares of the
+ * TaskGroup, added to its virtual runtime. The active TaskGroup with the
+ * lowest virtual runtime is selected to run next, for a time slice that is
+ * proportional to its shares.
+ * <p/>
+ * Thread CPU time isn't used since it is much more expensive to read for
+ * every task; the two only differ when the eventloop thread is descheduled
+ * or blocked while running a task.
+ * <p/>
+ * To prevent the tasks from starving the I/O and the scheduled tasks of the
+ * eventloop, every {@link #tick()} is bound by a time budget. The tick also
+ * ends when the earliest scheduled task of the eventloop is due.
+ * <p/>
+ * The tasks offered to the {@link Reactor}, Runnable or not, are run through
+ * the default TaskGroup. If the default TaskGroup is full, the tasks remain on
+ * the task queues of the eventloop until the TaskGroup has room again.
+ * <p/>
+ * This class is not thread-safe, except for {@link #taskGroups()}, and should
+ * only be used from the eventloop thread.
+ */
+public class FairScheduler implements Scheduler {
+
+    /**
+     * The default shares of a {@link TaskGroup}.
+     */
+    public static final int DEFAULT_SHARES = 1024;
+
+    /**
+     * The default capacity of the task queue of a {@link TaskGroup}.
+     */
+    public static final int DEFAULT_TASK_QUEUE_CAPACITY = 65536;
+
+    private static final long DEFAULT_TICK_BUDGET_NANOS = MICROSECONDS.toNanos(200);
+    private static final long DEFAULT_TARGET_LATENCY_NANOS = MICROSECONDS.toNanos(1000);
+    private static final long DEFAULT_MIN_GRANULARITY_NANOS = MICROSECONDS.toNanos(50);
+
+    private final TpcLogger logger = TpcLoggerLocator.getLogger(FairScheduler.class);
+    private final PriorityQueue<TaskGroup> runQueue
+            = new PriorityQueue<>((g1, g2) -> Long.compare(g1.vruntimeNanos, g2.vruntimeNanos));
+    private final List<TaskGroup> taskGroups = new CopyOnWriteArrayList<>();
+    private final long tickBudgetNanos;
+    private final long targetLatencyNanos;
+    private final long minGranularityNanos;
+    private final NanoClock clock;
+    private final TaskGroup defaultTaskGroup;
+    private Eventloop eventloop;
+    // the sum of the shares of the active task groups.
+    private long activeShares;
+    private long minVruntimeNanos;
+
+    /**
+     * Creates a FairScheduler with a default TaskGroup that only processes Runnables.
+     */
+    public FairScheduler() {
+        this(null);
+    }
+
+    /**
+     * Creates a FairScheduler.
+     *
+     * @param defaultProcessor the processor for the tasks on the default TaskGroup
+     *                         that aren't a Runnable. Can be null.
+     */
+    public FairScheduler(Consumer<Object> defaultProcessor) {
+        this(defaultProcessor, DEFAULT_TICK_BUDGET_NANOS, DEFAULT_TARGET_LATENCY_NANOS, DEFAULT_MIN_GRANULARITY_NANOS);
+    }
+
+    /**
+     * Creates a FairScheduler.
+     *
+     * @param defaultProcessor    the processor for the tasks on the default TaskGroup
+     *                            that aren't a Runnable. Can be null.
+     * @param tickBudgetNanos     the maximum time a single tick runs tasks before control
+     *                            is handed back to the eventloop.
+     * @param targetLatencyNanos  the period in which every active TaskGroup should get a
+     *                            chance to run. It is divided over the active TaskGroups
+     *                            to determine their time slice.
+     * @param minGranularityNanos the minimal time slice of a TaskGroup.
+     * @throws IllegalArgumentException if any of the durations isn't positive.
+     */
+    public FairScheduler(Consumer<Object> defaultProcessor,
+                         long tickBudgetNanos,
+                         long targetLatencyNanos,
+                         long minGranularityNanos) {
+        this(defaultProcessor, tickBudgetNanos, targetLatencyNanos, minGranularityNanos, new StandardNanoClock());
+    }
+
+    FairScheduler(Consumer<Object> defaultProcessor,
+                  long tickBudgetNanos,
+                  long targetLatencyNanos,
+                  long minGranularityNanos,
+                  NanoClock clock) {
+        this.tickBudgetNanos = checkPositive(tickBudgetNanos, "tickBudgetNanos");
+        this.targetLatencyNanos = checkPositive(targetLatencyNanos, "targetLatencyNanos");
+        this.minGranularityNanos = checkPositive(minGranularityNanos, "minGranularityNanos");
+        this.clock = checkNotNull(clock, "clock");
+        this.defaultTaskGroup = newTaskGroup("default", DEFAULT_SHARES, DEFAULT_TASK_QUEUE_CAPACITY, defaultProcessor);
+    }
+
+    /**
+     * Creates a new {@link TaskGroup}.
+     * <p/>
+     * Should only be called from the eventloop thread, or before the eventloop
+     * is started.
+     *
+     * @param name      the name of the TaskGroup.
+     * @param shares    the shares of the TaskGroup; see {@link #DEFAULT_SHARES}.
+     * @param capacity  the capacity of the task queue.
+     * @param processor the processor for tasks that aren't a Runnable. Can be null.
+     * @return the created TaskGroup.
+     * @throws NullPointerException     if name is null.
+     * @throws IllegalArgumentException if shares or capacity isn't positive.
+     */
+    public TaskGroup newTaskGroup(String name, int shares, int capacity, Consumer<Object> processor) {
+        checkNotNull(name, "name");
+        checkPositive(shares, "shares");
+        checkPositive(capacity, "capacity");
+
+        TaskGroup taskGroup = new TaskGroup(this, name, shares, capacity, processor);
+        taskGroups.add(taskGroup);
+        return taskGroup;
+    }
+
+    /**
+     * Returns the default TaskGroup.
+     *
+     * @return the default TaskGroup.
+     */
+    public TaskGroup defaultTaskGroup() {
+        return defaultTaskGroup;
+    }
+
+    /**
+     * Returns the TaskGroups of this scheduler. Can be called from any thread,
+     * e.g. to read the {@link TaskGroupMetrics}.
+     *
+     * @return the TaskGroups.
+     */
+    public List<TaskGroup> taskGroups() {
+        return Collections.unmodifiableList(taskGroups);
+    }
+
+    @Override
+    public void init(Eventloop eventloop) {
+        this.eventloop = eventloop;
+    }
+
+    @Override
+    public void schedule(Object task) {
+        if (!defaultTaskGroup.offer(task)) {
+            throw new RejectedExecutionException("Task " + task + " rejected from " + defaultTaskGroup);
+        }
+    }
+
+    void activate(TaskGroup taskGroup) {
+        // A TaskGroup that has been idle, should not be able to monopolize the
+        // eventloop to catch up with the TaskGroups that have been busy.
+        taskGroup.vruntimeNanos = Math.max(taskGroup.vruntimeNanos, minVruntimeNanos);
+        taskGroup.active = true;
+        activeShares += taskGroup.shares;
+        runQueue.offer(taskGroup);
+    }
+
+    @Override
+    public boolean tick() {
+        final PriorityQueue<TaskGroup> runQueue0 = runQueue;
+        long nowNanos = clock.nanoTime();
+        long tickDeadlineNanos = nowNanos + tickBudgetNanos;
+        Eventloop eventloop0 = eventloop;
+        if (eventloop0 != null && eventloop0.earliestDeadlineNanos != -1) {
+            // don't delay the scheduled tasks of the eventloop
+            long remainingNanos = eventloop0.earliestDeadlineNanos - eventloop0.nanoClock.nanoTime();
+            tickDeadlineNanos = Math.min(tickDeadlineNanos, nowNanos + Math.max(0, remainingNanos));
+        }
+
+        // at least one task is run on every tick to guarantee progress.
+        do {
+            TaskGroup taskGroup = runQueue0.poll();
+            if (taskGroup == null) {
+                return false;
+            }
+
+            nowNanos = run(taskGroup, nowNanos, tickDeadlineNanos);
+        } while (nowNanos < tickDeadlineNanos);
+
+        return !runQueue0.isEmpty();
+    }
+
+    private long run(TaskGroup taskGroup, long startNanos, long tickDeadlineNanos) {
+        final TaskGroupMetrics metrics = taskGroup.metrics();
+        long sliceNanos = Math.max(minGranularityNanos, targetLatencyNanos * taskGroup.shares / activeShares);
+        long sliceDeadlineNanos = Math.min(startNanos + sliceNanos, tickDeadlineNanos);
+        metrics.incRuns();
+
+        long nowNanos = startNanos;
+        do {
+            Object task = taskGroup.queue.poll();
+            if (task == null) {
+                break;
+            }
+
+            try {
+                taskGroup.run(task);
+            } catch (Exception e) {
+                metrics.incTaskErrors();
+                logger.warning(e);
+            }
+            metrics.incTasksCompleted();
+
+            long endNanos = clock.nanoTime();
+            long wallTimeNanos = endNanos - nowNanos;
+            metrics.incWallTimeNanos(wallTimeNanos);
+            taskGroup.vruntimeNanos += wallTimeNanos * DEFAULT_SHARES / taskGroup.shares;
+            nowNanos = endNanos;
+        } while (nowNanos < sliceDeadlineNanos);
+
+        if (taskGroup.queue.isEmpty()) {
+            taskGroup.active = false;
+            activeShares -= taskGroup.shares;
+        } else {
+            runQueue.offer(taskGroup);
+        }
+
+        TaskGroup head = runQueue.peek();
+        long lowestVruntimeNanos = head == null ? taskGroup.vruntimeNanos : head.vruntimeNanos;
+        minVruntimeNanos = Math.max(minVruntimeNanos, lowestVruntimeNanos);
+        return nowNanos;
+    }
+}
@@ -25,10 +25,9 @@ package com.hazelcast.internal.tpcengine;
  * of work like e.g. networking, storage, outside tasks etc can be processed as well;
  * otherwise they would starve.
  * <p/>
- * This API probably needs a lot of additional design improvements. Currently there are
- * other sources of work for the eventloop (like concurrent tasks) that get processed
- * without any control of the scheduler. Perhaps it should all go through the scheduler
- * so that the scheduler controls all aspects of tasks executed on the Eventloop.
+ * This API probably needs a lot of additional design improvements. Unless the scheduler
+ * is a {@link FairScheduler}, there are other sources of work for the eventloop (like
+ * concurrent tasks) that get processed without any control of the scheduler.
  */
 public interface Scheduler {
 
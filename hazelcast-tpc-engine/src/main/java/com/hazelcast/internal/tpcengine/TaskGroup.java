@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpcengine;
+
+import com.hazelcast.internal.tpcengine.util.CircularQueue;
+
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
+
+/**
+ * A group of tasks that is scheduled by the {@link FairScheduler}. Every
+ * TaskGroup gets a share of the run time of the eventloop proportional to its
+ * {@link #shares()}, so one busy TaskGroup can't starve the others.
+ * <p/>
+ * A task is either a {@link Runnable} which is run, or an object that is
+ * handed to the processor of the TaskGroup.
+ * <p/>
+ * This class is not thread-safe and should only be used from the eventloop
+ * thread. Tasks from other threads can be added by offering a Runnable to the
+ * {@link Reactor} that offers the task to the TaskGroup.
+ */
+public final class TaskGroup {
+
+    final CircularQueue<Object> queue;
+    final int shares;
+    // the wall-clock run time weighted by the shares; the TaskGroup with the lowest vruntime runs first.
+    long vruntimeNanos;
+    // true if the TaskGroup is on the run queue of the scheduler or is running.
+    boolean active;
+
+    private final String name;
+    private final Consumer<Object> processor;
+    private final FairScheduler scheduler;
+    private final TaskGroupMetrics metrics = new TaskGroupMetrics();
+
+    TaskGroup(FairScheduler scheduler, String name, int shares, int capacity, Consumer<Object> processor) {
+        this.scheduler = scheduler;
+        this.name = name;
+        this.shares = shares;
+        this.queue = new CircularQueue<>(capacity);
+        this.processor = processor;
+    }
+
+    /**
+     * Returns the name of this TaskGroup.
+     *
+     * @return the name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the shares of this TaskGroup. The run time of the eventloop is
+     * divided over the active TaskGroups proportional to their shares.
+     *
+     * @return the shares.
+     */
+    public int shares() {
+        return shares;
+    }
+
+    /**
+     * Returns the {@link TaskGroupMetrics} of this TaskGroup. The metrics can
+     * be read from any thread.
+     *
+     * @return the metrics.
+     */
+    public TaskGroupMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of pending tasks.
+     *
+     * @return the number of pending tasks.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Offers a task to this TaskGroup.
+     * <p/>
+     * Should only be called from the eventloop thread.
+     *
+     * @param task the task.
+     * @return true if the task was accepted, false if the queue is full.
+     * @throws NullPointerException     if task is null.
+     * @throws IllegalArgumentException if task isn't a Runnable and this TaskGroup
+     *                                  has no processor.
+     */
+    public boolean offer(Object task) {
+        checkNotNull(task, "task");
+        if (processor == null && !(task instanceof Runnable)) {
+            throw new IllegalArgumentException("TaskGroup " + name + " can only process Runnables, found " + task);
+        }
+
+        if (!queue.offer(task)) {
+            return false;
+        }
+
+        if (!active) {
+            scheduler.activate(this);
+        }
+        return true;
+    }
+
+    void run(Object task) {
+        if (task instanceof Runnable) {
+            ((Runnable) task).run();
+        } else {
+            processor.accept(task);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskGroup{"
+                + "name='" + name + '\''
+                + ", shares=" + shares
+                + ", size=" + queue.size()
+                + ", vruntimeNanos=" + vruntimeNanos
+                + '}';
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpcengine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Contains the metrics for a {@link TaskGroup}.
+ * <p/>
+ * The metrics are only updated by the eventloop thread, but can be read
+ * by any thread.
+ */
+@SuppressWarnings("checkstyle:ConstantName")
+public class TaskGroupMetrics {
+
+    private static final VarHandle TASKS_COMPLETED;
+    private static final VarHandle TASK_ERRORS;
+    private static final VarHandle WALL_TIME_NANOS;
+    private static final VarHandle RUNS;
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TASKS_COMPLETED = l.findVarHandle(TaskGroupMetrics.class, "tasksCompleted", long.class);
+            TASK_ERRORS = l.findVarHandle(TaskGroupMetrics.class, "taskErrors", long.class);
+            WALL_TIME_NANOS = l.findVarHandle(TaskGroupMetrics.class, "wallTimeNanos", long.class);
+            RUNS = l.findVarHandle(TaskGroupMetrics.class, "runs", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long tasksCompleted;
+    private volatile long taskErrors;
+    private volatile long wallTimeNanos;
+    private volatile long runs;
+
+    /**
+     * Returns the number of completed tasks; including the ones that failed.
+     *
+     * @return the number of completed tasks.
+     */
+    public long tasksCompleted() {
+        return (long) TASKS_COMPLETED.getOpaque(this);
+    }
+
+    /**
+     * Increases the number of completed tasks by 1.
+     */
+    public void incTasksCompleted() {
+        TASKS_COMPLETED.setOpaque(this, (long) TASKS_COMPLETED.getOpaque(this) + 1);
+    }
+
+    /**
+     * Returns the number of tasks that failed with an exception.
+     *
+     * @return the number of failed tasks.
+     */
+    public long taskErrors() {
+        return (long) TASK_ERRORS.getOpaque(this);
+    }
+
+    /**
+     * Increases the number of failed tasks by 1.
+     */
+    public void incTaskErrors() {
+        TASK_ERRORS.setOpaque(this, (long) TASK_ERRORS.getOpaque(this) + 1);
+    }
+
+    /**
+     * Returns the wall-clock time in nanoseconds the tasks of the {@link TaskGroup}
+     * have been running on the eventloop. It includes the time the eventloop
+     * thread was descheduled or blocked while running the tasks, so it is an
+     * upper bound of the CPU time the tasks used.
+     *
+     * @return the wall-clock time in nanoseconds.
+     */
+    public long wallTimeNanos() {
+        return (long) WALL_TIME_NANOS.getOpaque(this);
+    }
+
+    /**
+     * Increases the wall-clock time.
+     *
+     * @param delta the amount of nanoseconds to increase.
+     */
+    public void incWallTimeNanos(long delta) {
+        WALL_TIME_NANOS.setOpaque(this, (long) WALL_TIME_NANOS.getOpaque(this) + delta);
+    }
+
+    /**
+     * Returns the number of times the {@link TaskGroup} was selected to run
+     * by the {@link FairScheduler}.
+     *
+     * @return the number of runs.
+     */
+    public long runs() {
+        return (long) RUNS.getOpaque(this);
+    }
+
+    /**
+     * Increases the number of runs by 1.
+     */
+    public void incRuns() {
+        RUNS.setOpaque(this, (long) RUNS.getOpaque(this) + 1);
+    }
+}
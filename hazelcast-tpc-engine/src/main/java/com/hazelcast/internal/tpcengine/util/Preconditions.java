@@ -48,6 +48,21 @@ public final class Preconditions {
         return value;
     }
 
+    /**
+     * Tests if a {@code value} is positive, that is strictly larger than 0 (value &gt; 0).
+     *
+     * @param value     the value tested to see if it is positive.
+     * @param paramName the the name of the checked parameter that will be in exception message
+     * @return the value
+     * @throws IllegalArgumentException if the value is not positive.
+     */
+    public static long checkPositive(long value, String paramName) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(paramName + " is " + value + " but must be > 0");
+        }
+        return value;
+    }
+
     /**
      * Tests if the {@code value} is &gt;= 0.
      *
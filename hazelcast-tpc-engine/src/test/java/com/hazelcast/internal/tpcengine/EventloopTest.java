@@ -26,8 +26,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import static com.hazelcast.internal.tpcengine.TpcTestSupport.assertEqualsEventually;
 import static com.hazelcast.internal.tpcengine.TpcTestSupport.assertTrueEventually;
 import static com.hazelcast.internal.tpcengine.TpcTestSupport.terminate;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public abstract class EventloopTest {
 
@@ -75,4 +77,58 @@ public abstract class EventloopTest {
         long duration = System.currentTimeMillis() - startMs;
         System.out.println("duration:" + duration + " ms");
     }
+
+    @Test
+    public void test_fairScheduler_whenTasksOffered_thenRunThroughDefaultTaskGroup() {
+        ReactorBuilder reactorBuilder = newReactorBuilder();
+        reactorBuilder.setSchedulerSupplier(FairScheduler::new);
+        Reactor fairReactor = reactorBuilder.build().start();
+        try {
+            FairScheduler scheduler = (FairScheduler) fairReactor.scheduler();
+            AtomicInteger executedCount = new AtomicInteger();
+            fairReactor.offer(() -> {
+                executedCount.incrementAndGet();
+                // a local task
+                fairReactor.offer(executedCount::incrementAndGet);
+            });
+
+            assertEqualsEventually(2, executedCount);
+            assertTrueEventually(() -> assertEquals(2, scheduler.defaultTaskGroup().metrics().tasksCompleted()));
+        } finally {
+            terminate(fairReactor);
+        }
+    }
+
+    @Test
+    public void test_fairScheduler_whenBusyTaskGroup_thenOtherTasksNotStarved() {
+        ReactorBuilder reactorBuilder = newReactorBuilder();
+        reactorBuilder.setSchedulerSupplier(FairScheduler::new);
+        Reactor fairReactor = reactorBuilder.build().start();
+        try {
+            FairScheduler scheduler = (FairScheduler) fairReactor.scheduler();
+            fairReactor.offer(() -> {
+                TaskGroup busyGroup = scheduler.newTaskGroup("busy", FairScheduler.DEFAULT_SHARES, 16, null);
+                busyGroup.offer(new Runnable() {
+                    @Override
+                    public void run() {
+                        busyGroup.offer(this);
+                    }
+                });
+            });
+
+            Task scheduledTask = new Task();
+            fairReactor.offer(() -> fairReactor.eventloop.schedule(scheduledTask, 100, MILLISECONDS));
+            assertTrueEventually(() -> assertEquals(1, scheduledTask.count.get()));
+
+            AtomicInteger executedCount = new AtomicInteger();
+            fairReactor.offer(executedCount::incrementAndGet);
+            assertEqualsEventually(1, executedCount);
+
+            TaskGroup busyGroup = scheduler.taskGroups().get(1);
+            assertTrue(busyGroup.metrics().tasksCompleted() > 0);
+            assertTrue(busyGroup.metrics().wallTimeNanos() > 0);
+        } finally {
+            terminate(fairReactor);
+        }
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tpcengine;
+
+import com.hazelcast.internal.tpcengine.iobuffer.IOBuffer;
+import com.hazelcast.internal.tpcengine.util.NanoClock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class FairSchedulerTest {
+
+    private static final long TICK_BUDGET_NANOS = MICROSECONDS.toNanos(200);
+    private static final long TARGET_LATENCY_NANOS = MICROSECONDS.toNanos(1000);
+    private static final long MIN_GRANULARITY_NANOS = MICROSECONDS.toNanos(50);
+
+    private ManualNanoClock clock;
+    private List<Object> processed;
+    private FairScheduler scheduler;
+
+    @Before
+    public void before() {
+        clock = new ManualNanoClock();
+        processed = new ArrayList<>();
+        scheduler = new FairScheduler(processed::add, TICK_BUDGET_NANOS,
+                TARGET_LATENCY_NANOS, MIN_GRANULARITY_NANOS, clock);
+    }
+
+    @Test
+    public void test_construction_whenInvalidDurations() {
+        assertThrows(IllegalArgumentException.class, () -> new FairScheduler(null, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FairScheduler(null, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FairScheduler(null, 1, 1, 0));
+    }
+
+    @Test
+    public void test_newTaskGroup() {
+        TaskGroup taskGroup = scheduler.newTaskGroup("foo", 2048, 16, null);
+
+        assertEquals("foo", taskGroup.name());
+        assertEquals(2048, taskGroup.shares());
+        assertEquals(0, taskGroup.size());
+        assertEquals(2, scheduler.taskGroups().size());
+        assertSame(taskGroup, scheduler.taskGroups().get(1));
+    }
+
+    @Test
+    public void test_newTaskGroup_whenInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> scheduler.newTaskGroup(null, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.newTaskGroup("foo", 0, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.newTaskGroup("foo", 1, 0, null));
+    }
+
+    @Test
+    public void test_tick_whenNoTasks() {
+        assertFalse(scheduler.tick());
+    }
+
+    @Test
+    public void test_schedule() {
+        IOBuffer buffer = new IOBuffer(64);
+        scheduler.schedule(buffer);
+
+        assertFalse(scheduler.tick());
+        assertEquals(1, processed.size());
+        assertSame(buffer, processed.get(0));
+        assertEquals(1, scheduler.defaultTaskGroup().metrics().tasksCompleted());
+    }
+
+    @Test
+    public void test_schedule_whenNoProcessor() {
+        FairScheduler scheduler = new FairScheduler();
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(new IOBuffer(64)));
+    }
+
+    @Test
+    public void test_schedule_whenFull() {
+        TaskGroup taskGroup = scheduler.newTaskGroup("foo", FairScheduler.DEFAULT_SHARES, 1, null);
+
+        assertTrue(taskGroup.offer(new CpuTask(1)));
+        assertFalse(taskGroup.offer(new CpuTask(1)));
+
+        for (int k = 0; k < FairScheduler.DEFAULT_TASK_QUEUE_CAPACITY; k++) {
+            scheduler.schedule(new CpuTask(1));
+        }
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(new CpuTask(1)));
+    }
+
+    @Test
+    public void test_tick_whenTaskFails() {
+        TaskGroup taskGroup = scheduler.newTaskGroup("foo", FairScheduler.DEFAULT_SHARES, 16, null);
+        taskGroup.offer((Runnable) () -> {
+            throw new RuntimeException();
+        });
+        taskGroup.offer(new CpuTask(10));
+
+        assertFalse(scheduler.tick());
+
+        TaskGroupMetrics metrics = taskGroup.metrics();
+        assertEquals(2, metrics.tasksCompleted());
+        assertEquals(1, metrics.taskErrors());
+        assertEquals(1, metrics.runs());
+        assertEquals(MICROSECONDS.toNanos(10), metrics.wallTimeNanos());
+    }
+
+    @Test
+    public void test_tick_boundByTickBudget() {
+        TaskGroup taskGroup = scheduler.newTaskGroup("foo", FairScheduler.DEFAULT_SHARES, 16, null);
+        for (int k = 0; k < 10; k++) {
+            taskGroup.offer(new CpuTask(100));
+        }
+
+        assertTrue(scheduler.tick());
+        assertEquals(2, taskGroup.metrics().tasksCompleted());
+        assertEquals(8, taskGroup.size());
+    }
+
+    @Test
+    public void test_tick_runsAtLeastOneTask() {
+        TaskGroup taskGroup = scheduler.newTaskGroup("foo", FairScheduler.DEFAULT_SHARES, 16, null);
+        taskGroup.offer(new CpuTask(1000));
+        taskGroup.offer(new CpuTask(1000));
+
+        assertTrue(scheduler.tick());
+        assertEquals(1, taskGroup.metrics().tasksCompleted());
+    }
+
+    @Test
+    public void test_fairness_whenEqualShares() {
+        TaskGroup group1 = newBusyTaskGroup("group1", FairScheduler.DEFAULT_SHARES, 10);
+        TaskGroup group2 = newBusyTaskGroup("group2", FairScheduler.DEFAULT_SHARES, 10);
+
+        for (int k = 0; k < 1000; k++) {
+            scheduler.tick();
+        }
+
+        long wallTime1 = group1.metrics().wallTimeNanos();
+        long wallTime2 = group2.metrics().wallTimeNanos();
+        assertTrue(wallTime1 > 0);
+        assertEquals(1.0, (double) wallTime1 / wallTime2, 0.05);
+    }
+
+    @Test
+    public void test_fairness_whenDifferentShares() {
+        TaskGroup group1 = newBusyTaskGroup("group1", 2 * FairScheduler.DEFAULT_SHARES, 10);
+        TaskGroup group2 = newBusyTaskGroup("group2", FairScheduler.DEFAULT_SHARES, 10);
+
+        for (int k = 0; k < 1000; k++) {
+            scheduler.tick();
+        }
+
+        long wallTime1 = group1.metrics().wallTimeNanos();
+        long wallTime2 = group2.metrics().wallTimeNanos();
+        assertEquals(2.0, (double) wallTime1 / wallTime2, 0.1);
+    }
+
+    @Test
+    public void test_fairness_whenTaskGroupWasIdle() {
+        TaskGroup group1 = newBusyTaskGroup("group1", FairScheduler.DEFAULT_SHARES, 10);
+        for (int k = 0; k < 1000; k++) {
+            scheduler.tick();
+        }
+
+        // the idle group should not get all run time until it caught up with the busy group
+        TaskGroup group2 = newBusyTaskGroup("group2", FairScheduler.DEFAULT_SHARES, 10);
+        long wallTimeBefore1 = group1.metrics().wallTimeNanos();
+        for (int k = 0; k < 100; k++) {
+            scheduler.tick();
+        }
+
+        long wallTime1 = group1.metrics().wallTimeNanos() - wallTimeBefore1;
+        long wallTime2 = group2.metrics().wallTimeNanos();
+        assertEquals(1.0, (double) wallTime1 / wallTime2, 0.1);
+    }
+
+    private TaskGroup newBusyTaskGroup(String name, int shares, long cpuTimeMicros) {
+        TaskGroup taskGroup = scheduler.newTaskGroup(name, shares, 16, null);
+        taskGroup.offer(new Runnable() {
+            @Override
+            public void run() {
+                clock.time += MICROSECONDS.toNanos(cpuTimeMicros);
+                // keeps the task group busy forever
+                taskGroup.offer(this);
+            }
+        });
+        return taskGroup;
+    }
+
+    private final class CpuTask implements Runnable {
+        private final long cpuTimeMicros;
+
+        private CpuTask(long cpuTimeMicros) {
+            this.cpuTimeMicros = cpuTimeMicros;
+        }
+
+        @Override
+        public void run() {
+            clock.time += MICROSECONDS.toNanos(cpuTimeMicros);
+        }
+    }
+
+    private static final class ManualNanoClock implements NanoClock {
+        private long time;
+
+        @Override
+        public long nanoTime() {
+            return time;
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.LinkedList;
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
+import static org.junit.Assert.assertEquals;
 
 public class PreconditionsTest {
 
@@ -56,6 +57,16 @@ public class PreconditionsTest {
         checkPositive(-1, "foo");
     }
 
+    @Test
+    public void test_checkPositiveLong_whenPositive() {
+        assertEquals(1L, checkPositive(1L, "foo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_checkPositiveLong_whenZero() {
+        checkPositive(0L, "foo");
+    }
+
     @Test(expected = NullPointerException.class)
     public void test_checkNotNull2_whenNull() {
         checkNotNull(null, "foo");
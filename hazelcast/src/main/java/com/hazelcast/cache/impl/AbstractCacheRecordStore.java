@@ -34,6 +34,7 @@ import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.diagnostics.StoreLatencyPlugin;
+import com.hazelcast.internal.eviction.AdmissionFilter;
 import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
 import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
@@ -96,8 +97,10 @@ import static com.hazelcast.cache.impl.CacheEventContextUtil.createCacheRemovedE
 import static com.hazelcast.cache.impl.CacheEventContextUtil.createCacheUpdatedEvent;
 import static com.hazelcast.cache.impl.operation.MutableOperation.IGNORE_COMPLETION;
 import static com.hazelcast.cache.impl.record.CacheRecord.TIME_NOT_AVAILABLE;
+import static com.hazelcast.cache.impl.maxsize.impl.EntryCountCacheEvictionChecker.calculateMaxPartitionSize;
 import static com.hazelcast.cache.impl.record.CacheRecordFactory.isExpiredAt;
 import static com.hazelcast.internal.config.ConfigValidator.checkCacheEvictionConfig;
+import static com.hazelcast.internal.eviction.AdmissionFilterProvider.getAdmissionFilter;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
@@ -134,6 +137,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final SamplingEvictionStrategy<Data, R, CRM> evictionStrategy;
     protected final EvictionPolicyEvaluator<Data, R> evictionPolicyEvaluator;
+    protected final AdmissionFilter admissionFilter;
     protected final Map<CacheEventType, Set<CacheEventData>> batchEvent = new HashMap<CacheEventType, Set<CacheEventData>>();
     protected final CompositeCacheRSMutationObserver compositeCacheRSMutationObserver;
 
@@ -179,6 +183,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         this.records = createRecordCacheMap();
         this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy());
         this.evictionStrategy = createEvictionStrategy(evictionConfig);
+        // ENTRY_COUNT is a per node limit, the sketch is sized for one partition
+        this.admissionFilter = getAdmissionFilter(evictionConfig, evictionConfig.getMaxSizePolicy(),
+                calculateMaxPartitionSize(evictionConfig.getSize(), partitionCount));
         this.objectNamespace = CacheService.getObjectNamespace(cacheNameWithPrefix);
         this.persistWanReplicatedData = canPersistWanReplicatedData(cacheConfig, nodeEngine);
         this.cacheRecordFactory = new CacheRecordFactory(cacheConfig.getInMemoryFormat(), ss);
@@ -338,6 +345,10 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected abstract CacheEntryProcessorEntry createCacheEntryProcessorEntry(Data key, R record,
                                                                                long now, int completionId);
 
+    /**
+     * Creates a new record. Eviction to make room
+     * for the record is done by the callers.
+     */
     protected abstract R createRecord(Object value, long creationTime, long expiryTime);
 
     protected abstract Data valueToData(Object value);
@@ -406,6 +417,46 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         return evicted;
     }
 
+    /**
+     * Does eviction if required to make room for a new entry with the given
+     * key, consulting the {@link AdmissionFilter} if there is one.
+     *
+     * @param key the key of the new entry
+     * @return {@code true} if the new entry is admitted, {@code false} if it
+     * should be evicted right after it is stored
+     */
+    protected boolean evictIfRequired(Data key) {
+        if (admissionFilter == null || !isEvictionEnabled()) {
+            evictIfRequired();
+            return true;
+        }
+
+        admissionFilter.recordAccess(key);
+        admissionFilter.ensureCapacity(records.size());
+        int sizeBeforeEviction = records.size();
+        boolean admitted = evictionStrategy.evictToAdmit(records, evictionPolicyEvaluator, evictionChecker, this,
+                admissionFilter, key);
+        if (isStatisticsEnabled() && primary && records.size() < sizeBeforeEviction) {
+            statistics.increaseCacheEvictions(1);
+        }
+        return admitted;
+    }
+
+    /**
+     * Evicts the just stored entry with the given key,
+     * which was not admitted by the {@link AdmissionFilter}.
+     */
+    protected void evictRejected(Data key) {
+        R record = records.remove(key);
+        if (record == null) {
+            return;
+        }
+        onEvict(key, record, false);
+        if (isStatisticsEnabled() && primary) {
+            statistics.increaseCacheEvictions(1);
+        }
+    }
+
     @Override
     public void sampleAndForceRemoveEntries(int entryCountToRemove) {
         assertRunningOnPartitionThread();
@@ -584,6 +635,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
             } else if (!disablePerEntryInvalidationEvents) {
                 cacheService.sendInvalidationEvent(name, toHeapData(key), source);
             }
+        } else if (primary) {
+            // keeps Near Cache snapshots from being restored with stale values
+            cacheService.getCacheEventHandler().forceIncrementSequenceIfInitialized(name, partitionId);
         }
     }
 
@@ -630,6 +684,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     }
 
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
+        if (admissionFilter != null) {
+            admissionFilter.recordAccess(key);
+        }
         record.setLastAccessTime(now);
         record.incrementHits();
         return updateAccessDuration(key, record, expiryPolicy, now);
@@ -689,10 +746,12 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     }
 
     protected R createRecord(long expiryTime) {
+        evictIfRequired();
         return createRecord(null, Clock.currentTimeMillis(), expiryTime);
     }
 
     protected R createRecord(Object value, long expiryTime) {
+        evictIfRequired();
         return createRecord(value, Clock.currentTimeMillis(), expiryTime);
     }
 
@@ -712,6 +771,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected R createRecord(Data key, Object value, long expiryTime, long now,
                              boolean disableWriteThrough, int completionId, UUID origin) {
+        boolean admitted = evictIfRequired(key);
         R record = createRecord(value, now, expiryTime);
         try {
             doPutRecord(key, record, origin, true);
@@ -740,6 +800,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
             publishEvent(createCacheCreatedEvent(toEventData(key), toEventData(value),
                     expiryTime, origin, completionId));
         }
+        if (!admitted) {
+            evictRejected(key);
+        }
         return record;
     }
 
@@ -32,6 +32,7 @@ import java.util.UUID;
 
 import static com.hazelcast.cache.impl.ICacheService.SERVICE_NAME;
 import static com.hazelcast.internal.nearcache.impl.invalidation.InvalidationUtils.TRUE_FILTER;
+import static com.hazelcast.spi.properties.ClusterProperty.CACHE_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.CACHE_INVALIDATION_MESSAGE_BATCH_SIZE;
@@ -56,7 +57,9 @@ public class CacheEventHandler {
         boolean batchingEnabled = hazelcastProperties.getBoolean(CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED) && batchSize > 1;
 
         if (batchingEnabled) {
-            return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, TRUE_FILTER, nodeEngine);
+            boolean coalescingEnabled = hazelcastProperties.getBoolean(CACHE_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED);
+            return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, coalescingEnabled,
+                    TRUE_FILTER, nodeEngine);
         } else {
             return new NonStopInvalidator(SERVICE_NAME, TRUE_FILTER, nodeEngine);
         }
@@ -133,6 +136,10 @@ public class CacheEventHandler {
         invalidator.forceIncrementSequence(name, partitionId);
     }
 
+    public void forceIncrementSequenceIfInitialized(String name, int partitionId) {
+        invalidator.forceIncrementSequenceIfInitialized(name, partitionId);
+    }
+
     public void destroy(String name, UUID sourceUuid) {
         invalidator.destroy(name, sourceUuid);
     }
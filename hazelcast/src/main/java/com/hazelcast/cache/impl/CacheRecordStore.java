@@ -100,8 +100,6 @@ public class CacheRecordStore
 
     @Override
     protected CacheRecord createRecord(Object value, long creationTime, long expiryTime) {
-        evictIfRequired();
-
         markExpirable(expiryTime);
         return cacheRecordFactory.newRecordWithExpiry(value, creationTime, expiryTime);
     }
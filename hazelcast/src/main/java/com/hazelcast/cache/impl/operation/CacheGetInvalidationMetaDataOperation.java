@@ -168,6 +168,7 @@ public class CacheGetInvalidationMetaDataOperation extends Operation implements
                 ownedPartitionIds.size());
 
         for (String name : names) {
+            metaDataGenerator.initSequences(name);
             List<Map.Entry<Integer, Long>> mapSequences = new ArrayList<Map.Entry<Integer, Long>>();
             for (Integer partitionId : ownedPartitionIds) {
                 long partitionSequence = metaDataGenerator.currentSequence(name, partitionId);
@@ -610,12 +610,14 @@ public final class ClientConfigXmlGenerator {
                 .node("eviction", null, "size", eviction.getSize(),
                         "max-size-policy", eviction.getMaxSizePolicy(),
                         "eviction-policy", eviction.getEvictionPolicy(),
+                        "admission-policy", eviction.getAdmissionPolicy(),
                         "comparator-class-name", classNameOrImplClass(
                             eviction.getComparatorClassName(), eviction.getComparator()))
                 .node("preloader", null, "enabled", preloader.isEnabled(),
                         "directory", preloader.getDirectory(),
                         "store-initial-delay-seconds", preloader.getStoreInitialDelaySeconds(),
-                        "store-interval-seconds", preloader.getStoreIntervalSeconds());
+                        "store-interval-seconds", preloader.getStoreIntervalSeconds(),
+                        "preload-mode", preloader.getPreloadMode());
         //close near-cache
         gen.close();
     }
@@ -34,6 +34,7 @@ import com.hazelcast.client.config.ProxyFactoryConfig;
 import com.hazelcast.client.config.SocketOptions;
 import com.hazelcast.client.util.RandomLB;
 import com.hazelcast.client.util.RoundRobinLB;
+import com.hazelcast.config.AdmissionPolicy;
 import com.hazelcast.config.AliasedDiscoveryConfig;
 import com.hazelcast.config.AutoDetectionConfig;
 import com.hazelcast.config.CredentialsFactoryConfig;
@@ -48,6 +49,7 @@ import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.MetricsJmxConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.config.SocketInterceptorConfig;
@@ -361,6 +363,7 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         Node size = getNamedItemNode(node, "size");
         Node maxSizePolicy = getNamedItemNode(node, "max-size-policy");
         Node evictionPolicy = getNamedItemNode(node, "eviction-policy");
+        Node admissionPolicy = getNamedItemNode(node, "admission-policy");
         Node comparatorClassName = getNamedItemNode(node, "comparator-class-name");
         if (size != null) {
             evictionConfig.setSize(Integer.parseInt(getTextContent(size)));
@@ -374,6 +377,9 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
             evictionConfig.setEvictionPolicy(EvictionPolicy.valueOf(upperCaseInternal(getTextContent(evictionPolicy)))
             );
         }
+        if (admissionPolicy != null) {
+            evictionConfig.setAdmissionPolicy(AdmissionPolicy.valueOf(upperCaseInternal(getTextContent(admissionPolicy))));
+        }
         if (comparatorClassName != null) {
             evictionConfig.setComparatorClassName(getTextContent(comparatorClassName));
         }
@@ -386,6 +392,7 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         String directory = getAttribute(node, "directory");
         String storeInitialDelaySeconds = getAttribute(node, "store-initial-delay-seconds");
         String storeIntervalSeconds = getAttribute(node, "store-interval-seconds");
+        String preloadMode = getAttribute(node, "preload-mode");
         if (enabled != null) {
             preloaderConfig.setEnabled(getBooleanValue(enabled));
         }
@@ -399,6 +406,9 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         if (storeIntervalSeconds != null) {
             preloaderConfig.setStoreIntervalSeconds(getIntegerValue("storage-interval-seconds", storeIntervalSeconds));
         }
+        if (preloadMode != null) {
+            preloaderConfig.setPreloadMode(PreloadMode.valueOf(upperCaseInternal(preloadMode)));
+        }
         return preloaderConfig;
     }
 
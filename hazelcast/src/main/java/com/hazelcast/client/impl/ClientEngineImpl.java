@@ -237,7 +237,15 @@ public class ClientEngineImpl implements ClientEngine, CoreService,
         if (isUrgent(messageTask)) {
             operationService.execute((UrgentMessageTask) messageTask);
         } else if (messageTask instanceof AbstractPartitionMessageTask) {
-            operationService.execute((AbstractPartitionMessageTask) messageTask);
+            AbstractPartitionMessageTask partitionMessageTask = (AbstractPartitionMessageTask) messageTask;
+            if (clientMessage.getAsyncSocket() != null) {
+                // The message was read by a TPC reactor. The client sends partition bound requests
+                // to the reactor owning the partition, so the task can be run on the reactor thread
+                // instead of being handed off to the partition thread through the operation queue.
+                operationService.getOperationExecutor().runOrExecutePartitionTask(partitionMessageTask);
+            } else {
+                operationService.execute(partitionMessageTask);
+            }
         } else if (isQuery(messageTask)) {
             queryExecutor.execute(messageTask);
         } else if (messageTask instanceof TransactionalMessageTask) {
@@ -31,6 +31,7 @@ import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.config.InstanceTrackingConfig;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceMode;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceProductName;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
@@ -41,6 +42,7 @@ import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.memory.DefaultMemoryStats;
 import com.hazelcast.internal.memory.MemoryStats;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.internal.nearcache.impl.DefaultNearCacheManager;
 import com.hazelcast.internal.networking.ChannelInitializer;
@@ -85,9 +87,13 @@ public class DefaultClientExtension implements ClientExtension {
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
 
+    // shared by the Near Caches of all the services
+    private NativeMemoryBudget nativeMemoryBudget;
+
     @Override
     public void beforeStart(HazelcastClientInstanceImpl client) {
         this.client = client;
+        this.nativeMemoryBudget = createNativeMemoryBudget(client.getClientConfig().getNativeMemoryConfig());
     }
 
     @Override
@@ -233,7 +239,12 @@ public class DefaultClientExtension implements ClientExtension {
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
         HazelcastProperties properties = client.getProperties();
 
-        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties);
+        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties, nativeMemoryBudget);
+    }
+
+    private static NativeMemoryBudget createNativeMemoryBudget(NativeMemoryConfig nativeMemoryConfig) {
+        return nativeMemoryConfig.isEnabled()
+                ? new NativeMemoryBudget(nativeMemoryConfig.getCapacity().bytes()) : null;
     }
 
     @Override
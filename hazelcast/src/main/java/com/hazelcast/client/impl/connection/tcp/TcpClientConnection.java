@@ -79,6 +79,9 @@ public class TcpClientConnection implements ClientConnection {
     private volatile UUID remoteUuid;
     private volatile UUID clusterUuid;
     private volatile Channel[] tpcChannels;
+    // maps the index of a reactor on the member to the index of the TPC channel to use for it.
+    // Written before the TPC channels are set; so it is visible once the channels are.
+    private int[] tpcRoutingTable;
 
     public TcpClientConnection(HazelcastClientInstanceImpl client, int connectionId, Channel channel) {
         this.client = client;
@@ -122,7 +125,12 @@ public class TcpClientConnection implements ClientConnection {
             return channel.write(frame);
         }
 
-        int channelIndex = partitionId % tpcChannels.length;
+        // The partition is owned by the reactor 'partitionId % reactorCount' on the member,
+        // so we write to the channel connected to that reactor if there is one.
+        int[] tpcRoutingTable = this.tpcRoutingTable;
+        int channelIndex = tpcRoutingTable == null
+                ? partitionId % tpcChannels.length
+                : tpcRoutingTable[partitionId % tpcRoutingTable.length];
         return tpcChannels[channelIndex].write(frame);
     }
 
@@ -331,6 +339,10 @@ public class TcpClientConnection implements ClientConnection {
         return Collections.unmodifiableMap(eventHandlerMap);
     }
 
+    public void setTpcRoutingTable(int[] tpcRoutingTable) {
+        this.tpcRoutingTable = tpcRoutingTable;
+    }
+
     public void setTpcChannels(Channel[] tpcChannels) {
         this.tpcChannels = tpcChannels;
     }
@@ -114,6 +114,7 @@ import static com.hazelcast.client.properties.ClientProperty.HEARTBEAT_TIMEOUT;
 import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_GATHER_THRESHOLD;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.SHUFFLE_MEMBER_LIST;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.CLIENT_CHANGED_CLUSTER;
@@ -339,6 +340,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.client.io.output.thread.affinity"))
                         .balancerIntervalSeconds(properties.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(properties.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .gatherWriteThreshold(properties.getInteger(IO_WRITE_GATHER_THRESHOLD))
                         .concurrencyDetection(client.getConcurrencyDetection())
         );
     }
@@ -1322,6 +1324,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
 
     private void connectTpcPorts(TcpClientConnection connection, List<Integer> tpcPorts, byte[] tpcToken) {
         List<Integer> targetTpcPorts = getTargetTpcPorts(tpcPorts, client.getClientConfig().getTpcConfig());
+        connection.setTpcRoutingTable(getTpcRoutingTable(tpcPorts, targetTpcPorts));
 
         TpcChannelConnector connector = new TpcChannelConnector(
                 client,
@@ -1355,6 +1358,22 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
         return targetTpcPorts;
     }
 
+    /**
+     * Creates the table to route partition bound requests to the reactor owning the
+     * partition. The TPC ports are ordered by the index of the reactor on the member,
+     * so the index in the table is the reactor index and the value the index of the
+     * target port to use. Reactors the client doesn't connect to are spread over the
+     * target ports.
+     */
+    static int[] getTpcRoutingTable(List<Integer> tpcPorts, List<Integer> targetTpcPorts) {
+        int[] routingTable = new int[tpcPorts.size()];
+        for (int reactorIndex = 0; reactorIndex < routingTable.length; reactorIndex++) {
+            int channelIndex = targetTpcPorts.indexOf(tpcPorts.get(reactorIndex));
+            routingTable[reactorIndex] = channelIndex >= 0 ? channelIndex : reactorIndex % targetTpcPorts.size();
+        }
+        return routingTable;
+    }
+
     private class ClientChannelErrorHandler implements ChannelErrorHandler {
         @Override
         public void onError(Channel channel, Throwable cause) {
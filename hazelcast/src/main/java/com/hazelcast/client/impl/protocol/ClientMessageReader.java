@@ -27,9 +27,26 @@ import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 
+/**
+ * Reads the frames of a {@link ClientMessage} from a {@link ByteBuffer}.
+ * <p>
+ * The content of every frame is copied into an array owned by the read
+ * message. These arrays are not pooled: the decoded messages outlive the
+ * read, e.g. the decoded {@link com.hazelcast.internal.serialization.Data}
+ * wraps the frame content without copying it. Only the empty frames share
+ * their content. A reader can be reused for the next message after {@link
+ * #reset()}.
+ */
 public final class ClientMessageReader {
 
     private static final int INT_MASK = 0xffff;
+    /**
+     * Content shared by all frames without a payload. Begin, end and null
+     * marker frames make up a large share of the frames of collection
+     * payloads (e.g. {@code getAll}/{@code putAll}), and a zero-length array
+     * can safely be shared because it can never be mutated.
+     */
+    private static final byte[] EMPTY_CONTENT = new byte[0];
     private int readOffset = -1;
     private ClientMessage clientMessage;
     private int sumUntrustedMessageLength;
@@ -57,9 +74,13 @@ public final class ClientMessageReader {
         return clientMessage;
     }
 
+    /**
+     * Resets this reader so it can be reused to read the next message.
+     */
     public void reset() {
         readOffset = -1;
         clientMessage = null;
+        sumUntrustedMessageLength = 0;
     }
 
     private boolean readFrame(ByteBuffer src, boolean trusted) {
@@ -95,7 +116,7 @@ public final class ClientMessageReader {
             upcast(src).position(src.position() + Bits.SHORT_SIZE_IN_BYTES);
 
             int size = frameLength - SIZE_OF_FRAME_LENGTH_AND_FLAGS;
-            byte[] bytes = new byte[size];
+            byte[] bytes = size == 0 ? EMPTY_CONTENT : new byte[size];
             ClientMessage.Frame frame = new ClientMessage.Frame(bytes, flags);
             if (clientMessage == null) {
                 clientMessage = ClientMessage.createForDecode(frame);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.impl.protocol;
 
+import com.hazelcast.internal.networking.OutboundVector;
 import com.hazelcast.internal.nio.Bits;
 
 import java.nio.ByteBuffer;
@@ -31,12 +32,25 @@ public class ClientMessageWriter {
     private transient int writeOffset = -1;
 
     public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage) {
+        return writeTo(dst, clientMessage, null);
+    }
+
+    /**
+     * Writes the message to the dst buffer. Frames which are large enough are
+     * attached to the outboundVector instead of being copied into the buffer.
+     *
+     * @param dst            the destination buffer in writing mode
+     * @param clientMessage  the message to write
+     * @param outboundVector the vector to attach large frames to; can be null
+     * @return {@code true} if the message is completely written, {@code false} otherwise
+     */
+    public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage, OutboundVector outboundVector) {
         if (currentFrame == null) {
             currentFrame = clientMessage.getStartFrame();
         }
         for (; ; ) {
             boolean isLastFrame = currentFrame.next == null;
-            if (writeFrame(dst, currentFrame, isLastFrame)) {
+            if (writeFrame(dst, currentFrame, isLastFrame, outboundVector)) {
                 writeOffset = -1;
                 if (isLastFrame) {
                     currentFrame = null;
@@ -49,7 +63,8 @@ public class ClientMessageWriter {
         }
     }
 
-    private boolean writeFrame(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame) {
+    private boolean writeFrame(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame,
+                               OutboundVector outboundVector) {
         // the number of bytes that can be written to the bb
         int bytesWritable = dst.remaining();
         int frameContentLength = frame.content.length;
@@ -77,6 +92,12 @@ public class ClientMessageWriter {
             return true;
         }
 
+        if (writeOffset == 0 && outboundVector != null && outboundVector.canAttach(frameContentLength)) {
+            // the content is written to the socket directly after the bytes written to dst so far
+            outboundVector.attach(dst, frame.content, 0, frameContentLength);
+            return true;
+        }
+
         // the number of bytes that need to be written
         int bytesNeeded = frameContentLength - writeOffset;
 
@@ -192,15 +192,21 @@ public final class CustomTypeFactory {
     public static IndexConfig createIndexConfig(String name, int type, List<String> attributes,
                                                 BitmapIndexOptions bitmapIndexOptions,
                                                 boolean bTreeConfigExists,
-                                                BTreeIndexConfig bTreeIndexConfig) {
+                                                BTreeIndexConfig bTreeIndexConfig,
+                                                boolean includedAttributesExist,
+                                                List<String> includedAttributes) {
         IndexType type0 = IndexType.getById(type);
 
-        return new IndexConfig()
+        IndexConfig config = new IndexConfig()
                 .setName(name)
                 .setType(type0)
                 .setAttributes(attributes)
                 .setBitmapIndexOptions(bitmapIndexOptions)
                 .setBTreeIndexConfig(bTreeConfigExists ? bTreeIndexConfig : new BTreeIndexConfig());
+        if (includedAttributesExist) {
+            config.setIncludedAttributes(includedAttributes);
+        }
+        return config;
     }
 
     public static BitmapIndexOptions createBitmapIndexOptions(String uniqueKey, int uniqueKeyTransformation) {
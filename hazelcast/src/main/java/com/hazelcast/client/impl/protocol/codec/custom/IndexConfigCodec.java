@@ -25,7 +25,7 @@ import static com.hazelcast.client.impl.protocol.ClientMessage.*;
 import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.*;
 
 @SuppressWarnings("unused")
-@Generated("26af6399733e48bd1eacd61908bc21f7")
+@Generated("792ec4dd2bdfa5970e0b755f1c920956")
 public final class IndexConfigCodec {
     private static final int TYPE_FIELD_OFFSET = 0;
     private static final int INITIAL_FRAME_SIZE = TYPE_FIELD_OFFSET + INT_SIZE_IN_BYTES;
@@ -44,6 +44,7 @@ public final class IndexConfigCodec {
         ListMultiFrameCodec.encode(clientMessage, indexConfig.getAttributes(), StringCodec::encode);
         CodecUtil.encodeNullable(clientMessage, indexConfig.getBitmapIndexOptions(), BitmapIndexOptionsCodec::encode);
         CodecUtil.encodeNullable(clientMessage, indexConfig.getBTreeIndexConfig(), BTreeIndexConfigCodec::encode);
+        ListMultiFrameCodec.encode(clientMessage, indexConfig.getIncludedAttributes(), StringCodec::encode);
 
         clientMessage.add(END_FRAME.copy());
     }
@@ -64,9 +65,15 @@ public final class IndexConfigCodec {
             bTreeIndexConfig = CodecUtil.decodeNullable(iterator, BTreeIndexConfigCodec::decode);
             isBTreeIndexConfigExists = true;
         }
+        boolean isIncludedAttributesExists = false;
+        java.util.List<java.lang.String> includedAttributes = null;
+        if (!iterator.peekNext().isEndFrame()) {
+            includedAttributes = ListMultiFrameCodec.decode(iterator, StringCodec::decode);
+            isIncludedAttributesExists = true;
+        }
 
         fastForwardToEndFrame(iterator);
 
-        return CustomTypeFactory.createIndexConfig(name, type, attributes, bitmapIndexOptions, isBTreeIndexConfigExists, bTreeIndexConfig);
+        return CustomTypeFactory.createIndexConfig(name, type, attributes, bitmapIndexOptions, isBTreeIndexConfigExists, bTreeIndexConfig, isIncludedAttributesExists, includedAttributes);
     }
 }
@@ -44,6 +44,11 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
 
     @Override
     public HandlerStatus onWrite() {
+        if (outboundVector != null && !outboundVector.isEmpty()) {
+            // the attached frames are not written yet, so dst can't be compacted
+            return DIRTY;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -56,7 +61,7 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
                     }
                 }
 
-                if (clientMessageWriter.writeTo(dst, message)) {
+                if (clientMessageWriter.writeTo(dst, message, outboundVector)) {
                     // message got written, lets see if another message can be written
                     message = null;
                 } else {
@@ -65,7 +70,11 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
                 }
             }
         } finally {
-            upcast(dst).flip();
+            if (outboundVector == null) {
+                upcast(dst).flip();
+            } else {
+                outboundVector.flip(dst);
+            }
         }
     }
 }
@@ -116,10 +116,12 @@ import com.hazelcast.internal.journal.EventJournalInitialSubscriberState;
 import com.hazelcast.internal.journal.EventJournalReader;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.util.CollectionUtil;
 import com.hazelcast.internal.util.ConcurrencyUtil;
+import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.EventJournalMapEvent;
@@ -131,8 +133,11 @@ import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
 import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
+import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest;
 import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
@@ -1931,6 +1936,64 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return new ClientMapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    /**
+     * Returns an iterable for iterating the keys of the entries in all of the
+     * partitions which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #keySet(Predicate)}, the result is not materialized: the
+     * keys are fetched partition by partition in batches of {@code fetchSize}
+     * only as the iteration advances, so the iteration is not subject to the
+     * query result size limit and the memory it takes is bounded by the
+     * fetch size. The iteration provides the guarantees of {@link
+     * #iterable(int, Projection, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the keys of the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<K> keySetIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.KEY), predicate);
+    }
+
+    /**
+     * Returns an iterable for iterating the values of the entries in all of
+     * the partitions which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #values(Predicate)}, the result is not materialized, see
+     * {@link #keySetIterable(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the values of the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<V> valuesIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.VALUE), predicate);
+    }
+
+    /**
+     * Returns an iterable for iterating the entries in all of the partitions
+     * which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #entrySet(Predicate)}, the result is not materialized,
+     * see {@link #keySetIterable(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<Entry<K, V>> entrySetIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        InternalSerializationService ss = (InternalSerializationService) getSerializationService();
+        Iterable<QueryResultRow> rows = iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.ENTRY),
+                predicate);
+        return IterableUtil.map(rows, row -> new LazyMapEntry<>(row.getKey(), row.getValue(), ss));
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
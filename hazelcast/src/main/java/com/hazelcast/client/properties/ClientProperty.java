@@ -158,6 +158,16 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * The minimum size in bytes of a client message frame to be written to the socket using a gather write
+     * instead of being copied into the socket send buffer. Gather writes are only used when TLS is not enabled.
+     * A value of 0 or less disables gather writes.
+     *
+     * @since 5.4.0
+     */
+    public static final HazelcastProperty IO_WRITE_GATHER_THRESHOLD
+            = new HazelcastProperty("hazelcast.client.io.write.gather.threshold", 32 * 1024);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
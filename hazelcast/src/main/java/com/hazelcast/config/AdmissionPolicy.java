@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+/**
+ * Admission Policy enum.
+ * <p>
+ * When a data structure with eviction is full, the admission policy decides
+ * whether a new entry may take the place of the entry selected for eviction
+ * by the {@link EvictionPolicy}, or whether the existing entry is kept and
+ * the new one is dropped instead.
+ *
+ * @since 5.4
+ */
+public enum AdmissionPolicy {
+    /**
+     * Every new entry is admitted
+     */
+    NONE(0),
+    /**
+     * A new entry is only admitted if it has been accessed more frequently
+     * than the entry selected for eviction. Access frequencies, including
+     * the ones of entries which are not stored, are estimated with a
+     * compact count-min sketch which is aged periodically, so that keys
+     * which were popular a long time ago are forgotten.
+     */
+    TINY_LFU(1);
+
+    private static final AdmissionPolicy[] VALUES = values();
+
+    private final int id;
+
+    AdmissionPolicy(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static AdmissionPolicy getById(int id) {
+        return VALUES[id];
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.internal.eviction.EvictionConfiguration;
 import com.hazelcast.internal.eviction.EvictionStrategyType;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 
 import javax.annotation.Nonnull;
@@ -43,13 +45,14 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * <ul>
  * <li>{@link EvictionPolicy#LRU} as eviction policy</li>
  * <li>{@link MaxSizePolicy#ENTRY_COUNT} as max size policy</li>
+ * <li>{@link AdmissionPolicy#NONE} as admission policy</li>
  * <li>{@value MapConfig#DEFAULT_MAX_SIZE} as maximum
  * size for on-heap {@link com.hazelcast.map.IMap}</li>
  * <li>{@value DEFAULT_MAX_ENTRY_COUNT} as maximum size
  *      for all other data structures and configurations</li>
  * </ul>
  */
-public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSerializable, Serializable {
+public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSerializable, Versioned, Serializable {
 
     /**
      * Default maximum entry count.
@@ -66,9 +69,15 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
      */
     public static final EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.LRU;
 
+    /**
+     * Default Admission Policy.
+     */
+    public static final AdmissionPolicy DEFAULT_ADMISSION_POLICY = AdmissionPolicy.NONE;
+
     protected int size = DEFAULT_MAX_ENTRY_COUNT;
     protected MaxSizePolicy maxSizePolicy = DEFAULT_MAX_SIZE_POLICY;
     protected EvictionPolicy evictionPolicy = DEFAULT_EVICTION_POLICY;
+    protected AdmissionPolicy admissionPolicy = DEFAULT_ADMISSION_POLICY;
 
     protected String comparatorClassName;
     protected EvictionPolicyComparator comparator;
@@ -87,6 +96,7 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         this.size = config.size;
         this.maxSizePolicy = config.maxSizePolicy;
         this.evictionPolicy = config.evictionPolicy;
+        this.admissionPolicy = config.admissionPolicy;
         this.comparatorClassName = config.comparatorClassName;
         this.comparator = config.comparator;
     }
@@ -165,6 +175,35 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         return this;
     }
 
+    /**
+     * Returns the {@link AdmissionPolicy} of this eviction configuration.
+     *
+     * @return the {@link AdmissionPolicy} of this eviction configuration
+     * @since 5.4
+     */
+    @Override
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Sets the {@link AdmissionPolicy} of this eviction configuration.
+     * <p>
+     * The admission policy is only used when eviction is enabled, i.e. when
+     * the {@link EvictionPolicy} is not {@link EvictionPolicy#NONE}. It is
+     * supported by {@link com.hazelcast.map.IMap}, {@link com.hazelcast.cache.ICache}
+     * and Near Caches.
+     *
+     * @param admissionPolicy the {@link AdmissionPolicy} of this eviction configuration
+     * @return this EvictionConfig instance
+     * @since 5.4
+     */
+    public EvictionConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        this.admissionPolicy = checkNotNull(admissionPolicy,
+                "Admission policy cannot be null!");
+        return this;
+    }
+
     /**
      * Returns the {@link EvictionStrategyType} of this eviction configuration.
      *
@@ -254,6 +293,9 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         out.writeString(evictionPolicy.toString());
         out.writeString(comparatorClassName);
         out.writeObject(comparator);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            out.writeString(admissionPolicy.toString());
+        }
     }
 
     @Override
@@ -263,6 +305,9 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         evictionPolicy = EvictionPolicy.valueOf(in.readString());
         comparatorClassName = in.readString();
         comparator = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            admissionPolicy = AdmissionPolicy.valueOf(in.readString());
+        }
     }
 
     @Override
@@ -271,6 +316,7 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
                 + "size=" + size
                 + ", maxSizePolicy=" + maxSizePolicy
                 + ", evictionPolicy=" + evictionPolicy
+                + ", admissionPolicy=" + admissionPolicy
                 + ", comparatorClassName=" + comparatorClassName
                 + ", comparator=" + comparator
                 + '}';
@@ -290,12 +336,13 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         return size == that.size
                 && maxSizePolicy == that.maxSizePolicy
                 && evictionPolicy == that.evictionPolicy
+                && admissionPolicy == that.admissionPolicy
                 && Objects.equals(comparatorClassName, that.comparatorClassName)
                 && Objects.equals(comparator, that.comparator);
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(size, maxSizePolicy, evictionPolicy, comparator, comparatorClassName);
+        return Objects.hash(size, maxSizePolicy, evictionPolicy, admissionPolicy, comparator, comparatorClassName);
     }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -42,6 +43,11 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * for low cardinality attributes at the cost of reduced query performance.
  * <p>
  * Index could be created on one or more attributes.
+ * <p>
+ * An index may also declare included attributes. Their values are captured
+ * together with the indexed ones when an entry is indexed, so projections
+ * reading only indexed and included attributes are answered without
+ * deserializing the entry values.
  *
  * @see com.hazelcast.config.IndexType
  * @see com.hazelcast.config.MapConfig#setIndexConfigs(List)
@@ -59,10 +65,16 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     /** Indexed attributes. */
     private List<String> attributes;
 
+    /** Attributes stored in the index without being indexed. */
+    private List<String> includedAttributes;
+
     private BitmapIndexOptions bitmapIndexOptions;
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
 
+    /** Whether a sorted index is stored in a B+tree instead of a skip list. */
+    private boolean bPlusTreeStoreEnabled;
+
     public IndexConfig() {
         // No-op.
     }
@@ -97,10 +109,15 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         this.type = other.type;
         this.bitmapIndexOptions = other.bitmapIndexOptions == null ? null : new BitmapIndexOptions(other.bitmapIndexOptions);
         this.bTreeIndexConfig = other.bTreeIndexConfig == null ? null : new BTreeIndexConfig(other.bTreeIndexConfig);
+        this.bPlusTreeStoreEnabled = other.bPlusTreeStoreEnabled;
 
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
         }
+
+        for (String includedAttribute : other.getIncludedAttributes()) {
+            addIncludedAttributeInternal(includedAttribute);
+        }
     }
 
     /**
@@ -202,6 +219,66 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Gets attributes included into the index.
+     * <p>
+     * Values of the included attributes are stored in the index together
+     * with the indexed entries. They can't be used for index lookups, but
+     * projections reading only indexed and included attributes don't
+     * need to deserialize the entry values.
+     *
+     * @return Included attributes.
+     */
+    public List<String> getIncludedAttributes() {
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        return includedAttributes;
+    }
+
+    /**
+     * Adds an attribute to be included into the index.
+     *
+     * @param includedAttribute Attribute name.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig addIncludedAttribute(String includedAttribute) {
+        addIncludedAttributeInternal(includedAttribute);
+
+        return this;
+    }
+
+    private void addIncludedAttributeInternal(String includedAttribute) {
+        IndexUtils.validateAttribute(includedAttribute);
+
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        includedAttributes.add(includedAttribute);
+    }
+
+    /**
+     * Sets attributes to be included into the index.
+     *
+     * @param includedAttributes Included attributes.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        checkNotNull(includedAttributes, "Included attributes cannot be null.");
+
+        this.includedAttributes = new ArrayList<>(includedAttributes.size());
+
+        for (String includedAttribute : includedAttributes) {
+            addIncludedAttribute(includedAttribute);
+        }
+
+        return this;
+    }
+
     /**
      * Provides access to index options specific to bitmap indexes.
      *
@@ -243,6 +320,38 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Returns whether a sorted index is stored in a B+tree. Disabled by default.
+     *
+     * @return {@code true} if a sorted index is stored in a B+tree, {@code false}
+     * if it is stored in a skip list.
+     * @see #setBPlusTreeStoreEnabled(boolean)
+     * @since 5.4
+     */
+    public boolean isBPlusTreeStoreEnabled() {
+        return bPlusTreeStoreEnabled;
+    }
+
+    /**
+     * Sets whether a sorted index is stored in a B+tree instead of a skip list.
+     * <p>
+     * The B+tree keeps the indexed values in fixed capacity nodes sized by the
+     * {@link BTreeIndexConfig#getPageSize() page size} of the {@link
+     * #getBTreeIndexConfig() B-Tree configuration}, which takes much less memory
+     * than the skip list and speeds up range scans. On the other hand, the updates
+     * of the tree are serialized, while the skip list takes concurrent updates, so
+     * write-heavy maps are better off with the default. Ignored for other than
+     * {@link IndexType#SORTED sorted} indexes.
+     *
+     * @param bPlusTreeStoreEnabled {@code true} to store a sorted index in a B+tree.
+     * @return This instance for chaining.
+     * @since 5.4
+     */
+    public IndexConfig setBPlusTreeStoreEnabled(boolean bPlusTreeStoreEnabled) {
+        this.bPlusTreeStoreEnabled = bPlusTreeStoreEnabled;
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -260,6 +369,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
         out.writeObject(bTreeIndexConfig);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            writeNullableList(includedAttributes, out);
+            out.writeBoolean(bPlusTreeStoreEnabled);
+        }
     }
 
     @Override
@@ -269,9 +382,14 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
         bTreeIndexConfig = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            includedAttributes = readNullableList(in);
+            bPlusTreeStoreEnabled = in.readBoolean();
+        }
     }
 
     @Override
+    @SuppressWarnings({"checkstyle:npathcomplexity"})
     public boolean equals(Object o) {
         if (this == o) {
             return true;
@@ -299,6 +417,14 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
+        if (!getIncludedAttributes().equals(that.getIncludedAttributes())) {
+            return false;
+        }
+
+        if (bPlusTreeStoreEnabled != that.bPlusTreeStoreEnabled) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -308,8 +434,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
         result = 31 * result + (type != null ? type.hashCode() : 0);
         result = 31 * result + getAttributes().hashCode();
+        result = 31 * result + getIncludedAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
+        result = 31 * result + (bPlusTreeStoreEnabled ? 1 : 0);
 
         return result;
     }
@@ -317,12 +445,18 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     @Override
     public String toString() {
         String string = "IndexConfig{name=" + name + ", type=" + type + ", attributes=" + getAttributes();
+        if (includedAttributes != null && !includedAttributes.isEmpty()) {
+            string += ", includedAttributes=" + includedAttributes;
+        }
         if (bitmapIndexOptions != null && !bitmapIndexOptions.areDefault()) {
             string += ", bitmapIndexOptions=" + bitmapIndexOptions;
         }
         if (bTreeIndexConfig != null) {
             string += ", bTreeIndexConfig=" + bTreeIndexConfig;
         }
+        if (bPlusTreeStoreEnabled) {
+            string += ", bPlusTreeStoreEnabled=true";
+        }
         return string + '}';
     }
 }
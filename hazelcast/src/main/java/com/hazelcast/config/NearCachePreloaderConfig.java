@@ -16,10 +16,12 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 import java.io.Serializable;
@@ -36,7 +38,7 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  * @since 3.8
  */
 @SuppressWarnings("WeakerAccess")
-public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Serializable {
+public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Versioned, Serializable {
 
     /**
      * Default initial delay for the Near Cache key storage.
@@ -48,10 +50,41 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
      */
     public static final int DEFAULT_STORE_INTERVAL_SECONDS = 600;
 
+    /**
+     * Default preload mode.
+     */
+    public static final PreloadMode DEFAULT_PRELOAD_MODE = PreloadMode.KEYS;
+
+    /**
+     * Defines what is stored by the Near Cache preloader.
+     *
+     * @since 5.4
+     */
+    public enum PreloadMode {
+        /**
+         * Only the keys are stored. On startup the values
+         * are fetched from the cluster via batched getAll().
+         */
+        KEYS,
+
+        /**
+         * The keys and their serialized values are stored in a
+         * snapshot file, which is memory-mapped on startup and
+         * restored directly into the Near Cache. Entries whose
+         * partition has seen an invalidation since the snapshot
+         * was taken, are fetched from the cluster instead.
+         * <p>
+         * Requires {@link NearCacheConfig#isInvalidateOnChange()},
+         * otherwise only the keys are stored.
+         */
+        KEYS_AND_VALUES
+    }
+
     private boolean enabled;
     private String directory = "";
     private int storeInitialDelaySeconds = DEFAULT_STORE_INITIAL_DELAY_SECONDS;
     private int storeIntervalSeconds = DEFAULT_STORE_INTERVAL_SECONDS;
+    private PreloadMode preloadMode = DEFAULT_PRELOAD_MODE;
 
     public NearCachePreloaderConfig() {
     }
@@ -60,6 +93,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         this(nearCachePreloaderConfig.enabled, nearCachePreloaderConfig.directory);
         this.storeInitialDelaySeconds = nearCachePreloaderConfig.storeInitialDelaySeconds;
         this.storeIntervalSeconds = nearCachePreloaderConfig.storeIntervalSeconds;
+        this.preloadMode = nearCachePreloaderConfig.preloadMode;
     }
 
     public NearCachePreloaderConfig(String directory) {
@@ -108,6 +142,28 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         return this;
     }
 
+    /**
+     * Returns the {@link PreloadMode} of the Near Cache preloader.
+     *
+     * @return the {@link PreloadMode}
+     * @since 5.4
+     */
+    public PreloadMode getPreloadMode() {
+        return preloadMode;
+    }
+
+    /**
+     * Sets the {@link PreloadMode} of the Near Cache preloader.
+     *
+     * @param preloadMode the {@link PreloadMode}
+     * @return this config instance
+     * @since 5.4
+     */
+    public NearCachePreloaderConfig setPreloadMode(PreloadMode preloadMode) {
+        this.preloadMode = checkNotNull(preloadMode, "preloadMode cannot be null!");
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -124,6 +180,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         out.writeString(directory);
         out.writeInt(storeInitialDelaySeconds);
         out.writeInt(storeIntervalSeconds);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            out.writeInt(preloadMode.ordinal());
+        }
     }
 
     @Override
@@ -132,6 +191,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         directory = in.readString();
         storeInitialDelaySeconds = in.readInt();
         storeIntervalSeconds = in.readInt();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            preloadMode = PreloadMode.values()[in.readInt()];
+        }
     }
 
     @Override
@@ -141,6 +203,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
                 + ", directory=" + directory
                 + ", storeInitialDelaySeconds=" + storeInitialDelaySeconds
                 + ", storeIntervalSeconds=" + storeIntervalSeconds
+                + ", preloadMode=" + preloadMode
                 + '}';
     }
 
@@ -164,6 +227,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         if (storeIntervalSeconds != that.storeIntervalSeconds) {
             return false;
         }
+        if (preloadMode != that.preloadMode) {
+            return false;
+        }
         return directory != null ? directory.equals(that.directory) : that.directory == null;
     }
 
@@ -173,6 +239,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         result = 31 * result + (directory != null ? directory.hashCode() : 0);
         result = 31 * result + storeInitialDelaySeconds;
         result = 31 * result + storeIntervalSeconds;
+        result = 31 * result + (preloadMode != null ? preloadMode.hashCode() : 0);
         return result;
     }
 }
@@ -82,6 +82,7 @@ import static com.hazelcast.instance.ProtocolType.MEMBER;
 import static com.hazelcast.instance.ProtocolType.WAN;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMergeTypeProviderHasRequiredTypes;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
@@ -116,6 +117,10 @@ public final class ConfigValidator {
             = EnumSet.of(USED_NATIVE_MEMORY_PERCENTAGE,
             FREE_NATIVE_MEMORY_PERCENTAGE, USED_NATIVE_MEMORY_SIZE, FREE_NATIVE_MEMORY_SIZE);
 
+    private static final Set<MaxSizePolicy> NEAR_CACHE_SUPPORTED_NATIVE_MAX_SIZE_POLICIES
+            = EnumSet.of(ENTRY_COUNT, USED_NATIVE_MEMORY_PERCENTAGE,
+            FREE_NATIVE_MEMORY_PERCENTAGE, USED_NATIVE_MEMORY_SIZE, FREE_NATIVE_MEMORY_SIZE);
+
     private ConfigValidator() {
     }
 
@@ -128,13 +133,14 @@ public final class ConfigValidator {
     public static void checkMapConfig(Config config, MapConfig mapConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
         if (getBuildInfo().isEnterprise()) {
             checkMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
             checkTieredStoreMapConfig(config, mapConfig);
+        } else {
+            checkMapNativeConfigWhenOpenSource(mapConfig, config.getNativeMemoryConfig());
         }
 
         checkMapEvictionConfig(mapConfig.getEvictionConfig());
@@ -269,6 +275,29 @@ public final class ConfigValidator {
         checkMapNativeMaxSizePolicy(mapConfig);
     }
 
+    /**
+     * Checks preconditions to create a map proxy with {@link InMemoryFormat#NATIVE}
+     * in-memory-format on the open source edition, where the map is backed by
+     * {@link com.hazelcast.map.impl.recordstore.NativeStorage}.
+     *
+     * @param mapConfig          the mapConfig
+     * @param nativeMemoryConfig the nativeMemoryConfig
+     */
+    private static void checkMapNativeConfigWhenOpenSource(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != mapConfig.getInMemoryFormat()) {
+            return;
+        }
+        if (!nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the map [%s]", mapConfig.getName()));
+        }
+        if (!MEM_AVAILABLE) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format is used for the map [%s]"
+                    + " but native memory access is not available on this JVM", mapConfig.getName()));
+        }
+        checkMapNativeMaxSizePolicy(mapConfig);
+    }
+
     private static void checkMapNativeMaxSizePolicy(MapConfig mapConfig) {
         MaxSizePolicy maxSizePolicy = mapConfig.getEvictionConfig().getMaxSizePolicy();
         if (!MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
@@ -365,7 +394,11 @@ public final class ConfigValidator {
      */
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
-        checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        if (isClient) {
+            checkClientNearCacheNativeConfigWhenOpenSource(nearCacheConfig, nativeMemoryConfig);
+        } else {
+            checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        }
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
         checkNearCacheEvictionConfig(evictionConfig.getEvictionPolicy(),
@@ -381,6 +414,31 @@ public final class ConfigValidator {
         checkPreloaderConfig(nearCacheConfig, isClient);
     }
 
+    /**
+     * Checks the preconditions of the open source {@link InMemoryFormat#NATIVE}
+     * Near Cache, which is only available on clients.
+     */
+    private static void checkClientNearCacheNativeConfigWhenOpenSource(NearCacheConfig nearCacheConfig,
+                                                                       NativeMemoryConfig nativeMemoryConfig) {
+        if (nearCacheConfig.getInMemoryFormat() != NATIVE || getBuildInfo().isEnterprise()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException("Enable native memory config to use NATIVE in-memory-format"
+                    + " for Near Cache");
+        }
+        if (!MEM_AVAILABLE) {
+            throw new InvalidConfigurationException("NATIVE in-memory-format is used for Near Cache"
+                    + " but native memory access is not available on this JVM");
+        }
+        MaxSizePolicy maxSizePolicy = nearCacheConfig.getEvictionConfig().getMaxSizePolicy();
+        if (!NEAR_CACHE_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
+            throw new InvalidConfigurationException(format("Near Cache maximum size policy %s cannot be used with %s"
+                            + " storage. Supported maximum size policies are: %s",
+                    maxSizePolicy, NATIVE, NEAR_CACHE_SUPPORTED_NATIVE_MAX_SIZE_POLICIES));
+        }
+    }
+
     /**
      * Checks IMap's supported Near Cache local update policy configuration.
      *
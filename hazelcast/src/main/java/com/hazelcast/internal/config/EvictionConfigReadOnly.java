@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.config;
 
+import com.hazelcast.config.AdmissionPolicy;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MaxSizePolicy;
@@ -47,6 +48,11 @@ public class EvictionConfigReadOnly extends EvictionConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public EvictionConfigReadOnly setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public EvictionConfig setComparatorClassName(@Nonnull String comparatorClassName) {
         throw new UnsupportedOperationException("This config is read-only");
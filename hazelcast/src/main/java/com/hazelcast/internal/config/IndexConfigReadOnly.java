@@ -61,6 +61,26 @@ public class IndexConfigReadOnly extends IndexConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public List<String> getIncludedAttributes() {
+        return Collections.unmodifiableList(new ArrayList<>(super.getIncludedAttributes()));
+    }
+
+    @Override
+    public IndexConfig addIncludedAttribute(String includedAttribute) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    @Override
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    @Override
+    public IndexConfig setBPlusTreeStoreEnabled(boolean bPlusTreeStoreEnabled) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public BTreeIndexConfig getBTreeIndexConfig() {
         return new BTreeIndexConfigReadOnly(super.getBTreeIndexConfig());
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.config;
 
+import com.hazelcast.config.AdmissionPolicy;
 import com.hazelcast.config.AliasedDiscoveryConfig;
 import com.hazelcast.config.AttributeConfig;
 import com.hazelcast.config.AutoDetectionConfig;
@@ -2200,6 +2201,7 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
         return new CacheSimpleConfig.ExpiryPolicyFactoryConfig.TimedExpiryPolicyFactoryConfig(expiryPolicyType, durationConfig);
     }
 
+    @SuppressWarnings("checkstyle:npathcomplexity")
     private EvictionConfig getEvictionConfig(Node node, boolean isNearCache, boolean isIMap) {
         EvictionConfig evictionConfig = new EvictionConfig();
         if (isIMap) {
@@ -2213,6 +2215,7 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
         Node size = getNamedItemNode(node, "size");
         Node maxSizePolicy = getNamedItemNode(node, "max-size-policy");
         Node evictionPolicy = getNamedItemNode(node, "eviction-policy");
+        Node admissionPolicy = getNamedItemNode(node, "admission-policy");
         Node comparatorClassName = getNamedItemNode(node, "comparator-class-name");
 
         if (size != null) {
@@ -2227,6 +2230,9 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
         if (evictionPolicy != null) {
             evictionConfig.setEvictionPolicy(EvictionPolicy.valueOf(upperCaseInternal(getTextContent(evictionPolicy))));
         }
+        if (admissionPolicy != null) {
+            evictionConfig.setAdmissionPolicy(AdmissionPolicy.valueOf(upperCaseInternal(getTextContent(admissionPolicy))));
+        }
         if (comparatorClassName != null) {
             String className = getTextContent(comparatorClassName);
             if (!StringUtil.isNullOrEmptyAfterTrim(className)) {
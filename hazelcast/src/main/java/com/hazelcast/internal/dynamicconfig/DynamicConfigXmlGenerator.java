@@ -777,6 +777,7 @@ public final class DynamicConfigXmlGenerator {
                 "size", e.getSize(),
                 "max-size-policy", e.getMaxSizePolicy(),
                 "eviction-policy", e.getEvictionPolicy(),
+                "admission-policy", e.getAdmissionPolicy(),
                 "comparator-class-name", comparatorClassName);
     }
 
@@ -1365,6 +1365,12 @@ public class DynamicConfigYamlGenerator {
             addNonNullToMap(indexConfigAsMap, "name", indexConfig.getName());
             addNonNullToMap(indexConfigAsMap, "type", indexConfig.getType().name());
             addNonNullToMap(indexConfigAsMap, "attributes", indexConfig.getAttributes());
+            if (!indexConfig.getIncludedAttributes().isEmpty()) {
+                indexConfigAsMap.put("included-attributes", indexConfig.getIncludedAttributes());
+            }
+            if (indexConfig.isBPlusTreeStoreEnabled()) {
+                indexConfigAsMap.put("b-plus-tree-store-enabled", true);
+            }
 
             if (indexConfig.getType() == IndexType.BITMAP) {
                 Map<String, Object> bitmapIndexOptionsAsMap = new LinkedHashMap<>();
@@ -1498,6 +1504,7 @@ public class DynamicConfigYamlGenerator {
         addNonNullToMap(evictionConfigAsMap, "size", evictionConfig.getSize());
         addNonNullToMap(evictionConfigAsMap, "max-size-policy", evictionConfig.getMaxSizePolicy().name());
         addNonNullToMap(evictionConfigAsMap, "eviction-policy", evictionConfig.getEvictionPolicy().name());
+        addNonNullToMap(evictionConfigAsMap, "admission-policy", evictionConfig.getAdmissionPolicy().name());
         addNonNullToMap(evictionConfigAsMap, "comparator-class-name", comparatorClassName);
 
         return evictionConfigAsMap;
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+/**
+ * Decides whether a new entry may take the place of an existing entry
+ * selected for eviction, based on the access history of both keys.
+ * <p>
+ * Keys are only identified by their {@link Object#hashCode()}, so a
+ * store must always pass keys of the same representation (e.g. always
+ * {@link com.hazelcast.internal.serialization.Data}).
+ *
+ * @see com.hazelcast.config.AdmissionPolicy
+ */
+public interface AdmissionFilter {
+
+    /**
+     * Records an access to the given key, whether the key is
+     * currently stored or not.
+     *
+     * @param key the accessed key
+     */
+    void recordAccess(Object key);
+
+    /**
+     * Decides whether the candidate key is admitted at the expense of
+     * the victim key.
+     *
+     * @param candidateKey the key of the new entry
+     * @param victimKey    the key of the entry selected for eviction
+     * @return {@code true} if the candidate is admitted and the victim
+     * should be evicted, {@code false} if the candidate should be dropped
+     */
+    boolean admit(Object candidateKey, Object victimKey);
+
+    /**
+     * Grows the access history to fit the given number of entries,
+     * if it doesn't already. Growing the history forgets it.
+     *
+     * @param maximumSize the expected maximum number of entries of the store
+     */
+    void ensureCapacity(long maximumSize);
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.internal.eviction.impl.admission.TinyLfuAdmissionFilter;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * Provider to get any kind ({@link AdmissionPolicy}) of {@link AdmissionFilter}.
+ */
+public final class AdmissionFilterProvider {
+
+    /**
+     * Initial capacity of the access history when the maximum
+     * number of entries can't be derived from the configuration.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 128;
+
+    private AdmissionFilterProvider() {
+    }
+
+    /**
+     * Gets the {@link AdmissionFilter} implementation specified with the
+     * {@link AdmissionPolicy} of the given eviction configuration.
+     *
+     * @param evictionConfig {@link EvictionConfiguration} for
+     *                       requested {@link AdmissionFilter} implementation
+     * @param maxSizePolicy  the max-size policy of the store, used to size
+     *                       the access history of the filter
+     * @param size           the maximum size of the store, interpreted
+     *                       according to the {@code maxSizePolicy}
+     * @return the requested {@link AdmissionFilter} implementation or
+     * {@code null} if every entry is admitted
+     */
+    public static AdmissionFilter getAdmissionFilter(EvictionConfiguration evictionConfig,
+                                                     MaxSizePolicy maxSizePolicy, int size) {
+        checkNotNull(evictionConfig);
+
+        if (evictionConfig.getEvictionPolicy() == EvictionPolicy.NONE) {
+            return null;
+        }
+
+        AdmissionPolicy admissionPolicy = evictionConfig.getAdmissionPolicy();
+        switch (admissionPolicy) {
+            case NONE:
+                return null;
+            case TINY_LFU:
+                return new TinyLfuAdmissionFilter(initialCapacity(maxSizePolicy, size));
+            default:
+                throw new IllegalArgumentException("Unsupported admission policy: " + admissionPolicy);
+        }
+    }
+
+    private static int initialCapacity(MaxSizePolicy maxSizePolicy, int size) {
+        switch (maxSizePolicy) {
+            case ENTRY_COUNT:
+            case PER_PARTITION:
+                return size;
+            default:
+                // the filter grows with the store
+                return DEFAULT_INITIAL_CAPACITY;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.eviction;
 
+import com.hazelcast.config.AdmissionPolicy;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 
@@ -38,6 +39,15 @@ public interface EvictionConfiguration {
      */
     EvictionPolicy getEvictionPolicy();
 
+    /**
+     * Gets the admission policy.
+     *
+     * @return the admission policy
+     */
+    default AdmissionPolicy getAdmissionPolicy() {
+        return AdmissionPolicy.NONE;
+    }
+
     /**
      * Gets the class name of the configured {@link EvictionPolicyComparator} implementation.
      *
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating how often a key has been accessed, within
+ * a time window proportional to the maximum size of the store.
+ * <p>
+ * Each {@code long} of the table holds sixteen 4-bit counters, so the
+ * frequency of a key saturates at {@value #MAX_FREQUENCY}. A key is mapped to
+ * four counters in four different table slots and its frequency is the
+ * minimum of them. After {@value #SAMPLE_FACTOR} times the maximum size
+ * of increments, all the counters are halved, so that keys which were
+ * popular a long time ago are eventually forgotten.
+ * <p>
+ * The sketch is not synchronized: concurrent increments may get lost,
+ * which only slightly degrades the accuracy of the estimates.
+ */
+final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+    static final int SAMPLE_FACTOR = 10;
+    static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int COUNTER_BITS = 4;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final int DEPTH = 4;
+
+    private volatile long[] table;
+    private int sampleSize;
+    private int size;
+
+    FrequencySketch(long maximumSize) {
+        table = new long[tableLength(maximumSize)];
+        sampleSize = sampleSize(table.length);
+    }
+
+    /**
+     * Grows the table to fit the given number of entries. The
+     * frequencies recorded so far are discarded when the table grows.
+     */
+    void ensureCapacity(long maximumSize) {
+        int tableLength = tableLength(maximumSize);
+        if (tableLength <= table.length) {
+            return;
+        }
+        table = new long[tableLength];
+        sampleSize = sampleSize(tableLength);
+        size = 0;
+    }
+
+    /**
+     * @return the estimated number of accesses of the key with the
+     * given hash, up to {@value #MAX_FREQUENCY}
+     */
+    int frequency(int hash) {
+        long[] table = this.table;
+        int start = (hash & (DEPTH - 1)) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            int offset = (start + i) * COUNTER_BITS;
+            int count = (int) ((table[indexOf(table, hash, i)] >>> offset) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key with the given hash.
+     */
+    void increment(int hash) {
+        long[] table = this.table;
+        int start = (hash & (DEPTH - 1)) << 2;
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(table, indexOf(table, hash, i), (start + i) * COUNTER_BITS);
+        }
+        if (added && ++size >= sampleSize) {
+            reset(table);
+        }
+    }
+
+    int tableLength() {
+        return table.length;
+    }
+
+    private void reset(long[] table) {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        // every odd counter lost a half increment when halved
+        size = (size - (oddCounters >>> 2)) >>> 1;
+    }
+
+    private static boolean incrementAt(long[] table, int index, int offset) {
+        long mask = COUNTER_MASK << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private static int indexOf(long[] table, int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> Integer.SIZE;
+        return ((int) h) & (table.length - 1);
+    }
+
+    private static int tableLength(long maximumSize) {
+        int capacity = (int) Math.max(1, Math.min(maximumSize, MAXIMUM_CAPACITY));
+        return nextPowerOfTwo(capacity);
+    }
+
+    private static int sampleSize(int tableLength) {
+        return SAMPLE_FACTOR * tableLength;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.internal.eviction.AdmissionFilter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link AdmissionFilter} implementing the TinyLFU admission policy: a
+ * new entry only replaces the entry selected for eviction if its key has
+ * been accessed more frequently, according to a {@link FrequencySketch}.
+ * <p>
+ * This keeps one-hit wonders, e.g. the keys of a scan, from flushing
+ * the frequently used entries out of the store. Since the sketch also
+ * remembers keys which are not stored, a key becoming popular is still
+ * admitted after a few accesses.
+ * <p>
+ * An attacker could keep the frequency of a victim key artificially high
+ * by accessing keys colliding with it, so a candidate which is warm
+ * itself is still admitted with a small probability.
+ */
+public final class TinyLfuAdmissionFilter implements AdmissionFilter {
+
+    /**
+     * Candidates with at most this frequency are never
+     * admitted if they lose against the victim.
+     */
+    static final int WARM_FREQUENCY = 5;
+
+    /**
+     * A warm candidate losing against the victim is
+     * admitted once in this many times on average.
+     */
+    private static final int RANDOM_ADMISSION_MASK = 127;
+
+    private final FrequencySketch sketch;
+
+    public TinyLfuAdmissionFilter(long maximumSize) {
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public void recordAccess(Object key) {
+        sketch.increment(spread(key.hashCode()));
+    }
+
+    @Override
+    public boolean admit(Object candidateKey, Object victimKey) {
+        int candidateFrequency = frequency(candidateKey);
+        int victimFrequency = frequency(victimKey);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency <= WARM_FREQUENCY) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & RANDOM_ADMISSION_MASK) == 0;
+    }
+
+    @Override
+    public void ensureCapacity(long maximumSize) {
+        sketch.ensureCapacity(maximumSize);
+    }
+
+    int frequency(Object key) {
+        return sketch.frequency(spread(key.hashCode()));
+    }
+
+    // key hash codes are often poorly distributed, e.g. consecutive integers
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int spread(int hash) {
+        int h = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLfuAdmissionFilter{"
+                + "tableLength=" + sketch.tableLength()
+                + '}';
+    }
+}
@@ -16,11 +16,14 @@
 
 package com.hazelcast.internal.eviction.impl.strategy.sampling;
 
+import com.hazelcast.internal.eviction.AdmissionFilter;
 import com.hazelcast.internal.eviction.Evictable;
 import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.Expirable;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
+import com.hazelcast.internal.util.Clock;
 
 /**
  * This strategy samples {@link Evictable} entries from {@link SampleableEvictableStore}, orders candidates
@@ -60,6 +63,48 @@ public final class SamplingEvictionStrategy<A, E extends Evictable, S extends Sa
         }
     }
 
+    /**
+     * Does eviction if required to make room for a new entry, consulting
+     * the given {@link AdmissionFilter} before evicting the selected entry.
+     * <p>
+     * If the new entry loses against the selected entry, nothing is evicted
+     * and the caller is expected to drop the new entry (or to evict it
+     * right after storing it).
+     *
+     * @param evictableStore          Store that holds {@link Evictable} entries
+     * @param evictionPolicyEvaluator {@link EvictionPolicyEvaluator} to evaluate
+     *                                {@link com.hazelcast.config.EvictionPolicy} on entries
+     * @param evictionChecker         {@link EvictionChecker} to check whether max size is reached, therefore
+     *                                eviction is required or not.
+     * @param evictionListener        {@link EvictionListener} to listen evicted entries
+     * @param admissionFilter         {@link AdmissionFilter} to decide between the new and the selected entry
+     * @param candidate               accessor (key) of the new entry
+     *
+     * @return true if the new entry is admitted, otherwise false
+     */
+    public boolean evictToAdmit(S evictableStore, EvictionPolicyEvaluator<A, E> evictionPolicyEvaluator,
+                                EvictionChecker evictionChecker, EvictionListener<A, E> evictionListener,
+                                AdmissionFilter admissionFilter, A candidate) {
+        if (evictionChecker != null && !evictionChecker.isEvictionRequired()) {
+            return true;
+        }
+        final Iterable<EvictionCandidate<A, E>> samples = evictableStore.sample(SAMPLE_COUNT);
+        final EvictionCandidate<A, E> evictionCandidate = evictionPolicyEvaluator.evaluate(samples);
+        if (evictionCandidate == null) {
+            return true;
+        }
+        if (!isExpired(evictionCandidate.getEvictable())
+                && !admissionFilter.admit(candidate, evictionCandidate.getAccessor())) {
+            return false;
+        }
+        evictableStore.tryEvict(evictionCandidate, evictionListener);
+        return true;
+    }
+
+    private static boolean isExpired(Evictable evictable) {
+        return evictable instanceof Expirable && ((Expirable) evictable).isExpiredAt(Clock.currentTimeMillis());
+    }
+
     /**
      * Processes sampling based eviction logic on {@link SampleableEvictableStore}.
      *
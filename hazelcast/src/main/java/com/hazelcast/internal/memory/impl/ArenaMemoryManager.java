@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * {@link MemoryManager} handing out blocks of native memory from the
+ * process heap, accounted against a shared {@link NativeMemoryBudget}.
+ * <p>
+ * An arena is confined to a single thread (e.g. the partition thread
+ * owning a record store) so it keeps its own usage counter without any
+ * synchronization. Blocks are not tracked individually: the owner of the
+ * arena is responsible for freeing all the blocks it allocated before
+ * the arena is disposed.
+ */
+public final class ArenaMemoryManager implements MemoryManager, MemoryAllocator {
+
+    private final NativeMemoryBudget budget;
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the owner thread updates the counter, other threads just read it.")
+    private volatile long usedMemory;
+
+    ArenaMemoryManager(NativeMemoryBudget budget) {
+        if (!MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory access is not available on this JVM");
+        }
+        this.budget = budget;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return this;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkPositive("size", size);
+        budget.reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            budget.release(size);
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes", e);
+        }
+        UNSAFE.setMemory(address, size, (byte) 0);
+        usedMemory += size;
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        checkPositive("newSize", newSize);
+        long delta = newSize - currentSize;
+        if (delta > 0) {
+            budget.reserve(delta);
+        }
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            if (delta > 0) {
+                budget.release(delta);
+            }
+            throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " bytes to " + newSize, e);
+        }
+        if (delta > 0) {
+            UNSAFE.setMemory(newAddress + currentSize, delta, (byte) 0);
+        } else {
+            budget.release(-delta);
+        }
+        usedMemory += delta;
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        if (address == NULL_ADDRESS) {
+            return;
+        }
+        UNSAFE.freeMemory(address);
+        budget.release(size);
+        usedMemory -= size;
+    }
+
+    /**
+     * @return number of bytes currently allocated through this arena
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    @Override
+    public void dispose() {
+        assert usedMemory == 0 : "Arena disposed with " + usedMemory + " bytes still allocated";
+    }
+}
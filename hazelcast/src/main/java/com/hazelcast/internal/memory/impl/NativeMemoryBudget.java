@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Member-wide (or client-wide) limit on the native memory which can be
+ * handed out by {@link ArenaMemoryManager}s and
+ * {@link SharedArenaMemoryManager}s. Arenas reserve from the budget before
+ * allocating and release to it after freeing, so the budget is the only
+ * state shared between them and it is updated without taking a lock.
+ *
+ * There is only one budget instance per member or client.
+ */
+public class NativeMemoryBudget {
+
+    private final long capacity;
+    private final AtomicLong used = new AtomicLong();
+
+    public NativeMemoryBudget(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Reserves the given amount of bytes from this budget.
+     *
+     * @param size number of bytes to reserve
+     * @throws NativeOutOfMemoryError if the reservation would exceed the capacity
+     */
+    public void reserve(long size) {
+        long current;
+        long next;
+        do {
+            current = used.get();
+            next = current + size;
+            if (next > capacity) {
+                throw new NativeOutOfMemoryError(format("Not enough contiguous memory available!"
+                        + " Cannot allocate %d bytes [capacity=%d, used=%d]", size, capacity, current));
+            }
+        } while (!used.compareAndSet(current, next));
+    }
+
+    /**
+     * Returns the given amount of bytes back to this budget.
+     *
+     * @param size number of bytes to release
+     */
+    public void release(long size) {
+        used.addAndGet(-size);
+    }
+
+    /**
+     * @return a new arena allocating from this budget
+     */
+    public ArenaMemoryManager newArena() {
+        return new ArenaMemoryManager(this);
+    }
+
+    /**
+     * @return a new arena allocating from this budget which can be
+     * used by multiple threads concurrently
+     */
+    public SharedArenaMemoryManager newSharedArena() {
+        return new SharedArenaMemoryManager(this);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getUsed() {
+        return used.get();
+    }
+
+    @Override
+    public String toString() {
+        return "NativeMemoryBudget{"
+                + "capacity=" + capacity
+                + ", used=" + used.get()
+                + '}';
+    }
+}
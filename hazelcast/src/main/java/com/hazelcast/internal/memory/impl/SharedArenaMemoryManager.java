@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * {@link MemoryManager} handing out blocks of native memory from the
+ * process heap, accounted against a shared {@link NativeMemoryBudget}.
+ * <p>
+ * Unlike {@link ArenaMemoryManager}, this arena may be used by any number
+ * of threads concurrently (e.g. the user threads reading through a client
+ * Near Cache), at the price of an atomic update of its usage counter per
+ * allocation. As with {@link ArenaMemoryManager}, blocks are not tracked
+ * individually and the owner of the arena is responsible for freeing all
+ * the blocks it allocated before the arena is disposed.
+ */
+public final class SharedArenaMemoryManager implements MemoryManager, MemoryAllocator {
+
+    private final NativeMemoryBudget budget;
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    SharedArenaMemoryManager(NativeMemoryBudget budget) {
+        if (!MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory access is not available on this JVM");
+        }
+        this.budget = budget;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return this;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkPositive("size", size);
+        budget.reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            budget.release(size);
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes", e);
+        }
+        usedMemory.addAndGet(size);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        checkPositive("newSize", newSize);
+        long delta = newSize - currentSize;
+        if (delta > 0) {
+            budget.reserve(delta);
+        }
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            if (delta > 0) {
+                budget.release(delta);
+            }
+            throw new NativeOutOfMemoryError("Cannot reallocate " + currentSize + " bytes to " + newSize, e);
+        }
+        if (delta < 0) {
+            budget.release(-delta);
+        }
+        usedMemory.addAndGet(delta);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        if (address == NULL_ADDRESS) {
+            return;
+        }
+        UNSAFE.freeMemory(address);
+        budget.release(size);
+        usedMemory.addAndGet(-size);
+    }
+
+    /**
+     * @return number of bytes currently allocated through this arena
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the budget this arena allocates from
+     */
+    public NativeMemoryBudget getBudget() {
+        return budget;
+    }
+
+    @Override
+    public void dispose() {
+        assert usedMemory.get() == 0 : "Arena disposed with " + usedMemory.get() + " bytes still allocated";
+    }
+}
@@ -244,6 +244,8 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_INDEX_REMOVE_COUNT = "removeCount";
     public static final String MAP_METRIC_INDEX_TOTAL_REMOVE_LATENCY = "totalRemoveLatency";
     public static final String MAP_METRIC_INDEX_MEMORY_COST = "memoryCost";
+    public static final String MAP_METRIC_INDEX_REBUILD_COUNT = "rebuildCount";
+    public static final String MAP_METRIC_INDEX_TOTAL_REBUILD_LATENCY = "totalRebuildLatency";
     public static final String MAP_METRIC_FULL_PARTITION_REPLICATION_COUNT = "fullPartitionReplicationCount";
     public static final String MAP_METRIC_DIFF_PARTITION_REPLICATION_COUNT = "differentialPartitionReplicationCount";
     public static final String MAP_METRIC_FULL_PARTITION_REPLICATION_RECORDS_COUNT
@@ -255,6 +257,13 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT
             = "waitingToBeProcessedCount";
     public static final String MAP_TAG_HYBRID_LOG_ID = "hybridLogId";
+    public static final String MAP_PREFIX_QUERY_PARTITION_SCAN = "map.query.partitionScan";
+    public static final String MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_COUNT = "callerRunsCount";
+    public static final String MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_TOTAL_TIME = "callerRunsTotalTime";
+    public static final String MAP_METRIC_PARTITION_SCAN_PARALLEL_COUNT = "parallelCount";
+    public static final String MAP_METRIC_PARTITION_SCAN_PARALLEL_TOTAL_TIME = "parallelTotalTime";
+    public static final String MAP_METRIC_PARTITION_SCAN_TOTAL_PARALLELISM = "totalParallelism";
+    public static final String MAP_METRIC_PARTITION_SCAN_LAST_PARALLELISM = "lastParallelism";
     // ===[/MAP]========================================================
 
     // ===[MEMORY]======================================================
@@ -351,6 +360,8 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT = "completedTaskCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT = "selectorRebuildCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_IDLE_TIME_MILLIS = "idleTimeMillis";
+    public static final String NETWORKING_METRIC_NIO_THREAD_BUSY_POLL_TIME_MILLIS = "busyPollTimeMillis";
+    public static final String NETWORKING_METRIC_NIO_THREAD_BLOCKED_TIME_MILLIS = "blockedTimeMillis";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT = "imbalanceDetectedCount";
     public static final String NETWORKING_METRIC_NIO_IO_BALANCER_MIGRATION_COMPLETED_COUNT = "migrationCompletedCount";
     // ===[/NETWORKING]=================================================
@@ -522,6 +533,14 @@ public final class MetricDescriptorConstants {
     public static final String RUNTIME_FULL_METRIC_UPTIME = "runtime.uptime";
     // ===[/RUNTIME]====================================================
 
+    // ===[SERIALIZATION]===============================================
+    public static final String SERIALIZATION_PREFIX_BUFFER_POOL = "serialization.bufferPool";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_HITS = "hits";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_MISSES = "misses";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_RETAINED_BYTES = "retainedBytes";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_TRIMMED_BUFFERS = "trimmedBuffers";
+    // ===[/SERIALIZATION]==============================================
+
     // ===[SET]=======================================================
     public static final String SET_PREFIX = "set";
     public static final String SET_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
@@ -567,6 +586,16 @@ public final class MetricDescriptorConstants {
     public static final String TOPIC_METRIC_TOTAL_RECEIVED_MESSAGES = "totalReceivedMessages";
     // ===[/TOPIC]=======================================================
 
+    // ===[TPC]=========================================================
+    public static final String TPC_PREFIX_TASK_GROUP = "tpc.taskGroup";
+    public static final String TPC_DISCRIMINATOR_REACTOR = "reactor";
+    public static final String TPC_TAG_TASK_GROUP = "taskGroup";
+    public static final String TPC_METRIC_TASK_GROUP_TASKS_COMPLETED = "tasksCompleted";
+    public static final String TPC_METRIC_TASK_GROUP_TASK_ERRORS = "taskErrors";
+    public static final String TPC_METRIC_TASK_GROUP_WALL_TIME = "wallTime";
+    public static final String TPC_METRIC_TASK_GROUP_RUNS = "runs";
+    // ===[/TPC]========================================================
+
     // ===[TRANSACTIONS]================================================
     public static final String TRANSACTIONS_PREFIX = "transactions";
     public static final String TRANSACTIONS_METRIC_START_COUNT = "startCount";
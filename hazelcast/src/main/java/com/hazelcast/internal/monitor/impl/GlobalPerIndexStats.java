@@ -71,6 +71,10 @@ public class GlobalPerIndexStats implements PerIndexStats {
             "removeCount");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> TOTAL_REMOVE_LATENCY = newUpdater(GlobalPerIndexStats.class,
             "totalRemoveLatency");
+    private static final AtomicLongFieldUpdater<GlobalPerIndexStats> REBUILD_COUNT = newUpdater(GlobalPerIndexStats.class,
+            "rebuildCount");
+    private static final AtomicLongFieldUpdater<GlobalPerIndexStats> TOTAL_REBUILD_LATENCY = newUpdater(GlobalPerIndexStats.class,
+            "totalRebuildLatency");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> VALUES_MEMORY_COST = newUpdater(GlobalPerIndexStats.class,
             "valuesMemoryCost");
 
@@ -89,6 +93,8 @@ public class GlobalPerIndexStats implements PerIndexStats {
     private volatile long totalUpdateLatency;
     private volatile long removeCount;
     private volatile long totalRemoveLatency;
+    private volatile long rebuildCount;
+    private volatile long totalRebuildLatency;
     private volatile long valuesMemoryCost;
 
     /**
@@ -173,6 +179,16 @@ public class GlobalPerIndexStats implements PerIndexStats {
         return totalRemoveLatency;
     }
 
+    @Override
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    @Override
+    public long getTotalRebuildLatency() {
+        return totalRebuildLatency;
+    }
+
     @Override
     public long getMemoryCost() {
         return IndexHeapMemoryCostUtil.estimateMapCost(entryCount, ordered, usesCachedQueryableEntries) + valuesMemoryCost;
@@ -227,6 +243,12 @@ public class GlobalPerIndexStats implements PerIndexStats {
         VALUES_MEMORY_COST.addAndGet(this, operationStats.getMemoryCostDelta());
     }
 
+    @Override
+    public void onRebuild(long timestamp, long entryCount) {
+        TOTAL_REBUILD_LATENCY.addAndGet(this, Timer.nanosElapsed(timestamp));
+        REBUILD_COUNT.addAndGet(this, entryCount);
+    }
+
     @Override
     public void onClear() {
         entryCount = 0;
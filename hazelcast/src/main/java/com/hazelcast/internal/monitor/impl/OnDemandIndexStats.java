@@ -47,6 +47,10 @@ public class OnDemandIndexStats {
 
     private long totalRemoveLatency;
 
+    private long rebuildCount;
+
+    private long totalRebuildLatency;
+
     private long memoryCost;
 
     private long totalHitCount;
@@ -227,6 +231,38 @@ public class OnDemandIndexStats {
         this.totalRemoveLatency = totalRemoveLatency;
     }
 
+    /**
+     * Returns the rebuild count.
+     */
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Sets the rebuild count to the given value.
+     *
+     * @param rebuildCount the rebuild count value to set.
+     */
+    public void setRebuildCount(long rebuildCount) {
+        this.rebuildCount = rebuildCount;
+    }
+
+    /**
+     * Returns the total rebuild latency.
+     */
+    public long getTotalRebuildLatency() {
+        return totalRebuildLatency;
+    }
+
+    /**
+     * Sets the total rebuild latency to the given value.
+     *
+     * @param totalRebuildLatency the total rebuild latency value to set.
+     */
+    public void setTotalRebuildLatency(long totalRebuildLatency) {
+        this.totalRebuildLatency = totalRebuildLatency;
+    }
+
     /**
      * Returns the memory cost.
      */
@@ -55,6 +55,10 @@ public class PartitionPerIndexStats implements PerIndexStats {
             "removeCount");
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> TOTAL_REMOVE_LATENCY = newUpdater(
             PartitionPerIndexStats.class, "totalRemoveLatency");
+    private static final AtomicLongFieldUpdater<PartitionPerIndexStats> REBUILD_COUNT = newUpdater(PartitionPerIndexStats.class,
+            "rebuildCount");
+    private static final AtomicLongFieldUpdater<PartitionPerIndexStats> TOTAL_REBUILD_LATENCY = newUpdater(
+            PartitionPerIndexStats.class, "totalRebuildLatency");
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> MEMORY_COST = newUpdater(PartitionPerIndexStats.class,
             "memoryCost");
 
@@ -76,6 +80,8 @@ public class PartitionPerIndexStats implements PerIndexStats {
     private volatile long totalUpdateLatency;
     private volatile long removeCount;
     private volatile long totalRemoveLatency;
+    private volatile long rebuildCount;
+    private volatile long totalRebuildLatency;
     private volatile long memoryCost;
 
     private boolean hasQueries;
@@ -161,6 +167,16 @@ public class PartitionPerIndexStats implements PerIndexStats {
         return totalRemoveLatency;
     }
 
+    @Override
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    @Override
+    public long getTotalRebuildLatency() {
+        return totalRebuildLatency;
+    }
+
     @Override
     public long getMemoryCost() {
         return memoryCost;
@@ -203,6 +219,12 @@ public class PartitionPerIndexStats implements PerIndexStats {
         ENTRY_COUNT.lazySet(this, entryCount - 1);
     }
 
+    @Override
+    public void onRebuild(long timestamp, long entryCount) {
+        TOTAL_REBUILD_LATENCY.lazySet(this, totalRebuildLatency + (Timer.nanosElapsed(timestamp)));
+        REBUILD_COUNT.lazySet(this, rebuildCount + entryCount);
+    }
+
     @Override
     public void onClear() {
         ENTRY_COUNT.lazySet(this, 0);
@@ -26,8 +26,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_INSERT_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_QUERY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_REBUILD_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_REMOVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_TOTAL_INSERT_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_TOTAL_REBUILD_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_TOTAL_REMOVE_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_TOTAL_UPDATE_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_UPDATE_COUNT;
@@ -76,6 +78,12 @@ public class PartitionedIndexStatsImpl implements LocalIndexStats {
     @Probe(name = MAP_METRIC_INDEX_TOTAL_REMOVE_LATENCY, unit = NS)
     private volatile long totalRemoveLatency;
 
+    @Probe(name = MAP_METRIC_INDEX_REBUILD_COUNT)
+    private volatile long rebuildCount;
+
+    @Probe(name = MAP_METRIC_INDEX_TOTAL_REBUILD_LATENCY, unit = NS)
+    private volatile long totalRebuildLatency;
+
     @Probe(name = MAP_METRIC_INDEX_MEMORY_COST, unit = BYTES)
     private volatile long memoryCost;
 
@@ -238,6 +246,35 @@ public class PartitionedIndexStatsImpl implements LocalIndexStats {
         this.totalRemoveLatency = totalRemoveLatency;
     }
 
+    @Override
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Sets the rebuild count of this stats to the given rebuild count.
+     *
+     * @param rebuildCount the rebuild count to set.
+     */
+    public void setRebuildCount(long rebuildCount) {
+        this.rebuildCount = rebuildCount;
+    }
+
+    @Override
+    public long getTotalRebuildLatency() {
+        return totalRebuildLatency;
+    }
+
+    /**
+     * Sets the total rebuild latency of this stats to the given total rebuild
+     * latency.
+     *
+     * @param totalRebuildLatency the total rebuild latency to set.
+     */
+    public void setTotalRebuildLatency(long totalRebuildLatency) {
+        this.totalRebuildLatency = totalRebuildLatency;
+    }
+
     @Override
     public long getMemoryCost() {
         return memoryCost;
@@ -270,6 +307,8 @@ public class PartitionedIndexStatsImpl implements LocalIndexStats {
         this.totalUpdateLatency = onDemandStats.getTotalUpdateLatency();
         this.removeCount = onDemandStats.getRemoveCount();
         this.totalRemoveLatency = onDemandStats.getTotalRemoveLatency();
+        this.rebuildCount = onDemandStats.getRebuildCount();
+        this.totalRebuildLatency = onDemandStats.getTotalRebuildLatency();
         this.memoryCost = onDemandStats.getMemoryCost();
     }
 
@@ -287,6 +326,8 @@ public class PartitionedIndexStatsImpl implements LocalIndexStats {
                 + ", totalUpdateLatency=" + totalUpdateLatency
                 + ", removeCount=" + removeCount
                 + ", totalRemoveLatency=" + totalRemoveLatency
+                + ", rebuildCount=" + rebuildCount
+                + ", totalRebuildLatency=" + totalRebuildLatency
                 + ", memoryCost=" + memoryCost
                 + '}';
     }
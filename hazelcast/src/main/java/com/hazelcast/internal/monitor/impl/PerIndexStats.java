@@ -97,6 +97,16 @@ public interface PerIndexStats {
             return 0;
         }
 
+        @Override
+        public long getRebuildCount() {
+            return 0;
+        }
+
+        @Override
+        public long getTotalRebuildLatency() {
+            return 0;
+        }
+
         @Override
         public long getMemoryCost() {
             return 0;
@@ -127,6 +137,11 @@ public interface PerIndexStats {
             // do nothing
         }
 
+        @Override
+        public void onRebuild(long timestamp, long entryCount) {
+            // do nothing
+        }
+
         @Override
         public void onClear() {
             // do nothing
@@ -246,6 +261,20 @@ public interface PerIndexStats {
      */
     long getTotalRemoveLatency();
 
+    /**
+     * Returns the number of entries inserted into the index by rebuilds.
+     */
+    long getRebuildCount();
+
+    /**
+     * Returns the total latency (in nanoseconds) of the rebuilds performed on
+     * the index.
+     * <p>
+     * To compute the rebuild throughput divide the {@link #getRebuildCount()
+     * rebuild count} by the returned value.
+     */
+    long getTotalRebuildLatency();
+
     /**
      * Returns the memory cost of the index in bytes.
      * <p>
@@ -299,6 +328,17 @@ public interface PerIndexStats {
      */
     void onRemove(long timestamp, IndexOperationStats operationStats, Index.OperationSource operationSource);
 
+    /**
+     * Invoked by the associated index after every batch of entries inserted
+     * while the index was being rebuilt.
+     *
+     * @param timestamp  the time at which the batch insertion was started.
+     * @param entryCount the number of entries in the batch.
+     * @see #makeTimestamp
+     * @see com.hazelcast.query.impl.InternalIndex#putEntries
+     */
+    void onRebuild(long timestamp, long entryCount);
+
     /**
      * Invoked by the associated index after the index was cleared.
      *
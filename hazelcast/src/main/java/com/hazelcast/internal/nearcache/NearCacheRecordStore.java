@@ -114,6 +114,23 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
      */
     boolean doEviction(boolean withoutMaxSizeCheck);
 
+    /**
+     * Does eviction as specified configuration {@link com.hazelcast.config.EvictionConfig}
+     * in {@link com.hazelcast.config.NearCacheConfig} to make room for a new
+     * entry with the given key.
+     * <p>
+     * If an {@link com.hazelcast.config.AdmissionPolicy} is configured and the
+     * new entry loses against the entry selected for eviction, nothing is
+     * evicted and the new entry must not be stored.
+     *
+     * @param key the key of the new entry
+     * @return {@code true} if the new entry is admitted, otherwise {@code false}
+     */
+    default boolean doEvictionToAdmit(K key) {
+        doEviction(false);
+        return true;
+    }
+
     /**
      * Loads the keys into the Near Cache.
      */
@@ -19,9 +19,11 @@ package com.hazelcast.internal.nearcache.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheNativeRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -34,6 +36,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.config.NearCacheConfig.DEFAULT_MEMORY_FORMAT;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
 import static com.hazelcast.internal.util.Preconditions.checkInstanceOf;
 import static com.hazelcast.internal.util.Preconditions.checkNotInstanceOf;
 
@@ -50,6 +53,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     private final boolean serializeKeys;
     private final HazelcastProperties properties;
+    private final NativeMemoryBudget nativeMemoryBudget;
 
     private volatile boolean preloadDone;
 
@@ -64,6 +68,20 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                             NearCacheRecordStore<K, V> nearCacheRecordStore,
                             SerializationService serializationService, TaskScheduler scheduler,
                             ClassLoader classLoader, HazelcastProperties properties) {
+        this(name, nearCacheConfig, nearCacheRecordStore,
+                serializationService, scheduler, classLoader, properties, null);
+    }
+
+    /**
+     * @param nativeMemoryBudget the budget to allocate the values of a
+     *                           {@link InMemoryFormat#NATIVE} Near Cache from,
+     *                           can be {@code null} if native memory is not enabled
+     */
+    public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                            NearCacheRecordStore<K, V> nearCacheRecordStore,
+                            SerializationService serializationService, TaskScheduler scheduler,
+                            ClassLoader classLoader, HazelcastProperties properties,
+                            NativeMemoryBudget nativeMemoryBudget) {
         this.name = name;
         this.nearCacheConfig = nearCacheConfig;
         this.serializationService = serializationService;
@@ -72,6 +90,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         this.nearCacheRecordStore = nearCacheRecordStore;
         this.serializeKeys = nearCacheConfig.isSerializeKeys();
         this.properties = properties;
+        this.nativeMemoryBudget = nativeMemoryBudget;
     }
 
     @Override
@@ -94,6 +113,13 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+            case NATIVE:
+                if (nativeMemoryBudget == null) {
+                    throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format"
+                            + " for Near Cache");
+                }
+                return new NearCacheNativeRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader,
+                        nativeMemoryBudget);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
@@ -130,7 +156,9 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
     public void put(K key, Data keyData, V value, Data valueData) {
         checkKeyFormat(key);
 
-        nearCacheRecordStore.doEviction(false);
+        if (!nearCacheRecordStore.doEvictionToAdmit(key)) {
+            return;
+        }
 
         nearCacheRecordStore.put(key, keyData, value, valueData);
     }
@@ -200,7 +228,9 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     @Override
     public long tryReserveForUpdate(K key, Data keyData, UpdateSemantic updateSemantic) {
-        nearCacheRecordStore.doEviction(false);
+        if (!nearCacheRecordStore.doEvictionToAdmit(key)) {
+            return NOT_RESERVED;
+        }
 
         return nearCacheRecordStore.tryReserveForUpdate(key, keyData, updateSemantic);
     }
@@ -20,6 +20,7 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCacheConfigAccessor;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -45,6 +46,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
     protected final ClassLoader classLoader;
     protected final HazelcastProperties properties;
     protected final SerializationService serializationService;
+    protected final NativeMemoryBudget nativeMemoryBudget;
 
     private final Object mutex = new Object();
     private final Queue<ScheduledFuture> preloadTaskFutures = new ConcurrentLinkedQueue<>();
@@ -53,6 +55,17 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
                                    ClassLoader classLoader, HazelcastProperties properties) {
+        this(ss, es, classLoader, properties, null);
+    }
+
+    /**
+     * @param nativeMemoryBudget the budget shared by all the
+     *                           {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+     *                           Near Caches of this manager, can be {@code null}
+     *                           if native memory is not enabled
+     */
+    public DefaultNearCacheManager(SerializationService ss, TaskScheduler es, ClassLoader classLoader,
+                                   HazelcastProperties properties, NativeMemoryBudget nativeMemoryBudget) {
         assert ss != null;
         assert es != null;
 
@@ -60,6 +73,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
         this.scheduler = es;
         this.classLoader = classLoader;
         this.properties = properties;
+        this.nativeMemoryBudget = nativeMemoryBudget;
     }
 
     @Override
@@ -91,8 +105,8 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     protected <K, V> NearCache<K, V> createNearCache(String name, NearCacheConfig nearCacheConfig) {
         NearCacheConfig copy = NearCacheConfigAccessor.copyWithInitializedDefaultMaxSizeForOnHeapMaps(nearCacheConfig);
-        return new DefaultNearCache<>(name, copy, serializationService,
-                scheduler, classLoader, properties);
+        return new DefaultNearCache<>(name, copy, null, serializationService,
+                scheduler, classLoader, properties, nativeMemoryBudget);
     }
 
     @Override
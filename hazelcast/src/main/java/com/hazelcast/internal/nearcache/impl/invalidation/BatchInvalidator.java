@@ -26,8 +26,11 @@ import com.hazelcast.spi.impl.executionservice.ExecutionService;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -36,12 +39,20 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Sends invalidations to Near Cache in batches.
+ * <p>
+ * If enabled, repeated invalidations of a key inside one batch are
+ * coalesced into a single invalidation. It's opt-in because only the
+ * receivers handling a batch as a whole tolerate the resulting gaps in
+ * the sequence numbers, see {@link RepairingHandler#handle(Collection,
+ * Collection, Collection, Collection)}.
  */
 public class BatchInvalidator extends Invalidator {
 
@@ -60,15 +71,22 @@ public class BatchInvalidator extends Invalidator {
 
     private final int batchSize;
     private final int batchFrequencySeconds;
+    private final boolean coalescingEnabled;
     private final UUID nodeShutdownListenerId;
     private final AtomicBoolean runningBackgroundTask = new AtomicBoolean(false);
 
     public BatchInvalidator(String serviceName, int batchSize, int batchFrequencySeconds,
                             Predicate<EventRegistration> eventFilter, NodeEngine nodeEngine) {
+        this(serviceName, batchSize, batchFrequencySeconds, true, eventFilter, nodeEngine);
+    }
+
+    public BatchInvalidator(String serviceName, int batchSize, int batchFrequencySeconds, boolean coalescingEnabled,
+                            Predicate<EventRegistration> eventFilter, NodeEngine nodeEngine) {
         super(serviceName, eventFilter, nodeEngine);
 
         this.batchSize = batchSize;
         this.batchFrequencySeconds = batchFrequencySeconds;
+        this.coalescingEnabled = coalescingEnabled;
         this.nodeShutdownListenerId = registerNodeShutdownListener();
         this.invalidationExecutorName = serviceName + getClass();
     }
@@ -112,6 +130,9 @@ public class BatchInvalidator extends Invalidator {
             invalidationQueue.release();
         }
 
+        if (coalescingEnabled) {
+            invalidations = coalesce(invalidations);
+        }
         sendInvalidations(dataStructureName, invalidations);
     }
 
@@ -132,11 +153,107 @@ public class BatchInvalidator extends Invalidator {
         return invalidations;
     }
 
+    /**
+     * Replaces multiple invalidations of the same key with the last one.
+     * <p>
+     * Clients detect missed invalidations by gaps between the sequences of
+     * a partition, so the remaining invalidations of every partition keep
+     * the sequence range of that partition in the batch: the first one
+     * takes over the lowest sequence and the last one the highest. When a
+     * single invalidation remains for a partition whose range has several
+     * sequences, it is sent twice, once with each bound. Then
+     * {@link RepairingHandler} does not count the sequences of the dropped
+     * invalidations as missed, and the sequence it stores for the
+     * partition catches up with the member's. When the coalesced
+     * invalidations of a key have different sources, the remaining one has
+     * no source, so that it is applied by every Near Cache.
+     *
+     * @param invalidations the invalidations of one batch in sequence order
+     * @return coalesced invalidations, or the given ones when no key repeats
+     */
+    static List<Invalidation> coalesce(List<Invalidation> invalidations) {
+        int size = invalidations.size();
+        Map<Data, Integer> lastIndexes = createHashMap(size);
+        Set<Data> keysWithMixedSources = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            Invalidation invalidation = invalidations.get(i);
+            Data key = invalidation.getKey();
+            Integer previousIndex = key != null ? lastIndexes.put(key, i) : null;
+            if (previousIndex != null
+                    && !Objects.equals(invalidations.get(previousIndex).getSourceUuid(), invalidation.getSourceUuid())) {
+                keysWithMixedSources.add(key);
+            }
+        }
+        if (lastIndexes.size() == size) {
+            return invalidations;
+        }
+        return removeRepeatedKeys(invalidations, lastIndexes, keysWithMixedSources);
+    }
+
+    private static List<Invalidation> removeRepeatedKeys(List<Invalidation> invalidations, Map<Data, Integer> lastIndexes,
+                                                         Set<Data> keysWithMixedSources) {
+        Map<UUID, SequenceRange> ranges = new HashMap<>();
+        List<Invalidation> remaining = new ArrayList<>(lastIndexes.size());
+        for (int i = 0; i < invalidations.size(); i++) {
+            Invalidation invalidation = invalidations.get(i);
+            SequenceRange range = ranges.computeIfAbsent(invalidation.getPartitionUuid(), uuid -> new SequenceRange());
+            range.add(invalidation.getSequence());
+            Data key = invalidation.getKey();
+            if (key == null || lastIndexes.get(key) == i) {
+                range.remaining++;
+                remaining.add(invalidation);
+            }
+        }
+
+        List<Invalidation> coalesced = new ArrayList<>(remaining.size());
+        for (Invalidation invalidation : remaining) {
+            SequenceRange range = ranges.get(invalidation.getPartitionUuid());
+            boolean first = range.emitted == 0;
+            boolean last = ++range.emitted == range.remaining;
+            if (first && last && range.lowest != range.highest) {
+                coalesced.add(withSequence(invalidation, range.lowest, keysWithMixedSources));
+                coalesced.add(withSequence(invalidation, range.highest, keysWithMixedSources));
+            } else {
+                long sequence = first ? range.lowest : last ? range.highest : invalidation.getSequence();
+                coalesced.add(withSequence(invalidation, sequence, keysWithMixedSources));
+            }
+        }
+        return coalesced;
+    }
+
+    private static Invalidation withSequence(Invalidation invalidation, long sequence, Set<Data> keysWithMixedSources) {
+        Data key = invalidation.getKey();
+        UUID sourceUuid = keysWithMixedSources.contains(key) ? null : invalidation.getSourceUuid();
+        if (sequence == invalidation.getSequence() && sourceUuid == invalidation.getSourceUuid()) {
+            return invalidation;
+        }
+        return new SingleNearCacheInvalidation(key, invalidation.getName(), sourceUuid,
+                invalidation.getPartitionUuid(), sequence);
+    }
+
+    /**
+     * Sequences of one partition in a batch and the number of
+     * invalidations remaining for it after coalescing.
+     */
+    private static final class SequenceRange {
+        private long lowest = Long.MAX_VALUE;
+        private long highest = Long.MIN_VALUE;
+        private int remaining;
+        private int emitted;
+
+        void add(long sequence) {
+            lowest = Math.min(lowest, sequence);
+            highest = Math.max(highest, sequence);
+        }
+    }
+
     private void sendInvalidations(String dataStructureName, List<Invalidation> invalidations) {
         // There will always be at least one listener which listens invalidations. This is the reason behind eager creation
         // of BatchNearCacheInvalidation instance here. There is a causality between listener and invalidation. Only if we have
         // a listener, we can have an invalidation, otherwise invalidations are not generated.
-        Invalidation invalidation = new BatchNearCacheInvalidation(dataStructureName, invalidations);
+        Invalidation invalidation = nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V5_4)
+                ? new PartitionGroupedBatchNearCacheInvalidation(dataStructureName, invalidations)
+                : new BatchNearCacheInvalidation(dataStructureName, invalidations);
 
         Collection<EventRegistration> registrations = eventService.getRegistrations(serviceName, dataStructureName);
         for (EventRegistration registration : registrations) {
@@ -45,17 +45,23 @@ public class BatchNearCacheInvalidation extends Invalidation {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
+        writeInvalidations(out);
+    }
 
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        readInvalidations(in);
+    }
+
+    protected void writeInvalidations(ObjectDataOutput out) throws IOException {
         out.writeInt(invalidations.size());
         for (Invalidation invalidation : invalidations) {
             out.writeObject(invalidation);
         }
     }
 
-    @Override
-    public void readData(ObjectDataInput in) throws IOException {
-        super.readData(in);
-
+    protected void readInvalidations(ObjectDataInput in) throws IOException {
         int size = in.readInt();
         if (size != 0) {
             List<Invalidation> invalidations = new ArrayList<Invalidation>(size);
@@ -67,6 +73,10 @@ public class BatchNearCacheInvalidation extends Invalidation {
         }
     }
 
+    protected final void setInvalidations(List<Invalidation> invalidations) {
+        this.invalidations = invalidations;
+    }
+
     @Override
     public String toString() {
         return "BatchNearCacheInvalidation{"
@@ -94,6 +94,16 @@ public abstract class Invalidator {
         metaDataGenerator.nextSequence(dataStructureName, partitionId);
     }
 
+    /**
+     * Increments the partition sequence of a data structure without sending
+     * an invalidation, if its invalidation metadata has been requested before.
+     * <p>
+     * Used for mutations while there are no invalidation listeners.
+     */
+    public final void forceIncrementSequenceIfInitialized(String dataStructureName, int partitionId) {
+        metaDataGenerator.nextSequenceIfInitialized(dataStructureName, partitionId);
+    }
+
     private Invalidation newKeyInvalidation(Data key, String dataStructureName, UUID sourceUuid) {
         int partitionId = getPartitionId(key);
         return newInvalidation(key, dataStructureName, sourceUuid, partitionId);
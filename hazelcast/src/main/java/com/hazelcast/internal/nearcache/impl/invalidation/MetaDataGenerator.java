@@ -73,6 +73,31 @@ public class MetaDataGenerator {
         return sequenceGenerator(name).incrementAndGet(partitionId);
     }
 
+    /**
+     * Increments the sequence of the supplied partition, if sequences
+     * have already been generated for the supplied data structure.
+     *
+     * @see #initSequences(String)
+     */
+    public void nextSequenceIfInitialized(String name, int partitionId) {
+        AtomicLongArray sequences = sequenceGenerators.get(name);
+        if (sequences != null) {
+            sequences.incrementAndGet(partitionId);
+        }
+    }
+
+    /**
+     * Starts generating sequences for the supplied data structure.
+     * <p>
+     * Called when the invalidation metadata of a data structure is requested,
+     * so its sequences are advanced even while no invalidation listener is
+     * registered. This way a Near Cache snapshot, which was taken before, can
+     * detect the mutations which happened in the meantime.
+     */
+    public void initSequences(String name) {
+        sequenceGenerator(name);
+    }
+
     public void setCurrentSequence(String name, int partitionId, long sequence) {
         sequenceGenerator(name).set(partitionId, sequence);
     }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.invalidation;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.UUIDSerializationUtil;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A {@link BatchNearCacheInvalidation} with a compact wire format.
+ * <p>
+ * Instead of serializing every invalidation of the batch as a separate
+ * object, invalidations are grouped by partition. The data structure name
+ * is written once, the partition UUID and a base sequence once per
+ * partition, and source UUIDs are written once and then referred to by
+ * index. For every invalidation only the key, the sequence offset from
+ * the base sequence and the source index remain.
+ * <p>
+ * Sent instead of {@link BatchNearCacheInvalidation} when all members
+ * are on cluster version 5.4 or later.
+ */
+public class PartitionGroupedBatchNearCacheInvalidation extends BatchNearCacheInvalidation {
+
+    public PartitionGroupedBatchNearCacheInvalidation() {
+    }
+
+    public PartitionGroupedBatchNearCacheInvalidation(String dataStructureName, List<Invalidation> invalidations) {
+        super(dataStructureName, invalidations);
+    }
+
+    @Override
+    protected void writeInvalidations(ObjectDataOutput out) throws IOException {
+        List<Invalidation> invalidations = getInvalidations();
+        Map<UUID, Integer> sourceIndexes = new LinkedHashMap<>();
+        Map<UUID, List<Invalidation>> invalidationsByPartition = new LinkedHashMap<>();
+        for (Invalidation invalidation : invalidations) {
+            sourceIndexes.putIfAbsent(invalidation.getSourceUuid(), sourceIndexes.size());
+            invalidationsByPartition.computeIfAbsent(invalidation.getPartitionUuid(), uuid -> new ArrayList<>())
+                    .add(invalidation);
+        }
+
+        out.writeInt(invalidations.size());
+        out.writeInt(sourceIndexes.size());
+        for (UUID sourceUuid : sourceIndexes.keySet()) {
+            UUIDSerializationUtil.writeUUID(out, sourceUuid);
+        }
+        out.writeInt(invalidationsByPartition.size());
+        for (Map.Entry<UUID, List<Invalidation>> entry : invalidationsByPartition.entrySet()) {
+            List<Invalidation> partitionInvalidations = entry.getValue();
+            long baseSequence = Long.MAX_VALUE;
+            for (Invalidation invalidation : partitionInvalidations) {
+                baseSequence = Math.min(baseSequence, invalidation.getSequence());
+            }
+
+            UUIDSerializationUtil.writeUUID(out, entry.getKey());
+            out.writeLong(baseSequence);
+            out.writeInt(partitionInvalidations.size());
+            for (Invalidation invalidation : partitionInvalidations) {
+                // sequences of a partition are dense inside
+                // a batch, so their offsets always fit an int
+                out.writeInt((int) (invalidation.getSequence() - baseSequence));
+                out.writeInt(sourceIndexes.get(invalidation.getSourceUuid()));
+                IOUtil.writeData(out, invalidation.getKey());
+            }
+        }
+    }
+
+    @Override
+    protected void readInvalidations(ObjectDataInput in) throws IOException {
+        String name = getName();
+        int size = in.readInt();
+        UUID[] sourceUuids = new UUID[in.readInt()];
+        for (int i = 0; i < sourceUuids.length; i++) {
+            sourceUuids[i] = UUIDSerializationUtil.readUUID(in);
+        }
+
+        List<Invalidation> invalidations = new ArrayList<>(size);
+        int partitionCount = in.readInt();
+        for (int i = 0; i < partitionCount; i++) {
+            UUID partitionUuid = UUIDSerializationUtil.readUUID(in);
+            long baseSequence = in.readLong();
+            int partitionSize = in.readInt();
+            for (int j = 0; j < partitionSize; j++) {
+                long sequence = baseSequence + in.readInt();
+                UUID sourceUuid = sourceUuids[in.readInt()];
+                Data key = IOUtil.readData(in);
+                invalidations.add(new SingleNearCacheInvalidation(key, name, sourceUuid, partitionUuid, sequence));
+            }
+        }
+        setInvalidations(invalidations);
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionGroupedBatchNearCacheInvalidation{"
+                + "dataStructureName=" + getName()
+                + ", invalidation-count-in-this-batch=" + getInvalidations().size()
+                + '}';
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.NEAR_CACHE_PARTITION_GROUPED_BATCH_INVALIDATION;
+    }
+}
@@ -21,10 +21,14 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static java.lang.String.format;
 
 /**
@@ -106,7 +110,13 @@ public final class RepairingHandler {
     }
 
     /**
-     * Handles batch invalidations
+     * Handles batch invalidations.
+     * <p>
+     * Keys are invalidated one by one, but the metadata of every partition is
+     * updated only once per batch. Within a batch, the sequences of a
+     * partition are dense, unless invalidations of the same key were coalesced
+     * on the member side. So only a gap before the lowest sequence of a
+     * partition in the batch is counted as missed.
      */
     public void handle(Collection<Data> keys, Collection<UUID> sourceUuids,
                        Collection<UUID> partitionUuids, Collection<Long> sequences) {
@@ -115,9 +125,79 @@ public final class RepairingHandler {
         Iterator<UUID> partitionUuidIterator = partitionUuids.iterator();
         Iterator<UUID> sourceUuidsIterator = sourceUuids.iterator();
 
+        Map<Integer, SequenceRange> sequenceRanges = createHashMap(keys.size());
         while (keyIterator.hasNext() && sourceUuidsIterator.hasNext()
                 && partitionUuidIterator.hasNext() && sequenceIterator.hasNext()) {
-            handle(keyIterator.next(), sourceUuidsIterator.next(), partitionUuidIterator.next(), sequenceIterator.next());
+            Data key = keyIterator.next();
+            UUID sourceUuid = sourceUuidsIterator.next();
+            UUID partitionUuid = partitionUuidIterator.next();
+            long sequence = sequenceIterator.next();
+            if (key == null) {
+                // clear events are applied in place
+                handle(null, sourceUuid, partitionUuid, sequence);
+                continue;
+            }
+            if (!localUuid.equals(sourceUuid)) {
+                nearCache.invalidate(serializeKeys ? key : serializationService.toObject(key));
+            }
+
+            int partitionId = partitionService.getPartitionId(key);
+            SequenceRange range = sequenceRanges.get(partitionId);
+            if (range != null && !range.partitionUuid.equals(partitionUuid)) {
+                // partition UUID changed inside the batch
+                applySequenceRange(partitionId, range);
+                range = null;
+            }
+            if (range == null) {
+                sequenceRanges.put(partitionId, new SequenceRange(partitionUuid, sequence));
+            } else {
+                range.add(sequence);
+            }
+        }
+
+        for (Map.Entry<Integer, SequenceRange> entry : sequenceRanges.entrySet()) {
+            applySequenceRange(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Handles batch invalidations received as a {@link BatchNearCacheInvalidation}.
+     */
+    public void handle(BatchNearCacheInvalidation batch) {
+        List<Invalidation> invalidations = batch.getInvalidations();
+        int size = invalidations.size();
+        List<Data> keys = new ArrayList<>(size);
+        List<UUID> sourceUuids = new ArrayList<>(size);
+        List<UUID> partitionUuids = new ArrayList<>(size);
+        List<Long> sequences = new ArrayList<>(size);
+        for (Invalidation invalidation : invalidations) {
+            keys.add(invalidation.getKey());
+            sourceUuids.add(invalidation.getSourceUuid());
+            partitionUuids.add(invalidation.getPartitionUuid());
+            sequences.add(invalidation.getSequence());
+        }
+        handle(keys, sourceUuids, partitionUuids, sequences);
+    }
+
+    private void applySequenceRange(int partitionId, SequenceRange range) {
+        checkOrRepairUuid(partitionId, range.partitionUuid);
+        checkOrRepairSequence(partitionId, range.lowestSequence, false);
+        if (range.highestSequence > range.lowestSequence) {
+            advanceSequence(partitionId, range.highestSequence);
+        }
+    }
+
+    /**
+     * Sets the sequence of the partition to {@code nextSequence} if it is
+     * bigger, without counting the skipped sequences as missed.
+     */
+    private void advanceSequence(int partition, long nextSequence) {
+        MetaDataContainer metaData = getMetaDataContainer(partition);
+        while (true) {
+            long currentSequence = metaData.getSequence();
+            if (currentSequence >= nextSequence || metaData.casSequence(currentSequence, nextSequence)) {
+                break;
+            }
         }
     }
 
@@ -216,4 +296,25 @@ public final class RepairingHandler {
         MetaDataContainer metaData = getMetaDataContainer(partitionID);
         metaData.setSequence(partitionSequence);
     }
+
+    /**
+     * Sequences of one partition received in a batch.
+     */
+    private static final class SequenceRange {
+
+        private final UUID partitionUuid;
+        private long lowestSequence;
+        private long highestSequence;
+
+        SequenceRange(UUID partitionUuid, long sequence) {
+            this.partitionUuid = partitionUuid;
+            this.lowestSequence = sequence;
+            this.highestSequence = sequence;
+        }
+
+        void add(long sequence) {
+            lowestSequence = Math.min(lowestSequence, sequence);
+            highestSequence = Math.max(highestSequence, sequence);
+        }
+    }
 }
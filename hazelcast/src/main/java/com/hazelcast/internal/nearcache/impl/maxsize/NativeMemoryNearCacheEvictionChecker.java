@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.memory.impl.SharedArenaMemoryManager;
+import com.hazelcast.internal.nearcache.impl.SampleableNearCacheRecordMap;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Near Cache max-size policy implementation for Near Caches keeping their
+ * values in native memory.
+ * <p>
+ * Supports {@link MaxSizePolicy#ENTRY_COUNT} and the native memory based
+ * policies. The used native memory is the memory allocated by the Near
+ * Cache itself, while the free native memory is what is left in the
+ * budget shared by all the Near Caches of the client.
+ */
+public class NativeMemoryNearCacheEvictionChecker implements EvictionChecker {
+
+    private static final int ONE_HUNDRED = 100;
+
+    private final MaxSizePolicy maxSizePolicy;
+    private final long maxSize;
+    private final SampleableNearCacheRecordMap nearCacheRecordMap;
+    private final SharedArenaMemoryManager memoryManager;
+
+    public NativeMemoryNearCacheEvictionChecker(MaxSizePolicy maxSizePolicy, int size,
+                                                SampleableNearCacheRecordMap nearCacheRecordMap,
+                                                SharedArenaMemoryManager memoryManager) {
+        this.maxSizePolicy = maxSizePolicy;
+        this.maxSize = size;
+        this.nearCacheRecordMap = nearCacheRecordMap;
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        NativeMemoryBudget budget = memoryManager.getBudget();
+        long capacity = Math.max(budget.getCapacity(), 1);
+        switch (maxSizePolicy) {
+            case ENTRY_COUNT:
+                return nearCacheRecordMap.size() >= maxSize;
+            case USED_NATIVE_MEMORY_SIZE:
+                return memoryManager.getUsedMemory() >= MEGABYTES.toBytes(maxSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return memoryManager.getUsedMemory() * ONE_HUNDRED / capacity >= maxSize;
+            case FREE_NATIVE_MEMORY_SIZE:
+                return budget.getCapacity() - budget.getUsed() < MEGABYTES.toBytes(maxSize);
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (budget.getCapacity() - budget.getUsed()) * ONE_HUNDRED / capacity < maxSize;
+            default:
+                throw new IllegalArgumentException("Not an appropriate max size policy [" + maxSizePolicy + ']');
+        }
+    }
+}
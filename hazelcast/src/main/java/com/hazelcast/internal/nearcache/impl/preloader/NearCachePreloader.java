@@ -19,6 +19,9 @@ package com.hazelcast.internal.nearcache.impl.preloader;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
@@ -35,11 +38,17 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
 
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.readIntB;
 import static com.hazelcast.internal.nio.Bits.writeIntB;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
@@ -51,9 +60,28 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * Alternatively the keys and values can be stored as a snapshot, which is
+ * memory-mapped on load and restored directly into the Near Cache. The
+ * snapshot file has the following layout:
+ * <pre>
+ * header:          magic bytes, file format
+ * entries:         partition ID, key size, key, value size, value
+ * partition table: partition count, (partition ID, partition UUID, sequence)
+ * trailer:         offset of the partition table
+ * </pre>
+ * The partition table contains the invalidation metadata of the partitions
+ * when the snapshot was taken. An entry is only restored, if the invalidation
+ * metadata of its partition didn't change in the meantime, otherwise its value
+ * is fetched from the data structure.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -63,7 +91,8 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        INTERLEAVED_LENGTH_FIELD,
+        KEY_VALUE_SNAPSHOT
     }
 
     /**
@@ -85,6 +114,21 @@ public class NearCachePreloader<K> {
      */
     private static final int LOAD_BATCH_SIZE = 100;
 
+    /**
+     * Size of the file header (magic bytes and file format).
+     */
+    private static final int HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+    /**
+     * Size of a partition table entry (partition ID, partition UUID and sequence).
+     */
+    private static final int PARTITION_TABLE_ENTRY_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+
+    /**
+     * Maximum size of the entries of a snapshot file, so the whole file can be memory-mapped at once.
+     */
+    private static final int MAX_SNAPSHOT_ENTRIES_SIZE = Integer.MAX_VALUE / 2;
+
     private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
     private final byte[] tmpBytes = new byte[INT_SIZE_IN_BYTES];
 
@@ -122,6 +166,21 @@ public class NearCachePreloader<K> {
      * @param adapter the {@link DataStructureAdapter} to load the values from
      */
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        loadKeys(adapter, null);
+    }
+
+    /**
+     * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
+     * <p>
+     * If the file is a snapshot, its entries are handed over to the supplied
+     * {@link NearCacheSnapshotRestorer}. Only the entries, which couldn't be
+     * restored, are loaded via the {@link DataStructureAdapter}.
+     *
+     * @param adapter  the {@link DataStructureAdapter} to load the values from
+     * @param restorer the {@link NearCacheSnapshotRestorer} to restore snapshot entries,
+     *                 can be {@code null} to load all entries via the adapter
+     */
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, NearCacheSnapshotRestorer restorer) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -132,7 +191,12 @@ public class NearCachePreloader<K> {
         BufferingInputStream bis = null;
         try {
             bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE);
-            if (!checkHeader(bis)) {
+            FileFormat fileFormat = checkHeader(bis);
+            if (fileFormat == null) {
+                return;
+            }
+            if (fileFormat == FileFormat.KEY_VALUE_SNAPSHOT) {
+                loadSnapshot(adapter, restorer, startedNanos);
                 return;
             }
 
@@ -147,19 +211,87 @@ public class NearCachePreloader<K> {
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
+    private FileFormat checkHeader(BufferingInputStream bis) throws IOException {
         int magicBytes = readInt(bis);
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
         int fileFormat = readInt(bis);
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return null;
+        }
+        return FileFormat.values()[fileFormat];
+    }
+
+    private void loadSnapshot(DataStructureAdapter<Object, ?> adapter, NearCacheSnapshotRestorer restorer,
+                              long startedNanos) throws IOException {
+        try (FileChannel channel = FileChannel.open(storeFile.toPath(), READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                logger.warning(format("Skipped loading snapshot of Near Cache %s since it's too large to be memory-mapped (%s)",
+                        nearCacheName, storeFile.getAbsolutePath()));
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(READ_ONLY, 0, fileSize);
+            int partitionTableOffset = (int) buffer.getLong((int) fileSize - LONG_SIZE_IN_BYTES);
+            Map<Integer, MetaDataContainer> partitions = readPartitionTable(buffer, partitionTableOffset);
+
+            int restoredEntries = 0;
+            int loadedKeys = 0;
+            Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+            upcast(buffer).position(HEADER_SIZE);
+            while (buffer.position() < partitionTableOffset) {
+                int partitionId = buffer.getInt();
+                Data key = readData(buffer);
+                Data value = readData(buffer);
+                if (restoreEntry(restorer, partitions.get(partitionId), key, value)) {
+                    restoredEntries++;
+                    continue;
+                }
+                builder.add(serializationService.toObject(key));
+                if (builder.size() == LOAD_BATCH_SIZE) {
+                    adapter.getAll(builder.build());
+                    builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+                }
+                loadedKeys++;
+            }
+            if (builder.size() > 0) {
+                adapter.getAll(builder.build());
+            }
+
+            long elapsedMillis = Timer.millisElapsed(startedNanos);
+            logger.info(format("Restored %d entries and loaded %d keys of Near Cache %s in %d ms", restoredEntries, loadedKeys,
+                    nearCacheName, elapsedMillis));
         }
-        return true;
+    }
+
+    private static boolean restoreEntry(NearCacheSnapshotRestorer restorer, MetaDataContainer metaData,
+                                        Data key, Data value) {
+        return restorer != null && metaData != null
+                && restorer.restore(key, value, metaData.getUuid(), metaData.getSequence());
+    }
+
+    private static Map<Integer, MetaDataContainer> readPartitionTable(ByteBuffer buffer, int partitionTableOffset) {
+        upcast(buffer).position(partitionTableOffset);
+        int partitionCount = buffer.getInt();
+        Map<Integer, MetaDataContainer> partitions = new HashMap<>();
+        for (int i = 0; i < partitionCount; i++) {
+            int partitionId = buffer.getInt();
+            MetaDataContainer metaData = new MetaDataContainer();
+            metaData.setUuid(new UUID(buffer.getLong(), buffer.getLong()));
+            metaData.setSequence(buffer.getLong());
+            partitions.put(partitionId, metaData);
+        }
+        return partitions;
+    }
+
+    private static Data readData(ByteBuffer buffer) {
+        byte[] payload = new byte[buffer.getInt()];
+        buffer.get(payload);
+        return new HeapData(payload);
     }
 
     /**
@@ -204,6 +336,152 @@ public class NearCachePreloader<K> {
         }
     }
 
+    /**
+     * Stores the Near Cache keys and values from the supplied iterator as a snapshot.
+     * <p>
+     * Only readable records, which are not stale according to the supplied
+     * {@link StaleReadDetector}, are stored. The invalidation metadata of a
+     * partition is captured before the first value of that partition is read,
+     * so every invalidation of a stored value will show up as a sequence
+     * change on load.
+     *
+     * @param iterator          {@link Iterator} over the entry set of a
+     *                          {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param staleReadDetector the {@link StaleReadDetector} of the Near Cache
+     */
+    public void storeSnapshot(Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>> iterator,
+                              StaleReadDetector staleReadDetector) {
+        long startedNanos = Timer.nanos();
+        FileChannel channel = null;
+        try {
+            buf = allocate(BUFFER_SIZE);
+            lastWrittenBytes = 0;
+            lastKeyCount = 0;
+
+            channel = FileChannel.open(tmpStoreFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+
+            // write header, entries, partition table and trailer
+            writeSnapshotInt(channel, MAGIC_BYTES);
+            writeSnapshotInt(channel, FileFormat.KEY_VALUE_SNAPSHOT.ordinal());
+            Map<Integer, MetaDataContainer> partitions = writeSnapshotEntries(channel, iterator, staleReadDetector);
+            writePartitionTable(channel, partitions);
+            writeSnapshotLong(channel, HEADER_SIZE + lastWrittenBytes);
+            flushLocalBuffer(channel);
+
+            // cleanup if no entries have been written
+            if (lastKeyCount == 0) {
+                deleteQuietly(storeFile);
+                updatePersistenceStats(startedNanos);
+                return;
+            }
+
+            closeResource(channel);
+            rename(tmpStoreFile, storeFile);
+
+            updatePersistenceStats(startedNanos);
+        } catch (Exception e) {
+            logger.warning(format("Could not store snapshot of Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()), e);
+
+            nearCacheStats.addPersistenceFailure(e);
+        } finally {
+            closeResource(channel);
+            deleteQuietly(tmpStoreFile);
+        }
+    }
+
+    private Map<Integer, MetaDataContainer> writeSnapshotEntries(FileChannel channel,
+                                                                 Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>>
+                                                                         iterator,
+                                                                 StaleReadDetector staleReadDetector) throws IOException {
+        Map<Integer, MetaDataContainer> partitions = new HashMap<>();
+        while (iterator.hasNext()) {
+            Map.Entry<K, ? extends NearCacheRecord> entry = iterator.next();
+            K key = entry.getKey();
+            NearCacheRecord record = entry.getValue();
+            if (record.getReservationId() != READ_PERMITTED) {
+                continue;
+            }
+            Data keyData = serializationService.toData(key);
+            int partitionId = staleReadDetector.getPartitionId(keyData);
+            partitions.computeIfAbsent(partitionId, id -> copyOf(staleReadDetector.getMetaDataContainer(id)));
+
+            Object value = record.getValue();
+            if (value == null || staleReadDetector.isStaleRead(key, record)) {
+                continue;
+            }
+            Data valueData = serializationService.toData(value);
+            int entrySize = 3 * INT_SIZE_IN_BYTES + keyData.totalSize() + valueData.totalSize();
+            if ((long) lastWrittenBytes + entrySize > MAX_SNAPSHOT_ENTRIES_SIZE) {
+                logger.warning(format("Snapshot of Near Cache %s exceeds the maximum size, stored only %d entries",
+                        nearCacheName, lastKeyCount));
+                break;
+            }
+
+            writeSnapshotInt(channel, partitionId);
+            writeSnapshotData(channel, keyData);
+            writeSnapshotData(channel, valueData);
+
+            lastWrittenBytes += entrySize;
+            lastKeyCount++;
+        }
+        return partitions;
+    }
+
+    private void writePartitionTable(FileChannel channel, Map<Integer, MetaDataContainer> partitions) throws IOException {
+        // partitions without a UUID have not been initialized yet, so they have no stored entries
+        partitions.values().removeIf(metaData -> metaData.getUuid() == null);
+
+        writeSnapshotInt(channel, partitions.size());
+        for (Map.Entry<Integer, MetaDataContainer> entry : partitions.entrySet()) {
+            MetaDataContainer metaData = entry.getValue();
+            ensureBufHasRoom(channel, PARTITION_TABLE_ENTRY_SIZE);
+            buf.putInt(entry.getKey());
+            buf.putLong(metaData.getUuid().getMostSignificantBits());
+            buf.putLong(metaData.getUuid().getLeastSignificantBits());
+            buf.putLong(metaData.getSequence());
+        }
+    }
+
+    private static MetaDataContainer copyOf(MetaDataContainer metaData) {
+        MetaDataContainer copy = new MetaDataContainer();
+        copy.setUuid(metaData.getUuid());
+        copy.setSequence(metaData.getSequence());
+        return copy;
+    }
+
+    private void writeSnapshotInt(FileChannel channel, int value) throws IOException {
+        ensureBufHasRoom(channel, INT_SIZE_IN_BYTES);
+        buf.putInt(value);
+    }
+
+    private void writeSnapshotLong(FileChannel channel, long value) throws IOException {
+        ensureBufHasRoom(channel, LONG_SIZE_IN_BYTES);
+        buf.putLong(value);
+    }
+
+    private void writeSnapshotData(FileChannel channel, Data data) throws IOException {
+        byte[] payload = data.toByteArray();
+        writeSnapshotInt(channel, payload.length);
+        if (payload.length <= BUFFER_SIZE) {
+            ensureBufHasRoom(channel, payload.length);
+            buf.put(payload);
+            return;
+        }
+        // large payloads are written directly to the channel
+        flushLocalBuffer(channel);
+        ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+        while (payloadBuffer.hasRemaining()) {
+            channel.write(payloadBuffer);
+        }
+    }
+
+    private void ensureBufHasRoom(FileChannel channel, int expectedSize) throws IOException {
+        if (buf.remaining() < expectedSize) {
+            flushLocalBuffer(channel);
+        }
+    }
+
     private void updatePersistenceStats(long startedNanos) {
         long elapsedMillis = Timer.millisElapsed(startedNanos);
         nearCacheStats.addPersistence(elapsedMillis, lastWrittenBytes, lastKeyCount);
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.UUID;
+
+/**
+ * Restores the entries of a Near Cache snapshot file into a
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}.
+ *
+ * @see NearCachePreloader#loadKeys(com.hazelcast.internal.adapter.DataStructureAdapter, NearCacheSnapshotRestorer)
+ */
+@FunctionalInterface
+public interface NearCacheSnapshotRestorer {
+
+    /**
+     * Restores a single entry of a Near Cache snapshot.
+     * <p>
+     * The entry must only be restored, if the current invalidation metadata
+     * of its partition still matches the supplied partition UUID and sequence.
+     *
+     * @param key           the serialized key
+     * @param value         the serialized value
+     * @param partitionUuid the partition UUID when the snapshot was taken
+     * @param sequence      the partition sequence when the snapshot was taken
+     * @return {@code true} if the entry was handled, {@code false} if its
+     * value has to be fetched from the data structure
+     */
+    boolean restore(Data key, Data value, UUID partitionUuid, long sequence);
+}
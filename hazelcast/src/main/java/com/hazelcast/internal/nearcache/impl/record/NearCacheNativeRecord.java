@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord} keeping the
+ * serialized value in native memory. Only the metadata of the record stays on-heap.
+ * <p>
+ * The value is copied on-heap on every {@link #getValue()} call. Reads, updates and
+ * {@link #dispose() disposal} of the value are serialized on the record, so a reader
+ * never sees a value block after it was freed: it sees a {@code null} value instead.
+ */
+public class NearCacheNativeRecord extends AbstractNearCacheRecord<Data> {
+
+    private final MemoryManager memoryManager;
+
+    private long valueAddress = NULL_ADDRESS;
+    private int valueSize;
+    private boolean disposed;
+
+    public NearCacheNativeRecord(MemoryManager memoryManager, Data value, long creationTime, long expiryTime) {
+        super(null, creationTime, expiryTime);
+        this.memoryManager = memoryManager;
+        setValue(value);
+    }
+
+    @Override
+    public synchronized Data getValue() {
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[valueSize];
+        memoryManager.getAccessor().copyToByteArray(valueAddress, bytes, 0, valueSize);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Copies the given value to native memory, freeing the previous one.
+     * Does nothing when the record was already disposed.
+     *
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not
+     *                                                     enough native memory, the
+     *                                                     previous value is kept
+     */
+    @Override
+    public synchronized void setValue(Data value) {
+        if (disposed) {
+            return;
+        }
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        long newAddress = NULL_ADDRESS;
+        int newSize = 0;
+        if (value != null && value.totalSize() > 0) {
+            newSize = value.totalSize();
+            newAddress = allocator.allocate(newSize);
+            memoryManager.getAccessor().copyFromByteArray(value.toByteArray(), 0, newAddress, newSize);
+        }
+        allocator.free(valueAddress, valueSize);
+        valueAddress = newAddress;
+        valueSize = newSize;
+    }
+
+    /**
+     * @return size of the value in native memory, in bytes. The size of
+     * the last value is kept after the record is disposed, so the memory
+     * cost of a record can be accounted consistently.
+     */
+    public synchronized int getValueSize() {
+        return valueSize;
+    }
+
+    /**
+     * Frees the native memory of the value. Must be called exactly when the
+     * record is removed from its record store; the record is unusable after
+     * this call.
+     */
+    public synchronized void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        memoryManager.getAllocator().free(valueAddress, valueSize);
+        valueAddress = NULL_ADDRESS;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "NearCacheNativeRecord{"
+                + "valueAddress=" + valueAddress
+                + ", valueSize=" + valueSize
+                + ", disposed=" + disposed
+                + ", " + super.toString() + '}';
+    }
+}
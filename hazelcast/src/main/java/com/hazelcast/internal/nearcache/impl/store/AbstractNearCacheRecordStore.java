@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.AdmissionFilter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
@@ -38,6 +39,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import static com.hazelcast.internal.eviction.AdmissionFilterProvider.getAdmissionFilter;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator;
 import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
 import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
@@ -79,6 +81,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected SamplingEvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
+    protected AdmissionFilter admissionFilter;
 
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -110,6 +113,8 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            this.admissionFilter = getAdmissionFilter(evictionConfig, evictionConfig.getMaxSizePolicy(),
+                    evictionConfig.getSize());
         }
     }
 
@@ -228,6 +233,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     public V get(K key) {
         checkAvailable();
 
+        if (admissionFilter != null) {
+            admissionFilter.recordAccess(key);
+        }
+
         R record = null;
         V value = null;
         try {
@@ -238,12 +247,13 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
                 return null;
             }
 
+            // the value is read only once: for native records
+            // every read copies it on-heap
             value = (V) record.getValue();
-            long recordState = record.getReservationId();
 
-            if (recordState != READ_PERMITTED
-                    && !record.isCachedAsNull()
-                    && value == null) {
+            // a reserved record, or a record whose value was dropped
+            // concurrently (e.g. a native record being evicted)
+            if (value == null && !record.isCachedAsNull()) {
                 nearCacheStats.incrementMisses();
                 return null;
             }
@@ -265,18 +275,13 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
             onRecordAccess(record);
             nearCacheStats.incrementHits();
 
-            return recordToValue(record);
+            return value == null ? (V) CACHED_AS_NULL : toValue(value);
         } catch (Throwable error) {
             onGetError(key, value, record, error);
             throw rethrow(error);
         }
     }
 
-    protected V recordToValue(R record) {
-        return record.getValue() == null
-                ? (V) CACHED_AS_NULL : toValue(record.getValue());
-    }
-
     // only implemented for testing purposes
     @Override
     public void put(K key, Data keyData, V value, Data valueData) {
@@ -339,6 +344,21 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return true;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean doEvictionToAdmit(K key) {
+        checkAvailable();
+
+        if (admissionFilter == null || containsRecordKey(key)) {
+            doEviction(false);
+            return true;
+        }
+
+        admissionFilter.ensureCapacity(records.size());
+        return evictionStrategy.evictToAdmit(records, evictionPolicyEvaluator, evictionChecker, this,
+                admissionFilter, (KS) key);
+    }
+
     @Override
     public long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
         checkAvailable();
@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
@@ -30,9 +31,13 @@ import com.hazelcast.internal.serialization.SerializationService;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -45,9 +50,10 @@ import static java.lang.String.format;
 public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheRecord>
         extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>> {
 
-    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
+    static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
     private final NearCachePreloader<K> nearCachePreloader;
+    private final PreloadMode preloadMode;
     private final BiFunction<? super K, ? super R, ? extends R> invalidatorFunction = createInvalidatorFunction();
 
     BaseHeapNearCacheRecordStore(String name, NearCacheConfig nearCacheConfig, SerializationService serializationService,
@@ -57,6 +63,7 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
         this.nearCachePreloader = preloaderConfig.isEnabled()
                 ? new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+        this.preloadMode = preloaderConfig.getPreloadMode();
     }
 
     @Override
@@ -120,17 +127,52 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, this::restoreSnapshotEntry);
         }
     }
 
     @Override
     public void storeKeys() {
-        if (nearCachePreloader != null) {
+        if (nearCachePreloader == null) {
+            return;
+        }
+        // without invalidations the staleness of a snapshot cannot be detected
+        if (preloadMode == PreloadMode.KEYS_AND_VALUES && staleReadDetector != ALWAYS_FRESH) {
+            nearCachePreloader.storeSnapshot(records.entrySet().iterator(), staleReadDetector);
+        } else {
             nearCachePreloader.storeKeys(records.keySet().iterator());
         }
     }
 
+    /**
+     * Restores an entry of a Near Cache snapshot.
+     * <p>
+     * The reservation of the key captures the current invalidation metadata of
+     * its partition. The value is only published, if that metadata is still
+     * the same as when the snapshot was taken, otherwise the reservation is
+     * removed and the value has to be fetched from the data structure.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean restoreSnapshotEntry(Data keyData, Data valueData, UUID partitionUuid, long sequence) {
+        K key = nearCacheConfig.isSerializeKeys() ? (K) keyData : serializationService.toObject(keyData);
+        if (!doEvictionToAdmit(key)) {
+            return true;
+        }
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            return true;
+        }
+
+        R reservedRecord = records.get(key);
+        if (reservedRecord == null || reservedRecord.getReservationId() != reservationId
+                || reservedRecord.getInvalidationSequence() != sequence || !reservedRecord.hasSameUuid(partitionUuid)) {
+            records.applyIfPresent(key, (key1, record) -> record.getReservationId() == reservationId ? null : record);
+            return false;
+        }
+        tryPublishReserved(key, (V) valueData, reservationId, false);
+        return true;
+    }
+
     @Override
     public void destroy() {
         super.destroy();
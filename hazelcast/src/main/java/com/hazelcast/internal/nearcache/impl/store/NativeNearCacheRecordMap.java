@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.function.BiFunction;
+
+/**
+ * {@link HeapNearCacheRecordMap} for {@link NearCacheNativeRecord}s, freeing the
+ * native memory of every record leaving the map.
+ * <p>
+ * Disposal is tied to the map mutations rather than to the record store
+ * operations, so a record is disposed whichever path removes or replaces
+ * it: invalidation, expiration, eviction (including the eviction of
+ * reserved records, which is not reported to the eviction listener),
+ * update or clear.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ */
+@SerializableByConvention
+public class NativeNearCacheRecordMap<K> extends HeapNearCacheRecordMap<K, NearCacheNativeRecord> {
+
+    NativeNearCacheRecordMap(SerializationService serializationService, int initialCapacity) {
+        super(serializationService, initialCapacity);
+    }
+
+    @Override
+    public NearCacheNativeRecord put(K key, NearCacheNativeRecord value) {
+        NearCacheNativeRecord oldRecord = super.put(key, value);
+        disposeIfReplaced(oldRecord, value);
+        return oldRecord;
+    }
+
+    @Override
+    public NearCacheNativeRecord remove(Object key) {
+        NearCacheNativeRecord oldRecord = super.remove(key);
+        disposeIfReplaced(oldRecord, null);
+        return oldRecord;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        boolean removed = super.remove(key, value);
+        if (removed) {
+            ((NearCacheNativeRecord) value).dispose();
+        }
+        return removed;
+    }
+
+    @Override
+    public NearCacheNativeRecord replace(K key, NearCacheNativeRecord value) {
+        NearCacheNativeRecord oldRecord = super.replace(key, value);
+        disposeIfReplaced(oldRecord, value);
+        return oldRecord;
+    }
+
+    @Override
+    public boolean replace(K key, NearCacheNativeRecord oldValue, NearCacheNativeRecord newValue) {
+        boolean replaced = super.replace(key, oldValue, newValue);
+        if (replaced) {
+            disposeIfReplaced(oldValue, newValue);
+        }
+        return replaced;
+    }
+
+    @Override
+    public NearCacheNativeRecord applyIfPresent(K key, BiFunction<? super K, ? super NearCacheNativeRecord,
+            ? extends NearCacheNativeRecord> remappingFunction) {
+        return super.applyIfPresent(key, disposingFunction(remappingFunction));
+    }
+
+    @Override
+    public NearCacheNativeRecord apply(K key, BiFunction<? super K, ? super NearCacheNativeRecord,
+            ? extends NearCacheNativeRecord> remappingFunction) {
+        return super.apply(key, disposingFunction(remappingFunction));
+    }
+
+    @Override
+    public void clear() {
+        // removing one by one so that records put concurrently are either
+        // removed and disposed here or kept, but never dropped undisposed
+        for (K key : keySet()) {
+            remove(key);
+        }
+    }
+
+    private BiFunction<K, NearCacheNativeRecord, NearCacheNativeRecord> disposingFunction(
+            BiFunction<? super K, ? super NearCacheNativeRecord, ? extends NearCacheNativeRecord> remappingFunction) {
+        return (key, oldRecord) -> {
+            NearCacheNativeRecord newRecord = remappingFunction.apply(key, oldRecord);
+            disposeIfReplaced(oldRecord, newRecord);
+            return newRecord;
+        };
+    }
+
+    private static void disposeIfReplaced(NearCacheNativeRecord oldRecord, NearCacheNativeRecord newRecord) {
+        if (oldRecord != null && oldRecord != newRecord) {
+            oldRecord.dispose();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.memory.impl.SharedArenaMemoryManager;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import javax.annotation.Nullable;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * Serialized values are kept in native memory allocated from the given
+ * {@link NativeMemoryBudget}, while keys and record metadata stay on-heap.
+ * This keeps the bulk of a large Near Cache out of the reach of the garbage
+ * collector, while the on-heap record map keeps supporting all the eviction
+ * policies, expiration, preloading and the invalidation metadata used by
+ * the repairing handler, exactly like the on-heap Near Caches.
+ * <p>
+ * When the budget is exhausted, the value which could not be stored is
+ * dropped from the Near Cache and an entry is evicted to make room for the
+ * next one.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NearCacheNativeRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheNativeRecord> {
+
+    private final SharedArenaMemoryManager memoryManager;
+
+    private volatile boolean evictionNeeded;
+
+    public NearCacheNativeRecordStore(String name,
+                                      NearCacheConfig nearCacheConfig,
+                                      SerializationService serializationService,
+                                      ClassLoader classLoader,
+                                      NativeMemoryBudget nativeMemoryBudget) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.memoryManager = nativeMemoryBudget.newSharedArena();
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        return new NativeMemoryNearCacheEvictionChecker(evictionConfig.getMaxSizePolicy(), evictionConfig.getSize(),
+                records, memoryManager);
+    }
+
+    @Override
+    protected HeapNearCacheRecordMap<K, NearCacheNativeRecord> createNearCacheRecordMap(NearCacheConfig nearCacheConfig) {
+        return new NativeNearCacheRecordMap<>(serializationService, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data) {
+            return REFERENCE_COST_IN_BYTES + ((Data) key).getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheNativeRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        // reference to this record inside map ("store" field)
+        return REFERENCE_COST_IN_BYTES
+                // reference to the memory manager and value address and size
+                + REFERENCE_COST_IN_BYTES + (Long.SIZE / Byte.SIZE) + (Integer.SIZE / Byte.SIZE)
+                // partition Id
+                + (Integer.SIZE / Byte.SIZE)
+                // "uuid" ref size + 2 long in uuid
+                + REFERENCE_COST_IN_BYTES + (2 * (Long.SIZE / Byte.SIZE))
+                // native memory cost of the value
+                + record.getValueSize()
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_BOOLEAN_FIELD_TYPES;
+    }
+
+    @Override
+    protected NearCacheNativeRecord createRecord(V value) {
+        Data dataValue = toData(value);
+        long creationTime = currentTimeMillis();
+        if (timeToLiveMillis > 0) {
+            return new NearCacheNativeRecord(memoryManager, dataValue, creationTime, creationTime + timeToLiveMillis);
+        } else {
+            return new NearCacheNativeRecord(memoryManager, dataValue, creationTime, TIME_NOT_SET);
+        }
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheNativeRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Nullable
+    @Override
+    public V tryPublishReserved(K key, V value, long reservationId, boolean deserialize) {
+        V cachedValue = super.tryPublishReserved(key, value, reservationId, deserialize);
+        if (evictionNeeded) {
+            evictionNeeded = false;
+            doEviction(true);
+        }
+        return cachedValue;
+    }
+
+    @Override
+    protected NearCacheNativeRecord publishReservedRecord(K key, V value, NearCacheNativeRecord reservedRecord,
+                                                          long reservationId) {
+        boolean update = reservedRecord.getValueSize() > 0 || reservedRecord.isCachedAsNull();
+        try {
+            return super.publishReservedRecord(key, value, reservedRecord, reservationId);
+        } catch (NativeOutOfMemoryError e) {
+            // the memory cost of an updated record was already
+            // subtracted, the entry count still has to be
+            if (update) {
+                nearCacheStats.decrementOwnedEntryCount();
+            }
+            evictionNeeded = true;
+            // drops the record, which disposes it
+            return null;
+        }
+    }
+
+    // only used for testing purposes
+    public SharedArenaMemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+}
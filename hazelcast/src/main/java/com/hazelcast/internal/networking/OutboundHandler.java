@@ -64,6 +64,26 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
  */
 public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandler, S, D> {
 
+    /**
+     * The {@link OutboundVector} large payloads can be attached to instead
+     * of being copied into the dst buffer. Is null if gather writes are
+     * disabled or if this handler isn't the last handler of the pipeline.
+     * Only the owning pipeline should modify this field.
+     */
+    protected OutboundVector outboundVector;
+
+    /**
+     * Sets the {@link OutboundVector} of this OutboundHandler.
+     *
+     * This method should only be called from the thread that owns this
+     * OutboundHandler.
+     *
+     * @param outboundVector the OutboundVector; is allowed to be null.
+     */
+    public void outboundVector(OutboundVector outboundVector) {
+        this.outboundVector = outboundVector;
+    }
+
     /**
      * A callback to indicate that this OutboundHandler should be
      * processed.
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+import static com.hazelcast.internal.util.JVMUtil.upcast;
+
+/**
+ * Contains the logic to do gather writes for an {@link OutboundHandler}.
+ *
+ * Normally an OutboundHandler copies everything it encodes into its dst
+ * buffer and the pipeline writes that buffer to the socket. For large
+ * payloads (e.g. the value of a big {@link com.hazelcast.internal.nio.Packet})
+ * this copy can be avoided: the handler writes the header into the dst
+ * buffer and attaches the payload to the vector. On the next write the
+ * pipeline passes the attached segments, followed by the remaining bytes of
+ * the dst buffer, to a single {@code write(ByteBuffer[])} call.
+ *
+ * The segments reference the dst buffer, so as long as the vector isn't
+ * empty, the handler should not compact or write to its dst buffer.
+ *
+ * An OutboundVector is only provided to the last handler of the pipeline;
+ * when there are handlers behind it (e.g. TLS), everything needs to be
+ * copied into the dst buffer because those handlers process that buffer.
+ *
+ * An OutboundVector is not thread-safe; it is owned by the pipeline and
+ * should only be accessed by the thread processing that pipeline.
+ */
+public final class OutboundVector {
+
+    // the maximum number of buffers passed to a single gather write on Linux
+    private static final int IOV_MAX = 1024;
+
+    private final ByteBuffer[] array = new ByteBuffer[IOV_MAX];
+    private final int threshold;
+    private int length;
+    // the position in the dst buffer up to which the bytes are covered by segments
+    private int mark;
+
+    /**
+     * Creates an OutboundVector.
+     *
+     * @param threshold the minimum size in bytes of a payload to be attached
+     *                  instead of being copied into the dst buffer.
+     * @throws IllegalArgumentException if threshold isn't positive.
+     */
+    public OutboundVector(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold should be positive, but was " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    public int threshold() {
+        return threshold;
+    }
+
+    /**
+     * Checks if there are segments which have not been fully written yet.
+     *
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Checks if a payload with the given length should be attached instead
+     * of being copied into the dst buffer.
+     *
+     * @param payloadLength the length of the payload in bytes.
+     * @return true if the payload should be attached, false otherwise.
+     */
+    public boolean canAttach(int payloadLength) {
+        // a region of the dst buffer and the payload, and room for the remainder of the dst buffer
+        return payloadLength >= threshold && length + 2 < IOV_MAX;
+    }
+
+    /**
+     * Attaches a payload so that it gets written after everything that was
+     * written to the dst buffer so far.
+     *
+     * @param dst     the dst buffer of the handler; in writing mode.
+     * @param payload the payload
+     * @param offset  the offset of the first byte of the payload to write.
+     * @param len     the number of bytes to write.
+     */
+    public void attach(ByteBuffer dst, byte[] payload, int offset, int len) {
+        int position = dst.position();
+        if (position > mark) {
+            ByteBuffer region = dst.duplicate();
+            upcast(region).limit(position);
+            upcast(region).position(mark);
+            array[length++] = region;
+        }
+        array[length++] = ByteBuffer.wrap(payload, offset, len);
+        mark = position;
+    }
+
+    /**
+     * Flips the dst buffer into reading mode. The bytes which are already
+     * covered by the attached segments are skipped, so that only the bytes
+     * written after the last attached payload remain.
+     *
+     * @param dst the dst buffer in writing mode.
+     */
+    public void flip(ByteBuffer dst) {
+        upcast(dst).flip();
+        upcast(dst).position(mark);
+    }
+
+    /**
+     * Writes the attached segments followed by the remaining bytes of the
+     * dst buffer to the channel using a single gather write.
+     *
+     * @param channel the channel to write to.
+     * @param dst     the dst buffer in reading mode.
+     * @return the number of bytes written.
+     * @throws IOException if writing to the channel fails.
+     */
+    public long write(GatheringByteChannel channel, ByteBuffer dst) throws IOException {
+        array[length] = dst;
+        long written;
+        try {
+            written = channel.write(array, 0, length + 1);
+        } finally {
+            array[length] = null;
+        }
+        compact();
+        return written;
+    }
+
+    private void compact() {
+        int written = 0;
+        while (written < length && !array[written].hasRemaining()) {
+            written++;
+        }
+
+        if (written == length) {
+            // all segments are written; the dst buffer can be compacted again
+            clear();
+            return;
+        }
+
+        int remaining = length - written;
+        System.arraycopy(array, written, array, 0, remaining);
+        for (int k = remaining; k < length; k++) {
+            array[k] = null;
+        }
+        length = remaining;
+    }
+
+    /**
+     * Removes all segments.
+     */
+    public void clear() {
+        for (int k = 0; k < length; k++) {
+            array[k] = null;
+        }
+        length = 0;
+        mark = 0;
+    }
+}
@@ -62,14 +62,17 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFI
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT;
+import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_ADAPTIVE_STRING;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW_STRING;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_WITH_FIX;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
 import static com.hazelcast.internal.util.HashUtil.hashToIndex;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.internal.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
 import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.logging.Level.FINE;
 
@@ -100,6 +103,12 @@ import static java.util.logging.Level.FINE;
  */
 public final class NioNetworking implements Networking, DynamicMetricsProvider {
 
+    /**
+     * The default window in microseconds after the last activity in which an IO
+     * thread busy polls the selector when the adaptive selector mode is used.
+     */
+    public static final int DEFAULT_BUSY_POLL_WINDOW_MICROS = 200;
+
     private final AtomicBoolean started = new AtomicBoolean();
     private final AtomicInteger nextInputThreadIndex = new AtomicInteger();
     private final AtomicInteger nextOutputThreadIndex = new AtomicInteger();
@@ -115,12 +124,14 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private final ChannelCloseListener channelCloseListener = new ChannelCloseListenerImpl();
     private final SelectorMode selectorMode;
     private final BackoffIdleStrategy idleStrategy;
+    private final long busyPollWindowNanos;
     private final boolean selectorWorkaroundTest;
     private final boolean selectionKeyWakeupEnabled;
     private final ThreadAffinity outputThreadAffinity;
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final int gatherWriteThreshold;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -152,6 +163,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.selectorMode = ctx.selectorMode;
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
+        this.busyPollWindowNanos = MICROSECONDS.toNanos(ctx.busyPollWindowMicros);
         this.concurrencyDetection = ctx.concurrencyDetection;
         // selector mode SELECT_WITH_FIX requires that a single thread
         // accesses a selector & its selectionKeys. Selection key wake-up
@@ -159,6 +171,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // disabled with SELECT_WITH_FIX.
         this.writeThroughEnabled = ctx.writeThroughEnabled && selectorMode != SELECT_WITH_FIX;
         this.selectionKeyWakeupEnabled = ctx.selectionKeyWakeupEnabled && selectorMode != SELECT_WITH_FIX;
+        this.gatherWriteThreshold = ctx.gatherWriteThreshold;
         if (selectorMode == SELECT_WITH_FIX
                 && (ctx.writeThroughEnabled || ctx.selectionKeyWakeupEnabled)) {
             logger.warning("Selector mode SELECT_WITH_FIX is incompatible with write-through and selection key wakeup "
@@ -199,6 +212,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     + inputThreadCount + " input threads and "
                     + outputThreadCount + " output threads");
             logger.fine("write through enabled:" + writeThroughEnabled);
+            logger.fine("gather write threshold:" + gatherWriteThreshold);
         }
 
         logger.log(selectorMode != SELECT ? Level.INFO : FINE, "IO threads selector mode is " + selectorMode);
@@ -221,6 +235,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     idleStrategy);
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            thread.setBusyPollWindowNanos(busyPollWindowNanos);
             thread.setThreadAffinity(inputThreadAffinity);
             inThreads[i] = thread;
             thread.start();
@@ -237,6 +252,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     idleStrategy);
             thread.id = i;
             thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            thread.setBusyPollWindowNanos(busyPollWindowNanos);
             thread.setThreadAffinity(outputThreadAffinity);
             outThreads[i] = thread;
             thread.start();
@@ -334,7 +350,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                gatherWriteThreshold);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -489,6 +506,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // The selector mode determines how IO threads will block (or not) on the Selector:
         //  select:         this is the default mode, uses Selector.select(long timeout)
         //  selectnow:      use Selector.selectNow()
+        //  adaptive:       use Selector.selectNow() for a window after the last activity and
+        //                  Selector.select(timeout) once the window has passed. The window in
+        //                  microseconds can be configured using 'adaptive,<window>'.
         //  selectwithfix:  use Selector.select(timeout) with workaround for bug occurring when
         //                  SelectorImpl.select returns immediately with no channels selected,
         //                  resulting in 100% CPU usage while doing no progress.
@@ -504,13 +524,39 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // the minimum size of a payload to be written to the socket using a gather write
+        // instead of being copied into the send buffer. 0 or less disables gather writes.
+        private int gatherWriteThreshold;
+
+        // the window in microseconds after the last activity in which an IO thread
+        // busy polls the selector. Only used with the adaptive selector mode.
+        private int busyPollWindowMicros = DEFAULT_BUSY_POLL_WINDOW_MICROS;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
                 idleStrategy = createBackoffIdleStrategy(selectorModeString);
+            } else if (selectorModeString.startsWith(SELECT_ADAPTIVE_STRING + ",")) {
+                busyPollWindowMicros = parseBusyPollWindowMicros(selectorModeString);
+            }
+        }
+
+        private static int parseBusyPollWindowMicros(String selectorModeString) {
+            String window = selectorModeString.substring(SELECT_ADAPTIVE_STRING.length() + 1).trim();
+            try {
+                return checkNotNegative(Integer.parseInt(window),
+                        "busy poll window of selector mode [" + selectorModeString + "] can't be negative");
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unrecognized busy poll window in selector mode ["
+                        + selectorModeString + "]", e);
             }
         }
 
+        public Context busyPollWindowMicros(int busyPollWindowMicros) {
+            this.busyPollWindowMicros = checkNotNegative(busyPollWindowMicros, "busyPollWindowMicros can't be negative");
+            return this;
+        }
+
         public Context selectionKeyWakeupEnabled(boolean selectionKeyWakeupEnabled) {
             this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
             return this;
@@ -521,6 +567,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context gatherWriteThreshold(int gatherWriteThreshold) {
+            this.gatherWriteThreshold = gatherWriteThreshold;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
@@ -23,6 +23,7 @@ import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.OutboundPipeline;
+import com.hazelcast.internal.networking.OutboundVector;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.counters.SwCounter;
@@ -116,6 +117,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // null if gather writes are disabled
+    private final OutboundVector outboundVector;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -142,11 +145,13 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        int gatherWriteThreshold) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.outboundVector = gatherWriteThreshold > 0 ? new OutboundVector(gatherWriteThreshold) : null;
     }
 
     @Override
@@ -331,7 +336,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (sendBuffer.remaining() > 0 || (outboundVector != null && !outboundVector.isEmpty())) {
             pipelineStatus = DIRTY;
         }
 
@@ -437,7 +442,12 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        long written;
+        if (outboundVector == null || outboundVector.isEmpty()) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            written = outboundVector.write(socketChannel, sendBuffer);
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
@@ -516,7 +526,11 @@ public final class NioOutboundPipeline
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
 
         OutboundHandler prev = null;
-        for (OutboundHandler handler : handlers) {
+        for (int k = 0; k < newHandlers.length; k++) {
+            OutboundHandler handler = newHandlers[k];
+            // only the last handler writes directly to the socket, so only that one can attach payloads
+            handler.outboundVector(k == newHandlers.length - 1 ? outboundVector : null);
+
             if (prev == null) {
                 handler.src(this);
             } else {
@@ -35,6 +35,8 @@ import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_BLOCKED_TIME_MILLIS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_BUSY_POLL_TIME_MILLIS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_BYTES_TRANSCEIVED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_COMPLETED_TASK_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_EVENT_COUNT;
@@ -49,12 +51,14 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_ADAPTIVE;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW;
 import static com.hazelcast.internal.tpcengine.nio.SelectorOptimizer.newSelector;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 @ExcludedMetricTargets(MANAGEMENT_CENTER)
 public class NioThread extends HazelcastManagedThread implements OperationHostileThread {
@@ -98,6 +102,10 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     // count number of times the selector was rebuilt (if selectWorkaround is enabled)
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT)
     private final SwCounter selectorRebuildCount = newSwCounter();
+    // the time spent busy polling the selector without finding work (if the selector mode is adaptive)
+    private final SwCounter busyPollTimeNanos = newSwCounter();
+    // the time spent blocked on the selector (if the selector mode is adaptive)
+    private final SwCounter blockedTimeNanos = newSwCounter();
 
     private final ILogger logger;
 
@@ -109,9 +117,15 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
 
     private final IdleStrategy idleStrategy;
 
+    // the window after the last activity in which the selector is busy polled (if the selector mode is adaptive)
+    private long busyPollWindowNanos;
+
     // last time select unblocked with some keys selected
     private volatile long lastSelectTimeMs;
 
+    // true while the thread is blocked on the selector (if the selector mode is adaptive)
+    private volatile boolean blocked;
+
     private volatile boolean stop;
 
     // set to true while testing
@@ -150,6 +164,10 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         this.selectorWorkaroundTest = selectorWorkaroundTest;
     }
 
+    void setBusyPollWindowNanos(long busyPollWindowNanos) {
+        this.busyPollWindowNanos = busyPollWindowNanos;
+    }
+
     public long bytesTransceived() {
         return bytesTransceived;
     }
@@ -174,6 +192,14 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         return completedTaskCount.get();
     }
 
+    public long busyPollTimeNanos() {
+        return busyPollTimeNanos.get();
+    }
+
+    public long blockedTimeNanos() {
+        return blockedTimeNanos.get();
+    }
+
     /**
      * Gets the Selector
      *
@@ -202,6 +228,28 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         return max(currentTimeMillis() - lastSelectTimeMs, 0);
     }
 
+    /**
+     * A probe that measures how long this NioThread has been busy polling the
+     * selector without finding any work. Only updated in the adaptive selector mode.
+     *
+     * @return the busy poll time in ms.
+     */
+    @Probe(name = NETWORKING_METRIC_NIO_THREAD_BUSY_POLL_TIME_MILLIS, unit = MS)
+    private long busyPollTimeMillis() {
+        return NANOSECONDS.toMillis(busyPollTimeNanos.get());
+    }
+
+    /**
+     * A probe that measures how long this NioThread has been blocked on the
+     * selector. Only updated in the adaptive selector mode.
+     *
+     * @return the blocked time in ms.
+     */
+    @Probe(name = NETWORKING_METRIC_NIO_THREAD_BLOCKED_TIME_MILLIS, unit = MS)
+    private long blockedTimeMillis() {
+        return NANOSECONDS.toMillis(blockedTimeNanos.get());
+    }
+
     /**
      * Adds a task to this NioThread without notifying the thread.
      *
@@ -221,7 +269,11 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
      */
     public void addTaskAndWakeup(Runnable task) {
         taskQueue.add(task);
-        if (selectMode != SELECT_NOW) {
+        if (selectMode == SELECT_NOW) {
+            return;
+        }
+        // when busy polling, the task will be seen without waking up the selector
+        if (selectMode != SELECT_ADAPTIVE || blocked) {
             selector.wakeup();
         }
     }
@@ -248,10 +300,13 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
                         case SELECT:
                             selectLoop();
                             break;
+                        case SELECT_ADAPTIVE:
+                            selectAdaptiveLoop();
+                            break;
                         default:
                             throw new IllegalArgumentException("Selector.select mode not set, use -Dhazelcast.io.selectorMode="
-                                    + "{select|selectnow|selectwithfix} to explicitly specify select mode or leave empty for "
-                                    + "default select mode.");
+                                    + "{select|selectnow|selectwithfix|adaptive} to explicitly specify select mode "
+                                    + "or leave empty for default select mode.");
                     }
                     // break the for loop; we are done
                     break;
@@ -345,6 +400,48 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         }
     }
 
+    /**
+     * Busy polls the selector for a window after the last activity, so that
+     * events arriving shortly after are picked up without the cost of waking up
+     * a blocked thread. When the window has passed without activity, the thread
+     * blocks on the selector to prevent burning a core while idle.
+     */
+    private void selectAdaptiveLoop() throws IOException {
+        long lastActivityNanos = System.nanoTime();
+        while (!stop) {
+            boolean tasksProcessed = processTaskQueue();
+
+            long startNanos = System.nanoTime();
+            if (tasksProcessed) {
+                lastActivityNanos = startNanos;
+            }
+
+            int selectedKeys;
+            boolean busyPoll = startNanos - lastActivityNanos < busyPollWindowNanos;
+            if (busyPoll) {
+                selectedKeys = selector.selectNow();
+            } else {
+                blocked = true;
+                // a task could have been added before the blocked flag was set, without waking up the selector
+                selectedKeys = taskQueue.isEmpty() ? selector.select(SELECT_WAIT_TIME_MILLIS) : selector.selectNow();
+                blocked = false;
+            }
+
+            long endNanos = System.nanoTime();
+            if (selectedKeys > 0) {
+                processSelectionKeys();
+                lastActivityNanos = endNanos;
+            } else if (busyPoll) {
+                busyPollTimeNanos.inc(endNanos - startNanos);
+                Thread.onSpinWait();
+            }
+
+            if (!busyPoll) {
+                blockedTimeNanos.inc(endNanos - startNanos);
+            }
+        }
+    }
+
     private boolean processTaskQueue() {
         boolean tasksProcessed = false;
         while (!stop) {
@@ -26,11 +26,17 @@ import static java.lang.String.format;
 public enum SelectorMode {
     SELECT,
     SELECT_NOW,
-    SELECT_WITH_FIX;
+    SELECT_WITH_FIX,
+    /**
+     * Busy polls the selector using {@code Selector.selectNow()} for a window
+     * after the last activity and then falls back to a blocking select.
+     */
+    SELECT_ADAPTIVE;
 
     public static final String SELECT_STRING = "select";
     public static final String SELECT_WITH_FIX_STRING = "selectwithfix";
     public static final String SELECT_NOW_STRING = "selectnow";
+    public static final String SELECT_ADAPTIVE_STRING = "adaptive";
 
     public static SelectorMode getConfiguredValue() {
         return fromString(getConfiguredString());
@@ -47,6 +53,8 @@ public enum SelectorMode {
             return SELECT_WITH_FIX;
         } else if (value.equals(SELECT_NOW_STRING) || value.startsWith(SELECT_NOW_STRING + ",")) {
             return SELECT_NOW;
+        } else if (value.equals(SELECT_ADAPTIVE_STRING) || value.startsWith(SELECT_ADAPTIVE_STRING + ",")) {
+            return SELECT_ADAPTIVE;
         } else {
             throw new IllegalArgumentException(format("Unrecognized selectorMode [%s]", value));
         }
@@ -73,4 +73,18 @@ public interface BufferObjectDataOutput extends ObjectDataOutput, Closeable,
     void position(int newPos);
 
     void clear();
+
+    /**
+     * Clears the output like {@link #clear()}, but retains a buffer of up
+     * to {@code maxRetainedCapacity} bytes instead of the default maximum.
+     *
+     * @param maxRetainedCapacity the maximum capacity of the retained buffer
+     */
+    void clear(int maxRetainedCapacity);
+
+    /**
+     * Returns the number of bytes this output can hold without growing its
+     * buffer.
+     */
+    int capacity();
 }
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.nio;
 
+import com.hazelcast.internal.networking.OutboundVector;
+
 import java.nio.ByteBuffer;
 
 import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
@@ -53,6 +55,19 @@ public class PacketIOHelper {
      * @return {@code true} if all the packet's data is now written out; {@code false} otherwise.
      */
     public boolean writeTo(Packet packet, ByteBuffer dst) {
+        return writeTo(packet, dst, null);
+    }
+
+    /**
+     * Writes the packet data to the supplied {@code ByteBuffer}, up to the buffer's limit. If the payload is large
+     * enough, it is attached to the {@code outboundVector} instead of being copied into the buffer. If it returns
+     * {@code false}, it should be called again to write the remaining data.
+     *
+     * @param dst            the destination byte buffer
+     * @param outboundVector the vector to attach a large payload to; can be null
+     * @return {@code true} if all the packet's data is now written out or attached; {@code false} otherwise.
+     */
+    public boolean writeTo(Packet packet, ByteBuffer dst, OutboundVector outboundVector) {
         if (!headerComplete) {
             if (dst.remaining() < HEADER_SIZE) {
                 return false;
@@ -66,6 +81,12 @@ public class PacketIOHelper {
             headerComplete = true;
         }
 
+        if (valueOffset == 0 && outboundVector != null && outboundVector.canAttach(size)) {
+            outboundVector.attach(dst, packet.toByteArray(), 0, size);
+            reset();
+            return true;
+        }
+
         if (writeValue(packet, dst)) {
             reset();
             return true;
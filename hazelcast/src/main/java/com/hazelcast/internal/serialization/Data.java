@@ -124,7 +124,8 @@ public interface Data {
 
     /**
      * Returns true if this Data is serialized in CompactFormat
-     * {@link com.hazelcast.config.CompactSerializationConfig}
+     * {@link com.hazelcast.config.CompactSerializationConfig}, either in the
+     * regular or in the compressed form.
      *
      * @return true if source object is serialized in compact format, false otherwise.
      */
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl;
 import com.hazelcast.config.CompactSerializationConfig;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.compatibility.serialization.impl.CompatibilitySerializationConstants;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
@@ -28,6 +29,7 @@ import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
+import com.hazelcast.internal.serialization.impl.compact.CompactCompressedStreamSerializerAdapter;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializerAdapter;
@@ -49,6 +51,7 @@ import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.partition.PartitioningStrategy;
 
 import java.io.Externalizable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteOrder;
 import java.util.IdentityHashMap;
@@ -85,6 +88,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
     protected SerializerAdapter compactSerializerAdapter;
     protected CompactStreamSerializer compactStreamSerializer;
     protected CompactWithSchemaStreamSerializerAdapter compactWithSchemaSerializerAdapter;
+    protected CompactCompressedStreamSerializerAdapter compactCompressedSerializerAdapter;
 
     private final IdentityHashMap<Class, SerializerAdapter> constantTypesMap;
     private final SerializerAdapter[] constantTypeIds;
@@ -103,6 +107,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
     private final ILogger logger = Logger.getLogger(InternalSerializationService.class);
     private boolean isCompatibility;
     private final boolean allowOverrideDefaultSerializers;
+    private final boolean primitiveFastPathEnabled;
 
     AbstractSerializationService(Builder<?> builder) {
         this.inputOutputFactory = builder.inputOutputFactory;
@@ -123,12 +128,14 @@ public abstract class AbstractSerializationService implements InternalSerializat
                 : SerializationConstants.CONSTANT_SERIALIZERS_LENGTH];
         this.isCompatibility = builder.isCompatibility;
         this.allowOverrideDefaultSerializers = builder.allowOverrideDefaultSerializers;
+        this.primitiveFastPathEnabled = !builder.isCompatibility && !builder.allowOverrideDefaultSerializers;
         CompactSerializationConfig compactSerializationCfg = builder.compactSerializationConfig == null
                 ? new CompactSerializationConfig() : builder.compactSerializationConfig;
         compactStreamSerializer = new CompactStreamSerializer(this, compactSerializationCfg,
                 managedContext, builder.schemaService, classLoader);
         this.compactWithSchemaSerializerAdapter = new CompactWithSchemaStreamSerializerAdapter(compactStreamSerializer);
         this.compactSerializerAdapter = new CompactStreamSerializerAdapter(compactStreamSerializer);
+        this.compactCompressedSerializerAdapter = new CompactCompressedStreamSerializerAdapter(compactStreamSerializer, this);
     }
 
     // used by jet
@@ -146,9 +153,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
         this.constantTypesMap = new IdentityHashMap<>(prototype.constantTypesMap.size());
         this.constantTypeIds = new SerializerAdapter[prototype.constantTypeIds.length];
         this.allowOverrideDefaultSerializers = prototype.allowOverrideDefaultSerializers;
+        this.primitiveFastPathEnabled = prototype.primitiveFastPathEnabled;
         this.compactStreamSerializer = prototype.compactStreamSerializer;
         this.compactWithSchemaSerializerAdapter = prototype.compactWithSchemaSerializerAdapter;
         this.compactSerializerAdapter = prototype.compactSerializerAdapter;
+        this.compactCompressedSerializerAdapter = prototype.compactCompressedSerializerAdapter;
     }
 
     //region Serialization Service
@@ -199,10 +208,73 @@ public abstract class AbstractSerializationService implements InternalSerializat
             return (B) obj;
         }
 
-        byte[] bytes = toBytes(obj, 0, true, strategy);
+        byte[] bytes = primitiveFastPathEnabled ? primitiveToBytes(obj, strategy) : null;
+        if (bytes == null) {
+            bytes = toBytes(obj, 0, true, strategy);
+        }
         return (B) new HeapData(bytes);
     }
 
+    /**
+     * Encodes {@link Long} and {@link Integer} instances, which are by far
+     * the most common map keys, directly into a {@link HeapData} payload
+     * without looking up their serializer or borrowing a pooled output
+     * buffer. The produced bytes are identical to the ones written by
+     * {@link ConstantSerializers.LongSerializer} and
+     * {@link ConstantSerializers.IntegerSerializer}.
+     *
+     * @return the payload or {@code null} if the object is of another type
+     */
+    private byte[] primitiveToBytes(Object obj, PartitioningStrategy strategy) {
+        Class type = obj.getClass();
+        if (type != Long.class && type != Integer.class) {
+            return null;
+        }
+        if (!active) {
+            throw notActiveExceptionSupplier.get();
+        }
+        int partitionHash = calculatePartitionHash(obj, strategy);
+        boolean bigEndian = getByteOrder() == BIG_ENDIAN;
+        byte[] bytes;
+        if (type == Long.class) {
+            bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Bits.LONG_SIZE_IN_BYTES];
+            Bits.writeIntB(bytes, HeapData.TYPE_OFFSET, SerializationConstants.CONSTANT_TYPE_LONG);
+            Bits.writeLong(bytes, HeapData.DATA_OFFSET, (Long) obj, bigEndian);
+        } else {
+            bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Bits.INT_SIZE_IN_BYTES];
+            Bits.writeIntB(bytes, HeapData.TYPE_OFFSET, SerializationConstants.CONSTANT_TYPE_INTEGER);
+            Bits.writeInt(bytes, HeapData.DATA_OFFSET, (Integer) obj, bigEndian);
+        }
+        Bits.writeIntB(bytes, HeapData.PARTITION_HASH_OFFSET, partitionHash);
+        return bytes;
+    }
+
+    /**
+     * Counterpart of {@link #primitiveToBytes}, decodes {@link Long} and
+     * {@link Integer} payloads without borrowing a pooled input buffer.
+     *
+     * @return the decoded object or {@code null} if the data is of another type
+     */
+    private Object primitiveToObject(Data data) {
+        if (!(data instanceof HeapData)) {
+            return null;
+        }
+        int typeId = data.getType();
+        if (typeId != SerializationConstants.CONSTANT_TYPE_LONG
+                && typeId != SerializationConstants.CONSTANT_TYPE_INTEGER) {
+            return null;
+        }
+        if (!active) {
+            throw notActiveExceptionSupplier.get();
+        }
+        byte[] payload = data.toByteArray();
+        boolean bigEndian = getByteOrder() == BIG_ENDIAN;
+        Object obj = typeId == SerializationConstants.CONSTANT_TYPE_LONG
+                ? (Object) Bits.readLong(payload, HeapData.DATA_OFFSET, bigEndian)
+                : (Object) Bits.readInt(payload, HeapData.DATA_OFFSET, bigEndian);
+        return managedContext != null ? managedContext.initialize(obj) : obj;
+    }
+
     @Override
     public byte[] toBytes(Object obj) {
         return toBytes(obj, 0, true, globalPartitioningStrategy);
@@ -255,6 +327,13 @@ public abstract class AbstractSerializationService implements InternalSerializat
             return null;
         }
 
+        if (primitiveFastPathEnabled) {
+            Object obj = primitiveToObject(data);
+            if (obj != null) {
+                return (T) obj;
+            }
+        }
+
         final int typeId = data.getType();
         final SerializerAdapter serializer = serializerFor(typeId);
         if (serializer == null) {
@@ -419,6 +498,10 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return inputOutputFactory.createOutput(outputBufferSize, this);
     }
 
+    public final BufferPoolThreadLocal getBufferPoolThreadLocal() {
+        return bufferPoolThreadLocal;
+    }
+
     public final ClassLoader getClassLoader() {
         return classLoader;
     }
@@ -614,11 +697,23 @@ public abstract class AbstractSerializationService implements InternalSerializat
     }
 
     private SerializerAdapter getCompactSerializer(boolean includeSchema) {
-        return includeSchema ? compactWithSchemaSerializerAdapter : compactSerializerAdapter;
+        if (includeSchema) {
+            return compactWithSchemaSerializerAdapter;
+        }
+        return compactStreamSerializer.isCompressionEnabled()
+                ? compactCompressedSerializerAdapter : compactSerializerAdapter;
+    }
+
+    /**
+     * Returns the uncompressed Compact data equivalent to the given Compact
+     * data written in the compressed form.
+     */
+    public Data decompressCompactData(Data data) throws IOException {
+        return compactCompressedSerializerAdapter.decompress(data);
     }
 
     public boolean isCompactSerializable(Object object) {
-        return serializerFor(object, false) == compactSerializerAdapter;
+        return serializerFor(object, false) == getCompactSerializer(false);
     }
 
     private SerializerAdapter lookupDefaultSerializer(Class type, boolean includeSchema) {
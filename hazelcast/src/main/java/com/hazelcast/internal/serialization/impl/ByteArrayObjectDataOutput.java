@@ -458,14 +458,24 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
 
     @Override
     public void clear() {
+        clear(initialSize * 8);
+    }
+
+    @Override
+    public void clear(int maxRetainedCapacity) {
         pos = 0;
-        if (buffer != null && buffer.length > initialSize * 8) {
-            buffer = new byte[initialSize * 8];
+        if (buffer != null && buffer.length > maxRetainedCapacity) {
+            buffer = new byte[maxRetainedCapacity];
         }
         version = UNKNOWN;
         wanProtocolVersion = UNKNOWN;
     }
 
+    @Override
+    public int capacity() {
+        return buffer != null ? buffer.length : 0;
+    }
+
     @Override
     public void close() {
         pos = 0;
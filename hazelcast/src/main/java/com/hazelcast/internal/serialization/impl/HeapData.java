@@ -172,7 +172,8 @@ public class HeapData implements Data {
 
     @Override
     public boolean isCompact() {
-        return SerializationConstants.TYPE_COMPACT == getType();
+        int type = getType();
+        return SerializationConstants.TYPE_COMPACT == type || SerializationConstants.TYPE_COMPACT_COMPRESSED == type;
     }
 
     @Override
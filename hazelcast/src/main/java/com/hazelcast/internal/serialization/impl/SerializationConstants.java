@@ -141,8 +141,10 @@ public final class SerializationConstants {
 
     public static final int TYPE_COMPACT_WITH_SCHEMA = -56;
 
+    public static final int TYPE_COMPACT_COMPRESSED = -57;
+
     // NUMBER OF CONSTANT SERIALIZERS...
-    public static final int CONSTANT_SERIALIZERS_LENGTH = 57;
+    public static final int CONSTANT_SERIALIZERS_LENGTH = 58;
 
     // ------------------------------------------------------------
     // JAVA SERIALIZATION
@@ -205,6 +205,9 @@ public class SerializationServiceV1 extends AbstractSerializationService {
             return portableSerializer.readAsInternalGenericRecord(in);
         }
         if (data.isCompact()) {
+            if (data.getType() == SerializationConstants.TYPE_COMPACT_COMPRESSED) {
+                data = decompressCompactData(data);
+            }
             return compactStreamSerializer.readAsInternalGenericRecord(createObjectDataInput(data));
         }
         throw new IllegalArgumentException("Given type does not support query over data, type id " + data.getType());
@@ -235,6 +238,7 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         if (!isCompatibility) {
             registerConstant(compactSerializerAdapter);
             registerConstant(compactWithSchemaSerializerAdapter);
+            registerConstant(compactCompressedSerializerAdapter);
         }
         registerConstant(DataSerializable.class, dataSerializerAdapter);
         registerConstant(Portable.class, portableSerializerAdapter);
@@ -21,23 +21,71 @@ import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.SwCounter;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 /**
  * Default {@link BufferPool} implementation.
  * <p>
+ * The output buffers are pooled in size classes, based on the capacity of
+ * their buffers. Small outputs are trimmed back by {@link BufferObjectDataOutput#clear()}
+ * as before, while the outputs that have grown to a medium or large size
+ * keep their buffers, so mixed payload sizes don't reallocate the buffers
+ * over and over. An output is taken from the size class of the previous
+ * payload first. The medium and large outputs that are not taken for
+ * {@link #IDLE_NANOS} are released.
+ * <p>
+ * Idle outputs are only released by the owning thread, when it takes an
+ * output, since the pool isn't safe to access from other threads. A thread
+ * that stops serializing keeps its pooled outputs until it takes an output
+ * again or dies: at most two medium and one large output, so up to 2.5 MB
+ * on top of the small ones. The retained bytes of all the pools are exposed
+ * by the metrics of {@link BufferPoolThreadLocal}.
+ * <p>
+ * The pool is confined to a single thread, see {@link BufferPoolThreadLocal};
+ * the counters are single-writer counters, so they can be read by the
+ * metrics.
+ * <p>
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
 
+    static final int SMALL = 0;
+    static final int MEDIUM = 1;
+    static final int LARGE = 2;
+    static final int SMALL_MAX_CAPACITY = 64 * 1024;
+    static final int MEDIUM_MAX_CAPACITY = 256 * 1024;
+    static final int LARGE_MAX_CAPACITY = 2 * 1024 * 1024;
+    static final long IDLE_NANOS = SECONDS.toNanos(10);
+    static final int TRIM_CHECK_INTERVAL_MASK = 127;
+
+    private static final int OVERSIZED = -1;
+    private static final int MAX_POOLED_MEDIUM_ITEMS = 2;
+    private static final int MAX_POOLED_LARGE_ITEMS = 1;
+
     protected final InternalSerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
+    final SizeClass[] sizeClasses = {
+            new SizeClass(outputQueue, SMALL_MAX_CAPACITY, MAX_POOLED_ITEMS),
+            new SizeClass(new ArrayDeque<>(MAX_POOLED_MEDIUM_ITEMS), MEDIUM_MAX_CAPACITY, MAX_POOLED_MEDIUM_ITEMS),
+            new SizeClass(new ArrayDeque<>(MAX_POOLED_LARGE_ITEMS), LARGE_MAX_CAPACITY, MAX_POOLED_LARGE_ITEMS),
+    };
+
+    private final SwCounter hits = newSwCounter();
+    private final SwCounter misses = newSwCounter();
+    private final SwCounter retainedBytes = newSwCounter();
+    private final SwCounter trimmedBuffers = newSwCounter();
+    private long takes;
+    private int lastPayloadSizeClass = SMALL;
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
         this.serializationService = serializationService;
@@ -45,11 +93,29 @@ public class BufferPoolImpl implements BufferPool {
 
     @Override
     public BufferObjectDataOutput takeOutputBuffer() {
-        BufferObjectDataOutput out = outputQueue.poll();
-        if (out == null) {
-            out = serializationService.createObjectDataOutput();
+        takes++;
+        if ((takes & TRIM_CHECK_INTERVAL_MASK) == 0) {
+            trimIdleOutputs();
         }
-        return out;
+
+        // the payloads written by a thread tend to have similar sizes, so the
+        // size class of the previous payload is tried first, then the smaller
+        // ones which can grow, and then the larger ones
+        for (int i = lastPayloadSizeClass; i >= SMALL; i--) {
+            BufferObjectDataOutput out = poll(i);
+            if (out != null) {
+                return out;
+            }
+        }
+        for (int i = lastPayloadSizeClass + 1; i <= LARGE; i++) {
+            BufferObjectDataOutput out = poll(i);
+            if (out != null) {
+                return out;
+            }
+        }
+
+        misses.inc();
+        return serializationService.createObjectDataOutput();
     }
 
     @Override
@@ -58,9 +124,26 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
-        out.clear();
+        int payloadSizeClass = sizeClass(out.position());
+        lastPayloadSizeClass = payloadSizeClass == OVERSIZED ? LARGE : payloadSizeClass;
+
+        int sizeClass = sizeClass(out.capacity());
+        if (sizeClass == SMALL || sizeClass == OVERSIZED) {
+            out.clear();
+            sizeClass = SMALL;
+        } else {
+            out.clear(sizeClasses[sizeClass].maxCapacity);
+        }
 
-        tryOffer(outputQueue, out);
+        SizeClass pooled = sizeClasses[sizeClass];
+        if (pooled.queue.size() == pooled.maxPooledItems) {
+            return;
+        }
+        if (pooled.queue.isEmpty() && sizeClass != SMALL) {
+            pooled.lastTake = System.nanoTime();
+        }
+        pooled.queue.offer(out);
+        retainedBytes.inc(out.capacity());
     }
 
     @Override
@@ -84,6 +167,74 @@ public class BufferPoolImpl implements BufferPool {
         tryOffer(inputQueue, in);
     }
 
+    /**
+     * Returns the number of output buffer takes served from the pool.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of output buffer takes that created a new output.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the total capacity of the pooled output buffers in bytes.
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * Returns the number of pooled output buffers released after being idle.
+     */
+    public long getTrimmedBuffers() {
+        return trimmedBuffers.get();
+    }
+
+    private BufferObjectDataOutput poll(int sizeClassIndex) {
+        SizeClass sizeClass = sizeClasses[sizeClassIndex];
+        BufferObjectDataOutput out = sizeClass.queue.poll();
+        if (out != null) {
+            if (sizeClassIndex != SMALL) {
+                sizeClass.lastTake = System.nanoTime();
+            }
+            retainedBytes.inc(-out.capacity());
+            hits.inc();
+        }
+        return out;
+    }
+
+    private void trimIdleOutputs() {
+        long now = System.nanoTime();
+        for (int i = MEDIUM; i <= LARGE; i++) {
+            SizeClass sizeClass = sizeClasses[i];
+            if (sizeClass.queue.isEmpty() || now - sizeClass.lastTake < IDLE_NANOS) {
+                continue;
+            }
+            BufferObjectDataOutput out;
+            while ((out = sizeClass.queue.poll()) != null) {
+                retainedBytes.inc(-out.capacity());
+                trimmedBuffers.inc();
+            }
+        }
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= SMALL_MAX_CAPACITY) {
+            return SMALL;
+        } else if (size <= MEDIUM_MAX_CAPACITY) {
+            return MEDIUM;
+        } else if (size <= LARGE_MAX_CAPACITY) {
+            return LARGE;
+        } else {
+            return OVERSIZED;
+        }
+    }
+
     private static <C> void tryOffer(Queue<C> queue, C item) {
         if (queue.size() == MAX_POOLED_ITEMS) {
             return;
@@ -91,4 +242,17 @@ public class BufferPoolImpl implements BufferPool {
 
         queue.offer(item);
     }
+
+    static final class SizeClass {
+        final Queue<BufferObjectDataOutput> queue;
+        final int maxCapacity;
+        final int maxPooledItems;
+        long lastTake;
+
+        SizeClass(Queue<BufferObjectDataOutput> queue, int maxCapacity, int maxPooledItems) {
+            this.queue = queue;
+            this.maxCapacity = maxCapacity;
+            this.maxPooledItems = maxPooledItems;
+        }
+    }
 }
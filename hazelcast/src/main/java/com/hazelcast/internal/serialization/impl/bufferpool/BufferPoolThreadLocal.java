@@ -16,14 +16,23 @@
 
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.ConcurrentReferenceHashMap;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_MISSES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_RETAINED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_TRIMMED_BUFFERS;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.util.ConcurrentReferenceHashMap.ReferenceType.STRONG;
 import static com.hazelcast.internal.util.ConcurrentReferenceHashMap.ReferenceType.WEAK;
 
@@ -72,6 +81,11 @@ import static com.hazelcast.internal.util.ConcurrentReferenceHashMap.ReferenceTy
  * So it can be that a Thread in its Thread.threadLocal map will for some time have an empty weak reference as key and value. But
  * there won't be any references to the BufferPool/SerializationService.
  *
+ * <h1>Metrics</h1>
+ * The metrics of the {@link BufferPoolImpl} instances of all threads are aggregated into the probes of this class. The
+ * counters of the pools of dead threads are retained, so the hits, misses and trimmed buffers are cumulative; the
+ * retained bytes only cover the pools of live threads.
+ *
  * <h1>Performance</h1>
  * The Performance of using a ThreadLocal in combination with a WeakReference is almost the same as using a ThreadLocal without
  * WeakReference. There is an extra pointer indirection and some additional pressure on the gc system since it needs to deal with
@@ -84,6 +98,11 @@ public final class BufferPoolThreadLocal {
     private final BufferPoolFactory bufferPoolFactory;
     private final Map<Thread, BufferPool> strongReferences = new ConcurrentReferenceHashMap<>(WEAK, STRONG);
     private final Supplier<RuntimeException> notActiveExceptionSupplier;
+    // guarded by this
+    private final List<TrackedPool> trackedPools = new ArrayList<>();
+    private long retiredHits;
+    private long retiredMisses;
+    private long retiredTrimmedBuffers;
 
     public BufferPoolThreadLocal(InternalSerializationService serializationService,
                                  BufferPoolFactory bufferPoolFactory,
@@ -99,6 +118,7 @@ public final class BufferPoolThreadLocal {
             BufferPool pool = bufferPoolFactory.create(serializationService);
             ref = new WeakReference<>(pool);
             strongReferences.put(Thread.currentThread(), pool);
+            track(pool);
             threadLocal.set(ref);
             return pool;
         } else {
@@ -112,5 +132,93 @@ public final class BufferPoolThreadLocal {
 
     public void clear() {
         strongReferences.clear();
+        synchronized (this) {
+            for (TrackedPool tracked : trackedPools) {
+                retire(tracked.pool);
+            }
+            trackedPools.clear();
+        }
+    }
+
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_HITS)
+    public synchronized long hits() {
+        retireDeadPools();
+        long hits = retiredHits;
+        for (TrackedPool tracked : trackedPools) {
+            hits += tracked.pool.getHits();
+        }
+        return hits;
+    }
+
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_MISSES)
+    public synchronized long misses() {
+        retireDeadPools();
+        long misses = retiredMisses;
+        for (TrackedPool tracked : trackedPools) {
+            misses += tracked.pool.getMisses();
+        }
+        return misses;
+    }
+
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_RETAINED_BYTES, unit = BYTES)
+    public synchronized long retainedBytes() {
+        retireDeadPools();
+        long retainedBytes = 0;
+        for (TrackedPool tracked : trackedPools) {
+            retainedBytes += tracked.pool.getRetainedBytes();
+        }
+        return retainedBytes;
+    }
+
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_TRIMMED_BUFFERS)
+    public synchronized long trimmedBuffers() {
+        retireDeadPools();
+        long trimmedBuffers = retiredTrimmedBuffers;
+        for (TrackedPool tracked : trackedPools) {
+            trimmedBuffers += tracked.pool.getTrimmedBuffers();
+        }
+        return trimmedBuffers;
+    }
+
+    private void track(BufferPool pool) {
+        if (pool instanceof BufferPoolImpl) {
+            synchronized (this) {
+                retireDeadPools();
+                trackedPools.add(new TrackedPool(Thread.currentThread(), (BufferPoolImpl) pool));
+            }
+        }
+    }
+
+    /**
+     * Folds the counters of the pools whose thread is gone into the retired
+     * counters, so the cumulative probes don't drop when a thread dies. The
+     * retained bytes of such a pool are not folded since its buffers are
+     * released together with the pool.
+     */
+    private void retireDeadPools() {
+        for (Iterator<TrackedPool> it = trackedPools.iterator(); it.hasNext(); ) {
+            TrackedPool tracked = it.next();
+            Thread thread = tracked.thread.get();
+            if (thread == null || !thread.isAlive()) {
+                retire(tracked.pool);
+                it.remove();
+            }
+        }
+    }
+
+    private void retire(BufferPoolImpl pool) {
+        retiredHits += pool.getHits();
+        retiredMisses += pool.getMisses();
+        retiredTrimmedBuffers += pool.getTrimmedBuffers();
+    }
+
+    private static final class TrackedPool {
+        final WeakReference<Thread> thread;
+        final BufferPoolImpl pool;
+
+        TrackedPool(Thread thread, BufferPoolImpl pool) {
+            this.thread = new WeakReference<>(thread);
+            this.pool = pool;
+        }
     }
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.serialization.impl.SerializerAdapter;
+import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readInt;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.readLong;
+import static com.hazelcast.internal.nio.Bits.readShort;
+import static com.hazelcast.internal.nio.Bits.writeInt;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Bits.writeLong;
+import static com.hazelcast.internal.nio.Bits.writeShort;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.TYPE_COMPACT;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.TYPE_COMPACT_COMPRESSED;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+
+/**
+ * SerializerAdapter for the compressed variant of the Compact format.
+ * <p>
+ * The object is first written in the regular Compact format, and the body
+ * following the schema id is then re-encoded using the schema the data was
+ * written with:
+ * <ul>
+ *     <li>{@code INT16}, {@code INT32} and {@code INT64} fixed-size fields
+ *     are written as zigzag encoded varints,</li>
+ *     <li>the data length and the offsets of the variable-size fields are
+ *     written as varints,</li>
+ *     <li>everything else, including the variable-size section, is copied
+ *     as it is.</li>
+ * </ul>
+ * The encoding is self-delimiting given the schema, and the decoding
+ * restores the exact bytes of the regular Compact format, which are then
+ * read by the {@link CompactStreamSerializer}. So, the readers are not
+ * aware of the compression.
+ * <p>
+ * The schema is never included in the data, the compressed form relies on
+ * the schema being replicated through the {@link SchemaService}, just like
+ * the regular Compact format. String fields are not dictionary encoded.
+ * <p>
+ * The size is traded for CPU: writing encodes the object twice and reading
+ * restores the regular bytes into a new array before deserializing them.
+ * See {@code CompactCompressionBenchmark} in the tests, an object with
+ * mostly small integral fields shrinks by about a half and one with mixed
+ * fields by about a quarter, while both serialize about 1.6-1.9 times and
+ * deserialize about 1.4-1.5 times slower than in the regular format. See
+ * {@link CompactStreamSerializer#COMPRESSION_ENABLED_PROPERTY} for the
+ * compatibility restrictions.
+ */
+public class CompactCompressedStreamSerializerAdapter implements SerializerAdapter {
+
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int MAX_VARLONG_SHIFT = Long.SIZE - 1;
+
+    private final CompactStreamSerializer serializer;
+    private final AbstractSerializationService serializationService;
+    // The width of the varint encoded fixed-size field starting at each byte
+    // of the fixed-size section, or 0 if the byte is copied as it is.
+    private final Map<Long, byte[]> schemaIdToFixedSizeLayout = new ConcurrentHashMap<>();
+
+    public CompactCompressedStreamSerializerAdapter(CompactStreamSerializer compactStreamSerializer,
+                                                    AbstractSerializationService serializationService) {
+        this.serializer = compactStreamSerializer;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        byte[] bytes;
+        boolean bigEndian;
+        BufferPool pool = serializationService.getBufferPoolThreadLocal().get();
+        BufferObjectDataOutput uncompressed = pool.takeOutputBuffer();
+        try {
+            serializer.write(uncompressed, object, false);
+            bytes = uncompressed.toByteArray();
+            bigEndian = uncompressed.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        } finally {
+            pool.returnOutputBuffer(uncompressed);
+        }
+
+        long schemaId = readLong(bytes, 0, bigEndian);
+        Schema schema = serializer.getSchema(schemaId);
+        out.writeLong(schemaId);
+        compress(bytes, LONG_SIZE_IN_BYTES, bigEndian, schema, out);
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        return serializer.read(decompress(in), false);
+    }
+
+    private BufferObjectDataInput decompress(ObjectDataInput in) throws IOException {
+        return serializationService.createObjectDataInput(decompress(in, 0));
+    }
+
+    /**
+     * Returns the uncompressed {@link SerializationConstants#TYPE_COMPACT}
+     * data equivalent to the given compressed Compact data.
+     */
+    public Data decompress(Data data) throws IOException {
+        byte[] bytes = decompress(serializationService.createObjectDataInput(data), HEAP_DATA_OVERHEAD);
+        writeIntB(bytes, PARTITION_HASH_OFFSET, readIntB(data.toByteArray(), PARTITION_HASH_OFFSET));
+        writeIntB(bytes, TYPE_OFFSET, TYPE_COMPACT);
+        return new HeapData(bytes);
+    }
+
+    private byte[] decompress(ObjectDataInput in, int padding) throws IOException {
+        long schemaId = in.readLong();
+        Schema schema = serializer.getSchema(schemaId);
+        byte[] layout = fixedSizeLayout(schema);
+        boolean bigEndian = in.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        int fixedSizeFieldsLength = schema.getFixedSizeFieldsLength();
+        int numberOfVariableSizeFields = schema.getNumberOfVariableSizeFields();
+
+        int dataLength = 0;
+        int offsetSize = 0;
+        byte[] bytes;
+        int pos = padding + LONG_SIZE_IN_BYTES;
+        if (numberOfVariableSizeFields == 0) {
+            bytes = new byte[pos + fixedSizeFieldsLength];
+        } else {
+            dataLength = readVarInt(in);
+            if (dataLength < fixedSizeFieldsLength) {
+                throw new HazelcastSerializationException("Invalid data length " + dataLength
+                        + " for schema " + schema);
+            }
+            offsetSize = offsetSize(dataLength);
+            bytes = new byte[pos + INT_SIZE_IN_BYTES + dataLength
+                    + numberOfVariableSizeFields * offsetSize];
+            writeInt(bytes, pos, dataLength, bigEndian);
+            pos += INT_SIZE_IN_BYTES;
+        }
+        writeLong(bytes, padding, schemaId, bigEndian);
+
+        for (int i = 0; i < fixedSizeFieldsLength; i++) {
+            switch (layout[i]) {
+                case 0:
+                    bytes[pos + i] = in.readByte();
+                    break;
+                case SHORT_SIZE_IN_BYTES:
+                    writeShort(bytes, pos + i, (short) readVarInt(in), bigEndian);
+                    i += SHORT_SIZE_IN_BYTES - 1;
+                    break;
+                case INT_SIZE_IN_BYTES:
+                    writeInt(bytes, pos + i, readVarInt(in), bigEndian);
+                    i += INT_SIZE_IN_BYTES - 1;
+                    break;
+                default:
+                    writeLong(bytes, pos + i, readVarLong(in), bigEndian);
+                    i += LONG_SIZE_IN_BYTES - 1;
+            }
+        }
+
+        if (numberOfVariableSizeFields != 0) {
+            in.readFully(bytes, pos + fixedSizeFieldsLength, dataLength - fixedSizeFieldsLength);
+            readOffsets(in, bytes, pos + dataLength, numberOfVariableSizeFields, offsetSize, bigEndian);
+        }
+        return bytes;
+    }
+
+    private static void readOffsets(ObjectDataInput in, byte[] bytes, int offsetsPos, int numberOfVariableSizeFields,
+                                    int offsetSize, boolean bigEndian) throws IOException {
+        for (int i = 0; i < numberOfVariableSizeFields; i++) {
+            int offset = readVarInt(in);
+            int offsetPos = offsetsPos + i * offsetSize;
+            if (offsetSize == BYTE_SIZE_IN_BYTES) {
+                bytes[offsetPos] = (byte) offset;
+            } else if (offsetSize == SHORT_SIZE_IN_BYTES) {
+                writeShort(bytes, offsetPos, (short) offset, bigEndian);
+            } else {
+                writeInt(bytes, offsetPos, offset, bigEndian);
+            }
+        }
+    }
+
+    private void compress(byte[] bytes, int pos, boolean bigEndian, Schema schema, ObjectDataOutput out)
+            throws IOException {
+        byte[] layout = fixedSizeLayout(schema);
+        int fixedSizeFieldsLength = schema.getFixedSizeFieldsLength();
+        int numberOfVariableSizeFields = schema.getNumberOfVariableSizeFields();
+        int dataLength = 0;
+        if (numberOfVariableSizeFields != 0) {
+            dataLength = readInt(bytes, pos, bigEndian);
+            writeVarInt(out, dataLength);
+            pos += INT_SIZE_IN_BYTES;
+        }
+
+        for (int i = 0; i < fixedSizeFieldsLength; i++) {
+            switch (layout[i]) {
+                case 0:
+                    out.writeByte(bytes[pos + i]);
+                    break;
+                case SHORT_SIZE_IN_BYTES:
+                    writeVarInt(out, readShort(bytes, pos + i, bigEndian));
+                    i += SHORT_SIZE_IN_BYTES - 1;
+                    break;
+                case INT_SIZE_IN_BYTES:
+                    writeVarInt(out, readInt(bytes, pos + i, bigEndian));
+                    i += INT_SIZE_IN_BYTES - 1;
+                    break;
+                default:
+                    writeVarLong(out, readLong(bytes, pos + i, bigEndian));
+                    i += LONG_SIZE_IN_BYTES - 1;
+            }
+        }
+
+        if (numberOfVariableSizeFields == 0) {
+            return;
+        }
+        out.write(bytes, pos + fixedSizeFieldsLength, dataLength - fixedSizeFieldsLength);
+        int offsetSize = offsetSize(dataLength);
+        int offsetsPos = pos + dataLength;
+        for (int i = 0; i < numberOfVariableSizeFields; i++) {
+            int offsetPos = offsetsPos + i * offsetSize;
+            int offset;
+            if (offsetSize == BYTE_SIZE_IN_BYTES) {
+                byte value = bytes[offsetPos];
+                offset = value == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(value);
+            } else if (offsetSize == SHORT_SIZE_IN_BYTES) {
+                short value = readShort(bytes, offsetPos, bigEndian);
+                offset = value == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(value);
+            } else {
+                offset = readInt(bytes, offsetPos, bigEndian);
+            }
+            writeVarInt(out, offset);
+        }
+    }
+
+    private byte[] fixedSizeLayout(Schema schema) {
+        byte[] layout = schemaIdToFixedSizeLayout.get(schema.getSchemaId());
+        if (layout != null) {
+            return layout;
+        }
+        layout = new byte[schema.getFixedSizeFieldsLength()];
+        for (FieldDescriptor descriptor : schema.getFields()) {
+            switch (descriptor.getKind()) {
+                case INT16:
+                    layout[descriptor.getOffset()] = SHORT_SIZE_IN_BYTES;
+                    break;
+                case INT32:
+                    layout[descriptor.getOffset()] = INT_SIZE_IN_BYTES;
+                    break;
+                case INT64:
+                    layout[descriptor.getOffset()] = LONG_SIZE_IN_BYTES;
+                    break;
+                default:
+                    // copied as it is
+            }
+        }
+        schemaIdToFixedSizeLayout.put(schema.getSchemaId(), layout);
+        return layout;
+    }
+
+    private static int offsetSize(int dataLength) {
+        if (dataLength < BYTE_OFFSET_READER_RANGE) {
+            return BYTE_SIZE_IN_BYTES;
+        } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
+            return SHORT_SIZE_IN_BYTES;
+        } else {
+            return INT_SIZE_IN_BYTES;
+        }
+    }
+
+    static void writeVarInt(ObjectDataOutput out, int value) throws IOException {
+        int zigzag = (value << 1) ^ (value >> (Integer.SIZE - 1));
+        while ((zigzag & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.writeByte((zigzag & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            zigzag >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.writeByte(zigzag);
+    }
+
+    static int readVarInt(ObjectDataInput in) throws IOException {
+        long zigzag = readVarLong0(in);
+        return (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+    }
+
+    static void writeVarLong(ObjectDataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> MAX_VARLONG_SHIFT);
+        while ((zigzag & ~VARINT_PAYLOAD_MASK) != 0) {
+            out.writeByte((int) (zigzag & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            zigzag >>>= VARINT_PAYLOAD_BITS;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static long readVarLong(ObjectDataInput in) throws IOException {
+        long zigzag = readVarLong0(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static long readVarLong0(ObjectDataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift <= MAX_VARLONG_SHIFT; shift += VARINT_PAYLOAD_BITS) {
+            byte b = in.readByte();
+            result |= (long) (b & VARINT_PAYLOAD_MASK) << shift;
+            if ((b & VARINT_CONTINUATION_BIT) == 0) {
+                return result;
+            }
+        }
+        throw new HazelcastSerializationException("Malformed varint in the compressed Compact data");
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_COMPACT_COMPRESSED;
+    }
+
+    @Override
+    public void destroy() {
+        serializer.destroy();
+    }
+
+    @Override
+    public Serializer getImpl() {
+        return serializer;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactCompressedStreamSerializerAdapter{serializer=" + serializer + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompactCompressedStreamSerializerAdapter that = (CompactCompressedStreamSerializerAdapter) o;
+
+        return Objects.equals(serializer, that.serializer);
+    }
+
+    @Override
+    public int hashCode() {
+        return serializer != null ? serializer.hashCode() : 0;
+    }
+}
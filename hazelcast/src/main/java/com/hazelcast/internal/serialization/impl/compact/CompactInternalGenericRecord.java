@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.serialization.impl.compact;
 
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.IOUtil;
 import com.hazelcast.internal.serialization.impl.FieldOperations;
@@ -31,6 +32,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -853,6 +855,70 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         return primitiveOffset + dataStartPosition;
     }
 
+    /**
+     * Writes the value of a fixed-size field into the given bytes, which must
+     * be a copy of the serialized bytes this record reads from. This allows
+     * updating a fixed-size field without deserializing and serializing the
+     * rest of the fields.
+     * <p>
+     * Only the non-nullable primitive fields are fixed-size; the value must be
+     * of the boxed type of the field kind.
+     *
+     * @param bytes     the copy of the serialized bytes of this record
+     * @param fieldName the name of the field
+     * @param value     the new value of the field
+     * @throws HazelcastSerializationException if the field does not exist, is not
+     *                                         fixed-size or the value does not match its kind
+     */
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    public void writeFixedSizeField(byte[] bytes, @Nonnull String fieldName, @Nonnull Object value) {
+        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        FieldKind fieldKind = fd.getKind();
+        int position = readFixedSizePosition(fd);
+        boolean bigEndian = in.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        switch (fieldKind) {
+            case BOOLEAN:
+                int mask = 1 << fd.getBitOffset();
+                if (checkFieldValue(fieldName, fieldKind, value, Boolean.class)) {
+                    bytes[position] |= mask;
+                } else {
+                    bytes[position] &= ~mask;
+                }
+                break;
+            case INT8:
+                bytes[position] = checkFieldValue(fieldName, fieldKind, value, Byte.class);
+                break;
+            case INT16:
+                Bits.writeShort(bytes, position, checkFieldValue(fieldName, fieldKind, value, Short.class), bigEndian);
+                break;
+            case INT32:
+                Bits.writeInt(bytes, position, checkFieldValue(fieldName, fieldKind, value, Integer.class), bigEndian);
+                break;
+            case INT64:
+                Bits.writeLong(bytes, position, checkFieldValue(fieldName, fieldKind, value, Long.class), bigEndian);
+                break;
+            case FLOAT32:
+                float floatValue = checkFieldValue(fieldName, fieldKind, value, Float.class);
+                Bits.writeInt(bytes, position, Float.floatToIntBits(floatValue), bigEndian);
+                break;
+            case FLOAT64:
+                double doubleValue = checkFieldValue(fieldName, fieldKind, value, Double.class);
+                Bits.writeLong(bytes, position, Double.doubleToLongBits(doubleValue), bigEndian);
+                break;
+            default:
+                throw new HazelcastSerializationException("The field '" + fieldName + "' of kind '" + fieldKind
+                        + "' is not a fixed-size field");
+        }
+    }
+
+    private static <T> T checkFieldValue(String fieldName, FieldKind fieldKind, Object value, Class<T> type) {
+        if (!type.isInstance(value)) {
+            throw new HazelcastSerializationException("Invalid value '" + value + "' for the field '" + fieldName
+                    + "' of kind '" + fieldKind + "', expected a " + type.getSimpleName());
+        }
+        return type.cast(value);
+    }
+
     @Nonnull
     private FieldDescriptor getFieldDescriptor(@Nonnull String fieldName) {
         FieldDescriptor fd = schema.getField(fieldName);
@@ -25,6 +25,7 @@ import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.SerializerAdapter;
 import com.hazelcast.internal.serialization.impl.compact.record.JavaRecordSerializer;
 import com.hazelcast.internal.util.TriTuple;
 import com.hazelcast.nio.ObjectDataInput;
@@ -56,6 +57,33 @@ import static com.hazelcast.internal.serialization.impl.SerializationConstants.T
  * </ul>
  */
 public class CompactStreamSerializer implements StreamSerializer<Object> {
+    /**
+     * Whether the classes serialized with zero-config are serialized using a
+     * {@link GeneratedCompactSerializer} specialised for the class, instead of
+     * the {@link ReflectiveCompactSerializer}. Experimental, disabled by
+     * default.
+     * <p>
+     * The binary form is the same for both serializers. The generated
+     * serializer is created when the class is registered, which costs a class
+     * definition per class and member or client.
+     */
+    public static final String GENERATED_SERIALIZERS_ENABLED_PROPERTY = "hazelcast.compact.generatedSerializers.enabled";
+
+    /**
+     * Whether the compact serializable objects are written in the compressed
+     * form of {@link CompactCompressedStreamSerializerAdapter}. Experimental,
+     * disabled by default.
+     * <p>
+     * The compressed form has its own type id, which is not gated by the
+     * cluster version or the client capabilities. It can only be read by the
+     * Java members and clients of this version or later. Enable it only if
+     * every member and client which may read the data, including the data
+     * stored in the data structures, is such a member or client. In
+     * particular, do not enable it during a rolling upgrade or with non-Java
+     * clients.
+     */
+    public static final String COMPRESSION_ENABLED_PROPERTY = "hazelcast.compact.compression.enabled";
+
     private final Map<Class, CompactSerializableRegistration> classToRegistrationMap = new ConcurrentHashMap<>();
     private final Map<String, CompactSerializableRegistration> typeNameToRegistrationMap = new ConcurrentHashMap<>();
     private final Map<Class, Schema> classToSchemaMap = new ConcurrentHashMap<>();
@@ -65,6 +93,8 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     private final ManagedContext managedContext;
     private final ClassLoader classLoader;
     private final AbstractSerializationService serializationService;
+    private final boolean generatedSerializersEnabled = Boolean.getBoolean(GENERATED_SERIALIZERS_ENABLED_PROPERTY);
+    private final boolean compressionEnabled = Boolean.getBoolean(COMPRESSION_ENABLED_PROPERTY);
 
     public CompactStreamSerializer(AbstractSerializationService serializationService,
                                    CompactSerializationConfig compactSerializationConfig,
@@ -92,7 +122,17 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     }
 
     public boolean canBeSerializedAsCompact(Class<?> clazz) {
-        return serializationService.serializerForClass(clazz, false) instanceof CompactStreamSerializerAdapter;
+        SerializerAdapter serializer = serializationService.serializerForClass(clazz, false);
+        return serializer instanceof CompactStreamSerializerAdapter
+                || serializer instanceof CompactCompressedStreamSerializerAdapter;
+    }
+
+    /**
+     * Returns true if the compact serializable objects should be written in
+     * the compressed form.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
     }
 
     @Override
@@ -214,11 +254,25 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         throw new HazelcastSerializationException("The schema can not be found with id " + schemaId);
     }
 
+    Schema getSchema(long schemaId) {
+        Schema schema = schemaService.get(schemaId);
+        if (schema == null) {
+            throw new HazelcastSerializationException("The schema can not be found with id " + schemaId);
+        }
+        return schema;
+    }
+
     private CompactSerializableRegistration getOrCreateRegistration(Class clazz) {
-        return classToRegistrationMap.computeIfAbsent(clazz, aClass -> {
-            CompactSerializer serializer = javaRecordSerializer.isRecord(aClass) ? javaRecordSerializer : reflectiveSerializer;
-            return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
-        });
+        CompactSerializableRegistration currentRegistration = classToRegistrationMap.get(clazz);
+        if (currentRegistration != null) {
+            return currentRegistration;
+        }
+        // Create the serializer outside the CHM lock in computeIfAbsent, since
+        // generating a serializer takes a while. We might create the serializer
+        // multiple times in parallel but this is not a problem.
+        CompactSerializableRegistration newRegistration
+                = new CompactSerializableRegistration(clazz, clazz.getName(), zeroConfigSerializer(clazz));
+        return classToRegistrationMap.computeIfAbsent(clazz, k -> newRegistration);
     }
 
     private CompactSerializableRegistration getOrCreateRegistration(String typeName) {
@@ -289,11 +343,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             String typeName = registration.element2;
             CompactSerializer serializer = registration.element3;
             if (serializer == null) {
-                if (javaRecordSerializer.isRecord(clazz)) {
-                    serializer = javaRecordSerializer;
-                } else {
-                    serializer = reflectiveSerializer;
-                }
+                serializer = zeroConfigSerializer(clazz);
             }
             CompactSerializableRegistration serializableRegistration
                     = new CompactSerializableRegistration(clazz, typeName, serializer);
@@ -301,6 +351,13 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         }
     }
 
+    private CompactSerializer zeroConfigSerializer(Class clazz) {
+        if (javaRecordSerializer.isRecord(clazz)) {
+            return javaRecordSerializer;
+        }
+        return generatedSerializersEnabled ? new GeneratedCompactSerializer<>(this, clazz) : reflectiveSerializer;
+    }
+
     private void saveRegistration(CompactSerializableRegistration registration) {
         Class clazz = registration.getClazz();
         CompactSerializableRegistration existing = classToRegistrationMap.putIfAbsent(clazz, registration);
@@ -356,17 +413,10 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                         + "serializable class '" + className + "'.");
             }
 
-            CompactSerializer serializer;
-            if (javaRecordSerializer.isRecord(clazz)) {
-                serializer = javaRecordSerializer;
-            } else {
-                serializer = reflectiveSerializer;
-            }
-
             CompactSerializableRegistration registration = new CompactSerializableRegistration(
                     clazz,
                     className,
-                    serializer
+                    zeroConfigSerializer(clazz)
             );
 
             saveRegistration(registration);
@@ -392,8 +442,13 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     }
 
     private static Schema buildSchema(CompactSerializableRegistration registration, Object o) {
+        CompactSerializer serializer = registration.getSerializer();
+        if (serializer instanceof GeneratedCompactSerializer) {
+            // The nested fields can only be verified once all serializers are registered.
+            ((GeneratedCompactSerializer) serializer).verifyFields();
+        }
         SchemaWriter writer = new SchemaWriter(registration.getTypeName());
-        registration.getSerializer().write(writer, o);
+        serializer.write(writer, o);
         return writer.build();
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The template of the {@link GeneratedCompactSerializer.Accessors} of a
+ * {@link GeneratedCompactSerializer}.
+ * <p>
+ * For every serializer, a copy of this class is defined in a class loader of
+ * its own. The copy gets the handles of its serializer in its static
+ * initializer, so they are in static final fields, which the JIT treats as
+ * constants; it can inline the complete handles into the methods of the copy.
+ * <p>
+ * This class itself is never initialized.
+ */
+final class GeneratedCompactAccessors extends GeneratedCompactSerializer.Accessors {
+
+    private static final MethodHandle NEW_INSTANCE;
+    private static final MethodHandle READ;
+    private static final MethodHandle WRITE;
+
+    static {
+        MethodHandle[] handles = GeneratedCompactSerializer.handlesOf(MethodHandles.lookup().lookupClass());
+        NEW_INSTANCE = handles[0];
+        READ = handles[1];
+        WRITE = handles[2];
+    }
+
+    @Override
+    public Object newInstance() throws Throwable {
+        return (Object) NEW_INSTANCE.invokeExact();
+    }
+
+    @Override
+    public void read(CompactReader reader, Schema schema, boolean[] fieldExists, Object object) throws Throwable {
+        READ.invokeExact(reader, schema, fieldExists, object);
+    }
+
+    @Override
+    public void write(CompactWriter writer, Object object) throws Throwable {
+        WRITE.invokeExact(writer, object);
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.InstanceCreationUtil;
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriter;
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriters;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactUtil.isFieldExist;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrowIfError;
+import static com.hazelcast.nio.serialization.FieldKind.BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT16;
+import static com.hazelcast.nio.serialization.FieldKind.INT32;
+import static com.hazelcast.nio.serialization.FieldKind.INT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT8;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT16;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT8;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * A Compact serializer specialised for a single class, used in the zero-config
+ * case instead of the {@link ReflectiveCompactSerializer} if
+ * {@link CompactStreamSerializer#GENERATED_SERIALIZERS_ENABLED_PROPERTY} is set.
+ * <p>
+ * When the serializer is created, at the registration of the class, a
+ * {@link MethodHandle} getter and setter with an exact, unboxed type is
+ * generated for every field of the class. These are combined into a single
+ * handle that writes all fields, a single handle that reads all fields and a
+ * handle that instantiates the class. To make these handles constants for the
+ * JIT, they are kept in the static final fields of a copy of
+ * {@link GeneratedCompactAccessors}, which is defined for every serializer in a
+ * class loader of its own. Which of the primitive fields exist in the schema of
+ * the data being read is resolved once per schema, instead of being looked up
+ * for every field of every read.
+ * <p>
+ * Whether the types of the nested fields can be serialized as Compact depends
+ * on the other registrations and serializers, which might not be complete when
+ * the class is registered. That is verified by {@link #verifyFields()} when the
+ * schema of the class is built, before the first object is written.
+ *
+ * @param <T> type of the class this serializer is generated for
+ */
+public final class GeneratedCompactSerializer<T> implements CompactSerializer<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType NEW_INSTANCE_TYPE = methodType(Object.class);
+    private static final MethodType READ_TYPE
+            = methodType(void.class, CompactReader.class, Schema.class, boolean[].class, Object.class);
+    private static final MethodType WRITE_TYPE = methodType(void.class, CompactWriter.class, Object.class);
+    private static final MethodHandle FIELD_EXISTS = MethodHandles.arrayElementGetter(boolean[].class);
+    private static final MethodHandle CREATE_NEW_INSTANCE;
+    private static final MethodHandle READ_VALUE;
+    private static final MethodHandle WRITE_VALUE;
+    private static final String ACCESSORS_CLASS_NAME = GeneratedCompactAccessors.class.getName();
+    private static final byte[] ACCESSORS_CLASS_BYTES = readAccessorsClassBytes();
+    // the handles of the accessors classes that are being initialized
+    private static final Map<Class<?>, MethodHandle[]> PENDING_HANDLES = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            CREATE_NEW_INSTANCE = LOOKUP.findStatic(InstanceCreationUtil.class, "createNewInstance",
+                    methodType(Object.class, Class.class));
+            READ_VALUE = LOOKUP.findVirtual(ValueReaderWriter.class, "read",
+                    methodType(Object.class, CompactReader.class, Schema.class));
+            WRITE_VALUE = LOOKUP.findVirtual(ValueReaderWriter.class, "write",
+                    methodType(void.class, CompactWriter.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> clazz;
+    private final CompactStreamSerializer compactStreamSerializer;
+    private final Field[] fields;
+    // the kinds of the primitive fields in the schema, null for the other fields.
+    private final PrimitiveKind[] primitiveKinds;
+    private final Accessors accessors;
+    private final Map<Long, boolean[]> fieldExistsBySchemaId = new ConcurrentHashMap<>();
+    private volatile SchemaFieldExists lastSchemaFieldExists;
+
+    public GeneratedCompactSerializer(CompactStreamSerializer compactStreamSerializer, Class<T> clazz) {
+        // The top level class might not be Compact serializable
+        CompactUtil.verifyClassIsCompactSerializable(clazz);
+
+        this.compactStreamSerializer = compactStreamSerializer;
+        this.clazz = clazz;
+        List<Field> fieldList = getAllFields(new ArrayList<>(), clazz);
+        this.fields = fieldList.toArray(new Field[0]);
+        this.primitiveKinds = new PrimitiveKind[fields.length];
+        try {
+            this.accessors = generateAccessors();
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new HazelcastSerializationException("Could not generate the Compact serializer for " + clazz, e);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public T read(@Nonnull CompactReader reader) {
+        // We always fed DefaultCompactReader to this serializer.
+        DefaultCompactReader compactReader = (DefaultCompactReader) reader;
+        Schema schema = compactReader.getSchema();
+        boolean[] fieldExists = fieldExists(schema);
+
+        T object = newInstance();
+        try {
+            accessors.read(compactReader, schema, fieldExists, object);
+        } catch (Throwable t) {
+            rethrowIfError(t);
+            throw new HazelcastSerializationException(t);
+        }
+        return object;
+    }
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull T object) {
+        try {
+            accessors.write(writer, object);
+        } catch (Throwable t) {
+            rethrowIfError(t);
+            throw new HazelcastSerializationException(t);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String getTypeName() {
+        return clazz.getName();
+    }
+
+    @Nonnull
+    @Override
+    public Class<T> getCompactClass() {
+        return clazz;
+    }
+
+    /**
+     * Verifies that the types of the nested fields, which are not registered,
+     * can be serialized as Compact.
+     *
+     * @throws HazelcastSerializationException if the type of a field can't be
+     *                                         serialized as Compact.
+     */
+    void verifyFields() {
+        for (int i = 0; i < fields.length; i++) {
+            if (primitiveKinds[i] == null) {
+                Field field = fields[i];
+                ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz, field.getType(),
+                        field.getGenericType(), field.getName());
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Accessors} of this serializer.
+     */
+    Accessors accessors() {
+        return accessors;
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratedCompactSerializer{clazz=" + clazz.getName() + '}';
+    }
+
+    /**
+     * Returns the handles for the copy of {@link GeneratedCompactAccessors} that
+     * is being initialized. Is only called from the static initializer of that
+     * copy.
+     *
+     * @param accessorsClass the copy of {@link GeneratedCompactAccessors}
+     * @return the handles that instantiate the class, read the fields and write
+     * the fields, in that order.
+     */
+    public static MethodHandle[] handlesOf(Class<?> accessorsClass) {
+        return PENDING_HANDLES.get(accessorsClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) accessors.newInstance();
+        } catch (Throwable t) {
+            rethrowIfError(t);
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, t);
+        }
+    }
+
+    private boolean[] fieldExists(Schema schema) {
+        SchemaFieldExists last = lastSchemaFieldExists;
+        if (last != null && last.schema == schema) {
+            return last.fieldExists;
+        }
+
+        boolean[] fieldExists = fieldExistsBySchemaId.computeIfAbsent(schema.getSchemaId(), id -> {
+            boolean[] result = new boolean[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                PrimitiveKind kind = primitiveKinds[i];
+                // the value reader writers check the existence and the kind of the other fields themselves
+                result[i] = kind == null || isFieldExist(schema, fields[i].getName(), kind.kind, kind.nullableKind);
+            }
+            return result;
+        });
+        lastSchemaFieldExists = new SchemaFieldExists(schema, fieldExists);
+        return fieldExists;
+    }
+
+    private Accessors generateAccessors() throws IllegalAccessException {
+        MethodHandle[] reads = new MethodHandle[fields.length];
+        MethodHandle[] writes = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            field.setAccessible(true);
+            MethodHandle getter = LOOKUP.unreflectGetter(field);
+            MethodHandle setter = LOOKUP.unreflectSetter(field);
+            PrimitiveKind kind = PrimitiveKind.of(field.getType());
+            primitiveKinds[i] = kind;
+            if (kind != null) {
+                // Use the exact primitive types to avoid boxing-unboxing
+                getter = MethodHandles.explicitCastArguments(getter, methodType(kind.type, Object.class));
+                setter = MethodHandles.explicitCastArguments(setter, methodType(void.class, Object.class, kind.type));
+                MethodHandle readValue = MethodHandles.insertArguments(kind.reader, 1, field.getName());
+                MethodHandle read = MethodHandles.permuteArguments(
+                        MethodHandles.filterArguments(setter, 1, readValue), READ_TYPE, 3, 0);
+                MethodHandle exists = MethodHandles.permuteArguments(
+                        MethodHandles.insertArguments(FIELD_EXISTS, 1, i), READ_TYPE.changeReturnType(boolean.class), 2);
+                reads[i] = MethodHandles.guardWithTest(exists, read, MethodHandles.empty(READ_TYPE));
+                writes[i] = MethodHandles.filterArguments(
+                        MethodHandles.insertArguments(kind.writer, 1, field.getName()), 1, getter);
+            } else {
+                // For anything else, rely on value reader writers to re-use the code we have
+                ValueReaderWriter<?> readerWriter = ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz,
+                        field.getType(), field.getGenericType(), field.getName(), false);
+                getter = getter.asType(methodType(Object.class, Object.class));
+                setter = setter.asType(methodType(void.class, Object.class, Object.class));
+                reads[i] = MethodHandles.permuteArguments(
+                        MethodHandles.collectArguments(setter, 1, READ_VALUE.bindTo(readerWriter)), READ_TYPE, 3, 0, 1);
+                writes[i] = MethodHandles.filterArguments(WRITE_VALUE.bindTo(readerWriter), 1, getter);
+            }
+        }
+
+        MethodHandle[] handles = {
+                newInstanceHandle(),
+                sequence(reads, 0, reads.length, READ_TYPE),
+                sequence(writes, 0, writes.length, WRITE_TYPE),
+        };
+        return newAccessors(handles);
+    }
+
+    private MethodHandle newInstanceHandle() throws IllegalAccessException {
+        if (!Modifier.isAbstract(clazz.getModifiers())) {
+            try {
+                Constructor<T> constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return LOOKUP.unreflectConstructor(constructor).asType(NEW_INSTANCE_TYPE);
+            } catch (NoSuchMethodException e) {
+                // the instances are created without calling a constructor
+                ignore(e);
+            }
+        }
+        return MethodHandles.insertArguments(CREATE_NEW_INSTANCE, 0, clazz);
+    }
+
+    // Combines the handles into a single handle which invokes them in order. The
+    // handles are combined as a balanced tree, so the JIT can inline all of them.
+    private static MethodHandle sequence(MethodHandle[] handles, int from, int to, MethodType type) {
+        if (from == to) {
+            return MethodHandles.empty(type);
+        } else if (to - from == 1) {
+            return handles[from];
+        }
+        int middle = (from + to) >>> 1;
+        return MethodHandles.foldArguments(sequence(handles, middle, to, type), sequence(handles, from, middle, type));
+    }
+
+    private static Accessors newAccessors(MethodHandle[] handles) {
+        if (ACCESSORS_CLASS_BYTES != null) {
+            Class<?> accessorsClass = new AccessorsClassLoader().defineAccessorsClass();
+            PENDING_HANDLES.put(accessorsClass, handles);
+            try {
+                Constructor<?> constructor = accessorsClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (Accessors) constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new HazelcastSerializationException("Could not create the accessors", e);
+            } finally {
+                PENDING_HANDLES.remove(accessorsClass);
+            }
+        }
+        // the class file isn't available, e.g. in a native image; the handles are not constants then.
+        return new HandleAccessors(handles);
+    }
+
+    private static byte[] readAccessorsClassBytes() {
+        String resource = GeneratedCompactAccessors.class.getSimpleName() + ".class";
+        try (InputStream in = GeneratedCompactSerializer.class.getResourceAsStream(resource)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                fields.add(field);
+            }
+        }
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            getAllFields(fields, type.getSuperclass());
+        }
+        return fields;
+    }
+
+    /**
+     * Instantiates the class and reads and writes its fields. Is extended by
+     * {@link GeneratedCompactAccessors}, which is defined in another class
+     * loader, hence it is public.
+     */
+    public abstract static class Accessors {
+
+        protected Accessors() {
+        }
+
+        public abstract Object newInstance() throws Throwable;
+
+        public abstract void read(CompactReader reader, Schema schema, boolean[] fieldExists, Object object)
+                throws Throwable;
+
+        public abstract void write(CompactWriter writer, Object object) throws Throwable;
+    }
+
+    /**
+     * The Accessors with the handles in final instance fields, which the JIT
+     * doesn't treat as constants.
+     */
+    private static final class HandleAccessors extends Accessors {
+        private final MethodHandle newInstance;
+        private final MethodHandle read;
+        private final MethodHandle write;
+
+        HandleAccessors(MethodHandle[] handles) {
+            this.newInstance = handles[0];
+            this.read = handles[1];
+            this.write = handles[2];
+        }
+
+        @Override
+        public Object newInstance() throws Throwable {
+            return (Object) newInstance.invokeExact();
+        }
+
+        @Override
+        public void read(CompactReader reader, Schema schema, boolean[] fieldExists, Object object) throws Throwable {
+            read.invokeExact(reader, schema, fieldExists, object);
+        }
+
+        @Override
+        public void write(CompactWriter writer, Object object) throws Throwable {
+            write.invokeExact(writer, object);
+        }
+    }
+
+    /**
+     * Defines a copy of {@link GeneratedCompactAccessors}. Every copy has its own
+     * class loader, so it can have the same name, and it is unloaded together
+     * with the serializer that uses it.
+     */
+    private static final class AccessorsClassLoader extends ClassLoader {
+
+        AccessorsClassLoader() {
+            super(GeneratedCompactSerializer.class.getClassLoader());
+        }
+
+        Class<?> defineAccessorsClass() {
+            return defineClass(ACCESSORS_CLASS_NAME, ACCESSORS_CLASS_BYTES, 0, ACCESSORS_CLASS_BYTES.length);
+        }
+    }
+
+    private static final class SchemaFieldExists {
+        private final Schema schema;
+        private final boolean[] fieldExists;
+
+        SchemaFieldExists(Schema schema, boolean[] fieldExists) {
+            this.schema = schema;
+            this.fieldExists = fieldExists;
+        }
+    }
+
+    private enum PrimitiveKind {
+        INT8_KIND(byte.class, "Int8", INT8, NULLABLE_INT8),
+        INT16_KIND(short.class, "Int16", INT16, NULLABLE_INT16),
+        INT32_KIND(int.class, "Int32", INT32, NULLABLE_INT32),
+        INT64_KIND(long.class, "Int64", INT64, NULLABLE_INT64),
+        FLOAT32_KIND(float.class, "Float32", FLOAT32, NULLABLE_FLOAT32),
+        FLOAT64_KIND(double.class, "Float64", FLOAT64, NULLABLE_FLOAT64),
+        BOOLEAN_KIND(boolean.class, "Boolean", BOOLEAN, NULLABLE_BOOLEAN);
+
+        private final Class<?> type;
+        private final FieldKind kind;
+        private final FieldKind nullableKind;
+        // (CompactReader, String)type
+        private final MethodHandle reader;
+        // (CompactWriter, String, type)void
+        private final MethodHandle writer;
+
+        PrimitiveKind(Class<?> type, String name, FieldKind kind, FieldKind nullableKind) {
+            this.type = type;
+            this.kind = kind;
+            this.nullableKind = nullableKind;
+            try {
+                this.reader = LOOKUP.findVirtual(CompactReader.class, "read" + name, methodType(type, String.class));
+                this.writer = LOOKUP.findVirtual(CompactWriter.class, "write" + name,
+                        methodType(void.class, String.class, type));
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static PrimitiveKind of(Class<?> type) {
+            if (type == byte.class) {
+                return INT8_KIND;
+            } else if (type == char.class || type == short.class) {
+                // char is written as INT16
+                return INT16_KIND;
+            } else if (type == int.class) {
+                return INT32_KIND;
+            } else if (type == long.class) {
+                return INT64_KIND;
+            } else if (type == float.class) {
+                return FLOAT32_KIND;
+            } else if (type == double.class) {
+                return FLOAT64_KIND;
+            } else if (type == boolean.class) {
+                return BOOLEAN_KIND;
+            }
+            return null;
+        }
+    }
+}
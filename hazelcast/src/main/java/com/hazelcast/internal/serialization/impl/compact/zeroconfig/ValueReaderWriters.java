@@ -179,26 +179,47 @@ public final class ValueReaderWriters {
      */
     public static ValueReaderWriter<?> readerWriterFor(CompactStreamSerializer compactStreamSerializer, Class<?> clazz,
                                                        Class<?> type, Type genericType, String fieldName) {
+        return readerWriterFor(compactStreamSerializer, clazz, type, genericType, fieldName, true);
+    }
+
+    /**
+     * Returns the reader writer for the given {@code type}.
+     *
+     * @param clazz             Top level class
+     * @param type              Class to return the reader writer for
+     * @param genericType       Generic type of the {@code type}
+     * @param fieldName         Name of the field
+     * @param verifyNestedTypes Whether to verify that the nested types, which
+     *                          are not registered, can be serialized as
+     *                          Compact. The verification depends on the other
+     *                          registered serializers, so it can only be done
+     *                          once the serialization service is complete.
+     * @return Appropriate reader for the given {@code type}
+     */
+    public static ValueReaderWriter<?> readerWriterFor(CompactStreamSerializer compactStreamSerializer, Class<?> clazz,
+                                                       Class<?> type, Type genericType, String fieldName,
+                                                       boolean verifyNestedTypes) {
         if (type.isArray()) {
             Class<?> componentType = type.getComponentType();
-            return createReaderWriterForArray(compactStreamSerializer, clazz, componentType, fieldName);
+            return createReaderWriterForArray(compactStreamSerializer, clazz, componentType, fieldName, verifyNestedTypes);
         } else if (isList(type)) {
             Class<?> componentType = getSingleComponentType(genericType);
             ValueReaderWriter readerWriter = createReaderWriterForArray(compactStreamSerializer, clazz,
-                    componentType, fieldName);
+                    componentType, fieldName, verifyNestedTypes);
             return new ArrayListReaderWriter(fieldName, componentType, readerWriter);
         } else if (isSet(type)) {
             Class<?> componentType = getSingleComponentType(genericType);
             ValueReaderWriter readerWriter = createReaderWriterForArray(compactStreamSerializer, clazz,
-                    componentType, fieldName);
+                    componentType, fieldName, verifyNestedTypes);
             return new HashSetReaderWriter(fieldName, componentType, readerWriter);
         } else if (isMap(type)) {
             BiTuple<Class<?>, Class<?>> componentTypes = getTupleComponentTypes(genericType);
             ValueReaderWriter keyReaderWriter
                     = createReaderWriterForArray(compactStreamSerializer,
-                    clazz, componentTypes.element1, fieldName + "!keys");
+                    clazz, componentTypes.element1, fieldName + "!keys", verifyNestedTypes);
             ValueReaderWriter valueReaderWriter
-                    = createReaderWriterForArray(compactStreamSerializer, clazz, componentTypes.element2, fieldName + "!values");
+                    = createReaderWriterForArray(compactStreamSerializer, clazz, componentTypes.element2,
+                    fieldName + "!values", verifyNestedTypes);
             return new HashMapReaderWriter(fieldName, componentTypes.element1,
                     componentTypes.element2, keyReaderWriter, valueReaderWriter);
         } else if (type.isEnum()) {
@@ -212,7 +233,7 @@ public final class ValueReaderWriters {
 
         boolean isRegisteredAsCompact = compactStreamSerializer.isRegisteredAsCompact(type);
         // We allow serializing classes regardless of the following checks if there is an explicit serializer for them.
-        if (!isRegisteredAsCompact) {
+        if (!isRegisteredAsCompact && verifyNestedTypes) {
             // The nested field might not be Compact serializable
             verifyFieldClassIsCompactSerializable(type, clazz);
             verifyFieldClassShouldBeSerializedAsCompact(compactStreamSerializer, type, clazz);
@@ -222,7 +243,7 @@ public final class ValueReaderWriters {
 
     private static ValueReaderWriter createReaderWriterForArray(CompactStreamSerializer compactStreamSerializer,
                                                                 Class<?> clazz, Class<?> componentType,
-                                                                String fieldName) {
+                                                                String fieldName, boolean verifyNestedTypes) {
         if (componentType.isEnum()) {
             return new EnumArrayReaderWriter(fieldName, (Class<? extends Enum>) componentType);
         }
@@ -234,7 +255,7 @@ public final class ValueReaderWriters {
 
         boolean isRegisteredAsCompact = compactStreamSerializer.isRegisteredAsCompact(componentType);
         // We allow serializing classes regardless of the following checks if there is an explicit serializer for them.
-        if (!isRegisteredAsCompact) {
+        if (!isRegisteredAsCompact && verifyNestedTypes) {
             // Elements of the array might not be Compact serializable
             verifyFieldClassIsCompactSerializable(componentType, clazz);
             verifyFieldClassShouldBeSerializedAsCompact(compactStreamSerializer, componentType, clazz);
@@ -18,6 +18,7 @@ package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundVector;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
 
@@ -38,6 +39,10 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * When it is the last handler of the pipeline and gather writes are enabled,
+ * large packet payloads are attached to the {@link OutboundVector} instead of
+ * being copied into the {@link ByteBuffer}.
+ *
  * @see PacketDecoder
  */
 public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
@@ -53,6 +58,11 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
 
     @Override
     public HandlerStatus onWrite() {
+        if (outboundVector != null && !outboundVector.isEmpty()) {
+            // the attached payloads are not written yet, so dst can't be compacted
+            return DIRTY;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -65,7 +75,7 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                     }
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (packetWriter.writeTo(packet, dst, outboundVector)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
                 } else {
@@ -74,7 +84,11 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                 }
             }
         } finally {
-            upcast(dst).flip();
+            if (outboundVector == null) {
+                upcast(dst).flip();
+            } else {
+                outboundVector.flip(dst);
+            }
         }
     }
 }
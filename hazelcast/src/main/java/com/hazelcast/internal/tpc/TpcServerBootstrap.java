@@ -26,6 +26,13 @@ import com.hazelcast.config.ServerSocketEndpointConfig;
 import com.hazelcast.config.tpc.TpcSocketConfig;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.metrics.DynamicMetricsProvider;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsCollectionContext;
+import com.hazelcast.internal.tpcengine.FairScheduler;
+import com.hazelcast.internal.tpcengine.Scheduler;
+import com.hazelcast.internal.tpcengine.TaskGroup;
+import com.hazelcast.internal.tpcengine.TaskGroupMetrics;
 import com.hazelcast.internal.tpcengine.net.AsyncServerSocket;
 import com.hazelcast.internal.tpcengine.Reactor;
 import com.hazelcast.internal.tpcengine.net.AsyncSocketBuilder;
@@ -53,6 +60,16 @@ import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_DISCRIMINATOR_REACTOR;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_METRIC_TASK_GROUP_RUNS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_METRIC_TASK_GROUP_TASKS_COMPLETED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_METRIC_TASK_GROUP_TASK_ERRORS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_METRIC_TASK_GROUP_WALL_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_PREFIX_TASK_GROUP;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_TAG_TASK_GROUP;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_KEEPALIVE;
 import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_RCVBUF;
@@ -96,6 +113,7 @@ public class TpcServerBootstrap {
     private final List<AsyncServerSocket> serverSockets = new ArrayList<>();
     private final Config config;
     private volatile List<Integer> clientPorts;
+    private final TaskGroupMetricsProvider taskGroupMetricsProvider = new TaskGroupMetricsProvider();
 
     public TpcServerBootstrap(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -190,6 +208,7 @@ public class TpcServerBootstrap {
         }
 
         tpcEngine.start();
+        nodeEngine.getMetricsRegistry().registerDynamicMetricsProvider(taskGroupMetricsProvider);
         openServerSockets();
         clientPorts = serverSockets.stream().map(AsyncServerSocket::getLocalPort).collect(Collectors.toList());
     }
@@ -312,6 +331,7 @@ public class TpcServerBootstrap {
 
         logger.info("TpcServerBootstrap shutdown");
 
+        nodeEngine.getMetricsRegistry().deregisterDynamicMetricsProvider(taskGroupMetricsProvider);
         tpcEngine.shutdown();
 
         try {
@@ -323,4 +343,42 @@ public class TpcServerBootstrap {
 
         logger.info("TpcServerBootstrap terminated");
     }
+
+    /**
+     * Provides the {@link TaskGroupMetrics} of the {@link TaskGroup}s of every
+     * reactor, e.g. to see how the run time of a reactor is divided between the
+     * operations and the other tasks.
+     */
+    private final class TaskGroupMetricsProvider implements DynamicMetricsProvider {
+
+        @Override
+        public void provideDynamicMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+            // the provider is registered after the tpcEngine is created.
+            TpcEngine tpcEngine0 = tpcEngine;
+            for (int k = 0; k < tpcEngine0.reactorCount(); k++) {
+                Reactor reactor = tpcEngine0.reactor(k);
+                Scheduler scheduler = reactor.scheduler();
+                if (!(scheduler instanceof FairScheduler)) {
+                    continue;
+                }
+
+                for (TaskGroup taskGroup : ((FairScheduler) scheduler).taskGroups()) {
+                    MetricDescriptor taskGroupDescriptor = descriptor
+                            .copy()
+                            .withPrefix(TPC_PREFIX_TASK_GROUP)
+                            .withDiscriminator(TPC_DISCRIMINATOR_REACTOR, reactor.name())
+                            .withTag(TPC_TAG_TASK_GROUP, taskGroup.name());
+                    TaskGroupMetrics metrics = taskGroup.metrics();
+                    context.collect(taskGroupDescriptor, TPC_METRIC_TASK_GROUP_TASKS_COMPLETED, INFO, COUNT,
+                            metrics.tasksCompleted());
+                    context.collect(taskGroupDescriptor, TPC_METRIC_TASK_GROUP_TASK_ERRORS, INFO, COUNT,
+                            metrics.taskErrors());
+                    context.collect(taskGroupDescriptor, TPC_METRIC_TASK_GROUP_WALL_TIME, INFO, NS,
+                            metrics.wallTimeNanos());
+                    context.collect(taskGroupDescriptor, TPC_METRIC_TASK_GROUP_RUNS, INFO, COUNT,
+                            metrics.runs());
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.config;
+
+/**
+ * Defines where the keyed aggregation processors of a job, such as
+ * group-and-aggregate and windowed aggregation, keep their accumulators.
+ *
+ * @see JobConfig#setAggregationStateBackend(AggregationStateBackend)
+ * @since 5.4
+ */
+public enum AggregationStateBackend {
+
+    /**
+     * Keys and accumulators are kept as Java objects in on-heap hash maps.
+     * This is the fastest option as long as the state comfortably fits into
+     * the heap. The number of keys is limited by {@link
+     * JobConfig#setMaxProcessorAccumulatedRecords(long)}.
+     */
+    HEAP,
+
+    /**
+     * Keys and accumulators are kept in their serialized form in off-heap
+     * hash tables, so that high-cardinality aggregations don't put pressure
+     * on the garbage collector. Each processor may use up to {@link
+     * JobConfig#setAggregationMemoryLimit(long)} bytes of native memory. When
+     * the limit is reached, the accumulated state is sorted and spilled to a
+     * run file on local disk and the runs are merged when the results are
+     * emitted.
+     * <p>
+     * Each accumulated item deserializes the key's accumulator and serializes
+     * it back, which costs time proportional to the accumulator's serialized
+     * size. This suits fixed-size accumulators, such as those of counting,
+     * summing or averaging. Accumulators which grow with the input, such as
+     * the list of {@code toList()}, make the aggregation quadratic in the
+     * number of items per key and should stay on the heap.
+     * <p>
+     * The processors using this backend are non-cooperative, since they
+     * write and read the spilled state with blocking file I/O.
+     * <p>
+     * Keys are compared in their serialized form, as map keys are. Spilling
+     * requires the aggregate operation to have a {@code combineFn}; if it
+     * doesn't, the job fails once the memory limit is reached. The {@link
+     * JobConfig#setMaxProcessorAccumulatedRecords(long) record limit} isn't
+     * applied with this backend.
+     */
+    OFF_HEAP
+}
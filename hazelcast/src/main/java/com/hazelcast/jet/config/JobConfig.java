@@ -17,6 +17,7 @@
 package com.hazelcast.jet.config;
 
 import com.hazelcast.config.MetricsConfig;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.util.Preconditions;
 import com.hazelcast.jet.JetException;
@@ -34,6 +35,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.nio.serialization.StreamSerializer;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.annotation.Beta;
 import com.hazelcast.spi.annotation.PrivateApi;
 
@@ -55,6 +57,7 @@ import java.util.Objects;
 
 import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.jet.config.ResourceType.CLASS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -63,13 +66,16 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * Contains the configuration specific to one Hazelcast Jet job.
  * <p>
  * Serialized form of this class should not be changed due to backward
- * compatibility for {@link com.hazelcast.jet.impl.JobResult}.
+ * compatibility for {@link com.hazelcast.jet.impl.JobResult}. New fields
+ * may only be appended and must be written for the cluster versions which
+ * know them.
  *
  * @see DeltaJobConfig
  * @since Jet 3.0
  */
-public class JobConfig implements IdentifiedDataSerializable {
+public class JobConfig implements IdentifiedDataSerializable, Versioned {
     private static final long SNAPSHOT_INTERVAL_MILLIS_DEFAULT = SECONDS.toMillis(10);
+    private static final long DEFAULT_AGGREGATION_MEMORY_LIMIT = 64L << 20;
 
     private transient boolean locked;
 
@@ -83,6 +89,8 @@ public class JobConfig implements IdentifiedDataSerializable {
     private boolean storeMetricsAfterJobCompletion;
     private long maxProcessorAccumulatedRecords = -1;
     private long timeoutMillis;
+    private AggregationStateBackend aggregationStateBackend = AggregationStateBackend.HEAP;
+    private long aggregationMemoryLimit = DEFAULT_AGGREGATION_MEMORY_LIMIT;
     private String initialSnapshotName;
     private JobClassLoaderFactory classLoaderFactory;
 
@@ -1368,6 +1376,69 @@ public class JobConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns the backend used by the keyed aggregation processors of the job
+     * to keep their accumulators.
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    public AggregationStateBackend getAggregationStateBackend() {
+        return aggregationStateBackend;
+    }
+
+    /**
+     * Sets the backend used by the keyed aggregation processors of the job,
+     * such as group-and-aggregate and windowed aggregation, to keep their
+     * accumulators. See {@link AggregationStateBackend} for the available
+     * options.
+     * <p>
+     * The default value is {@link AggregationStateBackend#HEAP}.
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    public JobConfig setAggregationStateBackend(@Nonnull AggregationStateBackend backend) {
+        throwIfLocked();
+        this.aggregationStateBackend = checkNotNull(backend, "backend can't be null");
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of bytes of native memory that any single
+     * {@link Processor} instance can use with the {@link
+     * AggregationStateBackend#OFF_HEAP} aggregation state backend.
+     *
+     * @since 5.4
+     */
+    public long getAggregationMemoryLimit() {
+        return aggregationMemoryLimit;
+    }
+
+    /**
+     * Sets the maximum number of bytes of native memory that any single
+     * {@link Processor} instance can use with the {@link
+     * AggregationStateBackend#OFF_HEAP} aggregation state backend. When the
+     * limit is reached, the processor spills its state to local disk.
+     * <p>
+     * The limit isn't shared, each processor instance has its own. A member
+     * may therefore use up to this limit multiplied by the local parallelism
+     * of the aggregating vertices and by their number. For example, a job
+     * with two aggregating stages and a local parallelism of 8 may use up to
+     * 16 times this limit on each member.
+     * <p>
+     * The default value is 64 MB.
+     *
+     * @since 5.4
+     */
+    @Nonnull
+    public JobConfig setAggregationMemoryLimit(long aggregationMemoryLimit) {
+        throwIfLocked();
+        checkPositive("aggregationMemoryLimit", aggregationMemoryLimit);
+        this.aggregationMemoryLimit = aggregationMemoryLimit;
+        return this;
+    }
+
     /**
      * Returns maximum execution time for the job in milliseconds.
      *
@@ -1420,6 +1491,10 @@ public class JobConfig implements IdentifiedDataSerializable {
         out.writeBoolean(storeMetricsAfterJobCompletion);
         out.writeLong(maxProcessorAccumulatedRecords);
         out.writeLong(timeoutMillis);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            out.writeString(aggregationStateBackend.name());
+            out.writeLong(aggregationMemoryLimit);
+        }
     }
 
     @Override
@@ -1440,6 +1515,10 @@ public class JobConfig implements IdentifiedDataSerializable {
         storeMetricsAfterJobCompletion = in.readBoolean();
         maxProcessorAccumulatedRecords = in.readLong();
         timeoutMillis = in.readLong();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            aggregationStateBackend = AggregationStateBackend.valueOf(in.readString());
+            aggregationMemoryLimit = in.readLong();
+        }
     }
 
     @Override
@@ -1466,7 +1545,9 @@ public class JobConfig implements IdentifiedDataSerializable {
                 && Objects.equals(classLoaderFactory, jobConfig.classLoaderFactory)
                 && Objects.equals(initialSnapshotName, jobConfig.initialSnapshotName)
                 && maxProcessorAccumulatedRecords == jobConfig.maxProcessorAccumulatedRecords
-                && timeoutMillis == jobConfig.timeoutMillis;
+                && timeoutMillis == jobConfig.timeoutMillis
+                && aggregationStateBackend == jobConfig.aggregationStateBackend
+                && aggregationMemoryLimit == jobConfig.aggregationMemoryLimit;
     }
 
     @Override
@@ -1474,7 +1555,7 @@ public class JobConfig implements IdentifiedDataSerializable {
         return Objects.hash(name, processingGuarantee, snapshotIntervalMillis, autoScaling, suspendOnFailure,
                 splitBrainProtectionEnabled, enableMetrics, storeMetricsAfterJobCompletion, resourceConfigs,
                 customClassPaths, serializerConfigs, arguments, classLoaderFactory, initialSnapshotName,
-                maxProcessorAccumulatedRecords, timeoutMillis);
+                maxProcessorAccumulatedRecords, timeoutMillis, aggregationStateBackend, aggregationMemoryLimit);
     }
 
     @Override
@@ -1486,7 +1567,9 @@ public class JobConfig implements IdentifiedDataSerializable {
                 ", resourceConfigs=" + resourceConfigs + ", serializerConfigs=" + serializerConfigs +
                 ", arguments=" + arguments + ", classLoaderFactory=" + classLoaderFactory +
                 ", initialSnapshotName=" + initialSnapshotName + ", maxProcessorAccumulatedRecords=" +
-                maxProcessorAccumulatedRecords + ", timeoutMillis=" + timeoutMillis + "}";
+                maxProcessorAccumulatedRecords + ", timeoutMillis=" + timeoutMillis +
+                ", aggregationStateBackend=" + aggregationStateBackend +
+                ", aggregationMemoryLimit=" + aggregationMemoryLimit + "}";
     }
 
     private void throwIfLocked() {
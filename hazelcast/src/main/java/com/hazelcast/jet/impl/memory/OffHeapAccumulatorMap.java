@@ -0,0 +1,620 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_x86_32;
+import static com.hazelcast.jet.Util.entry;
+
+/**
+ * A map from keys to accumulators which keeps both in their serialized
+ * form in an off-heap, open-addressing hash table. Updating an accumulator
+ * deserializes it, applies the accumulate function and writes the result
+ * back, so no per-key objects stay on the heap between items.
+ * <p>
+ * When the {@linkplain OffHeapAggregationState owning state} runs out of
+ * memory, the records held in memory are sorted by key and written to a
+ * <em>run</em> file on local disk. A key may then have a record in several
+ * runs and in memory; iterating the map merges them using the aggregate
+ * operation's {@code combineFn}. Keys are compared in their serialized form.
+ * <p>
+ * {@link #size()} counts the records created in memory rather than the
+ * distinct keys, so a key updated both before and after a spill counts
+ * twice. The map doesn't support modification through the {@link
+ * java.util.Map} interface; use {@link #accumulate} and {@link #combine}.
+ */
+public final class OffHeapAccumulatorMap<K, A> extends AbstractMap<K, A> {
+
+    // Record layout: hash, key length, accumulator length, accumulator
+    // capacity (all ints), followed by the key and accumulator bytes
+    private static final int HASH_OFFSET = 0;
+    private static final int KEY_LENGTH_OFFSET = 4;
+    private static final int ACC_LENGTH_OFFSET = 8;
+    private static final int ACC_CAPACITY_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.6f;
+    /** The maximum number of runs merged at once */
+    private static final int MERGE_FACTOR = 16;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final OffHeapAggregationState state;
+    private final InternalSerializationService serializationService;
+    private final MemoryAllocator malloc;
+    private final AggregateOperation<A, ?> aggrOp;
+    private final BiConsumer<? super A, ? super A> combineFn;
+
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Closeable> openReaders = new ArrayList<>();
+
+    private long table;
+    private int capacity;
+    private int count;
+    private int recordCount;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    OffHeapAccumulatorMap(OffHeapAggregationState state, AggregateOperation<A, ?> aggrOp) {
+        this.state = state;
+        this.serializationService = state.serializationService();
+        this.malloc = state.arena();
+        this.aggrOp = aggrOp;
+        this.combineFn = aggrOp.combineFn();
+    }
+
+    /**
+     * Accumulates the item into the accumulator for the given key, creating
+     * the accumulator if the key has no record in memory.
+     *
+     * @return {@code true} if a new record was created
+     * @throws AccumulationLimitExceededException if the memory limit is
+     *      reached and the state can't be spilled
+     */
+    public boolean accumulate(int ordinal, @Nonnull K key, @Nonnull Object item) {
+        byte[] keyBytes = serializationService.toBytes(key);
+        int hash = MurmurHash3_x86_32(keyBytes, 0, keyBytes.length);
+        for (;;) {
+            try {
+                ensureCapacity();
+                long slot = findSlot(hash, keyBytes);
+                long record = MEM.getLong(slot);
+                A acc = record == 0 ? aggrOp.createFn().get() : readAcc(record);
+                aggrOp.accumulateFn(ordinal).accept(acc, item);
+                return put(slot, record, hash, keyBytes, serializationService.toBytes(acc));
+            } catch (NativeOutOfMemoryError e) {
+                // nothing was modified, retry once the memory was spilled
+                spillOrFail();
+            }
+        }
+    }
+
+    /**
+     * Combines the given accumulator into the accumulator for the given key,
+     * or stores it if the key has no record in memory.
+     *
+     * @return {@code true} if a new record was created
+     * @throws AccumulationLimitExceededException if the memory limit is
+     *      reached and the state can't be spilled
+     */
+    public boolean combine(@Nonnull K key, @Nonnull A value) {
+        byte[] keyBytes = serializationService.toBytes(key);
+        int hash = MurmurHash3_x86_32(keyBytes, 0, keyBytes.length);
+        for (;;) {
+            try {
+                ensureCapacity();
+                long slot = findSlot(hash, keyBytes);
+                long record = MEM.getLong(slot);
+                byte[] accBytes;
+                if (record == 0) {
+                    accBytes = serializationService.toBytes(value);
+                } else {
+                    A acc = readAcc(record);
+                    checkCombineFn().accept(acc, value);
+                    accBytes = serializationService.toBytes(acc);
+                }
+                return put(slot, record, hash, keyBytes, accBytes);
+            } catch (NativeOutOfMemoryError e) {
+                spillOrFail();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return recordCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    /**
+     * Returns a view over the merged records. If the map has spilled,
+     * creating an iterator first spills the in-memory part too and merges
+     * all the runs into one.
+     */
+    @Nonnull
+    @Override
+    public Set<Entry<K, A>> entrySet() {
+        return new AbstractSet<Entry<K, A>>() {
+            @Nonnull
+            @Override
+            public Iterator<Entry<K, A>> iterator() {
+                if (runs.isEmpty()) {
+                    return new TableIterator();
+                }
+                spill();
+                try {
+                    compact();
+                    return new RunIterator(runs.get(0));
+                } catch (IOException e) {
+                    throw new JetException("Failed to merge the spilled aggregation state", e);
+                }
+            }
+
+            @Override
+            public int size() {
+                return recordCount;
+            }
+        };
+    }
+
+    /**
+     * Frees the memory and deletes the run files of this map.
+     */
+    public void dispose() {
+        openReaders.forEach(reader -> closeResource(reader));
+        openReaders.clear();
+        clearTable();
+        runs.forEach(run -> deleteQuietly(run.toFile()));
+        runs.clear();
+        recordCount = 0;
+        state.remove(this);
+    }
+
+    // for tests
+    int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Sorts the records held in memory, writes them to a new run and frees
+     * their memory.
+     *
+     * @return {@code false} if nothing was spilled
+     */
+    boolean spill() {
+        if (count == 0 || combineFn == null) {
+            return false;
+        }
+        long[] records = new long[count];
+        for (int i = 0, n = 0; i < capacity; i++) {
+            long record = MEM.getLong(table + (long) i * Long.BYTES);
+            if (record != 0) {
+                records[n++] = record;
+            }
+        }
+        sortRecords(records);
+        try {
+            Path run = Files.createTempFile("hz-jet-aggregation-", ".run");
+            runs.add(run);
+            try (DataOutputStream out = newOutput(run)) {
+                for (long record : records) {
+                    int keyLength = MEM.getInt(record + KEY_LENGTH_OFFSET);
+                    int accLength = MEM.getInt(record + ACC_LENGTH_OFFSET);
+                    out.writeInt(MEM.getInt(record + HASH_OFFSET));
+                    out.writeInt(keyLength);
+                    out.write(copy(record + HEADER_SIZE, keyLength), 0, keyLength);
+                    out.writeInt(accLength);
+                    out.write(copy(record + HEADER_SIZE + keyLength, accLength), 0, accLength);
+                }
+                writeEndOfRun(out);
+            }
+        } catch (IOException e) {
+            throw new JetException("Failed to spill the aggregation state", e);
+        }
+        clearTable();
+        return true;
+    }
+
+    private void spillOrFail() {
+        if (!state.spillAll()) {
+            throw new AccumulationLimitExceededException();
+        }
+    }
+
+    private BiConsumer<? super A, ? super A> checkCombineFn() {
+        if (combineFn == null) {
+            throw new JetException("AggregateOperation.combineFn is required to combine accumulators");
+        }
+        return combineFn;
+    }
+
+    private void ensureCapacity() {
+        if (table == 0) {
+            table = malloc.allocate((long) INITIAL_CAPACITY * Long.BYTES);
+            capacity = INITIAL_CAPACITY;
+        } else if (count + 1 > capacity * LOAD_FACTOR) {
+            int newCapacity = capacity << 1;
+            long newTable = malloc.allocate((long) newCapacity * Long.BYTES);
+            int mask = newCapacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                long record = MEM.getLong(table + (long) i * Long.BYTES);
+                if (record == 0) {
+                    continue;
+                }
+                int index = MEM.getInt(record + HASH_OFFSET) & mask;
+                while (MEM.getLong(newTable + (long) index * Long.BYTES) != 0) {
+                    index = (index + 1) & mask;
+                }
+                MEM.putLong(newTable + (long) index * Long.BYTES, record);
+            }
+            malloc.free(table, (long) capacity * Long.BYTES);
+            table = newTable;
+            capacity = newCapacity;
+        }
+    }
+
+    /**
+     * Returns the address of the slot holding the record for the key, or of
+     * the empty slot where the record should be inserted.
+     */
+    private long findSlot(int hash, byte[] keyBytes) {
+        int mask = capacity - 1;
+        for (int index = hash & mask; ; index = (index + 1) & mask) {
+            long slot = table + (long) index * Long.BYTES;
+            long record = MEM.getLong(slot);
+            if (record == 0 || MEM.getInt(record + HASH_OFFSET) == hash && keyEquals(record, keyBytes)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean keyEquals(long record, byte[] keyBytes) {
+        int keyLength = MEM.getInt(record + KEY_LENGTH_OFFSET);
+        return keyLength == keyBytes.length
+                && Arrays.equals(copy(record + HEADER_SIZE, keyLength), 0, keyLength, keyBytes, 0, keyLength);
+    }
+
+    /**
+     * Stores the accumulator in the record in the given slot, allocating or
+     * growing the record as needed. Doesn't modify anything if the
+     * allocation fails.
+     */
+    private boolean put(long slot, long record, int hash, byte[] keyBytes, byte[] accBytes) {
+        if (record == 0) {
+            record = malloc.allocate(HEADER_SIZE + keyBytes.length + accBytes.length);
+            MEM.putInt(record + HASH_OFFSET, hash);
+            MEM.putInt(record + KEY_LENGTH_OFFSET, keyBytes.length);
+            MEM.putInt(record + ACC_CAPACITY_OFFSET, accBytes.length);
+            MEM.copyFromByteArray(keyBytes, 0, record + HEADER_SIZE, keyBytes.length);
+            writeAcc(record, keyBytes.length, accBytes);
+            MEM.putLong(slot, record);
+            count++;
+            recordCount++;
+            return true;
+        }
+        int accCapacity = MEM.getInt(record + ACC_CAPACITY_OFFSET);
+        if (accBytes.length > accCapacity) {
+            int newAccCapacity = accBytes.length + (accBytes.length >> 1);
+            record = malloc.reallocate(record, HEADER_SIZE + keyBytes.length + accCapacity,
+                    HEADER_SIZE + keyBytes.length + newAccCapacity);
+            MEM.putInt(record + ACC_CAPACITY_OFFSET, newAccCapacity);
+            MEM.putLong(slot, record);
+        }
+        writeAcc(record, keyBytes.length, accBytes);
+        return false;
+    }
+
+    private static void writeAcc(long record, int keyLength, byte[] accBytes) {
+        MEM.putInt(record + ACC_LENGTH_OFFSET, accBytes.length);
+        MEM.copyFromByteArray(accBytes, 0, record + HEADER_SIZE + keyLength, accBytes.length);
+    }
+
+    private A readAcc(long record) {
+        int keyLength = MEM.getInt(record + KEY_LENGTH_OFFSET);
+        return toObject(record + HEADER_SIZE + keyLength, MEM.getInt(record + ACC_LENGTH_OFFSET));
+    }
+
+    private <T> T toObject(long address, int length) {
+        byte[] bytes = new byte[length];
+        MEM.copyToByteArray(address, bytes, 0, length);
+        return toObject(bytes);
+    }
+
+    private <T> T toObject(byte[] bytes) {
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    /**
+     * Copies the given memory to the scratch buffer and returns the buffer.
+     */
+    private byte[] copy(long address, int length) {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length << 1)];
+        }
+        MEM.copyToByteArray(address, buffer, 0, length);
+        return buffer;
+    }
+
+    private void clearTable() {
+        if (table == 0) {
+            return;
+        }
+        for (int i = 0; i < capacity; i++) {
+            long record = MEM.getLong(table + (long) i * Long.BYTES);
+            if (record != 0) {
+                int size = HEADER_SIZE + MEM.getInt(record + KEY_LENGTH_OFFSET)
+                        + MEM.getInt(record + ACC_CAPACITY_OFFSET);
+                malloc.free(record, size);
+            }
+        }
+        malloc.free(table, (long) capacity * Long.BYTES);
+        table = 0;
+        capacity = 0;
+        count = 0;
+    }
+
+    /**
+     * Sorts the records by hash and then by the unsigned key bytes, the
+     * order in which the runs are merged.
+     */
+    private static void sortRecords(long[] records) {
+        // sort by hash using primitive longs: hash in the high, index in the low bits
+        long[] packed = new long[records.length];
+        for (int i = 0; i < records.length; i++) {
+            packed[i] = ((long) MEM.getInt(records[i] + HASH_OFFSET) << Integer.SIZE) | i;
+        }
+        Arrays.sort(packed);
+        long[] sorted = new long[records.length];
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = records[(int) packed[i]];
+        }
+        // hash collisions are rare, insertion sort is enough to order them by key
+        for (int i = 1; i < sorted.length; i++) {
+            long record = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && compareRecords(sorted[j], record) > 0) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = record;
+        }
+        System.arraycopy(sorted, 0, records, 0, sorted.length);
+    }
+
+    private static int compareRecords(long left, long right) {
+        int result = Integer.compare(MEM.getInt(left + HASH_OFFSET), MEM.getInt(right + HASH_OFFSET));
+        if (result != 0) {
+            return result;
+        }
+        int leftLength = MEM.getInt(left + KEY_LENGTH_OFFSET);
+        int rightLength = MEM.getInt(right + KEY_LENGTH_OFFSET);
+        for (int i = 0; i < Math.min(leftLength, rightLength); i++) {
+            result = Integer.compare(Byte.toUnsignedInt(MEM.getByte(left + HEADER_SIZE + i)),
+                    Byte.toUnsignedInt(MEM.getByte(right + HEADER_SIZE + i)));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(leftLength, rightLength);
+    }
+
+    /**
+     * Merges the runs, at most {@link #MERGE_FACTOR} at a time, until there's
+     * only one left.
+     */
+    private void compact() throws IOException {
+        while (runs.size() > 1) {
+            List<Path> batch = new ArrayList<>(runs.subList(0, Math.min(MERGE_FACTOR, runs.size())));
+            Path merged = Files.createTempFile("hz-jet-aggregation-", ".run");
+            runs.add(merged);
+            merge(batch, merged);
+            runs.removeAll(batch);
+            batch.forEach(run -> deleteQuietly(run.toFile()));
+        }
+    }
+
+    private void merge(List<Path> batch, Path target) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>((left, right) -> left.compareTo(right.hash, right.key));
+        try (DataOutputStream out = newOutput(target)) {
+            for (Path run : batch) {
+                RunReader reader = new RunReader(run);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader min = queue.poll();
+                int hash = min.hash;
+                byte[] key = min.key;
+                byte[] accBytes = min.acc;
+                A acc = null;
+                while (!queue.isEmpty() && queue.peek().compareTo(hash, key) == 0) {
+                    RunReader other = queue.poll();
+                    if (acc == null) {
+                        acc = toObject(accBytes);
+                    }
+                    combineFn.accept(acc, toObject(other.acc));
+                    if (other.advance()) {
+                        queue.add(other);
+                    }
+                }
+                if (acc != null) {
+                    accBytes = serializationService.toBytes(acc);
+                }
+                out.writeInt(hash);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt(accBytes.length);
+                out.write(accBytes);
+                if (min.advance()) {
+                    queue.add(min);
+                }
+            }
+            writeEndOfRun(out);
+        } finally {
+            queue.forEach(reader -> closeResource(reader));
+        }
+    }
+
+    private static DataOutputStream newOutput(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE));
+    }
+
+    private static void writeEndOfRun(DataOutputStream out) throws IOException {
+        out.writeInt(0);
+        out.writeInt(-1);
+    }
+
+    private final class TableIterator implements Iterator<Entry<K, A>> {
+        private int index = -1;
+
+        TableIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < capacity;
+        }
+
+        @Override
+        public Entry<K, A> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long record = MEM.getLong(table + (long) index * Long.BYTES);
+            K key = toObject(record + HEADER_SIZE, MEM.getInt(record + KEY_LENGTH_OFFSET));
+            A acc = readAcc(record);
+            advance();
+            return entry(key, acc);
+        }
+
+        private void advance() {
+            do {
+                index++;
+            } while (index < capacity && MEM.getLong(table + (long) index * Long.BYTES) == 0);
+        }
+    }
+
+    private final class RunIterator implements Iterator<Entry<K, A>> {
+        private final RunReader reader;
+        private boolean hasNext;
+
+        RunIterator(Path run) throws IOException {
+            reader = new RunReader(run);
+            openReaders.add(reader);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Entry<K, A> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, A> entry = entry(toObject(reader.key), toObject(reader.acc));
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            try {
+                hasNext = reader.advance();
+            } catch (IOException e) {
+                throw new JetException("Failed to read the spilled aggregation state", e);
+            }
+            if (!hasNext) {
+                openReaders.remove(reader);
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a run one by one, closing the file at its end.
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private int hash;
+        private byte[] key;
+        private byte[] acc;
+
+        RunReader(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+        }
+
+        boolean advance() throws IOException {
+            hash = in.readInt();
+            int keyLength = in.readInt();
+            if (keyLength < 0) {
+                close();
+                return false;
+            }
+            key = new byte[keyLength];
+            in.readFully(key);
+            acc = new byte[in.readInt()];
+            in.readFully(acc);
+            return true;
+        }
+
+        int compareTo(int otherHash, byte[] otherKey) {
+            int result = Integer.compare(hash, otherHash);
+            return result != 0 ? result : Arrays.compareUnsigned(key, otherKey);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.memory.impl.ArenaMemoryManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The native memory shared by the {@link OffHeapAccumulatorMap}s of a
+ * single processor. All the maps allocate from one arena limited by the
+ * job's {@linkplain com.hazelcast.jet.config.JobConfig#getAggregationMemoryLimit()
+ * aggregation memory limit}; when an allocation hits the limit, the
+ * in-memory part of every map is spilled to disk to make room.
+ * <p>
+ * Like the processor owning it, an instance is not thread-safe.
+ */
+public final class OffHeapAggregationState {
+
+    private final InternalSerializationService serializationService;
+    private final ArenaMemoryManager arena;
+    private final List<OffHeapAccumulatorMap<?, ?>> maps = new ArrayList<>();
+
+    public OffHeapAggregationState(@Nonnull InternalSerializationService serializationService, long memoryLimit) {
+        this.serializationService = serializationService;
+        this.arena = new NativeMemoryBudget(memoryLimit).newArena();
+    }
+
+    /**
+     * Creates a new empty map backed by this state. The map must be {@link
+     * OffHeapAccumulatorMap#dispose() disposed} when no longer needed.
+     */
+    @Nonnull
+    public <K, A> OffHeapAccumulatorMap<K, A> newMap(@Nonnull AggregateOperation<A, ?> aggrOp) {
+        OffHeapAccumulatorMap<K, A> map = new OffHeapAccumulatorMap<>(this, aggrOp);
+        maps.add(map);
+        return map;
+    }
+
+    /**
+     * Returns the number of bytes of native memory currently used by the maps.
+     */
+    public long getUsedMemory() {
+        return arena.getUsedMemory();
+    }
+
+    /**
+     * Disposes all the maps created by this state and releases their memory
+     * and spill files.
+     */
+    public void dispose() {
+        for (int i = maps.size() - 1; i >= 0; i--) {
+            maps.get(i).dispose();
+        }
+        arena.dispose();
+    }
+
+    InternalSerializationService serializationService() {
+        return serializationService;
+    }
+
+    ArenaMemoryManager arena() {
+        return arena;
+    }
+
+    /**
+     * Spills the in-memory part of all the maps to disk.
+     *
+     * @return {@code false} if there was nothing to spill
+     */
+    boolean spillAll() {
+        boolean spilled = false;
+        for (OffHeapAccumulatorMap<?, ?> map : maps) {
+            spilled |= map.spill();
+        }
+        return spilled;
+    }
+
+    void remove(OffHeapAccumulatorMap<?, ?> map) {
+        maps.remove(map);
+    }
+}
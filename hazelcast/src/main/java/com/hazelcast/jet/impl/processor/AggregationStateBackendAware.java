@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.config.AggregationStateBackend;
+import com.hazelcast.jet.config.JobConfig;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A processor which can keep its keyed aggregation state with either
+ * {@link AggregationStateBackend}. The backend decides whether the processor
+ * is cooperative, so it must be known before the processor is initialized:
+ * {@link ProcessorSupplierFromSimpleSupplier} sets it from the {@link
+ * JobConfig} right after creating the processor. Processors created
+ * otherwise keep their state on the heap.
+ */
+interface AggregationStateBackendAware {
+
+    void setAggregationStateBackend(@Nonnull AggregationStateBackend backend);
+}
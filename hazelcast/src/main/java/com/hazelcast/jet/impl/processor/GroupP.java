@@ -20,9 +20,13 @@ import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.config.AggregationStateBackend;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.OffHeapAccumulatorMap;
+import com.hazelcast.jet.impl.memory.OffHeapAggregationState;
 
 import javax.annotation.Nonnull;
 import java.util.HashMap;
@@ -34,6 +38,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.Traversers.traverseIterable;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,8 +46,12 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * With the {@link AggregationStateBackend#OFF_HEAP} backend the groups are
+ * kept in an {@link OffHeapAccumulatorMap} instead of {@link #keyToAcc} and
+ * the processor is non-cooperative, since it may spill to disk.
  */
-public class GroupP<K, A, R, OUT> extends AbstractProcessor {
+public class GroupP<K, A, R, OUT> extends AbstractProcessor implements AggregationStateBackendAware {
 
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
@@ -52,6 +61,9 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
+    private AggregationStateBackend aggregationStateBackend = AggregationStateBackend.HEAP;
+    private OffHeapAggregationState offHeapState;
+    private OffHeapAccumulatorMap<K, A> offHeapKeyToAcc;
 
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
@@ -73,9 +85,24 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
     }
 
+    @Override
+    public void setAggregationStateBackend(@Nonnull AggregationStateBackend backend) {
+        this.aggregationStateBackend = backend;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return aggregationStateBackend == AggregationStateBackend.HEAP;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (aggregationStateBackend == AggregationStateBackend.OFF_HEAP) {
+            offHeapState = new OffHeapAggregationState(((InternalProcSupplierCtx) context).serializationService(),
+                    context.jobConfig().getAggregationMemoryLimit());
+            offHeapKeyToAcc = offHeapState.newMap(aggrOp);
+        }
     }
 
     @Override
@@ -83,6 +110,10 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
+        if (offHeapKeyToAcc != null) {
+            offHeapKeyToAcc.accumulate(ordinal, key, item);
+            return true;
+        }
         A acc = keyToAcc.computeIfAbsent(key, k -> {
             if (keyToAcc.size() == maxEntries) {
                 throw new AccumulationLimitExceededException();
@@ -97,13 +128,23 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     public boolean complete() {
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
+            Traverser<Entry<K, A>> entries = offHeapKeyToAcc != null
+                    ? traverseIterable(offHeapKeyToAcc.entrySet()).onFirstNull(offHeapState::dispose)
+                    : new ResultTraverser();
+            resultTraverser = entries
                     // reuse null filtering done by map()
                     .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
         }
         return emitFromTraverser(resultTraverser);
     }
 
+    @Override
+    public void close() {
+        if (offHeapState != null) {
+            offHeapState.dispose();
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
         return true;
@@ -17,6 +17,7 @@
 package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.SupplierEx;
+import com.hazelcast.jet.config.AggregationStateBackend;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
@@ -34,6 +35,7 @@ import java.util.stream.Stream;
 public class ProcessorSupplierFromSimpleSupplier implements ProcessorSupplier, IdentifiedDataSerializable {
 
     private SupplierEx<? extends Processor> simpleSupplier;
+    private AggregationStateBackend aggregationStateBackend;
 
     // for deserialization
     @SuppressWarnings("unused")
@@ -47,6 +49,7 @@ public class ProcessorSupplierFromSimpleSupplier implements ProcessorSupplier, I
     @Override
     public void init(@Nonnull Context context) throws Exception {
         PermissionsUtil.checkPermission(simpleSupplier, context);
+        aggregationStateBackend = context.jobConfig().getAggregationStateBackend();
     }
 
     @Override
@@ -61,7 +64,16 @@ public class ProcessorSupplierFromSimpleSupplier implements ProcessorSupplier, I
 
     @Nonnull @Override
     public Collection<? extends Processor> get(int count) {
-        return Stream.generate(simpleSupplier).limit(count).collect(Collectors.toList());
+        return Stream.generate(simpleSupplier).limit(count)
+                .map(this::withAggregationStateBackend)
+                .collect(Collectors.toList());
+    }
+
+    private Processor withAggregationStateBackend(Processor processor) {
+        if (processor instanceof AggregationStateBackendAware && aggregationStateBackend != null) {
+            ((AggregationStateBackendAware) processor).setAggregationStateBackend(aggregationStateBackend);
+        }
+        return processor;
     }
 
     @Override
@@ -24,6 +24,7 @@ import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.config.AggregationStateBackend;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
@@ -31,8 +32,11 @@ import com.hazelcast.jet.core.SlidingWindowPolicy;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.OffHeapAccumulatorMap;
+import com.hazelcast.jet.impl.memory.OffHeapAggregationState;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -73,11 +77,16 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 /**
  * Handles various setups of sliding and tumbling window aggregation.
  * See {@link Processors} for more documentation.
+ * <p>
+ * With the {@link AggregationStateBackend#OFF_HEAP} backend the frames are
+ * {@link OffHeapAccumulatorMap}s and the processor is non-cooperative, since
+ * it may spill to disk. The combined sliding window stays on heap, and so
+ * do the frames while they are restored from a snapshot.
  *
  * @param <A> type of the frame accumulator object
  * @param <R> type of the finished result
  */
-public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
+public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor implements AggregationStateBackendAware {
 
     // package-visible for testing
     final Long2ObjectHashMap<Map<K, A>> tsToKeyToAcc = new Long2ObjectHashMap<>();
@@ -109,6 +118,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
 
     // extracted lambdas to reduce GC litter
     private final LongFunction<Map<K, A>> createMapPerTsFunction;
+    private final LongFunction<Map<K, A>> createHeapMapPerTsFunction;
     private final Function<K, A> createAccFunction;
 
     @Probe(name = "lateEventsDropped")
@@ -124,6 +134,9 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     private Traverser<? extends OUT> earlyWinTraverser;
     private long maxEntries;
 
+    private AggregationStateBackend aggregationStateBackend = AggregationStateBackend.HEAP;
+    private OffHeapAggregationState offHeapState;
+
     private Traverser<Object> flushTraverser;
     private Traverser<Entry> snapshotTraverser;
 
@@ -168,6 +181,13 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         );
         this.emptyAcc = aggrOp.createFn().get();
         this.createMapPerTsFunction = x -> {
+            totalFrames.inc();
+            if (offHeapState != null) {
+                return offHeapState.newMap(aggrOp);
+            }
+            return new HashMap<>();
+        };
+        this.createHeapMapPerTsFunction = x -> {
             totalFrames.inc();
             return new HashMap<>();
         };
@@ -181,11 +201,25 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         this.windowWatermarkKey = windowWatermarkKey;
     }
 
+    @Override
+    public void setAggregationStateBackend(@Nonnull AggregationStateBackend backend) {
+        this.aggregationStateBackend = backend;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return aggregationStateBackend == AggregationStateBackend.HEAP;
+    }
+
     @Override
     protected void init(@Nonnull Context context) {
         processingGuarantee = context.processingGuarantee();
         lastTimeEarlyResultsEmitted = NANOSECONDS.toMillis(System.nanoTime());
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (aggregationStateBackend == AggregationStateBackend.OFF_HEAP) {
+            offHeapState = new OffHeapAggregationState(((InternalProcSupplierCtx) context).serializationService(),
+                    context.jobConfig().getAggregationMemoryLimit());
+        }
     }
 
     @Override
@@ -246,10 +280,15 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return true;
         }
         final K key = keyFns.get(ordinal).apply(item);
-        A acc = tsToKeyToAcc
-                .computeIfAbsent(frameTs, createMapPerTsFunction)
-                .computeIfAbsent(key, createAccFunction);
-        aggrOp.accumulateFn(ordinal).accept(acc, item);
+        Map<K, A> frame = tsToKeyToAcc.computeIfAbsent(frameTs, createMapPerTsFunction);
+        if (offHeapState != null) {
+            if (((OffHeapAccumulatorMap<K, A>) frame).accumulate(ordinal, key, item)) {
+                totalKeysInFrames.inc();
+            }
+        } else {
+            A acc = frame.computeIfAbsent(key, createAccFunction);
+            aggrOp.accumulateFn(ordinal).accept(acc, item);
+        }
         topTs = max(topTs, frameTs);
         return true;
     }
@@ -317,8 +356,10 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             }
         }
         minRestoredFrameTs = Math.min(higherFrameTs, minRestoredFrameTs);
+        // restored on heap with either backend to detect the duplicate keys,
+        // finishSnapshotRestore() moves the frames off-heap
         tsToKeyToAcc
-                .computeIfAbsent(higherFrameTs, createMapPerTsFunction)
+                .computeIfAbsent(higherFrameTs, createHeapMapPerTsFunction)
                 .merge((K) k.key, (A) value, (o, n) -> {
                     if (!badFrameRestored) {
                         throw new JetException("Duplicate key in snapshot: " + k);
@@ -355,13 +396,28 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                     if (removed != null) {
                         totalFrames.inc(-1);
                         totalKeysInFrames.inc(-removed.size());
+                        dispose(removed);
                     }
                 }
             }
         }
+        if (offHeapState != null) {
+            for (Entry<Long, Map<K, A>> tsAndFrame : tsToKeyToAcc.entrySet()) {
+                OffHeapAccumulatorMap<K, A> frame = offHeapState.newMap(aggrOp);
+                tsAndFrame.getValue().forEach(frame::combine);
+                tsAndFrame.setValue(frame);
+            }
+        }
         return true;
     }
 
+    @Override
+    public void close() {
+        if (offHeapState != null) {
+            offHeapState.dispose();
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
         return true;
@@ -459,6 +515,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 // deduct trailing-edge frame
                 patchSlidingWindow(aggrOp.deductFn(), evictedFrame);
             }
+            dispose(evictedFrame);
         }
         assert tsToKeyToAcc.values().stream().mapToInt(Map::size).sum() == totalKeysInFrames.get()
                 : "totalKeysInFrames mismatch, expected=" + tsToKeyToAcc.values().stream().mapToInt(Map::size).sum()
@@ -475,6 +532,12 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         }
     }
 
+    private static <K, A> void dispose(Map<K, A> frame) {
+        if (frame instanceof OffHeapAccumulatorMap) {
+            ((OffHeapAccumulatorMap<K, A>) frame).dispose();
+        }
+    }
+
     private boolean flushBuffers() {
         if (flushTraverser == null) {
             if (tsToKeyToAcc.isEmpty()) {
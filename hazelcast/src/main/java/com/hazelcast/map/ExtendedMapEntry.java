@@ -16,6 +16,8 @@
 
 package com.hazelcast.map;
 
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
@@ -47,4 +49,45 @@ public interface ExtendedMapEntry<K, V> extends Entry<K, V> {
      */
     V setValueWithoutChangingExpiryTime(V value);
 
+    /**
+     * Returns the value as a {@link GenericRecord} that reads the fields
+     * directly from the serialized value, without deserializing the whole
+     * value. This is cheaper than {@link #getValue()} when only a few fields
+     * of the value are read.
+     * <p>
+     * Only supported for values serialized with Compact or Portable
+     * serialization.
+     *
+     * @return the value as a {@link GenericRecord}, or {@code null} if there is no value
+     * @throws UnsupportedOperationException if the value is not serialized with
+     *                                       Compact or Portable serialization
+     * @since 5.4
+     */
+    default GenericRecord getValueAsGenericRecord() {
+        throw new UnsupportedOperationException("getValueAsGenericRecord is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Sets a fixed-size field of the value by updating the serialized value
+     * directly, instead of deserializing the value, updating the field and
+     * serializing the value again.
+     * <p>
+     * Only supported for values serialized with Compact serialization. The
+     * fixed-size fields are the fields of the kinds {@code BOOLEAN}, {@code INT8},
+     * {@code INT16}, {@code INT32}, {@code INT64}, {@code FLOAT32} and
+     * {@code FLOAT64}, and the value must be a {@link Boolean}, {@link Byte},
+     * {@link Short}, {@link Integer}, {@link Long}, {@link Float} or {@link Double}
+     * respectively. The nullable kinds are not fixed-size.
+     *
+     * @param fieldName the name of the field
+     * @param value     the new value of the field
+     * @throws UnsupportedOperationException if there is no value or the value is
+     *                                       not serialized with Compact serialization
+     * @throws com.hazelcast.nio.serialization.HazelcastSerializationException if the
+     *         field does not exist, is not fixed-size or the value does not match its kind
+     * @since 5.4
+     */
+    default void setValueField(String fieldName, Object value) {
+        throw new UnsupportedOperationException("setValueField is not supported by " + getClass().getName());
+    }
 }
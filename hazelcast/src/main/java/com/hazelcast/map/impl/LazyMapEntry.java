@@ -19,19 +19,27 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.compact.CompactInternalGenericRecord;
 import com.hazelcast.map.ExtendedMapEntry;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
 import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.TYPE_COMPACT_COMPRESSED;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.map.impl.record.Record.UNSET;
 
 /**
@@ -123,6 +131,52 @@ public class LazyMapEntry<K, V> extends CachedQueryEntry<K, V>
         return v;
     }
 
+    @Override
+    public GenericRecord getValueAsGenericRecord() {
+        Data data = getValueData();
+        if (data == null) {
+            return null;
+        }
+        if (!data.isCompact() && !data.isPortable()) {
+            throw new UnsupportedOperationException("The value is not serialized with Compact or Portable serialization");
+        }
+        try {
+            return serializationService.readAsInternalGenericRecord(data);
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @Override
+    public void setValueField(String fieldName, Object value) {
+        checkNotNull(fieldName, "fieldName can't be null");
+        checkNotNull(value, "value can't be null");
+        Data data = getValueData();
+        if (data == null || !data.isCompact()) {
+            throw new UnsupportedOperationException("The value is not serialized with Compact serialization");
+        }
+
+        CompactInternalGenericRecord record;
+        try {
+            if (data.getType() == TYPE_COMPACT_COMPRESSED) {
+                // the field is updated, and the value is stored, in the uncompressed form
+                data = ((AbstractSerializationService) serializationService).decompressCompactData(data);
+            }
+            record = (CompactInternalGenericRecord) serializationService.readAsInternalGenericRecord(data);
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        }
+        // the serialized value can be shared, so the field is written into a copy
+        byte[] bytes = Arrays.copyOf(data.toByteArray(), data.totalSize());
+        record.writeFixedSizeField(bytes, fieldName, value);
+
+        modified = true;
+        this.valueObject = null;
+        this.valueData = new HeapData(bytes);
+        this.changeExpiryOnUpdate = true;
+        this.newTtl = UNSET;
+    }
+
     /**
      * Similar to calling {@link #setValue} with null but doesn't return old-value hence no extra deserialization.
      */
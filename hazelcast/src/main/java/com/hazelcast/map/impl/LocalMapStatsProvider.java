@@ -428,6 +428,9 @@ public class LocalMapStatsProvider {
             freshIndexStats.setTotalUpdateLatency(freshIndexStats.getTotalUpdateLatency() + indexStats.getTotalUpdateLatency());
             freshIndexStats.setRemoveCount(freshIndexStats.getRemoveCount() + indexStats.getRemoveCount());
             freshIndexStats.setTotalRemoveLatency(freshIndexStats.getTotalRemoveLatency() + indexStats.getTotalRemoveLatency());
+            freshIndexStats.setRebuildCount(freshIndexStats.getRebuildCount() + indexStats.getRebuildCount());
+            freshIndexStats.setTotalRebuildLatency(
+                    freshIndexStats.getTotalRebuildLatency() + indexStats.getTotalRebuildLatency());
         }
 
         return freshStats;
@@ -39,6 +39,7 @@ import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
+import com.hazelcast.map.impl.query.PartitionScanStats;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.wan.MapWanContext;
@@ -101,6 +102,7 @@ public class MapContainer {
      */
     protected final AtomicInteger invalidationListenerCount = new AtomicInteger();
     protected final AtomicLong lastInvalidMergePolicyCheckTime = new AtomicLong();
+    protected final PartitionScanStats partitionScanStats = new PartitionScanStats();
 
 
     protected volatile MapConfig mapConfig;
@@ -235,7 +237,8 @@ public class MapContainer {
                                  int evictionBatchSize, IPartitionService partitionService) {
         EvictionChecker evictionChecker = new EvictionChecker(getMemoryInfoAccessor(), mapServiceContext);
 
-        return new EvictorImpl(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
+        return new EvictorImpl(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService,
+                mapConfig.getEvictionConfig());
     }
 
     public boolean shouldUseGlobalIndex() {
@@ -381,6 +384,13 @@ public class MapContainer {
         return extractors;
     }
 
+    /**
+     * @return statistics of the full partition scans executed on this map
+     */
+    public PartitionScanStats getPartitionScanStats() {
+        return partitionScanStats;
+    }
+
     public boolean hasInvalidationListener() {
         return invalidationListenerCount.get() > 0;
     }
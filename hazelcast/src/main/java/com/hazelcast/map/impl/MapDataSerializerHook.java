@@ -21,6 +21,7 @@ import com.hazelcast.client.impl.protocol.task.map.MapAssignAndGetUuidsOperation
 import com.hazelcast.internal.iteration.IndexIterationPointer;
 import com.hazelcast.internal.monitor.impl.LocalRecordStoreStatsImpl;
 import com.hazelcast.internal.nearcache.impl.invalidation.BatchNearCacheInvalidation;
+import com.hazelcast.internal.nearcache.impl.invalidation.PartitionGroupedBatchNearCacheInvalidation;
 import com.hazelcast.internal.nearcache.impl.invalidation.SingleNearCacheInvalidation;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.ArrayDataSerializableFactory;
@@ -133,6 +134,7 @@ import com.hazelcast.map.impl.query.Query;
 import com.hazelcast.map.impl.query.QueryEventFilter;
 import com.hazelcast.map.impl.query.QueryOperation;
 import com.hazelcast.map.impl.query.QueryPartitionOperation;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.query.ResultSegment;
@@ -327,8 +329,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int ITERATION_TYPE_PROJECTION = 159;
+    public static final int NEAR_CACHE_PARTITION_GROUPED_BATCH_INVALIDATION = 160;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = NEAR_CACHE_PARTITION_GROUPED_BATCH_INVALIDATION + 1;
 
     @Override
     public int getFactoryId() {
@@ -494,6 +498,8 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[ITERATION_TYPE_PROJECTION] = IterationTypeProjection::new;
+        constructors[NEAR_CACHE_PARTITION_GROUPED_BATCH_INVALIDATION] = PartitionGroupedBatchNearCacheInvalidation::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
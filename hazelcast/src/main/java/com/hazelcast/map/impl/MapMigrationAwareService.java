@@ -16,7 +16,6 @@
 
 package com.hazelcast.map.impl;
 
-import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
 import com.hazelcast.internal.partition.ChunkSupplier;
 import com.hazelcast.internal.partition.ChunkSuppliers;
@@ -38,6 +37,7 @@ import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexRebuilder;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -46,6 +46,8 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import static com.hazelcast.config.CacheDeserializedValues.NEVER;
@@ -54,6 +56,7 @@ import static com.hazelcast.internal.partition.MigrationEndpoint.SOURCE;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.flushAccumulator;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.removeAccumulator;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.sendEndOfSequenceEvents;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.QUERY_EXECUTOR;
 
 /**
  * Defines migration behavior of map service.
@@ -297,6 +300,10 @@ class MapMigrationAwareService
         return container -> container.getTotalBackupCount() < backupCount;
     }
 
+    private Executor queryExecutor() {
+        return mapServiceContext.getNodeEngine().getExecutionService().getExecutor(QUERY_EXECUTOR);
+    }
+
     private MetaDataGenerator getMetaDataGenerator() {
         return mapServiceContext.getMapNearCacheManager().getInvalidator().getMetaDataGenerator();
     }
@@ -335,13 +342,18 @@ class MapMigrationAwareService
                 continue;
             }
 
+            // the previous population of the partition, if any, must not race with this one
+            indexRegistry.awaitPopulation(event.getPartitionId());
             InternalIndex[] indexesSnapshot = indexRegistry.getIndexes();
 
             IndexRegistry.beginPartitionUpdate(indexesSnapshot);
 
-            CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
-            CachedQueryEntry<?, ?> cachedEntry = cacheDeserializedValues == NEVER ? new CachedQueryEntry<>(serializationService,
-                    mapContainer.getExtractors()) : null;
+            // global indexes are shared, so they can be populated off the partition thread
+            IndexRebuilder indexRebuilder = new IndexRebuilder(indexesSnapshot,
+                    indexRegistry.isGlobal() ? queryExecutor() : null, Index.OperationSource.SYSTEM);
+            boolean cacheDeserializedValues =
+                    mapContainer.getMapConfig().getCacheDeserializedValues() != NEVER;
+            CompletableFuture<Void> population;
             recordStore.beforeOperation();
             try {
                 recordStore.forEach((key, record) -> {
@@ -349,16 +361,17 @@ class MapMigrationAwareService
                     if (value != null) {
                         QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
                         queryEntry.setRecord(record);
-                        CachedQueryEntry<?, ?> newEntry =
-                                cachedEntry == null ? (CachedQueryEntry<?, ?>) queryEntry : cachedEntry.init(key, value);
-                        indexRegistry.putEntry(newEntry, null, queryEntry, Index.OperationSource.SYSTEM);
+                        CachedQueryEntry<?, ?> newEntry = cacheDeserializedValues ? (CachedQueryEntry<?, ?>) queryEntry
+                                : new CachedQueryEntry<>(serializationService, key, value, mapContainer.getExtractors());
+                        indexRebuilder.add(newEntry, queryEntry);
                     }
                 }, false);
+                population = indexRebuilder.complete();
             } finally {
                 recordStore.afterOperation();
             }
 
-            IndexRegistry.markPartitionAsIndexed(event.getPartitionId(), indexesSnapshot);
+            publishPopulation(event.getPartitionId(), mapContainer, indexRegistry, indexesSnapshot, population);
         }
 
         if (logger.isFinestEnabled()) {
@@ -366,6 +379,23 @@ class MapMigrationAwareService
         }
     }
 
+    /**
+     * Marks the partition as indexed once its population completes, without
+     * blocking the partition thread. The later updates of the partition's
+     * entries wait for the population, see {@link IndexRegistry#awaitPopulation}.
+     */
+    private void publishPopulation(int partitionId, MapContainer mapContainer, IndexRegistry indexRegistry,
+                                   InternalIndex[] indexesSnapshot, CompletableFuture<Void> population) {
+        indexRegistry.trackPopulation(partitionId, population.whenComplete((r, t) -> {
+            if (t == null) {
+                IndexRegistry.markPartitionAsIndexed(partitionId, indexesSnapshot);
+            } else {
+                logger.warning("Failed to populate the indexes of map '" + mapContainer.getName()
+                        + "' with partition " + partitionId, t);
+            }
+        }));
+    }
+
     private void depopulateIndexes(PartitionMigrationEvent event, String stepName) {
         assert event.getMigrationEndpoint() == SOURCE;
         assert event.getNewReplicaIndex() != 0 : "Invalid migration event: " + event;
@@ -384,11 +414,13 @@ class MapMigrationAwareService
                 continue;
             }
 
+            indexRegistry.awaitPopulation(event.getPartitionId());
             InternalIndex[] indexesSnapshot = indexRegistry.getIndexes();
 
             IndexRegistry.beginPartitionUpdate(indexesSnapshot);
 
             CachedQueryEntry<?, ?> entry = new CachedQueryEntry<>(serializationService, mapContainer.getExtractors());
+            CompletableFuture<Void> population;
             recordStore.beforeOperation();
             try {
                 recordStore.forEach((key, record) -> {
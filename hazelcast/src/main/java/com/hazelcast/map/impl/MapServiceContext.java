@@ -23,6 +23,7 @@ import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -232,6 +233,12 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter();
 
+    /**
+     * @return member-wide budget for {@link InMemoryFormat#NATIVE} record
+     * stores or {@code null} if native memory is not enabled
+     */
+    NativeMemoryBudget getNativeMemoryBudget();
+
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     /**
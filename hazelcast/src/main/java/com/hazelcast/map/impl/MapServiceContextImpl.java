@@ -19,9 +19,11 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
@@ -54,6 +56,7 @@ import com.hazelcast.map.impl.query.AccumulationExecutor;
 import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.AggregationResultProcessor;
 import com.hazelcast.map.impl.query.CallerRunsAccumulationExecutor;
+import com.hazelcast.map.impl.query.AdaptivePartitionScanExecutor;
 import com.hazelcast.map.impl.query.CallerRunsPartitionScanExecutor;
 import com.hazelcast.map.impl.query.ParallelAccumulationExecutor;
 import com.hazelcast.map.impl.query.ParallelPartitionScanExecutor;
@@ -78,6 +81,7 @@ import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.eventservice.EventService;
@@ -98,6 +102,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_QUERY_PARTITION_SCAN;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.SetUtil.immutablePartitionIdSet;
@@ -112,6 +117,7 @@ import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITIO
 import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_ADAPTIVE_PARALLEL_EVALUATION;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
 import static java.lang.Thread.currentThread;
 
@@ -143,6 +149,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final MapClearExpiredRecordsTask clearExpiredRecordsTask;
     private final PartitioningStrategyFactory partitioningStrategyFactory;
     private final NodeWideUsedCapacityCounter nodeWideUsedCapacityCounter;
+    private final NativeMemoryBudget nativeMemoryBudget;
     private final ConstructorFunction<String, MapContainer> mapConstructor;
     private final IndexProvider indexProvider = new DefaultIndexProvider();
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
@@ -182,6 +189,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.operationProviders = createOperationProviders();
         this.partitioningStrategyFactory = new PartitioningStrategyFactory(nodeEngine.getConfigClassLoader());
         this.nodeWideUsedCapacityCounter = new NodeWideUsedCapacityCounter(nodeEngine.getProperties());
+        this.nativeMemoryBudget = createNativeMemoryBudget(nodeEngine.getConfig().getNativeMemoryConfig());
         this.nodeWideLoadedKeyLimiter = new Semaphore(checkPositive(PROP_LOADED_KEY_LIMITER_PER_NODE,
                 nodeEngine.getProperties().getInteger(LOADED_KEY_LIMITER_PER_NODE)));
         this.logger = nodeEngine.getLogger(getClass());
@@ -259,9 +267,17 @@ class MapServiceContextImpl implements MapServiceContext {
     protected QueryRunner createMapQueryRunner(NodeEngine nodeEngine, QueryOptimizer queryOptimizer,
                                                ResultProcessorRegistry resultProcessorRegistry,
                                                PartitionScanRunner partitionScanRunner) {
+        boolean adaptiveEvaluation = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_ADAPTIVE_PARALLEL_EVALUATION);
         boolean parallelEvaluation = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_PARALLEL_EVALUATION);
         PartitionScanExecutor partitionScanExecutor;
-        if (parallelEvaluation) {
+        if (adaptiveEvaluation) {
+            int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
+            ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
+            partitionScanExecutor = new AdaptivePartitionScanExecutor(this, partitionScanRunner, queryExecutorService,
+                    opTimeoutInMillis);
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry()
+                    .registerStaticMetrics(partitionScanExecutor, MAP_PREFIX_QUERY_PARTITION_SCAN);
+        } else if (parallelEvaluation) {
             int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
             ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
             partitionScanExecutor = new ParallelPartitionScanExecutor(partitionScanRunner, queryExecutorService,
@@ -946,6 +962,16 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideUsedCapacityCounter;
     }
 
+    @Override
+    public NativeMemoryBudget getNativeMemoryBudget() {
+        return nativeMemoryBudget;
+    }
+
+    private static NativeMemoryBudget createNativeMemoryBudget(NativeMemoryConfig nativeMemoryConfig) {
+        return nativeMemoryConfig.isEnabled()
+                ? new NativeMemoryBudget(nativeMemoryConfig.getCapacity().bytes()) : null;
+    }
+
     // used only for testing purposes
     PartitioningStrategyFactory getPartitioningStrategyFactory() {
         return partitioningStrategyFactory;
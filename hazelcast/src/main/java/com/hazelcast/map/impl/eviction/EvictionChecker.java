@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.logging.ILogger;
@@ -55,6 +56,7 @@ public class EvictionChecker {
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
     private final MapNearCacheManager mapNearCacheManager;
+    private final NativeMemoryBudget nativeMemoryBudget;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
 
     public EvictionChecker(MemoryInfoAccessor givenMemoryInfoAccessor, MapServiceContext mapServiceContext) {
@@ -67,6 +69,7 @@ public class EvictionChecker {
         this.clusterService = nodeEngine.getClusterService();
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
+        this.nativeMemoryBudget = mapServiceContext.getNativeMemoryBudget();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
 
         if (logger.isFinestEnabled()) {
@@ -76,6 +79,7 @@ public class EvictionChecker {
         this.misconfiguredPerNodeMaxSizeWarningLogged = new AtomicBoolean();
     }
 
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
     public boolean checkEvictable(RecordStore recordStore) {
         if (recordStore.size() == 0) {
             return false;
@@ -101,6 +105,16 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            case USED_NATIVE_MEMORY_SIZE:
+                return usedNativeMemoryInBytes(mapName) > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return freeNativeMemoryInBytes() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (usedNativeMemoryInBytes(mapName) * ONE_HUNDRED
+                        / Math.max(nativeMemoryBudget.getCapacity(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (freeNativeMemoryInBytes() * ONE_HUNDRED
+                        / Math.max(nativeMemoryBudget.getCapacity(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maximumSizePolicy + ']');
         }
@@ -154,6 +168,18 @@ public class EvictionChecker {
         return usedHeapInBytes;
     }
 
+    private long usedNativeMemoryInBytes(String mapName) {
+        long usedNativeMemoryInBytes = 0L;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            usedNativeMemoryInBytes += getRecordStoreHeapCost(mapName, containers[partitionId]);
+        }
+        return usedNativeMemoryInBytes;
+    }
+
+    private long freeNativeMemoryInBytes() {
+        return nativeMemoryBudget.getCapacity() - nativeMemoryBudget.getUsed();
+    }
+
     private long getRecordStoreHeapCost(String mapName, PartitionContainer container) {
         RecordStore existingRecordStore = container.getExistingRecordStore(mapName);
         if (existingRecordStore == null) {
@@ -85,4 +85,13 @@ public interface Evictor {
      */
     boolean checkEvictable(RecordStore recordStore);
 
+    /**
+     * Records an access to the supplied key, for
+     * evictors taking access history into account.
+     *
+     * @param recordStore the recordStore
+     * @param key         the accessed key
+     */
+    default void recordAccess(RecordStore recordStore, Data key) {
+    }
 }
@@ -16,7 +16,10 @@
 
 package com.hazelcast.map.impl.eviction;
 
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.AdmissionFilter;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -28,11 +31,18 @@ import com.hazelcast.map.impl.recordstore.Storage;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryReason;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 
+import static com.hazelcast.internal.eviction.AdmissionFilterProvider.getAdmissionFilter;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.ThreadUtil.assertRunningOnPartitionThread;
 
 /**
  * Evictor helper methods.
+ * <p>
+ * With an {@link com.hazelcast.config.AdmissionPolicy} configured, the
+ * key which triggered the eviction competes with the sampled entry
+ * selected for eviction and is itself evicted if it loses. Access
+ * history is kept per partition, so it is only touched by the
+ * partition thread.
  */
 public class EvictorImpl implements Evictor {
 
@@ -41,15 +51,26 @@ public class EvictorImpl implements Evictor {
     protected final IPartitionService partitionService;
 
     private final int batchSize;
+    private final EvictionConfig evictionConfig;
+    private final AdmissionFilter[] admissionFilters;
 
     public EvictorImpl(EvictionPolicyComparator policy,
                        EvictionChecker evictionChecker, int batchSize,
                        IPartitionService partitionService) {
+        this(policy, evictionChecker, batchSize, partitionService, null);
+    }
+
+    public EvictorImpl(EvictionPolicyComparator policy,
+                       EvictionChecker evictionChecker, int batchSize,
+                       IPartitionService partitionService, EvictionConfig evictionConfig) {
 
         this.evictionChecker = checkNotNull(evictionChecker);
         this.partitionService = checkNotNull(partitionService);
         this.policy = checkNotNull(policy);
         this.batchSize = batchSize;
+        this.evictionConfig = evictionConfig;
+        this.admissionFilters = evictionConfig != null && evictionConfig.getAdmissionPolicy() != AdmissionPolicy.NONE
+                ? new AdmissionFilter[partitionService.getPartitionCount()] : null;
     }
 
     @Override
@@ -63,10 +84,49 @@ public class EvictorImpl implements Evictor {
             if (entryView == null) {
                 return;
             }
-            evictEntry(recordStore, entryView, now, backup);
+            Data dataKey = getDataKeyFromEntryView(entryView);
+            if (i == 0 && !admit(recordStore, excludedKey, dataKey, now, backup)) {
+                // the new entry is less popular than any sampled one
+                evictEntry(recordStore, excludedKey, now, backup);
+                return;
+            }
+            evictEntry(recordStore, dataKey, now, backup);
         }
     }
 
+    @Override
+    public void recordAccess(RecordStore recordStore, Data key) {
+        AdmissionFilter admissionFilter = getOrCreateAdmissionFilter(recordStore);
+        if (admissionFilter != null) {
+            admissionFilter.recordAccess(key);
+        }
+    }
+
+    private boolean admit(RecordStore recordStore, Data excludedKey, Data dataKey,
+                          long now, boolean backup) {
+        AdmissionFilter admissionFilter = getOrCreateAdmissionFilter(recordStore);
+        if (admissionFilter == null || excludedKey == null || dataKey.equals(excludedKey)
+                || recordStore.isExpired(dataKey, now, backup)) {
+            return true;
+        }
+        admissionFilter.ensureCapacity(recordStore.size());
+        return admissionFilter.admit(excludedKey, dataKey);
+    }
+
+    private AdmissionFilter getOrCreateAdmissionFilter(RecordStore recordStore) {
+        if (admissionFilters == null) {
+            return null;
+        }
+        int partitionId = recordStore.getPartitionId();
+        AdmissionFilter admissionFilter = admissionFilters[partitionId];
+        if (admissionFilter == null) {
+            admissionFilter = getAdmissionFilter(evictionConfig, evictionConfig.getMaxSizePolicy(),
+                    evictionConfig.getSize());
+            admissionFilters[partitionId] = admissionFilter;
+        }
+        return admissionFilter;
+    }
+
     @Override
     public void forceEvictByPercentage(RecordStore recordStore, double evictionPercentage) {
         // NOP.
@@ -102,10 +162,8 @@ public class EvictorImpl implements Evictor {
         return selected == null ? excluded : selected;
     }
 
-    private void evictEntry(RecordStore recordStore, EntryView selectedEntry,
+    private void evictEntry(RecordStore recordStore, Data dataKey,
                             long now, boolean backup) {
-        Data dataKey = getDataKeyFromEntryView(selectedEntry);
-
         if (recordStore.isLocked(dataKey)) {
             return;
         }
@@ -155,6 +213,7 @@ public class EvictorImpl implements Evictor {
         return "EvictorImpl{"
                 + ", evictionPolicyComparator=" + policy
                 + ", batchSize=" + batchSize
+                + ", admissionPolicy=" + (admissionFilters != null ? evictionConfig.getAdmissionPolicy() : null)
                 + '}';
     }
 }
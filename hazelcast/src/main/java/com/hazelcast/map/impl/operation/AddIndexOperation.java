@@ -16,7 +16,6 @@
 
 package com.hazelcast.map.impl.operation;
 
-import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
@@ -27,6 +26,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.IndexRebuilder;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -95,17 +95,17 @@ public class AddIndexOperation extends MapOperation
 
         index.beginPartitionUpdate();
 
-        CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
-        CachedQueryEntry<?, ?> cachedEntry = cacheDeserializedValues == NEVER ? new CachedQueryEntry<>(serializationService,
-                mapContainer.getExtractors()) : null;
+        IndexRebuilder indexRebuilder = new IndexRebuilder(new InternalIndex[]{index}, null, Index.OperationSource.USER);
+        boolean cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues() != NEVER;
         recordStore.forEach((dataKey, record) -> {
             Object value = Records.getValueOrCachedValue(record, serializationService);
             QueryableEntry<?, ?> queryEntry = mapContainer.newQueryEntry(dataKey, value);
             queryEntry.setRecord(record);
-            CachedQueryEntry<?, ?> newEntry =
-                    cachedEntry == null ? (CachedQueryEntry<?, ?>) queryEntry : cachedEntry.init(dataKey, value);
-            index.putEntry(newEntry, null, queryEntry, Index.OperationSource.USER);
+            CachedQueryEntry<?, ?> newEntry = cacheDeserializedValues ? (CachedQueryEntry<?, ?>) queryEntry
+                    : new CachedQueryEntry<>(serializationService, dataKey, value, mapContainer.getExtractors());
+            indexRebuilder.add(newEntry, queryEntry);
         }, false, false);
+        indexRebuilder.flush();
 
         index.markPartitionAsIndexed(partitionId);
     }
@@ -171,6 +171,7 @@ public class MapGetInvalidationMetaDataOperation extends Operation implements Id
                 ownedPartitionIds.size());
 
         for (String name : mapNames) {
+            metaDataGenerator.initSequences(name);
             List<Map.Entry<Integer, Long>> mapSequences = new ArrayList<>();
             for (Integer partitionId : ownedPartitionIds) {
                 long partitionSequence = metaDataGenerator.currentSequence(name, partitionId);
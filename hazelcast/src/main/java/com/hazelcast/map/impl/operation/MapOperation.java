@@ -384,7 +384,12 @@ public abstract class MapOperation extends AbstractNamedOperation
     }
 
     public final void invalidateNearCache(List<Data> keys) {
-        if (!mapContainer.hasInvalidationListener() || isEmpty(keys)) {
+        if (!mapContainer.hasInvalidationListener()) {
+            // keeps Near Cache snapshots from being restored with stale values
+            getNearCacheInvalidator().forceIncrementSequenceIfInitialized(name, getPartitionId());
+            return;
+        }
+        if (isEmpty(keys)) {
             return;
         }
 
@@ -397,7 +402,12 @@ public abstract class MapOperation extends AbstractNamedOperation
 
     // TODO: improve here it's possible that client cannot manage to attach listener
     public final void invalidateNearCache(Data key) {
-        if (!mapContainer.hasInvalidationListener() || key == null) {
+        if (key == null) {
+            return;
+        }
+        if (!mapContainer.hasInvalidationListener()) {
+            int partitionId = getNodeEngine().getPartitionService().getPartitionId(key);
+            getNearCacheInvalidator().forceIncrementSequenceIfInitialized(name, partitionId);
             return;
         }
 
@@ -419,6 +429,8 @@ public abstract class MapOperation extends AbstractNamedOperation
             } else {
                 invalidator.forceIncrementSequence(name, getPartitionId());
             }
+        } else {
+            getNearCacheInvalidator().forceIncrementSequenceIfInitialized(name, getPartitionId());
         }
     }
 
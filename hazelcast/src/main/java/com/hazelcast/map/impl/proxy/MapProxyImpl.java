@@ -23,8 +23,10 @@ import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.journal.EventJournalInitialSubscriberState;
 import com.hazelcast.internal.journal.EventJournalReader;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.util.CollectionUtil;
+import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.EntryProcessor;
@@ -36,6 +38,7 @@ import com.hazelcast.map.impl.ComputeEntryProcessor;
 import com.hazelcast.map.impl.ComputeIfAbsentEntryProcessor;
 import com.hazelcast.map.impl.ComputeIfPresentEntryProcessor;
 import com.hazelcast.map.impl.KeyValueConsumingEntryProcessor;
+import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapEntryReplacingEntryProcessor;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MergeEntryProcessor;
@@ -50,6 +53,8 @@ import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
 import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.IterationTypeProjection;
+import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.Target;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
@@ -1149,6 +1154,64 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    /**
+     * Returns an iterable for iterating the keys of the entries in all of the
+     * partitions which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #keySet(Predicate)}, the result is not materialized: the
+     * keys are fetched partition by partition in batches of {@code fetchSize}
+     * only as the iteration advances, so the iteration is not subject to the
+     * query result size limit and the memory it takes is bounded by the
+     * fetch size. The iteration provides the guarantees of {@link
+     * #iterable(int, Projection, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the keys of the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<K> keySetIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.KEY), predicate);
+    }
+
+    /**
+     * Returns an iterable for iterating the values of the entries in all of
+     * the partitions which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #values(Predicate)}, the result is not materialized, see
+     * {@link #keySetIterable(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the values of the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<V> valuesIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        return iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.VALUE), predicate);
+    }
+
+    /**
+     * Returns an iterable for iterating the entries in all of the partitions
+     * which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #entrySet(Predicate)}, the result is not materialized,
+     * see {@link #keySetIterable(int, Predicate)}.
+     *
+     * @param fetchSize the size of the batches which will be fetched when iterating the data
+     * @param predicate the predicate which the entries must match. null value is not allowed
+     * @return an iterable for the matching entries
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public Iterable<Entry<K, V>> entrySetIterable(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        InternalSerializationService ss = (InternalSerializationService) serializationService;
+        Iterable<QueryResultRow> rows = iterable(fetchSize, (Projection) new IterationTypeProjection(IterationType.ENTRY),
+                predicate);
+        return IterableUtil.map(rows, row -> new LazyMapEntry<>(row.getKey(), row.getValue(), ss));
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
@@ -650,10 +650,7 @@ public class NearCachedMapProxyImpl<K, V> extends MapProxyImpl<K, V> {
             assert invalidation != null;
 
             if (invalidation instanceof BatchNearCacheInvalidation) {
-                List<Invalidation> batch = ((BatchNearCacheInvalidation) invalidation).getInvalidations();
-                for (Invalidation single : batch) {
-                    handleInternal(single);
-                }
+                repairingHandler.handle((BatchNearCacheInvalidation) invalidation);
             } else {
                 handleInternal(invalidation);
             }
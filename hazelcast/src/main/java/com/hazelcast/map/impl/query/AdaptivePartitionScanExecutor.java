@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.executor.ManagedExecutorService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_TOTAL_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_LAST_PARALLELISM;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_PARALLEL_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_PARALLEL_TOTAL_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PARTITION_SCAN_TOTAL_PARALLELISM;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link PartitionScanExecutor} choosing the degree of parallelism of every
+ * scan at runtime instead of always scanning in the calling thread or always
+ * forking a task per partition.
+ * <p>
+ * The choice is based on the number of entries in the scanned partitions
+ * and on the {@link PartitionScanStats} of the map collected by the previous
+ * scans. With {@code n} entries costing {@code c} nanos each and matching
+ * with selectivity {@code s}, a scan split into {@code p} tasks is estimated
+ * to cost
+ * <pre>
+ *     n * c / p + p * TASK_OVERHEAD_NANOS + n * s * COMBINE_NANOS_PER_MATCH
+ * </pre>
+ * where the last term is the merging of the sub-results, done serially by
+ * the calling thread. The scan runs in the calling thread unless some
+ * {@code p > 1} is estimated to be cheaper than {@code n * c}. Partitions
+ * are grouped into exactly {@code p} tasks of roughly equal entry count, so
+ * a parallel scan never forks more tasks than it can use.
+ * <p>
+ * The decisions and the time spent in both modes are exposed as metrics.
+ */
+public class AdaptivePartitionScanExecutor implements PartitionScanExecutor {
+
+    /**
+     * Estimated cost of handing a task over to the query executor and
+     * collecting its result.
+     */
+    static final long TASK_OVERHEAD_NANOS = 50_000;
+
+    /**
+     * Estimated cost of merging a matching entry of a sub-result into the
+     * final result.
+     */
+    static final long COMBINE_NANOS_PER_MATCH = 20;
+
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_COUNT)
+    private final MwCounter callerRunsCount = newMwCounter();
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_CALLER_RUNS_TOTAL_TIME, unit = NS)
+    private final MwCounter callerRunsTotalTime = newMwCounter();
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_PARALLEL_COUNT)
+    private final MwCounter parallelCount = newMwCounter();
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_PARALLEL_TOTAL_TIME, unit = NS)
+    private final MwCounter parallelTotalTime = newMwCounter();
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_TOTAL_PARALLELISM)
+    private final MwCounter totalParallelism = newMwCounter();
+    @Probe(name = MAP_METRIC_PARTITION_SCAN_LAST_PARALLELISM)
+    private volatile int lastParallelism;
+
+    private final MapServiceContext mapServiceContext;
+    private final PartitionScanRunner partitionScanRunner;
+    private final ManagedExecutorService executor;
+    private final int timeoutInMillis;
+
+    public AdaptivePartitionScanExecutor(MapServiceContext mapServiceContext,
+                                         PartitionScanRunner partitionScanRunner,
+                                         ManagedExecutorService executor,
+                                         int timeoutInMillis) {
+        this.mapServiceContext = mapServiceContext;
+        this.partitionScanRunner = partitionScanRunner;
+        this.executor = executor;
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        MapContainer mapContainer = mapServiceContext.getExistingMapContainer(mapName);
+        PartitionScanStats stats = mapContainer == null ? new PartitionScanStats() : mapContainer.getPartitionScanStats();
+
+        int[] partitionIds = new int[partitions.size()];
+        long[] entryCounts = new long[partitionIds.length];
+        long totalEntryCount = 0;
+        int i = 0;
+        for (Integer partitionId : partitions) {
+            partitionIds[i] = partitionId;
+            entryCounts[i] = entryCount(mapName, partitionId);
+            totalEntryCount += entryCounts[i++];
+        }
+
+        int parallelism = parallelism(totalEntryCount, partitionIds.length, stats);
+        lastParallelism = parallelism;
+        int initialSize = matchedCount(result);
+        long start = System.nanoTime();
+        long scanNanos;
+        if (parallelism == 1) {
+            scanSerially(mapName, predicate, partitionIds, result);
+            scanNanos = System.nanoTime() - start;
+            callerRunsCount.inc();
+            callerRunsTotalTime.inc(scanNanos);
+        } else {
+            scanNanos = scanInParallel(mapName, predicate, group(partitionIds, entryCounts, parallelism), result);
+            parallelCount.inc();
+            parallelTotalTime.inc(System.nanoTime() - start);
+            totalParallelism.inc(parallelism);
+        }
+
+        stats.recordScan(totalEntryCount, scanNanos);
+        if (initialSize >= 0 && !(predicate instanceof PagingPredicateImpl)) {
+            stats.recordMatches(totalEntryCount, matchedCount(result) - initialSize);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(
+            String mapName, Predicate predicate, int partitionId,
+            IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    /**
+     * Returns the number of tasks the scan of the given number of entries
+     * should be split into, {@code 1} meaning the scan should run in the
+     * calling thread.
+     */
+    int parallelism(long entryCount, int partitionCount, PartitionScanStats stats) {
+        int maxParallelism = Math.min(partitionCount, executor.getMaximumPoolSize());
+        double serialCost = entryCount * stats.getNanosPerEntry();
+        double combineCost = entryCount * stats.getSelectivity() * COMBINE_NANOS_PER_MATCH;
+
+        int parallelism = 1;
+        double cost = serialCost;
+        for (int p = 2; p <= maxParallelism; p++) {
+            double parallelCost = serialCost / p + (double) p * TASK_OVERHEAD_NANOS + combineCost;
+            if (parallelCost < cost) {
+                cost = parallelCost;
+                parallelism = p;
+            }
+        }
+        return parallelism;
+    }
+
+    /**
+     * Splits the given partitions into the given number of groups with
+     * roughly equal entry counts, assigning the largest partitions first.
+     */
+    static List<List<Integer>> group(int[] partitionIds, long[] entryCounts, int groupCount) {
+        Integer[] order = new Integer[partitionIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(entryCounts[b], entryCounts[a]));
+
+        List<List<Integer>> groups = new ArrayList<>(groupCount);
+        long[] groupEntryCounts = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int index : order) {
+            int smallest = 0;
+            for (int i = 1; i < groupCount; i++) {
+                if (groupEntryCounts[i] < groupEntryCounts[smallest]) {
+                    smallest = i;
+                }
+            }
+            groups.get(smallest).add(partitionIds[index]);
+            groupEntryCounts[smallest] += entryCounts[index];
+        }
+        return groups;
+    }
+
+    private void scanSerially(String mapName, Predicate predicate, int[] partitionIds, Result result) {
+        RetryableHazelcastException storedException = scan(mapName, predicate, partitionIds, result);
+        if (storedException != null) {
+            throw storedException;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long scanInParallel(String mapName, Predicate predicate, List<List<Integer>> groups, Result result) {
+        List<GroupScanTask> tasks = new ArrayList<>(groups.size());
+        List<Future<Result>> futures = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            GroupScanTask task = new GroupScanTask(mapName, predicate, group, result.createSubResult());
+            tasks.add(task);
+            futures.add(executor.submit(task));
+        }
+
+        Collection<Result> subResults = returnWithDeadline(futures, timeoutInMillis, MILLISECONDS, RETHROW_EVERYTHING);
+        for (Result subResult : subResults) {
+            result.combine(subResult);
+        }
+        if (predicate instanceof PagingPredicateImpl) {
+            PagingPredicateImpl pagingPredicate = (PagingPredicateImpl) predicate;
+            Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicate.getNearestAnchorEntry();
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+
+        long scanNanos = 0;
+        for (GroupScanTask task : tasks) {
+            scanNanos += task.scanNanos;
+        }
+        return scanNanos;
+    }
+
+    /**
+     * Scans all the given partitions, returning the first
+     * {@link RetryableHazelcastException} instead of throwing it so that all
+     * the partitions are touched, see {@link CallerRunsPartitionScanExecutor}.
+     */
+    private RetryableHazelcastException scan(String mapName, Predicate predicate, int[] partitionIds, Result result) {
+        RetryableHazelcastException storedException = null;
+        for (int partitionId : partitionIds) {
+            try {
+                partitionScanRunner.run(mapName, predicate, partitionId, result);
+            } catch (RetryableHazelcastException e) {
+                if (storedException == null) {
+                    storedException = e;
+                }
+            }
+        }
+        return storedException;
+    }
+
+    private long entryCount(String mapName, int partitionId) {
+        RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getExistingRecordStore(mapName);
+        return recordStore == null ? 0 : recordStore.size();
+    }
+
+    private static int matchedCount(Result result) {
+        return result instanceof QueryResult ? ((QueryResult) result).size() : -1;
+    }
+
+    private final class GroupScanTask implements Callable<Result> {
+        private final String mapName;
+        private final Predicate predicate;
+        private final int[] partitionIds;
+        private final Result result;
+        private volatile long scanNanos;
+
+        private GroupScanTask(String mapName, Predicate predicate, List<Integer> partitionIds, Result result) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.partitionIds = partitionIds.stream().mapToInt(Integer::intValue).toArray();
+            this.result = result;
+        }
+
+        @Override
+        public Result call() {
+            long start = System.nanoTime();
+            RetryableHazelcastException storedException = scan(mapName, predicate, partitionIds, result);
+            scanNanos = System.nanoTime() - start;
+            if (storedException != null) {
+                throw storedException;
+            }
+            result.setPartitionIds(new PartitionIdSet(partitionScanRunner.partitionService.getPartitionCount(),
+                    partitionIds));
+            return result;
+        }
+    }
+}
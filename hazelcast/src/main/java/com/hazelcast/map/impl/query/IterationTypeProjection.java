@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Projects the matching entries of a query to their keys, values or the
+ * entries themselves, as defined by the {@link IterationType}.
+ * <p>
+ * Keys and values are returned in their serialized form, so they are not
+ * deserialized on the member only to be serialized again when the rows
+ * are sent to the caller. Entries are projected to {@link QueryResultRow}s
+ * which the caller wraps into lazily deserialized entries. Used to stream the results of key-set, values and
+ * entry-set queries in batches instead of materializing them.
+ */
+public final class IterationTypeProjection implements Projection<Map.Entry, Object>, IdentifiedDataSerializable {
+
+    private IterationType iterationType;
+
+    public IterationTypeProjection() {
+    }
+
+    public IterationTypeProjection(IterationType iterationType) {
+        this.iterationType = iterationType;
+    }
+
+    @Override
+    public Object transform(Map.Entry input) {
+        QueryableEntry entry = (QueryableEntry) input;
+        switch (iterationType) {
+            case KEY:
+                return entry.getKeyData();
+            case VALUE:
+                return entry.getValueData();
+            case ENTRY:
+                return new QueryResultRow(entry.getKeyData(), entry.getValueData());
+            default:
+                throw new IllegalStateException("Unsupported iteration type: " + iterationType);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.ITERATION_TYPE_PROJECTION;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeByte(iterationType.getId());
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        iterationType = IterationType.getById(in.readByte());
+    }
+}
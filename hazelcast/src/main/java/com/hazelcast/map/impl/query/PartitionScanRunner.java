@@ -34,6 +34,7 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.CompactScanFilter;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
@@ -48,6 +49,9 @@ import java.util.function.BiConsumer;
 import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.MATCH;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.NOT_APPLICABLE;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.NO_MATCH;
 
 /**
  * Responsible for running a full-partition scan for a single partition in the calling thread.
@@ -72,7 +76,7 @@ public class PartitionScanRunner {
         this.clusterService = nodeEngine.getClusterService();
     }
 
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "checkstyle:anoninnerlength"})
     public void run(String mapName, Predicate predicate, int partitionId, Result result) {
         PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
                 ? (PagingPredicateImpl) predicate : null;
@@ -85,13 +89,20 @@ public class PartitionScanRunner {
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+        CompactScanFilter scanFilter = pagingPredicate == null ? createScanFilter(predicate, extractors) : null;
 
         recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
 
             @Override
             public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+                Object rawValue = record.getValue();
+                int scanResult = scanFilter == null ? NOT_APPLICABLE : scanFilter.test(rawValue);
+                if (scanResult == NO_MATCH) {
+                    return;
+                }
+
+                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : rawValue;
                 // TODO how can a value be null?
                 if (value == null) {
                     return;
@@ -101,7 +112,7 @@ public class PartitionScanRunner {
                 queryEntry.setRecord(record);
                 queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
 
-                if (predicate.apply(queryEntry)
+                if ((scanResult == MATCH || predicate.apply(queryEntry))
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
 
                     // always copy key&value to heap if map is backed by native memory
@@ -147,6 +158,7 @@ public class PartitionScanRunner {
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore recordStore = partitionContainer.getRecordStore(mapName);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        CompactScanFilter scanFilter = createScanFilter(predicate, extractors);
 
         while (resultList.size() < fetchSize && pointers[pointers.length - 1].getIndex() >= 0) {
             MapEntriesWithCursor cursor = recordStore.fetchEntries(pointers, fetchSize - resultList.size());
@@ -156,8 +168,12 @@ public class PartitionScanRunner {
                 break;
             }
             for (Entry<Data, Data> entry : entries) {
+                int scanResult = scanFilter == null ? NOT_APPLICABLE : scanFilter.test(entry.getValue());
+                if (scanResult == NO_MATCH) {
+                    continue;
+                }
                 QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
-                if (predicate.apply(queryEntry)) {
+                if (scanResult == MATCH || predicate.apply(queryEntry)) {
                     resultList.add(queryEntry);
                 }
             }
@@ -165,6 +181,14 @@ public class PartitionScanRunner {
         return new QueryableEntriesSegment(resultList, pointers);
     }
 
+    /**
+     * Creates a filter evaluating the predicate directly against
+     * Compact serialized values, if the predicate is simple enough.
+     */
+    protected CompactScanFilter createScanFilter(Predicate predicate, Extractors extractors) {
+        return CompactScanFilter.create(predicate, extractors, nodeEngine.getSchemaService(), ss.getByteOrder());
+    }
+
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer, int partitionId) {
         return mapContainer.isUseCachedDeserializedValuesEnabled(partitionId);
     }
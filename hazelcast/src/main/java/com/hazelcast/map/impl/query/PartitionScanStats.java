@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+/**
+ * Statistics of the full partition scans executed on a single map, used by
+ * {@link AdaptivePartitionScanExecutor} to estimate the cost of the next
+ * scan.
+ * <p>
+ * Both statistics are exponentially weighted moving averages over the
+ * previous scans. Updates are not synchronized: concurrent scans may
+ * overwrite each other's samples, which is acceptable for an estimate.
+ */
+public class PartitionScanStats {
+
+    /**
+     * The cost assumed for a map which has not been scanned yet: roughly a
+     * deserialization plus the evaluation of a simple predicate.
+     */
+    static final double DEFAULT_NANOS_PER_ENTRY = 250;
+
+    /**
+     * The selectivity assumed for a map which has not been scanned yet,
+     * pessimistically every entry matches.
+     */
+    static final double DEFAULT_SELECTIVITY = 1.0;
+
+    private static final double ALPHA = 0.2;
+
+    private volatile double nanosPerEntry = Double.NaN;
+    private volatile double selectivity = Double.NaN;
+
+    /**
+     * @return the average time spent scanning a single entry, including
+     * the predicate evaluation and adding the matching entries to the
+     * result
+     */
+    public double getNanosPerEntry() {
+        double value = nanosPerEntry;
+        return Double.isNaN(value) ? DEFAULT_NANOS_PER_ENTRY : value;
+    }
+
+    /**
+     * @return the average ratio of the scanned entries matching the
+     * predicate, in the range {@code [0, 1]}
+     */
+    public double getSelectivity() {
+        double value = selectivity;
+        return Double.isNaN(value) ? DEFAULT_SELECTIVITY : value;
+    }
+
+    /**
+     * Records the cost of a finished scan.
+     *
+     * @param entryCount number of scanned entries
+     * @param scanNanos  the time spent scanning, summed over all the threads
+     *                   involved
+     */
+    public void recordScan(long entryCount, long scanNanos) {
+        if (entryCount <= 0) {
+            return;
+        }
+        nanosPerEntry = average(nanosPerEntry, (double) scanNanos / entryCount);
+    }
+
+    /**
+     * Records the selectivity of a finished scan.
+     *
+     * @param entryCount   number of scanned entries
+     * @param matchedCount number of entries matching the predicate
+     */
+    public void recordMatches(long entryCount, long matchedCount) {
+        if (entryCount <= 0) {
+            return;
+        }
+        selectivity = average(selectivity, Math.min(1.0, (double) matchedCount / entryCount));
+    }
+
+    private static double average(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + ALPHA * (sample - current);
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionScanStats{"
+                + "nanosPerEntry=" + getNanosPerEntry()
+                + ", selectivity=" + getSelectivity()
+                + '}';
+    }
+}
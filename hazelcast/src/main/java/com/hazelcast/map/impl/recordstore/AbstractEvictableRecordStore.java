@@ -38,6 +38,7 @@ import javax.annotation.Nonnull;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
@@ -71,6 +72,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Nonnull
     protected ExpirySystem createExpirySystem(MapContainer mapContainer) {
+        if (inMemoryFormat == NATIVE) {
+            return new NativeExpirySystem(this, mapContainer, mapServiceContext);
+        }
         return new ExpirySystemImpl(this, mapContainer, mapServiceContext);
     }
 
@@ -86,6 +90,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Override
     public void evictEntries(Data excludedKey) {
+        if (excludedKey != null) {
+            mapContainer.getEvictor().recordAccess(this, excludedKey);
+        }
         if (shouldEvict()) {
             mapContainer.getEvictor().evict(this, excludedKey);
         }
@@ -182,6 +189,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
         record.onAccess(now);
+        mapContainer.getEvictor().recordAccess(this, dataKey);
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
     }
@@ -89,6 +89,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         MapConfig mapConfig = mapContainer.getMapConfig();
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
+            case NATIVE:
                 return new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
@@ -175,6 +176,10 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            return new NativeStorage(mapServiceContext.getNativeMemoryBudget().newArena(),
+                    getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
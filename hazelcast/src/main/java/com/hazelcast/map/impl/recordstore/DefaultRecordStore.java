@@ -239,11 +239,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (newRecord == null) {
             newRecord = createRecord(dataKey, replicatedRecord != null
                     ? replicatedRecord.getValue() : null, now);
-            storage.put(dataKey, newRecord);
+            newRecord = storage.put(dataKey, newRecord);
         } else {
-            storage.updateRecordValue(dataKey, newRecord, replicatedRecord.getValue());
+            newRecord = storage.updateRecordValue(dataKey, newRecord, replicatedRecord.getValue());
         }
 
+        // the metadata is copied to the stored record, which may be a native one
         Records.copyMetadataFrom(replicatedRecord, newRecord);
         expirySystem.add(dataKey, expiryMetadata, now);
         mutationObserver.onReplicationPutRecord(dataKey, newRecord, indexesMustBePopulated);
@@ -994,15 +995,14 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (mapDataStore != EMPTY_MAP_DATA_STORE && store) {
             putIntoMapStore(record, key, newValue, ttl, maxIdle, now, transactionId);
         }
-        putMemory(record, key, oldValue, ttl, maxIdle, expiryTime, now, entryEventType, backup);
-        return record;
+        return putMemory(record, key, oldValue, ttl, maxIdle, expiryTime, now, entryEventType, backup);
     }
 
     @SuppressWarnings("checkstyle:parameternumber")
     public Record putMemory(Record record, Data key, Object oldValue, long ttl, long maxIdle,
                             long expiryTime, long now, EntryEventType entryEventType,
                             boolean backup) {
-        storage.put(key, record);
+        record = storage.put(key, record);
         expirySystem.add(key, ttl, maxIdle, expiryTime, now, now);
 
         if (entryEventType == EntryEventType.LOADED) {
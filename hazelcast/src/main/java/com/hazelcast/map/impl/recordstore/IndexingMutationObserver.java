@@ -145,6 +145,7 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
      * partition full-scan.
      */
     private void fullScanLocalDataToClear(IndexRegistry indexRegistry) {
+        indexRegistry.awaitPopulation(partitionId);
         InternalIndex[] indexesSnapshot = indexRegistry.getIndexes();
 
         IndexRegistry.beginPartitionUpdate(indexesSnapshot);
@@ -166,6 +167,7 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
             return;
         }
 
+        indexRegistry.awaitPopulation(partitionId);
         QueryableEntry queryableEntry = mapContainer.newQueryEntry(toBackingKeyFormat(dataKey),
                 getValueOrCachedValue(record, ss));
         queryableEntry.setRecord(record);
@@ -180,6 +182,7 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
             return;
         }
 
+        indexRegistry.awaitPopulation(partitionId);
         indexRegistry.removeEntry(toBackingKeyFormat(dataKey), getValueOrCachedValue(record, ss), operationSource);
     }
 
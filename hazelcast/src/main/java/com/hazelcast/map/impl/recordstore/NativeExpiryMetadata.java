@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toMillis;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toSeconds;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.EXPIRATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.EXPIRY_LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.MAX_IDLE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.TTL_OFFSET;
+
+/**
+ * Flyweight {@link ExpiryMetadata} over the expiry fields of an entry
+ * block of {@link NativeStorage}. Values are encoded exactly like in
+ * {@link com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadataImpl}.
+ */
+final class NativeExpiryMetadata implements ExpiryMetadata {
+
+    private final MemoryAccessor mem;
+    private final long address;
+
+    NativeExpiryMetadata(MemoryAccessor mem, long address) {
+        this.mem = mem;
+        this.address = address;
+    }
+
+    /**
+     * Copies the given expiry metadata into the entry block at the given address.
+     */
+    static void copy(MemoryAccessor mem, long address, ExpiryMetadata expiryMetadata) {
+        mem.putInt(address + TTL_OFFSET, expiryMetadata.getRawTtl());
+        mem.putInt(address + MAX_IDLE_OFFSET, expiryMetadata.getRawMaxIdle());
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, expiryMetadata.getRawExpirationTime());
+        mem.putInt(address + EXPIRY_LAST_UPDATE_TIME_OFFSET, expiryMetadata.getRawLastUpdateTime());
+    }
+
+    @Override
+    public long getTtl() {
+        return toMillis(getRawTtl());
+    }
+
+    @Override
+    public int getRawTtl() {
+        return mem.getInt(address + TTL_OFFSET);
+    }
+
+    @Override
+    public ExpiryMetadata setTtl(long ttl) {
+        return setRawTtl(toSeconds(ttl));
+    }
+
+    @Override
+    public ExpiryMetadata setRawTtl(int ttl) {
+        mem.putInt(address + TTL_OFFSET, ttl);
+        return this;
+    }
+
+    @Override
+    public long getMaxIdle() {
+        return toMillis(getRawMaxIdle());
+    }
+
+    @Override
+    public int getRawMaxIdle() {
+        return mem.getInt(address + MAX_IDLE_OFFSET);
+    }
+
+    @Override
+    public ExpiryMetadata setMaxIdle(long maxIdle) {
+        return setRawMaxIdle(toSeconds(maxIdle));
+    }
+
+    @Override
+    public ExpiryMetadata setRawMaxIdle(int maxIdle) {
+        mem.putInt(address + MAX_IDLE_OFFSET, maxIdle);
+        return this;
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return recomputeWithBaseTime(getRawExpirationTime());
+    }
+
+    @Override
+    public int getRawExpirationTime() {
+        return mem.getInt(address + EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public ExpiryMetadata setExpirationTime(long expirationTime) {
+        return setRawExpirationTime(stripBaseTime(expirationTime));
+    }
+
+    @Override
+    public ExpiryMetadata setRawExpirationTime(int expirationTime) {
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, expirationTime);
+        return this;
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return mem.getInt(address + EXPIRY_LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public ExpiryMetadata setLastUpdateTime(long lastUpdateTime) {
+        return setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public ExpiryMetadata setRawLastUpdateTime(int lastUpdateTime) {
+        mem.putInt(address + EXPIRY_LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "NativeExpiryMetadata{"
+                + "ttl=" + getTtl()
+                + ", maxIdle=" + getMaxIdle()
+                + ", expirationTime=" + getExpirationTime()
+                + ", lastUpdateTime=" + getLastUpdateTime()
+                + '}';
+    }
+}
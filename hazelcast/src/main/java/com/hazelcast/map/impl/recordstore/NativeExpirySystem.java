@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystemImpl;
+
+import java.util.Map;
+
+/**
+ * Expiry system of a {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+ * map. Instead of an on-heap map, the expiry metadata is kept in the
+ * entry blocks of the {@link NativeStorage} of the record store.
+ */
+class NativeExpirySystem extends ExpirySystemImpl {
+
+    private final RecordStore recordStore;
+
+    NativeExpirySystem(RecordStore recordStore, MapContainer mapContainer,
+                       MapServiceContext mapServiceContext) {
+        super(recordStore, mapContainer, mapServiceContext);
+        this.recordStore = recordStore;
+    }
+
+    @Override
+    protected Map<Data, ExpiryMetadata> createExpiryTimeByKeyMap() {
+        return ((NativeStorage) recordStore.getStorage()).getExpiryMetadataView();
+    }
+}
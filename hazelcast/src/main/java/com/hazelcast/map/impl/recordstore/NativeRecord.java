@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReaderWriter;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} over an entry block of {@link NativeStorage}.
+ * <p>
+ * All metadata is read from and written to native memory, so a record
+ * instance is only a cursor and may be thrown away freely. The value is
+ * copied on-heap on every {@link #getValue()} call and {@link #setValue}
+ * writes it back to a value block of the owning {@link NativeStorage}.
+ * <p>
+ * The record mimics the on-heap record it was created from: the
+ * {@link RecordReaderWriter} of that record decides which metadata
+ * fields are maintained, exactly like the matching on-heap record type.
+ * <p>
+ * Entry block layout:
+ * <pre>
+ * | next entry address (8) | value address (8) | key hash (4) | key size (4) |
+ * | value size (4) | version (4) | hits (4) | creation time (4) |
+ * | last access time (4) | last update time (4) | last stored time (4) |
+ * | reader writer id (1) | expirable flag (1) | padding (2) | ttl (4) |
+ * | max idle (4) | expiration time (4) | expiry last update time (4) |
+ * | key bytes ... |
+ * </pre>
+ * The expiry fields are only meaningful when the expirable flag is set,
+ * see {@link NativeExpiryMetadata}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+final class NativeRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = 8;
+    static final int KEY_HASH_OFFSET = 16;
+    static final int KEY_SIZE_OFFSET = 20;
+    static final int VALUE_SIZE_OFFSET = 24;
+    static final int VERSION_OFFSET = 28;
+    static final int HITS_OFFSET = 32;
+    static final int CREATION_TIME_OFFSET = 36;
+    static final int LAST_ACCESS_TIME_OFFSET = 40;
+    static final int LAST_UPDATE_TIME_OFFSET = 44;
+    static final int LAST_STORED_TIME_OFFSET = 48;
+    static final int READER_WRITER_ID_OFFSET = 52;
+    static final int EXPIRABLE_OFFSET = 53;
+    static final int TTL_OFFSET = 56;
+    static final int MAX_IDLE_OFFSET = 60;
+    static final int EXPIRATION_TIME_OFFSET = 64;
+    static final int EXPIRY_LAST_UPDATE_TIME_OFFSET = 68;
+    static final int KEY_OFFSET = 72;
+
+    private final NativeStorage storage;
+    private final MemoryAccessor mem;
+    private final long address;
+    private final RecordReaderWriter readerWriter;
+
+    NativeRecord(NativeStorage storage, MemoryAccessor mem, long address) {
+        this.storage = storage;
+        this.mem = mem;
+        this.address = address;
+        this.readerWriter = RecordReaderWriter.getById(mem.getByte(address + READER_WRITER_ID_OFFSET));
+    }
+
+    /**
+     * Copies the metadata of the given on-heap record
+     * into the entry block at the given address.
+     */
+    static void copyMetadata(MemoryAccessor mem, long address, Record record) {
+        mem.putInt(address + VERSION_OFFSET, record.getVersion());
+        mem.putInt(address + HITS_OFFSET, record.getHits());
+        mem.putInt(address + CREATION_TIME_OFFSET, record.getRawCreationTime());
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, record.getRawLastAccessTime());
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, record.getRawLastUpdateTime());
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, record.getRawLastStoredTime());
+        mem.putByte(address + READER_WRITER_ID_OFFSET, record.getMatchingRecordReaderWriter().getId());
+    }
+
+    long address() {
+        return address;
+    }
+
+    @Override
+    public Data getValue() {
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(address + VALUE_SIZE_OFFSET)];
+        mem.copyToByteArray(valueAddress, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        storage.replaceValue(address, value);
+    }
+
+    @Override
+    public long getCost() {
+        // nothing is kept on-heap
+        return 0;
+    }
+
+    @Override
+    public int getVersion() {
+        return mem.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        mem.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return hasLastAccessTime() ? recomputeWithBaseTime(getRawLastAccessTime()) : UNSET;
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        if (hasLastAccessTime()) {
+            setRawLastAccessTime(stripBaseTime(lastAccessTime));
+        }
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return hasStats() ? recomputeWithBaseTime(getRawLastUpdateTime()) : UNSET;
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        if (hasStats()) {
+            setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+        }
+    }
+
+    @Override
+    public long getCreationTime() {
+        return hasStats() ? recomputeWithBaseTime(getRawCreationTime()) : UNSET;
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        if (hasStats()) {
+            setRawCreationTime(stripBaseTime(creationTime));
+        }
+    }
+
+    @Override
+    public int getHits() {
+        return hasHits() ? mem.getInt(address + HITS_OFFSET) : UNSET;
+    }
+
+    @Override
+    public void setHits(int hits) {
+        if (hasHits()) {
+            mem.putInt(address + HITS_OFFSET, hits);
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        if (!hasStats()) {
+            return UNSET;
+        }
+        int lastStoredTime = getRawLastStoredTime();
+        return lastStoredTime == UNSET ? 0L : recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        if (hasStats()) {
+            setRawLastStoredTime(stripBaseTime(lastStoredTime));
+        }
+    }
+
+    @Override
+    public void onAccess(long now) {
+        if (hasStats()) {
+            incrementHits();
+            setLastAccessTime(now);
+        } else if (readerWriter == SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER) {
+            setLastAccessTime(now);
+        }
+    }
+
+    @Override
+    public void onStore() {
+        if (hasStats()) {
+            Record.super.onStore();
+        }
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return readerWriter;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return hasStats() ? mem.getInt(address + CREATION_TIME_OFFSET) : UNSET;
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        mem.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return hasLastAccessTime() ? mem.getInt(address + LAST_ACCESS_TIME_OFFSET) : UNSET;
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return hasStats() ? mem.getInt(address + LAST_UPDATE_TIME_OFFSET) : UNSET;
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return hasStats() ? mem.getInt(address + LAST_STORED_TIME_OFFSET) : UNSET;
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    private boolean hasStats() {
+        return readerWriter == DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    private boolean hasLastAccessTime() {
+        return hasStats() || readerWriter == SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER;
+    }
+
+    private boolean hasHits() {
+        return hasStats() || readerWriter == SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", readerWriter=" + readerWriter
+                + ", version=" + getVersion()
+                + '}';
+    }
+}
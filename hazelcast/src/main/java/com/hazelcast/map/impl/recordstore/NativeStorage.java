@@ -0,0 +1,688 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.ArenaMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.EXPIRABLE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.NEXT_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.VALUE_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.VALUE_SIZE_OFFSET;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata of a
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} map in native memory.
+ * <p>
+ * Entries live in a chained hash table whose bucket array and entry
+ * blocks are allocated from a per-record-store {@link ArenaMemoryManager}.
+ * Since a record store is only accessed by its partition thread, this
+ * storage is not thread-safe and never takes a lock. The only on-heap
+ * state per entry is the transient {@link NativeRecord} flyweight and
+ * the key/value copies handed out to callers.
+ * <p>
+ * Entry blocks also hold the expiry metadata of the entry, which is
+ * exposed to {@link NativeExpirySystem} as a map view. This way an
+ * expirable entry does not need an on-heap key copy, metadata object
+ * and hash map node in the expiry system.
+ * <p>
+ * Removed entries are not freed immediately because the removed record
+ * is typically still read by mutation observers in the same operation.
+ * They are kept in a deferred list until {@link #disposeDeferredBlocks()}
+ * is called at the end of the operation.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "rawtypes"})
+public class NativeStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int ITERATOR_BATCH_SIZE = 64;
+
+    private final ArenaMemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+
+    private long table;
+    private int capacity;
+    private int size;
+    private int expirableSize;
+    private long deferredHead = NULL_ADDRESS;
+    private EntryCostEstimator entryCostEstimator = new NativeEntryCostEstimator();
+    private final ExpiryMetadataView expiryMetadataView = new ExpiryMetadataView();
+
+    public NativeStorage(ArenaMemoryManager memoryManager, ExpirySystem expirySystem,
+                         SerializationService serializationService) {
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.table = allocateTable(INITIAL_CAPACITY);
+        this.capacity = INITIAL_CAPACITY;
+    }
+
+    @Override
+    public Record put(Data key, Record record) {
+        Data value = serializationService.toData(record.getValue());
+        int hash = key.hashCode();
+        long entry = findEntry(key, hash);
+        if (entry != NULL_ADDRESS) {
+            replaceValue(entry, value);
+            NativeRecord.copyMetadata(mem, entry, record);
+            return newRecord(entry);
+        }
+
+        byte[] keyBytes = key.toByteArray();
+        entry = malloc.allocate(KEY_OFFSET + keyBytes.length);
+        try {
+            replaceValue(entry, value);
+        } catch (Throwable t) {
+            malloc.free(entry, KEY_OFFSET + keyBytes.length);
+            throw t;
+        }
+        mem.putInt(entry + KEY_HASH_OFFSET, hash);
+        mem.putInt(entry + KEY_SIZE_OFFSET, keyBytes.length);
+        mem.copyFromByteArray(keyBytes, 0, entry + KEY_OFFSET, keyBytes.length);
+        NativeRecord.copyMetadata(mem, entry, record);
+
+        long bucket = bucketAddress(table, capacity, hash);
+        mem.putLong(entry + NEXT_OFFSET, mem.getLong(bucket));
+        mem.putLong(bucket, entry);
+
+        if (++size > capacity * LOAD_FACTOR) {
+            resize();
+        }
+        return newRecord(entry);
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        long entry = record instanceof NativeRecord
+                ? ((NativeRecord) record).address() : findEntry(key, key.hashCode());
+        assert entry != NULL_ADDRESS : "No entry found for key " + key;
+
+        replaceValue(entry, serializationService.toData(value));
+        return record instanceof NativeRecord ? record : newRecord(entry);
+    }
+
+    @Override
+    public Record get(Data key) {
+        long entry = findEntry(key, key.hashCode());
+        return entry == NULL_ADDRESS ? null : newRecord(entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The table keeps a single block per key and never hands it out, the
+     * keys given to the callers are on-heap copies. So the stored key blob
+     * for the given key is identified by the key bytes, like in {@link #get}.
+     */
+    @Override
+    public Record getIfSameKey(Data key) {
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        int hash = dataKey.hashCode();
+        long bucket = bucketAddress(table, capacity, hash);
+        long prev = NULL_ADDRESS;
+        long entry = mem.getLong(bucket);
+        while (entry != NULL_ADDRESS) {
+            long next = mem.getLong(entry + NEXT_OFFSET);
+            if (keyEquals(entry, dataKey, hash)) {
+                if (prev == NULL_ADDRESS) {
+                    mem.putLong(bucket, next);
+                } else {
+                    mem.putLong(prev + NEXT_OFFSET, next);
+                }
+                size--;
+                clearExpirable(entry);
+                // the next pointer is reused for chaining deferred entries
+                mem.putLong(entry + NEXT_OFFSET, deferredHead);
+                deferredHead = entry;
+                return;
+            }
+            prev = entry;
+            entry = next;
+        }
+    }
+
+    /**
+     * @return view of the expiry metadata of the entries of this storage
+     */
+    Map<Data, ExpiryMetadata> getExpiryMetadataView() {
+        return expiryMetadataView;
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findEntry(key, key.hashCode()) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        freeEntries();
+        disposeDeferredBlocks();
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        malloc.free(table, (long) capacity * LONG_SIZE_IN_BYTES);
+        table = NULL_ADDRESS;
+        capacity = 0;
+        memoryManager.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        long entry = deferredHead;
+        while (entry != NULL_ADDRESS) {
+            long next = mem.getLong(entry + NEXT_OFFSET);
+            freeEntry(entry);
+            entry = next;
+        }
+        deferredHead = NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        List<EntryView> samples = new ArrayList<>(Math.min(sampleCount, size));
+        if (size == 0) {
+            return samples;
+        }
+        int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long entry = mem.getLong(table + (long) ((start + i) & (capacity - 1)) * LONG_SIZE_IN_BYTES);
+            while (entry != NULL_ADDRESS && samples.size() < sampleCount) {
+                Data key = readKey(entry);
+                samples.add(new LazyEvictableEntryView<>(key, newRecord(entry),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                entry = mem.getLong(entry + NEXT_OFFSET);
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, entry -> keys.add(readKey(entry)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, entry
+                -> entries.add(new AbstractMap.SimpleEntry<>(readKey(entry), newRecord(entry).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Fetches at least {@code size} entries starting at the given {@code pointers}.
+     * Follows the same resize-tolerant iteration scheme as
+     * {@link com.hazelcast.internal.util.SampleableConcurrentHashMap}: the table is
+     * traversed from the last bucket to the first one and a new pointer is added
+     * whenever the table was resized since the previous call.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, LongConsumer entryConsumer) {
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextBucket = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int counter = 0;
+        while (nextBucket >= 0 && counter < size) {
+            long entry = mem.getLong(table + (long) (nextBucket--) * LONG_SIZE_IN_BYTES);
+            while (entry != NULL_ADDRESS) {
+                if (hasNotBeenObserved(mem.getInt(entry + KEY_HASH_OFFSET), pointers)) {
+                    entryConsumer.accept(entry);
+                    counter++;
+                }
+                entry = mem.getLong(entry + NEXT_OFFSET);
+            }
+        }
+        lastPointer.setIndex(nextBucket);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentCapacity;
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(int hash, IterationPointer[] pointers) {
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            if (bucketIndex(hash, pointer.getSize()) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long findEntry(Data key, int hash) {
+        long entry = mem.getLong(bucketAddress(table, capacity, hash));
+        while (entry != NULL_ADDRESS) {
+            if (keyEquals(entry, key, hash)) {
+                return entry;
+            }
+            entry = mem.getLong(entry + NEXT_OFFSET);
+        }
+        return NULL_ADDRESS;
+    }
+
+    private boolean keyEquals(long entry, Data key, int hash) {
+        if (mem.getInt(entry + KEY_HASH_OFFSET) != hash) {
+            return false;
+        }
+        byte[] keyBytes = key.toByteArray();
+        if (mem.getInt(entry + KEY_SIZE_OFFSET) != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = entry + KEY_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private NativeRecord newRecord(long entry) {
+        return new NativeRecord(this, mem, entry);
+    }
+
+    private Data readKey(long entry) {
+        byte[] keyBytes = new byte[mem.getInt(entry + KEY_SIZE_OFFSET)];
+        mem.copyToByteArray(entry + KEY_OFFSET, keyBytes, 0, keyBytes.length);
+        return new HeapData(keyBytes);
+    }
+
+    /**
+     * Stores the given value for the entry. The value block is allocated
+     * before the previous one is freed, so the entry is left intact if
+     * the allocation fails.
+     */
+    void replaceValue(long entry, Data value) {
+        long oldAddress = mem.getLong(entry + VALUE_ADDRESS_OFFSET);
+        int oldSize = mem.getInt(entry + VALUE_SIZE_OFFSET);
+        byte[] valueBytes = value == null ? null : value.toByteArray();
+        if (valueBytes != null && oldAddress != NULL_ADDRESS && oldSize == valueBytes.length) {
+            mem.copyFromByteArray(valueBytes, 0, oldAddress, valueBytes.length);
+            return;
+        }
+
+        long newAddress = NULL_ADDRESS;
+        if (valueBytes != null && valueBytes.length > 0) {
+            newAddress = malloc.allocate(valueBytes.length);
+            mem.copyFromByteArray(valueBytes, 0, newAddress, valueBytes.length);
+        }
+        mem.putLong(entry + VALUE_ADDRESS_OFFSET, newAddress);
+        mem.putInt(entry + VALUE_SIZE_OFFSET, valueBytes == null ? 0 : valueBytes.length);
+        if (oldAddress != NULL_ADDRESS) {
+            malloc.free(oldAddress, oldSize);
+        }
+    }
+
+    private void freeEntry(long entry) {
+        long valueAddress = mem.getLong(entry + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, mem.getInt(entry + VALUE_SIZE_OFFSET));
+        }
+        malloc.free(entry, KEY_OFFSET + mem.getInt(entry + KEY_SIZE_OFFSET));
+    }
+
+    private void freeEntries() {
+        for (int i = 0; i < capacity; i++) {
+            long bucket = table + (long) i * LONG_SIZE_IN_BYTES;
+            long entry = mem.getLong(bucket);
+            while (entry != NULL_ADDRESS) {
+                long next = mem.getLong(entry + NEXT_OFFSET);
+                freeEntry(entry);
+                entry = next;
+            }
+            mem.putLong(bucket, NULL_ADDRESS);
+        }
+        size = 0;
+        expirableSize = 0;
+    }
+
+    private boolean isExpirable(long entry) {
+        return mem.getByte(entry + EXPIRABLE_OFFSET) != 0;
+    }
+
+    private void clearExpirable(long entry) {
+        if (isExpirable(entry)) {
+            mem.putByte(entry + EXPIRABLE_OFFSET, (byte) 0);
+            expirableSize--;
+        }
+    }
+
+    private void resize() {
+        int newCapacity = capacity << 1;
+        long newTable = allocateTable(newCapacity);
+        for (int i = 0; i < capacity; i++) {
+            long entry = mem.getLong(table + (long) i * LONG_SIZE_IN_BYTES);
+            while (entry != NULL_ADDRESS) {
+                long next = mem.getLong(entry + NEXT_OFFSET);
+                long bucket = bucketAddress(newTable, newCapacity, mem.getInt(entry + KEY_HASH_OFFSET));
+                mem.putLong(entry + NEXT_OFFSET, mem.getLong(bucket));
+                mem.putLong(bucket, entry);
+                entry = next;
+            }
+        }
+        malloc.free(table, (long) capacity * LONG_SIZE_IN_BYTES);
+        table = newTable;
+        capacity = newCapacity;
+    }
+
+    private long allocateTable(int capacity) {
+        return malloc.allocate((long) capacity * LONG_SIZE_IN_BYTES);
+    }
+
+    private static long bucketAddress(long table, int capacity, int hash) {
+        return table + (long) bucketIndex(hash, capacity) * LONG_SIZE_IN_BYTES;
+    }
+
+    private static int bucketIndex(int hash, int capacity) {
+        return fastIntMix(hash) & (capacity - 1);
+    }
+
+    /**
+     * Read-only iterator over the entries, fetching them in
+     * small batches with the same scheme as {@link #fetchNext}.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final List<Map.Entry<Data, Record>> batch = new ArrayList<>(ITERATOR_BATCH_SIZE);
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        private int batchIndex;
+
+        @Override
+        public boolean hasNext() {
+            while (batchIndex == batch.size()) {
+                if (pointers[pointers.length - 1].getIndex() < 0 || table == NULL_ADDRESS) {
+                    return false;
+                }
+                batch.clear();
+                batchIndex = 0;
+                pointers = fetchNext(pointers, ITERATOR_BATCH_SIZE, entry
+                        -> batch.add(new AbstractMap.SimpleEntry<>(readKey(entry), newRecord(entry))));
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(batchIndex++);
+        }
+    }
+
+    /**
+     * Map view of the expiry metadata kept in the entry blocks. Only the
+     * entries with the expirable flag set are visible. A metadata can
+     * only be put for an entry which is already in the storage, and it
+     * is removed together with the entry.
+     */
+    private final class ExpiryMetadataView extends AbstractMap<Data, ExpiryMetadata> {
+
+        private final Set<Map.Entry<Data, ExpiryMetadata>> entrySet = new AbstractSet<Map.Entry<Data, ExpiryMetadata>>() {
+            @Override
+            public Iterator<Map.Entry<Data, ExpiryMetadata>> iterator() {
+                return new ExpiryMetadataIterator();
+            }
+
+            @Override
+            public int size() {
+                return expirableSize;
+            }
+        };
+
+        @Override
+        public ExpiryMetadata get(Object key) {
+            Data dataKey = (Data) key;
+            long entry = findEntry(dataKey, dataKey.hashCode());
+            return entry != NULL_ADDRESS && isExpirable(entry) ? new NativeExpiryMetadata(mem, entry) : null;
+        }
+
+        @Override
+        public ExpiryMetadata put(Data key, ExpiryMetadata expiryMetadata) {
+            long entry = findEntry(key, key.hashCode());
+            assert entry != NULL_ADDRESS : "No entry found for key " + key;
+
+            NativeExpiryMetadata.copy(mem, entry, expiryMetadata);
+            if (!isExpirable(entry)) {
+                mem.putByte(entry + EXPIRABLE_OFFSET, (byte) 1);
+                expirableSize++;
+            }
+            return null;
+        }
+
+        @Override
+        public ExpiryMetadata remove(Object key) {
+            Data dataKey = (Data) key;
+            long entry = findEntry(dataKey, dataKey.hashCode());
+            if (entry == NULL_ADDRESS || !isExpirable(entry)) {
+                return null;
+            }
+            clearExpirable(entry);
+            return new NativeExpiryMetadata(mem, entry);
+        }
+
+        @Override
+        public int size() {
+            return expirableSize;
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < capacity; i++) {
+                long entry = mem.getLong(table + (long) i * LONG_SIZE_IN_BYTES);
+                while (entry != NULL_ADDRESS) {
+                    clearExpirable(entry);
+                    entry = mem.getLong(entry + NEXT_OFFSET);
+                }
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<Data, ExpiryMetadata>> entrySet() {
+            return entrySet;
+        }
+    }
+
+    /**
+     * Iterator over the expirable entries. It may be kept by the expiry
+     * system across operations, after which the entry blocks it has seen
+     * can be freed, hence it only remembers the keys and looks up their
+     * metadata again on {@link Map.Entry#getValue()}.
+     */
+    private final class ExpiryMetadataIterator implements Iterator<Map.Entry<Data, ExpiryMetadata>> {
+
+        private final List<Data> batch = new ArrayList<>(ITERATOR_BATCH_SIZE);
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        private int batchIndex;
+
+        @Override
+        public boolean hasNext() {
+            while (batchIndex == batch.size()) {
+                if (pointers[pointers.length - 1].getIndex() < 0 || table == NULL_ADDRESS) {
+                    return false;
+                }
+                batch.clear();
+                batchIndex = 0;
+                pointers = fetchNext(pointers, ITERATOR_BATCH_SIZE, entry -> {
+                    if (isExpirable(entry)) {
+                        batch.add(readKey(entry));
+                    }
+                });
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, ExpiryMetadata> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new ExpiryMetadataEntry(batch.get(batchIndex++));
+        }
+    }
+
+    private final class ExpiryMetadataEntry implements Map.Entry<Data, ExpiryMetadata> {
+
+        private final Data key;
+
+        ExpiryMetadataEntry(Data key) {
+            this.key = key;
+        }
+
+        @Override
+        public Data getKey() {
+            return key;
+        }
+
+        @Override
+        public ExpiryMetadata getValue() {
+            ExpiryMetadata expiryMetadata = expiryMetadataView.get(key);
+            return expiryMetadata != null ? expiryMetadata : ExpiryMetadata.NULL;
+        }
+
+        @Override
+        public ExpiryMetadata setValue(ExpiryMetadata value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Reports the native memory held by this storage as the owned entry cost.
+     * Unlike on-heap storages, it includes the expiry metadata of the entries.
+     */
+    private final class NativeEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        @Override
+        public long getEstimate() {
+            return memoryManager.getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            // tracked by the arena
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return 0;
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return 0;
+        }
+
+        @Override
+        public void reset() {
+            // tracked by the arena
+        }
+    }
+}
@@ -45,7 +45,18 @@ public interface Storage<K, R> {
         return false;
     }
 
-    void put(K key, R record);
+    /**
+     * Puts the given record for the given key.
+     * <p>
+     * Storages which don't keep the given record instance (e.g. the ones
+     * copying it to native memory) return the record which was actually
+     * stored; later updates should be applied to that one.
+     *
+     * @param key    the entry's key
+     * @param record the record
+     * @return the stored record.
+     */
+    R put(K key, R record);
 
     /**
      * Updates record's value. Performs an update in-place if the record can accommodate the
@@ -72,7 +72,7 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     }
 
     @Override
-    public void put(Data key, R record) {
+    public R put(Data key, R record) {
         R previousRecord = records.put(key, record);
 
         if (previousRecord == null) {
@@ -81,6 +81,7 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
             updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
             updateCostEstimate(entryCostEstimator.calculateValueCost(record));
         }
+        return record;
     }
 
     @Override
@@ -102,6 +102,21 @@ public interface LocalIndexStats extends LocalInstanceStats {
      */
     long getTotalRemoveLatency();
 
+    /**
+     * Returns the number of entries inserted into the index while it was
+     * being rebuilt, for instance after a partition migration or after the
+     * index was added to a map already holding entries.
+     */
+    long getRebuildCount();
+
+    /**
+     * Returns the total latency (in nanoseconds) of the index rebuilds.
+     * <p>
+     * To compute the rebuild throughput divide the {@link #getRebuildCount()
+     * rebuild count} by the returned value.
+     */
+    long getTotalRebuildLatency();
+
     /**
      * Returns the memory cost of the index in bytes.
      * <p>
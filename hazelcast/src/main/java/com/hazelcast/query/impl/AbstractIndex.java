@@ -31,7 +31,9 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
@@ -59,6 +61,7 @@ public abstract class AbstractIndex implements InternalIndex {
     protected final IndexCopyBehavior copyBehavior;
 
     private final String[] components;
+    private final CoveredAttributesLayout coveredAttributesLayout;
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
@@ -77,6 +80,7 @@ public abstract class AbstractIndex implements InternalIndex {
             int partitionId) {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
+        this.coveredAttributesLayout = CoveredAttributesLayout.of(config, components);
         this.ordered = config.getType() == IndexType.SORTED;
         this.ss = ss;
         this.extractors = extractors;
@@ -104,6 +108,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return config;
     }
 
+    @Override
+    public CoveredAttributesLayout getCoveredAttributesLayout() {
+        return coveredAttributesLayout;
+    }
+
     @Override
     public boolean isOrdered() {
         return ordered;
@@ -132,6 +141,10 @@ public abstract class AbstractIndex implements InternalIndex {
         }
 
         Object newAttributeValue = extractAttributeValue(newEntry);
+        if (coveredAttributesLayout != null) {
+            // captured before the entry becomes visible in the index store
+            entryToStore.coverAttributes(coveredAttributesLayout, newEntry);
+        }
         if (oldEntry == null) {
             indexStore.insert(newAttributeValue, newEntry, entryToStore, operationStats);
             stats.onInsert(timestamp, operationStats, operationSource);
@@ -142,6 +155,70 @@ public abstract class AbstractIndex implements InternalIndex {
         }
     }
 
+    @Override
+    public void putEntries(List<CachedQueryEntry> newEntries, List<QueryableEntry> entriesToStore,
+                           OperationSource operationSource) {
+        long timestamp = stats.makeTimestamp();
+
+        int size = newEntries.size();
+        Object[] newAttributeValues = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            CachedQueryEntry newEntry = newEntries.get(i);
+            // see putEntry for the reason the converter goes first
+            if (converterIsUnassignedOrTransient(converter)) {
+                converter = obtainConverter(newEntry);
+            }
+
+            newAttributeValues[i] = extractAttributeValue(newEntry);
+            if (coveredAttributesLayout != null) {
+                entriesToStore.get(i).coverAttributes(coveredAttributesLayout, newEntry);
+            }
+        }
+
+        for (int i : insertionOrder(newAttributeValues)) {
+            long entryTimestamp = stats.makeTimestamp();
+            IndexOperationStats operationStats = stats.createOperationStats();
+            indexStore.insert(newAttributeValues[i], newEntries.get(i), entriesToStore.get(i), operationStats);
+            stats.onInsert(entryTimestamp, operationStats, operationSource);
+        }
+        stats.onRebuild(timestamp, size);
+    }
+
+    /**
+     * Returns the order in which the entries having the given attribute
+     * values should be inserted into the index store. Ordered indexes get
+     * the values in ascending order, so consecutive inserts hit the same
+     * region of the store. Sorting is just an optimization, so it's applied
+     * only if all the values are non-null scalars of the same class.
+     */
+    @SuppressWarnings("unchecked")
+    private int[] insertionOrder(Object[] attributeValues) {
+        Integer[] order = new Integer[attributeValues.length];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+
+        if (ordered && components.length == 1 && haveSameComparableClass(attributeValues)) {
+            Arrays.sort(order, (left, right) ->
+                    ((Comparable) attributeValues[left]).compareTo(attributeValues[right]));
+        }
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean haveSameComparableClass(Object[] values) {
+        if (values.length == 0 || !(values[0] instanceof Comparable)) {
+            return false;
+        }
+
+        Class<?> valueClass = values[0].getClass();
+        for (Object value : values) {
+            if (value == null || value.getClass() != valueClass) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void removeEntry(CachedQueryEntry entry, OperationSource operationSource) {
         long timestamp = stats.makeTimestamp();
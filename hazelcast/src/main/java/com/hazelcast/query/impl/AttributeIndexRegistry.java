@@ -24,6 +24,7 @@ import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -221,6 +222,12 @@ public class AttributeIndexRegistry {
             throw newUnsupportedException();
         }
 
+        @Override
+        public void putEntries(List<CachedQueryEntry> newEntries, List<QueryableEntry> entriesToStore,
+                               OperationSource operationSource) {
+            throw newUnsupportedException();
+        }
+
         @Override
         public void removeEntry(CachedQueryEntry entry, OperationSource operationSource) {
             throw newUnsupportedException();
@@ -354,6 +361,11 @@ public class AttributeIndexRegistry {
             return delegate.canonicalizeQueryArgumentScalar(value);
         }
 
+        @Override
+        public CoveredAttributesLayout getCoveredAttributesLayout() {
+            throw newUnsupportedException();
+        }
+
         @Override
         public boolean hasPartitionIndexed(int partitionId) {
             throw newUnsupportedException();
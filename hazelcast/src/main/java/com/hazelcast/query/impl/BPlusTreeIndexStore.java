@@ -0,0 +1,773 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.BTreeIndexConfig;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.query.Predicate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Sorted index store backed by an on-heap B+tree.
+ * <p>
+ * Unlike {@link OrderedIndexStore}, which keeps a skip list of per-value
+ * maps, the tree keeps the values and their entries in the flat arrays of
+ * fixed capacity nodes: a value associated with a single entry costs just
+ * two array slots, and range scans walk the sibling links of the leaves.
+ * Entries associated with the same value are ordered by their key data,
+ * like in {@link OrderedIndexStore}, so SQL index scans can be resumed.
+ * <p>
+ * The store is a footprint optimization, not a concurrency one: the tree
+ * is guarded by the global lock of the store, like {@link BitmapIndexStore},
+ * so all the inserts and removals are serialized, while the skip list of
+ * {@link OrderedIndexStore} takes concurrent updates. That's why it is
+ * opt-in, see {@link IndexConfig#setBPlusTreeStoreEnabled(boolean)}; the
+ * sorted indexes use {@link OrderedIndexStore} by default.
+ * <p>
+ * Results are always detached from the tree, so the {@link
+ * IndexCopyBehavior} is ignored. SQL scans copy one leaf at a time and
+ * position themselves again after the last seen value for the next leaf,
+ * so they never hold the lock between the batches.
+ * <p>
+ * Removals do not rebalance the tree, a node is only unlinked once it
+ * becomes empty.
+ */
+@SuppressWarnings({"rawtypes", "unchecked", "checkstyle:methodcount"})
+public class BPlusTreeIndexStore extends BaseSingleValueIndexStore {
+
+    /**
+     * Number of bytes of the configured page size accounted for a single
+     * node slot: the value and entry references and the objects behind
+     * them.
+     */
+    static final int SLOT_SIZE = 64;
+    static final int MIN_NODE_CAPACITY = 4;
+    static final int MAX_NODE_CAPACITY = 1024;
+
+    private final int nodeCapacity;
+
+    private Node root;
+
+    // the result of the last split, consumed by the parent of the split node
+    private Comparable splitKey;
+    private Node splitNode;
+
+    public BPlusTreeIndexStore(BTreeIndexConfig config) {
+        this(nodeCapacity(config.getPageSize()));
+    }
+
+    BPlusTreeIndexStore(int nodeCapacity) {
+        // results are detached from the tree on read, no copying is needed
+        super(IndexCopyBehavior.NEVER, true);
+        this.nodeCapacity = nodeCapacity;
+        this.root = new Leaf(nodeCapacity);
+    }
+
+    static int nodeCapacity(Capacity pageSize) {
+        long capacity = pageSize.bytes() / SLOT_SIZE;
+        return (int) Math.max(MIN_NODE_CAPACITY, Math.min(MAX_NODE_CAPACITY, capacity));
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        Object oldValue = insert(root, value, record);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(nodeCapacity);
+            newRoot.children[0] = root;
+            newRoot.insert(0, splitKey, splitNode);
+            root = newRoot;
+            splitKey = null;
+            splitNode = null;
+        }
+        return oldValue;
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        Object oldValue = remove(root, value, recordKey);
+        if (root instanceof Inner && root.isEmpty()) {
+            root = new Leaf(nodeCapacity);
+        }
+        while (root instanceof Inner && root.size == 0) {
+            root = ((Inner) root).children[0];
+        }
+        return oldValue;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // We still need to canonicalize query arguments for ordered indexes to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        // The tree is not hash-based, there is no need in providing canonical
+        // representations.
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            root = new Leaf(nodeCapacity);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(value, false));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value, boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(comparison, value, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                         boolean toInclusive, boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(
+                getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        takeReadLock();
+        try {
+            Object bucket = get(value);
+            if (bucket == null) {
+                return emptyIterator();
+            }
+            return Collections.singletonList(new IndexKeyEntries(value, snapshot(bucket, descending))).iterator();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        return new Cursor(null, false, null, false, descending);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparison comparison, @Nonnull Comparable value,
+                                                               boolean descending) {
+        switch (comparison) {
+            case LESS:
+                return getSqlRecordIteratorBatch(NULL, false, value, false, descending);
+            case LESS_OR_EQUAL:
+                return getSqlRecordIteratorBatch(NULL, false, value, true, descending);
+            case GREATER:
+                return getSqlRecordIteratorBatch(value, false, POSITIVE_INFINITY, true, descending);
+            case GREATER_OR_EQUAL:
+                return getSqlRecordIteratorBatch(value, true, POSITIVE_INFINITY, true, descending);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable from, boolean fromInclusive,
+                                                               @Nonnull Comparable to, boolean toInclusive,
+                                                               boolean descending) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from, descending);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        return descending
+                ? new Cursor(to, toInclusive, from, fromInclusive, true)
+                : new Cursor(from, fromInclusive, to, toInclusive, false);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            Object bucket = get(value);
+            return bucket == null ? emptySet() : new SingleResultSet(detach(bucket));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                Object bucket = get(value);
+                if (bucket != null) {
+                    results.addResultSet(detach(bucket));
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, value, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, value, true);
+            case GREATER:
+                return getRecords(value, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(value, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            return fromInclusive && toInclusive ? getRecords(from) : emptySet();
+        } else if (order > 0) {
+            return emptySet();
+        }
+
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            Leaf leaf = findLeaf(from, true);
+            int index = fromInclusive ? leaf.lowerBound(from) : leaf.upperBound(from);
+            while (leaf != null) {
+                for (; index < leaf.size; ++index) {
+                    int comparison = compare(leaf.keys[index], to);
+                    if (comparison > 0 || comparison == 0 && !toInclusive) {
+                        return results;
+                    }
+                    results.addResultSet(detach(leaf.values[index]));
+                }
+                leaf = leaf.next;
+                index = 0;
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private Object insert(Node node, Comparable value, QueryableEntry record) {
+        if (node instanceof Leaf) {
+            return insert((Leaf) node, value, record);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.upperBound(value);
+        Object oldValue = insert(inner.children[childIndex], value, record);
+        if (splitNode != null) {
+            inner.insert(childIndex, splitKey, splitNode);
+            splitKey = null;
+            splitNode = null;
+            if (inner.size > nodeCapacity) {
+                split(inner);
+            }
+        }
+        return oldValue;
+    }
+
+    private Object insert(Leaf leaf, Comparable value, QueryableEntry record) {
+        int index = leaf.lowerBound(value);
+        if (index < leaf.size && compare(leaf.keys[index], value) == 0) {
+            return addToBucket(leaf, index, record);
+        }
+
+        leaf.insert(index, value, record);
+        if (leaf.size > nodeCapacity) {
+            split(leaf);
+        }
+        return null;
+    }
+
+    private static Object addToBucket(Leaf leaf, int index, QueryableEntry record) {
+        Object bucket = leaf.values[index];
+        if (bucket instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) bucket;
+            if (existing.getKeyData().equals(record.getKeyData())) {
+                leaf.values[index] = record;
+                return existing;
+            }
+            NavigableMap<Data, QueryableEntry> records = new TreeMap<>(DATA_COMPARATOR);
+            records.put(existing.getKeyData(), existing);
+            records.put(record.getKeyData(), record);
+            leaf.values[index] = records;
+            return null;
+        }
+        return ((Map<Data, QueryableEntry>) bucket).put(record.getKeyData(), record);
+    }
+
+    private void split(Leaf leaf) {
+        Leaf right = new Leaf(nodeCapacity);
+        int from = leaf.size / 2;
+        int count = leaf.size - from;
+        System.arraycopy(leaf.keys, from, right.keys, 0, count);
+        System.arraycopy(leaf.values, from, right.values, 0, count);
+        Arrays.fill(leaf.keys, from, leaf.size, null);
+        Arrays.fill(leaf.values, from, leaf.size, null);
+        right.size = count;
+        leaf.size = from;
+
+        right.next = leaf.next;
+        if (right.next != null) {
+            right.next.prev = right;
+        }
+        right.prev = leaf;
+        leaf.next = right;
+
+        splitKey = right.keys[0];
+        splitNode = right;
+    }
+
+    private void split(Inner inner) {
+        Inner right = new Inner(nodeCapacity);
+        int middle = inner.size / 2;
+        int count = inner.size - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, count);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, count + 1);
+        right.size = count;
+
+        splitKey = inner.keys[middle];
+        splitNode = right;
+
+        Arrays.fill(inner.keys, middle, inner.size, null);
+        Arrays.fill(inner.children, middle + 1, inner.size + 1, null);
+        inner.size = middle;
+    }
+
+    private Object remove(Node node, Comparable value, Data recordKey) {
+        if (node instanceof Leaf) {
+            return remove((Leaf) node, value, recordKey);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.upperBound(value);
+        Node child = inner.children[childIndex];
+        Object oldValue = remove(child, value, recordKey);
+        if (child.isEmpty()) {
+            if (child instanceof Leaf) {
+                ((Leaf) child).unlink();
+            }
+            inner.removeChild(childIndex);
+        }
+        return oldValue;
+    }
+
+    private static Object remove(Leaf leaf, Comparable value, Data recordKey) {
+        int index = leaf.lowerBound(value);
+        if (index == leaf.size || compare(leaf.keys[index], value) != 0) {
+            return null;
+        }
+
+        Object bucket = leaf.values[index];
+        if (bucket instanceof QueryableEntry) {
+            if (!((QueryableEntry) bucket).getKeyData().equals(recordKey)) {
+                return null;
+            }
+            leaf.remove(index);
+            return bucket;
+        }
+
+        Map<Data, QueryableEntry> records = (Map<Data, QueryableEntry>) bucket;
+        Object oldValue = records.remove(recordKey);
+        if (records.size() == 1) {
+            leaf.values[index] = records.values().iterator().next();
+        }
+        return oldValue;
+    }
+
+    /**
+     * @return the entry or the map of entries associated with the given value,
+     * {@code null} if there are none.
+     */
+    private Object get(Comparable value) {
+        Leaf leaf = findLeaf(value, true);
+        int index = leaf.lowerBound(value);
+        return index < leaf.size && compare(leaf.keys[index], value) == 0 ? leaf.values[index] : null;
+    }
+
+    /**
+     * Finds the leaf where the given value is stored or would be stored.
+     *
+     * @param value     the value to look up, {@code null} stands for the
+     *                  first leaf if {@code inclusive} is {@code true} and
+     *                  for the last leaf otherwise.
+     * @param inclusive {@code true} to find the leaf of the value itself,
+     *                  {@code false} to find the leaf of the values which
+     *                  are lower than the given value.
+     */
+    private Leaf findLeaf(Comparable value, boolean inclusive) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int childIndex;
+            if (value == null) {
+                childIndex = inclusive ? 0 : inner.size;
+            } else {
+                childIndex = inclusive ? inner.upperBound(value) : inner.lowerBound(value);
+            }
+            node = inner.children[childIndex];
+        }
+        return (Leaf) node;
+    }
+
+    private static int compare(Comparable key, Comparable bound) {
+        return SPECIAL_AWARE_COMPARATOR.compare(key, bound);
+    }
+
+    private static Map<Data, QueryableEntry> detach(Object bucket) {
+        if (bucket instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) bucket;
+            return Collections.singletonMap(entry.getKeyData(), entry);
+        }
+        return new TreeMap<>((NavigableMap<Data, QueryableEntry>) bucket);
+    }
+
+    private static Iterator<QueryableEntry> snapshot(Object bucket, boolean descending) {
+        if (bucket instanceof QueryableEntry) {
+            return Collections.singleton((QueryableEntry) bucket).iterator();
+        }
+        NavigableMap<Data, QueryableEntry> records = (NavigableMap<Data, QueryableEntry>) bucket;
+        return new ArrayList<>((descending ? records.descendingMap() : records).values()).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "BPlusTreeIndexStore{"
+                + "nodeCapacity=" + nodeCapacity
+                + '}';
+    }
+
+    /**
+     * Iterates over the values of a range leaf by leaf, taking the read lock
+     * only while copying the next leaf.
+     */
+    private final class Cursor implements Iterator<IndexKeyEntries> {
+
+        private final boolean descending;
+        private final Comparable end;
+        private final boolean endInclusive;
+        private final List<IndexKeyEntries> batch = new ArrayList<>();
+
+        // the bounds are given in the direction of the iteration, null means unbounded
+        private Comparable start;
+        private boolean startInclusive;
+        private int position;
+        private boolean exhausted;
+
+        Cursor(Comparable start, boolean startInclusive, Comparable end, boolean endInclusive, boolean descending) {
+            this.start = start;
+            this.startInclusive = startInclusive;
+            this.end = end;
+            this.endInclusive = endInclusive;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            fetch();
+            return position < batch.size();
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(position++);
+        }
+
+        private void fetch() {
+            batch.clear();
+            position = 0;
+            takeReadLock();
+            try {
+                if (descending) {
+                    fetchDescending();
+                } else {
+                    fetchAscending();
+                }
+            } finally {
+                releaseReadLock();
+            }
+
+            if (batch.isEmpty()) {
+                exhausted = true;
+            } else {
+                start = batch.get(batch.size() - 1).getIndexKey();
+                startInclusive = false;
+            }
+        }
+
+        private void fetchAscending() {
+            Leaf leaf = findLeaf(start, true);
+            int index = start == null ? 0 : startInclusive ? leaf.lowerBound(start) : leaf.upperBound(start);
+            if (index == leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf == null) {
+                return;
+            }
+            for (; index < leaf.size; ++index) {
+                Comparable key = leaf.keys[index];
+                if (end != null) {
+                    int comparison = compare(key, end);
+                    if (comparison > 0 || comparison == 0 && !endInclusive) {
+                        exhausted = true;
+                        return;
+                    }
+                }
+                batch.add(new IndexKeyEntries(key, snapshot(leaf.values[index], false)));
+            }
+        }
+
+        private void fetchDescending() {
+            Leaf leaf = findLeaf(start, startInclusive);
+            int index;
+            if (start == null) {
+                index = leaf.size - 1;
+            } else {
+                index = (startInclusive ? leaf.upperBound(start) : leaf.lowerBound(start)) - 1;
+            }
+            if (index < 0) {
+                leaf = leaf.prev;
+                if (leaf == null) {
+                    return;
+                }
+                index = leaf.size - 1;
+            }
+            for (; index >= 0; --index) {
+                Comparable key = leaf.keys[index];
+                if (end != null) {
+                    int comparison = compare(key, end);
+                    if (comparison < 0 || comparison == 0 && !endInclusive) {
+                        exhausted = true;
+                        return;
+                    }
+                }
+                batch.add(new IndexKeyEntries(key, snapshot(leaf.values[index], true)));
+            }
+        }
+    }
+
+    /**
+     * Base of the tree nodes holding sorted values, the arrays have a spare
+     * slot so a node may overflow before it gets split.
+     */
+    private abstract static class Node {
+
+        final Comparable[] keys;
+        int size;
+
+        Node(int capacity) {
+            this.keys = new Comparable[capacity + 1];
+        }
+
+        abstract boolean isEmpty();
+
+        /**
+         * @return the index of the first key which is greater than or equal
+         * to the given value.
+         */
+        int lowerBound(Comparable value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(keys[middle], value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the index of the first key which is greater than the given
+         * value.
+         */
+        int upperBound(Comparable value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(keys[middle], value) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Leaf node, holds the entries of each value: either the entry itself or
+     * a map of the entries ordered by their key data.
+     */
+    private static final class Leaf extends Node {
+
+        final Object[] values;
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int capacity) {
+            super(capacity);
+            this.values = new Object[capacity + 1];
+        }
+
+        @Override
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void insert(int index, Comparable key, Object value) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            ++size;
+        }
+
+        void remove(int index) {
+            --size;
+            System.arraycopy(keys, index + 1, keys, index, size - index);
+            System.arraycopy(values, index + 1, values, index, size - index);
+            keys[size] = null;
+            values[size] = null;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+        }
+    }
+
+    /**
+     * Inner node, the child at {@code i + 1} holds the values which are
+     * greater than or equal to the key at {@code i}, the child at {@code i}
+     * holds the values which are lower than it.
+     */
+    private static final class Inner extends Node {
+
+        final Node[] children;
+
+        Inner(int capacity) {
+            super(capacity);
+            this.children = new Node[capacity + 2];
+        }
+
+        @Override
+        boolean isEmpty() {
+            return children[0] == null;
+        }
+
+        void insert(int index, Comparable key, Node rightChild) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index + 1, children, index + 2, size - index);
+            keys[index] = key;
+            children[index + 1] = rightChild;
+            ++size;
+        }
+
+        void removeChild(int index) {
+            if (size == 0) {
+                children[0] = null;
+                return;
+            }
+            // drop the key separating the child from its neighbour
+            int keyIndex = index == 0 ? 0 : index - 1;
+            System.arraycopy(keys, keyIndex + 1, keys, keyIndex, size - keyIndex - 1);
+            System.arraycopy(children, index + 1, children, index, size - index);
+            --size;
+            keys[size] = null;
+            children[size + 1] = null;
+        }
+    }
+}
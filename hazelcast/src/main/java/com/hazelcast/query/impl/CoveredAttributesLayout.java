@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexConfig;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes the attribute values a covering index captures on its entries:
+ * the indexed attributes followed by the included ones.
+ * <p>
+ * The layout is shared by all the entries of an index, so every entry
+ * stores only an array of the captured values, positioned as the attribute
+ * names are in the layout.
+ *
+ * @see IndexConfig#getIncludedAttributes()
+ */
+public final class CoveredAttributesLayout {
+
+    private final String[] attributeNames;
+
+    public CoveredAttributesLayout(String[] attributeNames) {
+        this.attributeNames = attributeNames;
+    }
+
+    /**
+     * Creates the layout of the given index.
+     *
+     * @param config     the normalized index config.
+     * @param components the indexed attributes.
+     * @return the layout or {@code null} if the index doesn't include any
+     * attributes.
+     */
+    public static CoveredAttributesLayout of(IndexConfig config, String[] components) {
+        List<String> includedAttributes = config.getIncludedAttributes();
+        if (includedAttributes.isEmpty()) {
+            return null;
+        }
+
+        String[] attributeNames = Arrays.copyOf(components, components.length + includedAttributes.size());
+        for (int i = 0; i < includedAttributes.size(); ++i) {
+            attributeNames[components.length + i] = includedAttributes.get(i);
+        }
+        return new CoveredAttributesLayout(attributeNames);
+    }
+
+    /**
+     * @return the number of the attributes in this layout.
+     */
+    public int size() {
+        return attributeNames.length;
+    }
+
+    /**
+     * @return the name of the attribute at the given position.
+     */
+    public String getAttributeName(int position) {
+        return attributeNames[position];
+    }
+
+    /**
+     * @return the position of the given attribute or {@code -1} if this
+     * layout doesn't contain it.
+     */
+    public int indexOf(String attributeName) {
+        // layouts are a handful of attributes long, a scan beats hashing
+        for (int i = 0; i < attributeNames.length; ++i) {
+            if (attributeNames[i].equals(attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "CoveredAttributesLayout{attributeNames=" + Arrays.toString(attributeNames) + '}';
+    }
+}
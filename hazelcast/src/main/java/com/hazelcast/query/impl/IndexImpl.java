@@ -49,7 +49,9 @@ public class IndexImpl extends AbstractIndex {
                                           PerIndexStats stats, String mapName, int ignored) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return config.isBPlusTreeStoreEnabled()
+                        ? new BPlusTreeIndexStore(config.getBTreeIndexConfig())
+                        : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.impl.Index.OperationSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+
+/**
+ * Populates indexes with the entries of a partition in batches.
+ * <p>
+ * Entries are collected on the partition thread and every full batch is
+ * inserted into each of the indexes at once, see {@link
+ * InternalIndex#putEntries}. If an executor is provided, the batches are
+ * handed off to it and the partition thread doesn't wait for them: the
+ * batches of an index are populated one after another, while different
+ * indexes are populated in parallel. The batch is populated by the calling
+ * thread if the executor rejects it. {@link #complete} returns the future
+ * of the whole population, so its completion can be published
+ * asynchronously; the caller is responsible for ordering the later updates
+ * of the partition's entries after it, see {@link
+ * IndexRegistry#trackPopulation}.
+ * <p>
+ * Instances are not thread-safe and are supposed to be used by the
+ * partition thread only.
+ */
+public final class IndexRebuilder {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final InternalIndex[] indexes;
+    private final Executor executor;
+    private final OperationSource operationSource;
+    private final boolean keyAttributesIndexed;
+    private final CompletableFuture<?>[] populations;
+
+    private List<CachedQueryEntry> newEntries = new ArrayList<>(BATCH_SIZE);
+    private List<QueryableEntry> entriesToStore = new ArrayList<>(BATCH_SIZE);
+
+    /**
+     * @param indexes         the indexes to populate.
+     * @param executor        the executor to populate the indexes
+     *                        asynchronously with; or {@code null} to
+     *                        populate them on the calling thread.
+     * @param operationSource the operation source.
+     */
+    public IndexRebuilder(InternalIndex[] indexes, Executor executor, OperationSource operationSource) {
+        this.indexes = indexes;
+        this.executor = executor == null ? null : new CallerRunsOnRejection(executor);
+        this.operationSource = operationSource;
+        this.keyAttributesIndexed = keyAttributesIndexed(indexes);
+        this.populations = new CompletableFuture<?>[indexes.length];
+        Arrays.fill(populations, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Adds the given entry to the current batch, inserting the batch into
+     * the indexes once it is full.
+     *
+     * @param newEntry     the entry from which the attribute values should be
+     *                     read; it should not be reused by the caller.
+     * @param entryToStore the entry that should be stored in the indexes.
+     * @see InternalIndex#putEntries
+     */
+    public void add(CachedQueryEntry newEntry, QueryableEntry entryToStore) {
+        if (executor != null) {
+            // Resolve the lazily deserialized key and value here, so the
+            // executor threads only read them.
+            if (keyAttributesIndexed) {
+                newEntry.getTargetObject(true);
+            }
+            newEntry.getTargetObject(false);
+        }
+
+        newEntries.add(newEntry);
+        entriesToStore.add(entryToStore);
+        if (newEntries.size() == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Inserts the entries of the current batch into the indexes; or hands
+     * them off to the executor, if there is one.
+     */
+    public void flush() {
+        if (newEntries.isEmpty()) {
+            return;
+        }
+
+        if (executor == null) {
+            try {
+                populateSerially();
+            } finally {
+                newEntries.clear();
+                entriesToStore.clear();
+            }
+        } else {
+            populateAsynchronously(newEntries, entriesToStore);
+            // the batch is owned by the executor from now on
+            newEntries = new ArrayList<>(BATCH_SIZE);
+            entriesToStore = new ArrayList<>(BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Flushes the current batch and returns the future of the population.
+     *
+     * @return the future completed once all the batches are inserted into
+     * all the indexes; or completed exceptionally with the first failure.
+     */
+    public CompletableFuture<Void> complete() {
+        flush();
+        return CompletableFuture.allOf(populations);
+    }
+
+    private void populateSerially() {
+        Throwable exception = null;
+        for (InternalIndex index : indexes) {
+            try {
+                index.putEntries(newEntries, entriesToStore, operationSource);
+            } catch (Exception e) {
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw rethrow(exception);
+        }
+    }
+
+    private void populateAsynchronously(List<CachedQueryEntry> batchNewEntries, List<QueryableEntry> batchEntriesToStore) {
+        for (int i = 0; i < indexes.length; ++i) {
+            InternalIndex index = indexes[i];
+            // a failed population skips the remaining batches of the index
+            populations[i] = populations[i].thenRunAsync(
+                    () -> index.putEntries(batchNewEntries, batchEntriesToStore, operationSource), executor);
+        }
+    }
+
+    private static boolean keyAttributesIndexed(InternalIndex[] indexes) {
+        String keyAttributeName = KEY_ATTRIBUTE_NAME.value();
+        for (InternalIndex index : indexes) {
+            for (String component : index.getComponents()) {
+                if (component.startsWith(keyAttributeName)) {
+                    return true;
+                }
+            }
+            for (String includedAttribute : index.getConfig().getIncludedAttributes()) {
+                if (includedAttribute.startsWith(keyAttributeName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the tasks rejected by the executor on the submitting thread, so
+     * the population doesn't depend on free executor capacity.
+     */
+    private static final class CallerRunsOnRejection implements Executor {
+
+        private final Executor executor;
+
+        CallerRunsOnRejection(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            try {
+                executor.execute(command);
+            } catch (RejectedExecutionException e) {
+                command.run();
+            }
+        }
+    }
+}
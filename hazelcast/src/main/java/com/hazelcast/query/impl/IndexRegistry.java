@@ -39,11 +39,15 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 
@@ -81,6 +85,7 @@ public class IndexRegistry {
     private final AttributeIndexRegistry evaluateOnlyAttributeIndexRegistry = new AttributeIndexRegistry();
     private final ConverterCache converterCache = new ConverterCache(this);
     private final Map<String, IndexConfig> definitions = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<?>> populations = new ConcurrentHashMap<>();
 
     private final int partitionCount;
 
@@ -148,6 +153,44 @@ public class IndexRegistry {
         }
     }
 
+    /**
+     * Tracks the given asynchronous population of the given partition, see
+     * {@link IndexRebuilder#complete}. The population is forgotten once it
+     * is done.
+     *
+     * @param partitionId the ID of the partition being populated.
+     * @param population  the future of the population.
+     */
+    public void trackPopulation(int partitionId, CompletableFuture<?> population) {
+        populations.put(partitionId, population);
+        population.whenComplete((r, t) -> populations.remove(partitionId, population));
+    }
+
+    /**
+     * Waits for the tracked population of the given partition, if any, so the
+     * updates of the partition's entries are applied after it. Should be
+     * called by the partition thread before updating the indexes.
+     * <p>
+     * A failed population is ignored here: the partition is not marked as
+     * indexed then, so the indexes are not used for it.
+     *
+     * @param partitionId the ID of the partition to wait for.
+     */
+    public void awaitPopulation(int partitionId) {
+        if (populations.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<?> population = populations.get(partitionId);
+        if (population != null) {
+            try {
+                population.join();
+            } catch (CompletionException | CancellationException ignored) {
+                ignore(ignored);
+            }
+        }
+    }
+
     /**
      * @param ss                the serializationService
      * @param indexCopyBehavior the indexCopyBehavior
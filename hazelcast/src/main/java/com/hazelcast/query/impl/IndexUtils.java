@@ -37,6 +37,7 @@ import static com.hazelcast.internal.config.DomConfigHelper.childElementWithName
 import static com.hazelcast.internal.config.DomConfigHelper.childElements;
 import static com.hazelcast.internal.config.DomConfigHelper.cleanNodeName;
 import static com.hazelcast.internal.config.DomConfigHelper.getAttribute;
+import static com.hazelcast.internal.config.DomConfigHelper.getBooleanValue;
 import static com.hazelcast.internal.config.DomConfigHelper.getTextContent;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.StringUtil.equalsIgnoreCase;
@@ -113,6 +114,8 @@ public final class IndexUtils {
             normalizedAttributeNames.add(normalizedAttributeName);
         }
 
+        List<String> normalizedIncludedAttributeNames = normalizeIncludedAttributes(config, normalizedAttributeNames);
+
         // Construct final index.
         String name = config.getName();
 
@@ -122,6 +125,8 @@ public final class IndexUtils {
 
         IndexConfig normalizedConfig =
             buildNormalizedConfig(mapName, config.getType(), name, normalizedAttributeNames, config.getBTreeIndexConfig());
+        normalizedConfig.setIncludedAttributes(normalizedIncludedAttributeNames);
+        normalizedConfig.setBPlusTreeStoreEnabled(config.isBPlusTreeStoreEnabled());
 
         if (config.getType() == IndexType.BITMAP) {
             String uniqueKey = config.getBitmapIndexOptions().getUniqueKey();
@@ -136,6 +141,26 @@ public final class IndexUtils {
         return normalizedConfig;
     }
 
+    private static List<String> normalizeIncludedAttributes(IndexConfig config, List<String> normalizedAttributeNames) {
+        List<String> normalizedIncludedAttributeNames = new ArrayList<>(config.getIncludedAttributes().size());
+
+        for (String originalIncludedAttributeName : config.getIncludedAttributes()) {
+            validateAttribute(config, originalIncludedAttributeName);
+
+            String normalizedIncludedAttributeName = canonicalizeAttribute(originalIncludedAttributeName.trim());
+
+            if (normalizedAttributeNames.contains(normalizedIncludedAttributeName)
+                    || normalizedIncludedAttributeNames.contains(normalizedIncludedAttributeName)) {
+                throw new IllegalArgumentException("Duplicate included attribute name [attributeName="
+                    + originalIncludedAttributeName + ", indexConfig=" + config + ']');
+            }
+
+            normalizedIncludedAttributeNames.add(normalizedIncludedAttributeName);
+        }
+
+        return normalizedIncludedAttributeNames;
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames,
                                                      BTreeIndexConfig btreeIndexConfig) {
@@ -285,6 +310,18 @@ public final class IndexUtils {
             }
             gen.close();
 
+            if (!indexCfg.getIncludedAttributes().isEmpty()) {
+                gen.open("included-attributes");
+                for (String includedAttribute : indexCfg.getIncludedAttributes()) {
+                    gen.node("attribute", includedAttribute);
+                }
+                gen.close();
+            }
+
+            if (indexCfg.isBPlusTreeStoreEnabled()) {
+                gen.node("b-plus-tree-store-enabled", true);
+            }
+
             if (indexCfg.getType() == IndexType.BITMAP) {
                 BitmapIndexOptions bitmapIndexOptions = indexCfg.getBitmapIndexOptions();
 
@@ -329,13 +366,11 @@ public final class IndexUtils {
 
         for (Node attributesNode : childElements(indexNode)) {
             if ("attributes".equals(cleanNodeName(attributesNode))) {
-                for (Node attributeNode : childElements(attributesNode)) {
-                    if ("attribute".equals(cleanNodeName(attributeNode))) {
-                        String attribute = getTextContent(attributeNode, domLevel3);
-
-                        res.addAttribute(attribute);
-                    }
-                }
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addAttribute);
+            } else if ("included-attributes".equals(cleanNodeName(attributesNode))) {
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addIncludedAttribute);
+            } else if ("b-plus-tree-store-enabled".equals(cleanNodeName(attributesNode))) {
+                res.setBPlusTreeStoreEnabled(getBooleanValue(getTextContent(attributesNode, domLevel3)));
             }
         }
 
@@ -371,6 +406,16 @@ public final class IndexUtils {
         return res;
     }
 
+    private static List<String> getAttributesFromXml(Node attributesNode, boolean domLevel3) {
+        List<String> attributes = new ArrayList<>();
+        for (Node attributeNode : childElements(attributesNode)) {
+            if ("attribute".equals(cleanNodeName(attributeNode))) {
+                attributes.add(getTextContent(attributeNode, domLevel3));
+            }
+        }
+        return attributes;
+    }
+
     private static Capacity getCapacity(Node node, boolean domLevel3) {
         if (node == null) {
             return null;
@@ -421,6 +466,15 @@ public final class IndexUtils {
             res.addAttribute(attribute);
         }
 
+        Node includedAttributesNode = attrs.getNamedItem("included-attributes");
+        if (includedAttributesNode != null) {
+            for (Node attributeNode : childElements(includedAttributesNode)) {
+                res.addIncludedAttribute(attributeNode.getNodeValue());
+            }
+        }
+
+        setBPlusTreeStoreEnabledFromYaml(res, attrs.getNamedItem("b-plus-tree-store-enabled"), domLevel3);
+
         if (type == IndexType.BITMAP) {
             Node optionsNode = childElementWithName(indexNode, "bitmap-index-options", strict);
             if (optionsNode != null) {
@@ -453,6 +507,12 @@ public final class IndexUtils {
         return res;
     }
 
+    private static void setBPlusTreeStoreEnabledFromYaml(IndexConfig res, Node enabledNode, boolean domLevel3) {
+        if (enabledNode != null) {
+            res.setBPlusTreeStoreEnabled(getBooleanValue(getTextContent(enabledNode, domLevel3)));
+        }
+    }
+
     private static String getIndexTypeName(IndexType type) {
         switch (type) {
             case SORTED:
@@ -20,6 +20,8 @@ import com.hazelcast.internal.monitor.impl.PerIndexStats;
 import com.hazelcast.map.impl.recordstore.StepAwareStorage;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 
+import java.util.List;
+
 /**
  * Provides the private index API.
  */
@@ -39,6 +41,15 @@ public interface InternalIndex extends Index {
      */
     Comparable canonicalizeQueryArgumentScalar(Comparable value);
 
+    /**
+     * Returns the layout of the attribute values this index captures on
+     * its entries or {@code null} if the index doesn't include any
+     * attributes.
+     *
+     * @see QueryableEntry#getCoveredValues
+     */
+    CoveredAttributesLayout getCoveredAttributesLayout();
+
     /**
      * Returns {@code true} if the given partition is indexed by this index,
      * {@code false} otherwise.
@@ -61,6 +72,25 @@ public interface InternalIndex extends Index {
      */
     boolean allPartitionsIndexed(int ownedPartitionCount);
 
+    /**
+     * Inserts the given batch of new entries into this index.
+     * <p>
+     * Used while the index is being rebuilt: the entries are known to be
+     * absent from the index, and for ordered indexes they are inserted in
+     * the order of their attribute values.
+     *
+     * @param newEntries      the new entries from which the attribute values
+     *                        should be read.
+     * @param entriesToStore  the entries that should be stored in this index,
+     *                        positionally matching {@code newEntries}.
+     * @param operationSource the operation source.
+     * @throws QueryException if there were errors while extracting the
+     *                        attribute values from the entries.
+     * @see #putEntry
+     */
+    void putEntries(List<CachedQueryEntry> newEntries, List<QueryableEntry> entriesToStore,
+                    OperationSource operationSource);
+
     /**
      * Notifies the index that a partition update is about to begin. Could be caused be either
      * partition add (e.g. migration from another member, dynamic index creation), or partition
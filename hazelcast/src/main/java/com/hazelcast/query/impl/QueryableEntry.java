@@ -49,6 +49,13 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     protected Record record;
     private transient JsonMetadata metadata;
 
+    /**
+     * Attribute values captured by covering indexes, one node per index
+     * layout. The list is replaced as a whole on every change, so readers
+     * always observe a consistent snapshot.
+     */
+    private transient volatile CoveredValues coveredValues;
+
     public Record getRecord() {
         return record;
     }
@@ -59,9 +66,66 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     @Override
     public Object getAttributeValue(String attributeName) throws QueryException {
+        for (CoveredValues covered = coveredValues; covered != null; covered = covered.next) {
+            int position = covered.layout.indexOf(attributeName);
+            if (position >= 0) {
+                return covered.values[position];
+            }
+        }
         return extractAttributeValue(attributeName);
     }
 
+    /**
+     * Returns the attribute values captured on this entry by the index with
+     * the given layout, positioned as the attribute names are in the layout.
+     *
+     * @param layout the layout of the covering index.
+     * @return the captured values or {@code null} if the index hasn't
+     * captured any values on this entry, for instance, if this entry is not
+     * stored in the index.
+     */
+    public Object[] getCoveredValues(CoveredAttributesLayout layout) {
+        for (CoveredValues covered = coveredValues; covered != null; covered = covered.next) {
+            if (covered.layout == layout) {
+                return covered.values;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Captures the values of the attributes of the given layout, so they are
+     * served by {@link #getAttributeValue} without extracting them from the
+     * key or value of this entry again.
+     *
+     * @param layout the layout of the covering index.
+     * @param source the entry to extract the attribute values from; it holds
+     *               the same key and value as this entry, but it might be
+     *               optimized for extraction.
+     */
+    void coverAttributes(CoveredAttributesLayout layout, Extractable source) {
+        Object[] values = new Object[layout.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = source.getAttributeValue(layout.getAttributeName(i));
+        }
+
+        // indexes rebuilt in parallel may cover the same entry concurrently
+        synchronized (this) {
+            coveredValues = new CoveredValues(layout, values, without(coveredValues, layout));
+        }
+    }
+
+    private static CoveredValues without(CoveredValues covered, CoveredAttributesLayout layout) {
+        if (covered == null) {
+            return null;
+        }
+        CoveredValues next = without(covered.next, layout);
+        if (covered.layout == layout) {
+            return next;
+        }
+        return next == covered.next ? covered : new CoveredValues(covered.layout, covered.values, next);
+    }
+
     public abstract K getKey();
 
     public abstract Data getKeyData();
@@ -177,4 +241,16 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         this.metadata = metadata;
     }
 
+    private static final class CoveredValues {
+
+        private final CoveredAttributesLayout layout;
+        private final Object[] values;
+        private final CoveredValues next;
+
+        CoveredValues(CoveredAttributesLayout layout, Object[] values, CoveredValues next) {
+            this.layout = layout;
+            this.values = values;
+            this.next = next;
+        }
+    }
 }
@@ -19,15 +19,20 @@ package com.hazelcast.query.impl.bitmap;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AbstractIndex;
+import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.predicates.AndPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,7 +42,8 @@ import java.util.Map;
  * <p>
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * entry keys back to entries. Range queries are answered by unioning the bit
+ * sets of all the distinct attribute values falling into the range.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -145,7 +151,8 @@ public final class Bitmap<E> {
      * <p>
      * The following predicates (and combinations of them) are supported:
      * {@link AndPredicate}, {@link OrPredicate}, {@link NotPredicate}, {@link
-     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate}.
+     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate} and {@link
+     * RangePredicate}s. Null values never match a range.
      *
      * @param predicate the predicate to evaluate.
      * @param converter the converter to use for the predicate arguments
@@ -156,7 +163,7 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:returncount"})
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
@@ -198,6 +205,10 @@ public final class Bitmap<E> {
             return BitmapAlgorithms.or(valueIterators(values, converter));
         }
 
+        if (predicate instanceof RangePredicate) {
+            return rangeIterator((RangePredicate) predicate, converter);
+        }
+
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
@@ -214,6 +225,49 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
+    private AscendingLongIterator rangeIterator(RangePredicate predicate, TypeConverter converter) {
+        Comparable from = predicate.getFrom() == null ? null : converter.convert(predicate.getFrom());
+        Comparable to = predicate.getTo() == null ? null : converter.convert(predicate.getTo());
+        if (from == AbstractIndex.NULL || to == AbstractIndex.NULL) {
+            return AscendingLongIterator.EMPTY;
+        }
+
+        List<AscendingLongIterator> iterators = new ArrayList<>();
+        for (Map.Entry<Object, SparseBitSet> entry : bitSets.entrySet()) {
+            Object value = entry.getKey();
+            if (value != AbstractIndex.NULL && inRange((Comparable) value, from, predicate.isFromInclusive(), to,
+                    predicate.isToInclusive())) {
+                iterators.add(entry.getValue().iterator());
+            }
+        }
+
+        switch (iterators.size()) {
+            case 0:
+                return AscendingLongIterator.EMPTY;
+            case 1:
+                return iterators.get(0);
+            default:
+                return BitmapAlgorithms.or(iterators.toArray(new AscendingLongIterator[0]));
+        }
+    }
+
+    private static boolean inRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                                   boolean toInclusive) {
+        if (from != null) {
+            int order = Comparables.compare(value, from);
+            if (order < 0 || order == 0 && !fromInclusive) {
+                return false;
+            }
+        }
+
+        if (to != null) {
+            int order = Comparables.compare(value, to);
+            return order < 0 || order == 0 && toInclusive;
+        }
+
+        return true;
+    }
+
     private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
@@ -91,6 +91,14 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * @return {@code true} if a custom {@link ValueExtractor} is
+     * registered for the given attribute, {@code false} otherwise
+     */
+    public boolean hasCustomExtractor(String attributeName) {
+        return extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName));
+    }
+
     /**
      * Returns the form of this data that is queryable.
      * Returns {@link Data} if {@code target} is
@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.serialization.impl.compact.FieldDescriptor;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.TypeConverters;
+import com.hazelcast.query.impl.getters.Extractors;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+
+/**
+ * Evaluates simple predicates directly against the serialized form of
+ * Compact values during partition scans, without deserializing the value
+ * or extracting the attribute through {@link Extractors}.
+ * <p>
+ * Supported are {@link EqualPredicate}, {@link BetweenPredicate} and
+ * {@link InPredicate} on top-level fixed-size integral, boolean and
+ * (for equality only) string fields, and {@link AndPredicate}s of those.
+ * The conversion of the predicate values to the field type is done once
+ * per schema, exactly like the predicates do it for every entry, so the
+ * outcome is the same as the one of {@link Predicate#apply}.
+ * <p>
+ * A filter is not thread-safe, it is created per partition scan. The
+ * result is {@link #NOT_APPLICABLE} if the value is not Compact or if a
+ * condition cannot be evaluated against its schema, in which case the
+ * caller falls back to {@link Predicate#apply}.
+ */
+public final class CompactScanFilter {
+
+    /**
+     * The value matches the predicate.
+     */
+    public static final int MATCH = 1;
+
+    /**
+     * The value does not match the predicate.
+     */
+    public static final int NO_MATCH = 0;
+
+    /**
+     * The predicate has to be evaluated the regular way.
+     */
+    public static final int NOT_APPLICABLE = -1;
+
+    private static final int SCHEMA_ID_OFFSET = HeapData.DATA_OFFSET;
+    private static final int FIELDS_OFFSET = SCHEMA_ID_OFFSET + Bits.LONG_SIZE_IN_BYTES;
+
+    private final Condition[] conditions;
+    private final SchemaService schemaService;
+    private final boolean bigEndian;
+    private final Long2ObjectHashMap<SchemaTests> testsBySchemaId = new Long2ObjectHashMap<>();
+
+    private CompactScanFilter(Condition[] conditions, SchemaService schemaService, ByteOrder byteOrder) {
+        this.conditions = conditions;
+        this.schemaService = schemaService;
+        this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Creates a filter for the given predicate.
+     *
+     * @return the filter or {@code null} if the predicate is not supported
+     */
+    public static CompactScanFilter create(Predicate predicate, Extractors extractors,
+                                           SchemaService schemaService, ByteOrder byteOrder) {
+        List<Condition> conditions = new ArrayList<>();
+        if (schemaService == null || !collectConditions(predicate, extractors, conditions)) {
+            return null;
+        }
+        return new CompactScanFilter(conditions.toArray(new Condition[0]), schemaService, byteOrder);
+    }
+
+    private static boolean collectConditions(Predicate predicate, Extractors extractors, List<Condition> conditions) {
+        Class<?> clazz = predicate.getClass();
+        if (clazz == AndPredicate.class) {
+            for (Predicate subPredicate : ((AndPredicate) predicate).predicates) {
+                if (!collectConditions(subPredicate, extractors, conditions)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Condition condition;
+        if (clazz == EqualPredicate.class) {
+            EqualPredicate equalPredicate = (EqualPredicate) predicate;
+            condition = new Condition(equalPredicate.attributeName, false, equalPredicate.value);
+        } else if (clazz == InPredicate.class) {
+            InPredicate inPredicate = (InPredicate) predicate;
+            condition = new Condition(inPredicate.attributeName, false, inPredicate.values);
+        } else if (clazz == BetweenPredicate.class) {
+            BetweenPredicate betweenPredicate = (BetweenPredicate) predicate;
+            condition = new Condition(betweenPredicate.attributeName, true, betweenPredicate.from, betweenPredicate.to);
+        } else {
+            return false;
+        }
+        if (!isTopLevelField(condition.attributeName, extractors)) {
+            return false;
+        }
+        for (Comparable value : condition.values) {
+            if (isNull(value)) {
+                return false;
+            }
+        }
+        conditions.add(condition);
+        return true;
+    }
+
+    private static boolean isTopLevelField(String attributeName, Extractors extractors) {
+        if (attributeName == null || attributeName.indexOf('.') >= 0 || attributeName.indexOf('[') >= 0) {
+            return false;
+        }
+        return !attributeName.equals(THIS_ATTRIBUTE_NAME.value())
+                && !attributeName.startsWith(KEY_ATTRIBUTE_NAME.value())
+                && !extractors.hasCustomExtractor(attributeName);
+    }
+
+    /**
+     * Evaluates the predicate against the given value.
+     *
+     * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #NOT_APPLICABLE}
+     */
+    public int test(Object value) {
+        if (!(value instanceof HeapData)) {
+            return NOT_APPLICABLE;
+        }
+        Data data = (Data) value;
+        if (data.getType() != SerializationConstants.TYPE_COMPACT) {
+            return NOT_APPLICABLE;
+        }
+
+        byte[] payload = data.toByteArray();
+        long schemaId = Bits.readLong(payload, SCHEMA_ID_OFFSET, bigEndian);
+        SchemaTests schemaTests = testsBySchemaId.get(schemaId);
+        if (schemaTests == null) {
+            schemaTests = compile(schemaId);
+            testsBySchemaId.put(schemaId, schemaTests);
+        }
+        if (schemaTests.tests == null) {
+            return NOT_APPLICABLE;
+        }
+
+        int dataStart = FIELDS_OFFSET;
+        int offsetsStart = 0;
+        int offsetSize = 0;
+        if (schemaTests.hasVariableSizeFields) {
+            int dataLength = Bits.readInt(payload, FIELDS_OFFSET, bigEndian);
+            dataStart = FIELDS_OFFSET + Bits.INT_SIZE_IN_BYTES;
+            offsetsStart = dataStart + dataLength;
+            offsetSize = dataLength < BYTE_OFFSET_READER_RANGE ? Bits.BYTE_SIZE_IN_BYTES
+                    : dataLength < SHORT_OFFSET_READER_RANGE ? Bits.SHORT_SIZE_IN_BYTES : Bits.INT_SIZE_IN_BYTES;
+        }
+        for (FieldTest test : schemaTests.tests) {
+            if (!test.test(payload, dataStart, offsetsStart, offsetSize, bigEndian)) {
+                return NO_MATCH;
+            }
+        }
+        return MATCH;
+    }
+
+    private SchemaTests compile(long schemaId) {
+        Schema schema = schemaService.get(schemaId);
+        if (schema == null) {
+            return SchemaTests.NOT_APPLICABLE;
+        }
+        FieldTest[] tests = new FieldTest[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            FieldDescriptor field = schema.getField(conditions[i].attributeName);
+            tests[i] = field == null ? null : conditions[i].compile(field);
+            if (tests[i] == null) {
+                return SchemaTests.NOT_APPLICABLE;
+            }
+        }
+        return new SchemaTests(tests, schema.getNumberOfVariableSizeFields() != 0);
+    }
+
+    /**
+     * Tests of the conditions compiled for a schema. The tests are
+     * {@code null} if any of the conditions cannot be evaluated
+     * against the schema.
+     */
+    private static final class SchemaTests {
+
+        static final SchemaTests NOT_APPLICABLE = new SchemaTests(null, false);
+
+        private final FieldTest[] tests;
+        private final boolean hasVariableSizeFields;
+
+        SchemaTests(FieldTest[] tests, boolean hasVariableSizeFields) {
+            this.tests = tests;
+            this.hasVariableSizeFields = hasVariableSizeFields;
+        }
+    }
+
+    private static final class Condition {
+
+        private final String attributeName;
+        private final boolean range;
+        private final Comparable[] values;
+
+        Condition(String attributeName, boolean range, Comparable... values) {
+            this.attributeName = attributeName;
+            this.range = range;
+            this.values = values;
+        }
+
+        @SuppressWarnings("checkstyle:returncount")
+        FieldTest compile(FieldDescriptor field) {
+            FieldKind kind = field.getKind();
+            Class<?> attributeClass = attributeClassOf(kind);
+            if (attributeClass == null) {
+                return null;
+            }
+            Comparable[] converted = new Comparable[values.length];
+            for (int i = 0; i < values.length; i++) {
+                converted[i] = convert(attributeClass, values[i]);
+                if (converted[i] == null) {
+                    return null;
+                }
+            }
+
+            if (kind == FieldKind.BOOLEAN) {
+                return range ? null : BooleanTest.create(field, converted);
+            } else if (kind == FieldKind.STRING) {
+                return range ? null : StringTest.create(field, converted);
+            } else if (range) {
+                return IntegralRangeTest.create(field, converted[0], converted[1]);
+            } else {
+                return IntegralSetTest.create(field, converted);
+            }
+        }
+
+        /**
+         * Converts the given value like {@link AbstractPredicate#convert} does
+         * for an attribute of the given class.
+         *
+         * @return the converted value or {@code null} if the conversion fails
+         */
+        private static Comparable convert(Class<?> attributeClass, Comparable value) {
+            if (attributeClass.isAssignableFrom(value.getClass())) {
+                return value;
+            }
+            try {
+                return converterOf(attributeClass).convert(value);
+            } catch (RuntimeException e) {
+                // let the predicate fail the regular way
+                return null;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:returncount")
+        private static Class<?> attributeClassOf(FieldKind kind) {
+            switch (kind) {
+                case BOOLEAN:
+                    return Boolean.class;
+                case INT8:
+                    return Byte.class;
+                case INT16:
+                    return Short.class;
+                case INT32:
+                    return Integer.class;
+                case INT64:
+                    return Long.class;
+                case STRING:
+                    return String.class;
+                default:
+                    return null;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:returncount")
+        private static TypeConverter converterOf(Class<?> attributeClass) {
+            if (attributeClass == Boolean.class) {
+                return TypeConverters.BOOLEAN_CONVERTER;
+            } else if (attributeClass == Byte.class) {
+                return TypeConverters.BYTE_CONVERTER;
+            } else if (attributeClass == Short.class) {
+                return TypeConverters.SHORT_CONVERTER;
+            } else if (attributeClass == Integer.class) {
+                return TypeConverters.INTEGER_CONVERTER;
+            } else if (attributeClass == Long.class) {
+                return TypeConverters.LONG_CONVERTER;
+            } else {
+                return TypeConverters.STRING_CONVERTER;
+            }
+        }
+    }
+
+    private abstract static class FieldTest {
+
+        abstract boolean test(byte[] payload, int dataStart, int offsetsStart, int offsetSize, boolean bigEndian);
+    }
+
+    private abstract static class IntegralTest extends FieldTest {
+
+        private final FieldKind kind;
+        private final int offset;
+
+        IntegralTest(FieldDescriptor field) {
+            this.kind = field.getKind();
+            this.offset = field.getOffset();
+        }
+
+        static boolean isIntegral(Comparable value) {
+            return value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte;
+        }
+
+        long read(byte[] payload, int dataStart, boolean bigEndian) {
+            int position = dataStart + offset;
+            switch (kind) {
+                case INT8:
+                    return payload[position];
+                case INT16:
+                    return Bits.readShort(payload, position, bigEndian);
+                case INT32:
+                    return Bits.readInt(payload, position, bigEndian);
+                default:
+                    return Bits.readLong(payload, position, bigEndian);
+            }
+        }
+    }
+
+    private static final class IntegralRangeTest extends IntegralTest {
+
+        private final long from;
+        private final long to;
+
+        private IntegralRangeTest(FieldDescriptor field, long from, long to) {
+            super(field);
+            this.from = from;
+            this.to = to;
+        }
+
+        static FieldTest create(FieldDescriptor field, Comparable from, Comparable to) {
+            if (!isIntegral(from) || !isIntegral(to)) {
+                return null;
+            }
+            return new IntegralRangeTest(field, ((Number) from).longValue(), ((Number) to).longValue());
+        }
+
+        @Override
+        boolean test(byte[] payload, int dataStart, int offsetsStart, int offsetSize, boolean bigEndian) {
+            long value = read(payload, dataStart, bigEndian);
+            return value >= from && value <= to;
+        }
+    }
+
+    private static final class IntegralSetTest extends IntegralTest {
+
+        private final long[] values;
+
+        private IntegralSetTest(FieldDescriptor field, long[] values) {
+            super(field);
+            this.values = values;
+        }
+
+        static FieldTest create(FieldDescriptor field, Comparable[] converted) {
+            long[] values = new long[converted.length];
+            for (int i = 0; i < converted.length; i++) {
+                if (!isIntegral(converted[i])) {
+                    return null;
+                }
+                values[i] = ((Number) converted[i]).longValue();
+            }
+            Arrays.sort(values);
+            return new IntegralSetTest(field, values);
+        }
+
+        @Override
+        boolean test(byte[] payload, int dataStart, int offsetsStart, int offsetSize, boolean bigEndian) {
+            long value = read(payload, dataStart, bigEndian);
+            return values.length == 1 ? values[0] == value : Arrays.binarySearch(values, value) >= 0;
+        }
+    }
+
+    private static final class BooleanTest extends FieldTest {
+
+        private final int offset;
+        private final int bitOffset;
+        private final boolean matchesTrue;
+        private final boolean matchesFalse;
+
+        private BooleanTest(FieldDescriptor field, boolean matchesTrue, boolean matchesFalse) {
+            this.offset = field.getOffset();
+            this.bitOffset = field.getBitOffset();
+            this.matchesTrue = matchesTrue;
+            this.matchesFalse = matchesFalse;
+        }
+
+        static FieldTest create(FieldDescriptor field, Comparable[] converted) {
+            boolean matchesTrue = false;
+            boolean matchesFalse = false;
+            for (Comparable value : converted) {
+                if (!(value instanceof Boolean)) {
+                    return null;
+                }
+                if ((Boolean) value) {
+                    matchesTrue = true;
+                } else {
+                    matchesFalse = true;
+                }
+            }
+            return new BooleanTest(field, matchesTrue, matchesFalse);
+        }
+
+        @Override
+        boolean test(byte[] payload, int dataStart, int offsetsStart, int offsetSize, boolean bigEndian) {
+            boolean value = ((payload[dataStart + offset] >>> bitOffset) & 1) != 0;
+            return value ? matchesTrue : matchesFalse;
+        }
+    }
+
+    /**
+     * Compares the UTF-8 bytes of string fields with the encoded
+     * predicate values, which is the same as comparing the decoded
+     * strings as long as the values survive an encoding round trip.
+     */
+    private static final class StringTest extends FieldTest {
+
+        private final int index;
+        private final byte[][] values;
+
+        private StringTest(FieldDescriptor field, byte[][] values) {
+            this.index = field.getIndex();
+            this.values = values;
+        }
+
+        static FieldTest create(FieldDescriptor field, Comparable[] converted) {
+            byte[][] values = new byte[converted.length][];
+            for (int i = 0; i < converted.length; i++) {
+                if (!(converted[i] instanceof String)) {
+                    return null;
+                }
+                String value = (String) converted[i];
+                values[i] = value.getBytes(StandardCharsets.UTF_8);
+                if (value.indexOf('\uFFFD') >= 0 || !value.equals(new String(values[i], StandardCharsets.UTF_8))) {
+                    return null;
+                }
+            }
+            return new StringTest(field, values);
+        }
+
+        @Override
+        boolean test(byte[] payload, int dataStart, int offsetsStart, int offsetSize, boolean bigEndian) {
+            int offset = readOffset(payload, offsetsStart, offsetSize, bigEndian);
+            if (offset == NULL_OFFSET) {
+                return false;
+            }
+            int position = dataStart + offset;
+            int length = Bits.readInt(payload, position, bigEndian);
+            int start = position + Bits.INT_SIZE_IN_BYTES;
+            for (byte[] value : values) {
+                if (value.length == length && equals(payload, start, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int readOffset(byte[] payload, int offsetsStart, int offsetSize, boolean bigEndian) {
+            switch (offsetSize) {
+                case Bits.BYTE_SIZE_IN_BYTES:
+                    byte byteOffset = payload[offsetsStart + index];
+                    return byteOffset == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(byteOffset);
+                case Bits.SHORT_SIZE_IN_BYTES:
+                    short shortOffset = Bits.readShort(payload, offsetsStart + index * offsetSize, bigEndian);
+                    return shortOffset == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(shortOffset);
+                default:
+                    return Bits.readInt(payload, offsetsStart + index * offsetSize, bigEndian);
+            }
+        }
+
+        private static boolean equals(byte[] payload, int start, byte[] value) {
+            for (int i = 0; i < value.length; i++) {
+                if (payload[start + i] != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
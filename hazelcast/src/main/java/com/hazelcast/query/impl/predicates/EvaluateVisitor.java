@@ -261,4 +261,42 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(BetweenPredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(GreaterLessPredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(BoundedRangePredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    private static Predicate visitRange(AbstractPredicate predicate, IndexRegistry indexes) {
+        // A sorted index answers a range with a single traversal, while an
+        // unordered index has to combine the entries of every value in it.
+        Index ordered = indexes.matchIndex(predicate.attributeName, IndexMatchHint.PREFER_ORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (ordered != null && ordered.isOrdered()) {
+            return predicate;
+        }
+
+        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null) {
+            return predicate;
+        }
+
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
 }
@@ -42,4 +42,8 @@ public interface Visitor {
 
     Predicate visit(BetweenPredicate predicate, IndexRegistry indexes);
 
+    Predicate visit(GreaterLessPredicate predicate, IndexRegistry indexes);
+
+    Predicate visit(BoundedRangePredicate predicate, IndexRegistry indexes);
+
 }
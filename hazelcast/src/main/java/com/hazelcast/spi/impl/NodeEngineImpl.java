@@ -45,6 +45,7 @@ import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.partition.MigrationInfo;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
 import com.hazelcast.internal.serialization.impl.compact.schema.MemberSchemaService;
 import com.hazelcast.internal.services.PostJoinAwareService;
 import com.hazelcast.internal.services.PreJoinAwareService;
@@ -96,6 +97,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MEMORY_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_PREFIX_BUFFER_POOL;
 import static com.hazelcast.internal.metrics.impl.MetricsConfigHelper.memberMetricsLevel;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
@@ -312,6 +314,11 @@ public class NodeEngineImpl implements NodeEngine {
         FileMetricSet.register(metricsRegistry);
 
         metricsRegistry.registerStaticMetrics(node.getNodeExtension().getMemoryStats(), MEMORY_PREFIX);
+        if (node.getSerializationService() instanceof AbstractSerializationService) {
+            metricsRegistry.registerStaticMetrics(
+                    ((AbstractSerializationService) node.getSerializationService()).getBufferPoolThreadLocal(),
+                    SERIALIZATION_PREFIX_BUFFER_POOL);
+        }
         metricsRegistry.provideMetrics(operationService, proxyService, eventService, operationParker);
 
         // 启动 ServiceManager (先是注册再启动)
@@ -131,6 +131,20 @@ public interface OperationExecutor extends Consumer<Packet>, LiveOperationsTrack
      */
     void execute(PartitionSpecificRunnable task);
 
+    /**
+     * Runs the {@link PartitionSpecificRunnable} on the calling thread if it
+     * is the idle partition thread owning the partition of the task. Otherwise
+     * the task is submitted for execution using {@link #execute(PartitionSpecificRunnable)}.
+     * <p>
+     * With TPC the reactor thread that reads a request is also a partition
+     * thread, so a request that lands on the reactor owning its partition
+     * can be processed without handing it off to another thread.
+     *
+     * @param task the task to run or execute.
+     * @throws java.lang.NullPointerException if task is null.
+     */
+    void runOrExecutePartitionTask(PartitionSpecificRunnable task);
+
     /**
      * Executes the task on every partition thread.
      *
@@ -417,6 +417,24 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         execute(task, task.getPartitionId(), task instanceof UrgentSystemOperation);
     }
 
+    @Override
+    public void runOrExecutePartitionTask(PartitionSpecificRunnable task) {
+        checkNotNull(task, "task can't be null");
+
+        int partitionId = task.getPartitionId();
+        Thread currentThread = Thread.currentThread();
+        if (partitionId >= 0 && currentThread instanceof PartitionOperationThread) {
+            PartitionOperationThread partitionThread = (PartitionOperationThread) currentThread;
+            // a non null runner means the thread is already processing a task; we don't want to nest them
+            if (partitionThread.currentRunner == null && toPartitionThreadIndex(partitionId) == partitionThread.threadId) {
+                partitionThread.process(task);
+                return;
+            }
+        }
+
+        execute(task);
+    }
+
     @Override
     public void accept(Packet packet) {
         // 处理 Packet
@@ -17,7 +17,8 @@
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
 import com.hazelcast.internal.tpcengine.Eventloop;
-import com.hazelcast.internal.tpcengine.Scheduler;
+import com.hazelcast.internal.tpcengine.FairScheduler;
+import com.hazelcast.internal.tpcengine.TaskGroup;
 
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
@@ -25,21 +26,34 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  * The Scheduler for TPC. So each reactor contains an partition-operation thread
  * and each of these threads runs an eventloop which contains a scheduler. This
  * scheduler is given a tick on every run of the eventloop to do some work. In
- * case of the TPC, we process of a batch of operations from the operation-queue
- * and then hand control back to the eventloop.
+ * case of the TPC, we move a batch of operations from the operation-queue to the
+ * 'operations' {@link TaskGroup} and then hand control back to the eventloop.
+ * <p/>
+ * The operations and the other tasks of the reactor (which run on the default
+ * TaskGroup) share the CPU time of the eventloop fairly, and the CPU time of
+ * both is recorded in their {@link com.hazelcast.internal.tpcengine.TaskGroupMetrics}.
  */
-public class TpcOperationScheduler implements Scheduler {
+public class TpcOperationScheduler extends FairScheduler {
+
+    /**
+     * The name of the TaskGroup that processes the operations.
+     */
+    public static final String OPERATIONS_TASK_GROUP = "operations";
 
     private final int batchSize;
+    private final TaskGroup operationTaskGroup;
     private TpcPartitionOperationThread operationThread;
     private OperationQueue queue;
 
     public TpcOperationScheduler(int batchSize) {
         this.batchSize = checkPositive("batchSize", batchSize);
+        this.operationTaskGroup = newTaskGroup(OPERATIONS_TASK_GROUP, DEFAULT_SHARES,
+                DEFAULT_TASK_QUEUE_CAPACITY, task -> operationThread.process(task));
     }
 
     @Override
     public void init(Eventloop eventloop) {
+        super.init(eventloop);
         // This method is guaranteed to be called from the Reactor thread (which
         // is the TpcPartitionOperationThread).
         this.operationThread = (TpcPartitionOperationThread) Thread.currentThread();
@@ -48,24 +62,27 @@ public class TpcOperationScheduler implements Scheduler {
 
     @Override
     public boolean tick() {
-        final TpcPartitionOperationThread operationThread0 = operationThread;
-        final OperationQueue queue0 = queue;
-        final int batchSize0 = batchSize;
-
-        for (int k = 0; k < batchSize0; k++) {
-            if (operationThread0.isShutdown()) {
-                return false;
-            }
+        if (operationThread.isShutdown()) {
+            return false;
+        }
 
-            Object task = queue0.poll();
-            if (task == null) {
-                return false;
+        final OperationQueue queue0 = queue;
+        final TaskGroup operationTaskGroup0 = operationTaskGroup;
+        // Operations are only moved when the TaskGroup is drained, so priority
+        // operations that arrive in the meantime still overtake normal operations.
+        if (operationTaskGroup0.size() == 0) {
+            final int batchSize0 = batchSize;
+            for (int k = 0; k < batchSize0; k++) {
+                Object task = queue0.poll();
+                if (task == null) {
+                    break;
+                }
+                operationTaskGroup0.offer(task);
             }
-
-            operationThread0.process(task);
         }
 
-        return !queue0.isEmpty();
+        boolean moreWork = super.tick();
+        return moreWork || !queue0.isEmpty();
     }
 
     @Override
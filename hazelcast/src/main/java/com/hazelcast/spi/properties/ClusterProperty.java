@@ -363,6 +363,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The minimum size in bytes of a packet payload or client message frame
+     * to be written to the socket using a gather write instead of being
+     * copied into the socket send buffer. Avoiding the copy helps when large
+     * values are sent; smaller payloads are still batched in the send buffer.
+     * <p>
+     * Gather writes are only used when TLS is not enabled. A value of 0 or
+     * less disables gather writes.
+     *
+     * @since 5.4.0
+     */
+    public static final HazelcastProperty IO_WRITE_GATHER_THRESHOLD
+            = new HazelcastProperty("hazelcast.io.write.gather.threshold", 32 * 1024);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -998,6 +1012,21 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * Chooses the degree of parallelism of query evaluations at runtime.
+     * <p>
+     * When enabled, each Hazelcast member estimates the cost of every full
+     * partition scan from the number of entries to scan and from the cost
+     * and selectivity of the previous scans of the same map. Cheap scans run
+     * in the calling thread while expensive ones are split into as many
+     * parallel tasks as pays off. Takes precedence over
+     * {@link #QUERY_PREDICATE_PARALLEL_EVALUATION}.
+     * <p>
+     * The default is {@code false}.
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_ADAPTIVE_PARALLEL_EVALUATION
+            = new HazelcastProperty("hazelcast.query.predicate.adaptive.parallel.evaluation", false);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -1283,6 +1312,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.map.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Defines whether multiple invalidations of the same key are coalesced
+     * into a single invalidation when they fall into the same Near Cache
+     * invalidation batch.
+     * <p>
+     * Disabled by default. Coalescing leaves gaps in the sequence numbers
+     * of the invalidations of a partition, which only the receivers that
+     * apply a batch as a whole skip over. The receivers applying the
+     * invalidations one by one, such as older or non-Java clients and the
+     * members of an older version during a rolling upgrade, count every gap
+     * as a missed invalidation and eventually clear their Near Caches for
+     * the partition. Enable it only if all the subscribers are Java clients
+     * and members of this version or newer.
+     *
+     * @since 5.4.0
+     */
+    public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED
+            = new HazelcastProperty("hazelcast.map.invalidation.batch.coalescing.enabled", false);
+
     /**
      * Setting this capacity is valid if you set {@code writeCoalescing} to {@code false}
      * (see {@link com.hazelcast.config.MapStoreConfig#setWriteCoalescing(boolean)}).
@@ -1505,6 +1553,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.cache.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Defines whether multiple invalidations of the same key are coalesced
+     * into a single invalidation when they fall into the same cache
+     * invalidation batch.
+     * <p>
+     * Disabled by default. Coalescing leaves gaps in the sequence numbers
+     * of the invalidations of a partition, which only the receivers that
+     * apply a batch as a whole skip over. The receivers applying the
+     * invalidations one by one, such as older or non-Java clients and the
+     * members of an older version during a rolling upgrade, count every gap
+     * as a missed invalidation and eventually clear their Near Caches for
+     * the partition. Enable it only if all the subscribers are Java clients
+     * and members of this version or newer.
+     *
+     * @since 5.4.0
+     */
+    public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED
+            = new HazelcastProperty("hazelcast.cache.invalidation.batch.coalescing.enabled", false);
+
     /**
      * Forces the JCache provider, which can have values client or server, to
      * force the provider type. If not provided, the provider will be client or
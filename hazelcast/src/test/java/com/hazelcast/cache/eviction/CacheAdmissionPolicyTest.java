@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.eviction;
+
+import com.hazelcast.cache.ICache;
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static com.hazelcast.cache.CacheTestSupport.createServerCachingProvider;
+import static com.hazelcast.cache.impl.maxsize.impl.EntryCountCacheEvictionChecker.calculateMaxPartitionSize;
+import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CacheAdmissionPolicyTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 100;
+    private static final int SCAN_SIZE = 1000;
+
+    @Test
+    public void frequentlyReadEntriesSurviveScan_whenTinyLfuConfigured() {
+        Cache<Integer, Integer> cache = createCache(AdmissionPolicy.TINY_LFU);
+
+        populateAndScan(cache);
+
+        int hotKeysLeft = countHotKeys(cache);
+        assertTrue("Only " + hotKeysLeft + " hot keys survived the scan", hotKeysLeft >= MAX_SIZE * 9 / 10);
+        assertTrue(cache.unwrap(ICache.class).size() <= calculateMaxPartitionSize(MAX_SIZE, 1));
+    }
+
+    @Test
+    public void frequentlyReadEntriesEvictedByScan_whenNoAdmissionPolicy() {
+        Cache<Integer, Integer> cache = createCache(AdmissionPolicy.NONE);
+
+        populateAndScan(cache);
+
+        int hotKeysLeft = countHotKeys(cache);
+        assertTrue(hotKeysLeft + " hot keys survived the scan", hotKeysLeft < MAX_SIZE / 10);
+    }
+
+    private Cache<Integer, Integer> createCache(AdmissionPolicy admissionPolicy) {
+        Config config = smallInstanceConfig();
+        config.setProperty(PARTITION_COUNT.getName(), "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        CacheManager cacheManager = createServerCachingProvider(instance).getCacheManager();
+
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setAdmissionPolicy(admissionPolicy)
+                .setMaxSizePolicy(ENTRY_COUNT)
+                .setSize(MAX_SIZE);
+        CacheConfig<Integer, Integer> cacheConfig = new CacheConfig<Integer, Integer>()
+                .setEvictionConfig(evictionConfig);
+        return cacheManager.createCache(randomName(), cacheConfig);
+    }
+
+    private static void populateAndScan(Cache<Integer, Integer> cache) {
+        for (int i = 0; i < MAX_SIZE; i++) {
+            cache.put(i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < MAX_SIZE; i++) {
+                cache.get(i);
+            }
+        }
+        for (int i = MAX_SIZE; i < MAX_SIZE + SCAN_SIZE; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    private static int countHotKeys(Cache<Integer, Integer> cache) {
+        int count = 0;
+        for (int i = 0; i < MAX_SIZE; i++) {
+            if (cache.containsKey(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -35,6 +35,7 @@ import com.hazelcast.config.LoginModuleConfig;
 import com.hazelcast.config.LoginModuleConfig.LoginModuleUsage;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
@@ -232,6 +233,7 @@ public abstract class AbstractClientConfigBuilderTest extends HazelcastTestSuppo
         assertEquals("/tmp/myNearCache", nearCacheConfig.getPreloaderConfig().getDirectory());
         assertEquals(2342, nearCacheConfig.getPreloaderConfig().getStoreInitialDelaySeconds());
         assertEquals(4223, nearCacheConfig.getPreloaderConfig().getStoreIntervalSeconds());
+        assertEquals(PreloadMode.KEYS_AND_VALUES, nearCacheConfig.getPreloaderConfig().getPreloadMode());
     }
 
     @Test
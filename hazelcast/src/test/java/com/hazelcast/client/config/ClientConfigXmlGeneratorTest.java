@@ -40,6 +40,7 @@ import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.config.PersistentMemoryDirectoryConfig;
 import com.hazelcast.config.PersistentMemoryMode;
 import com.hazelcast.config.PredicateConfig;
@@ -594,6 +595,7 @@ public class ClientConfigXmlGeneratorTest extends HazelcastTestSupport {
                                 .setDirectory(randomString())
                                 .setStoreInitialDelaySeconds(randomInt())
                                 .setStoreIntervalSeconds(randomInt())
+                                .setPreloadMode(PreloadMode.KEYS_AND_VALUES)
                 )
                 .setEvictionConfig(
                         new EvictionConfig()
@@ -34,7 +34,9 @@ import org.junit.runner.RunWith;
 import java.util.List;
 
 import static com.hazelcast.client.impl.connection.tcp.TcpClientConnectionManager.getTargetTpcPorts;
+import static com.hazelcast.client.impl.connection.tcp.TcpClientConnectionManager.getTpcRoutingTable;
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -86,6 +88,22 @@ public class TcpClientConnectionManagerTest extends ClientTestSupport {
         assertTrue(tpcPorts.containsAll(result));
     }
 
+    @Test
+    public void testGetTpcRoutingTable_whenConnectToAll() {
+        List<Integer> tpcPorts = asList(1, 2, 3);
+
+        assertArrayEquals(new int[]{0, 1, 2}, getTpcRoutingTable(tpcPorts, tpcPorts));
+    }
+
+    @Test
+    public void testGetTpcRoutingTable_whenConnectToSubset() {
+        List<Integer> tpcPorts = asList(1, 2, 3, 4);
+
+        // the reactors we are connected to are routed to their own channel,
+        // the others are spread over the channels.
+        assertArrayEquals(new int[]{0, 1, 0, 0}, getTpcRoutingTable(tpcPorts, asList(4, 2)));
+    }
+
     @Test
     public void testIsUnisocketClient_whenTpcDisabledAndSmartRoutingDisabled() {
         verifyIsUnisocketClient(false, false);
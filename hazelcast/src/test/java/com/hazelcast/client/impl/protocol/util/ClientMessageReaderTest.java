@@ -31,7 +31,10 @@ import java.util.Random;
 
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -198,6 +201,58 @@ public class ClientMessageReaderTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testRead_emptyFramesShareContent() {
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(createFrameWithRandomBytes(10));
+        message.add(ClientMessage.BEGIN_FRAME.copy());
+        message.add(ClientMessage.NULL_FRAME.copy());
+        message.add(ClientMessage.END_FRAME.copy());
+
+        ByteBuffer buffer = writeToBuffer(message);
+
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        assertTrue(reader.readFrom(buffer, true));
+
+        ClientMessage.ForwardFrameIterator iterator = reader.getClientMessage().frameIterator();
+        iterator.next();
+        ClientMessage.Frame beginFrame = iterator.next();
+        ClientMessage.Frame nullFrame = iterator.next();
+        ClientMessage.Frame endFrame = iterator.next();
+
+        assertTrue(beginFrame.isBeginFrame());
+        assertTrue(nullFrame.isNullFrame());
+        assertTrue(endFrame.isEndFrame());
+        assertEquals(0, beginFrame.content.length);
+        assertSame(beginFrame.content, nullFrame.content);
+        assertSame(beginFrame.content, endFrame.content);
+    }
+
+    @Test
+    public void testRead_reusedAfterReset() {
+        ClientMessage.Frame frame1 = createFrameWithRandomBytes(30);
+        ClientMessage.Frame frame2 = createFrameWithRandomBytes(40);
+
+        ClientMessage message1 = ClientMessage.createForEncode();
+        message1.add(frame1);
+        ClientMessage message2 = ClientMessage.createForEncode();
+        message2.add(frame2);
+
+        // each message fits into the limit but both together do not
+        ClientMessageReader reader = new ClientMessageReader(60);
+
+        assertTrue(reader.readFrom(writeToBuffer(message1), false));
+        ClientMessage messageRead1 = reader.getClientMessage();
+        reader.reset();
+
+        assertTrue(reader.readFrom(writeToBuffer(message2), false));
+        ClientMessage messageRead2 = reader.getClientMessage();
+
+        assertNotSame(messageRead1, messageRead2);
+        assertArrayEquals(frame1.content, messageRead1.getStartFrame().content);
+        assertArrayEquals(frame2.content, messageRead2.getStartFrame().content);
+    }
+
     private ClientMessage.Frame createFrameWithRandomBytes(int contentLength) {
         byte[] content = new byte[contentLength];
         random.nextBytes(content);
@@ -18,6 +18,7 @@ package com.hazelcast.client.impl.protocol.util;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.internal.networking.OutboundVector;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -30,7 +31,9 @@ import java.nio.ByteBuffer;
 import static com.hazelcast.client.impl.protocol.ClientMessage.DEFAULT_FLAGS;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 import static com.hazelcast.client.impl.protocol.ClientMessage.createForDecode;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -57,4 +60,20 @@ public class ClientMessageWriterTest {
         assertFalse(clientMessageWriter.writeTo(buffer, message));
 
     }
+
+    @Test
+    public void testWrite_largeFrameAttachedToOutboundVector() {
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(new ClientMessage.Frame(new byte[10], DEFAULT_FLAGS));
+        message.add(new ClientMessage.Frame(new byte[100], DEFAULT_FLAGS));
+        message.add(new ClientMessage.Frame(new byte[10], DEFAULT_FLAGS));
+        ByteBuffer buffer = ByteBuffer.allocate(50);
+        OutboundVector vector = new OutboundVector(100);
+        ClientMessageWriter clientMessageWriter = new ClientMessageWriter();
+
+        // the large frame doesn't fit into the buffer, but it isn't copied
+        assertTrue(clientMessageWriter.writeTo(buffer, message, vector));
+        assertFalse(vector.isEmpty());
+        assertEquals(3 * SIZE_OF_FRAME_LENGTH_AND_FLAGS + 20, buffer.position());
+    }
 }
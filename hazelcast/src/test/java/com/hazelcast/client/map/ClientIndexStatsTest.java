@@ -182,6 +182,10 @@ public class ClientIndexStatsTest extends LocalIndexStatsTest {
             combinedIndexStats.setRemoveCount(indexStats1.getRemoveCount() + indexStats2.getRemoveCount());
             combinedIndexStats.setTotalRemoveLatency(indexStats1.getTotalRemoveLatency() + indexStats2.getTotalRemoveLatency());
 
+            combinedIndexStats.setRebuildCount(indexStats1.getRebuildCount() + indexStats2.getRebuildCount());
+            combinedIndexStats.setTotalRebuildLatency(
+                    indexStats1.getTotalRebuildLatency() + indexStats2.getTotalRebuildLatency());
+
             combinedIndexStats.setMemoryCost(indexStats1.getMemoryCost() + indexStats2.getMemoryCost());
 
             combinedIndexStatsMap.put(indexEntry.getKey(), combinedIndexStats);
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl.nearcache.invalidation;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nearcache.NearCacheStats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_SIZE;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Runs a write storm on a few hot keys of a map, which is Near Cached on a
+ * client, with and without coalescing of invalidations, and reports the
+ * invalidations applied by the client per second and the CPU time used by
+ * the client threads.
+ * <p>
+ * Usage: {@code ClientMapInvalidationWriteStormBenchmark [hotKeyCount] [writerCount] [durationSeconds]}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class ClientMapInvalidationWriteStormBenchmark {
+
+    private static final String MAP_NAME = "storm";
+
+    public static void main(String[] args) throws Exception {
+        int hotKeyCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int writerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        for (boolean coalescingEnabled : new boolean[]{false, true}) {
+            run(coalescingEnabled, hotKeyCount, writerCount, durationSeconds);
+        }
+    }
+
+    private static void run(boolean coalescingEnabled, int hotKeyCount, int writerCount,
+                            int durationSeconds) throws InterruptedException {
+        Config config = new Config();
+        config.setProperty(MAP_INVALIDATION_MESSAGE_BATCH_COALESCING_ENABLED.getName(), String.valueOf(coalescingEnabled));
+        config.setProperty(MAP_INVALIDATION_MESSAGE_BATCH_SIZE.getName(), "100");
+        config.setProperty(MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS.getName(), "1");
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig(new NearCacheConfig(MAP_NAME));
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        try {
+            IMap<Integer, Integer> memberMap = member.getMap(MAP_NAME);
+            IMap<Integer, Integer> clientMap = client.getMap(MAP_NAME);
+            for (int key = 0; key < hotKeyCount; key++) {
+                memberMap.put(key, key);
+            }
+
+            AtomicBoolean stop = new AtomicBoolean();
+            Thread[] writers = new Thread[writerCount];
+            for (int i = 0; i < writerCount; i++) {
+                writers[i] = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!stop.get()) {
+                        memberMap.set(random.nextInt(hotKeyCount), random.nextInt());
+                    }
+                });
+            }
+
+            long cpuNanosBefore = clientCpuNanos(client);
+            long startNanos = System.nanoTime();
+            for (Thread writer : writers) {
+                writer.start();
+            }
+            long deadline = startNanos + SECONDS.toNanos(durationSeconds);
+            while (System.nanoTime() < deadline) {
+                // keep the Near Cache populated, so that invalidations have an effect
+                for (int key = 0; key < hotKeyCount; key++) {
+                    clientMap.get(key);
+                }
+            }
+            stop.set(true);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            double seconds = (System.nanoTime() - startNanos) / (double) SECONDS.toNanos(1);
+            long cpuMillis = NANOSECONDS.toMillis(clientCpuNanos(client) - cpuNanosBefore);
+
+            NearCacheStats stats = clientMap.getLocalMapStats().getNearCacheStats();
+            System.out.println(format("coalescing=%-5s invalidation requests/s: %,10.0f, invalidations/s: %,10.0f, "
+                            + "client CPU: %,d ms", coalescingEnabled, stats.getInvalidationRequests() / seconds,
+                    stats.getInvalidations() / seconds, cpuMillis));
+        } finally {
+            client.shutdown();
+            member.shutdown();
+        }
+    }
+
+    /**
+     * Sums up the CPU time of the client's own threads,
+     * which include the thread applying invalidations.
+     */
+    private static long clientCpuNanos(HazelcastInstance client) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        String threadNamePrefix = "hz." + client.getName() + ".";
+        long cpuNanos = 0;
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (threadInfo != null && threadInfo.getThreadName().startsWith(threadNamePrefix)) {
+                cpuNanos += Math.max(0, threadMXBean.getThreadCpuTime(threadInfo.getThreadId()));
+            }
+        }
+        return cpuNanos;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map.impl.query;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getAllIndexes;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientCoveringIndexTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    @After
+    public void after() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testAddIndex_whenIncludedAttributes_thenIncludedOnMembers() {
+        HazelcastInstance member = factory.newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance client = factory.newHazelcastClient();
+        String mapName = randomMapName();
+
+        client.getMap(mapName).addIndex(new IndexConfig(IndexType.SORTED, "tenant").addIncludedAttribute("status"));
+
+        IMap<Object, Object> memberMap = member.getMap(mapName);
+        for (IndexRegistry indexes : getAllIndexes(memberMap)) {
+            InternalIndex[] memberIndexes = indexes.getIndexes();
+            assertEquals(1, memberIndexes.length);
+            assertEquals(singletonList("status"), memberIndexes[0].getConfig().getIncludedAttributes());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.tpc;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the throughput and latency of client IMap get/put/set/delete
+ * requests processed by the classic operation threads with the thread-per-core
+ * path, where a request is read, executed and answered by the reactor owning
+ * the partition of the key.
+ * <p>
+ * Usage: {@code ClientTpcMapBenchmark [threadCount] [durationSeconds] [keyCount] [valueSize]}.
+ * The number of reactors can be set with {@code -Dhazelcast.internal.tpc.eventloop.count}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class ClientTpcMapBenchmark {
+
+    private static final String MAP_NAME = "benchmark";
+    private static final int WARMUP_SECONDS = 5;
+    private static final long MAX_LATENCY_NANOS = SECONDS.toNanos(10);
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int keyCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int valueSize = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        for (boolean tpcEnabled : new boolean[]{false, true}) {
+            run(tpcEnabled, threadCount, durationSeconds, keyCount, valueSize);
+        }
+    }
+
+    private static void run(boolean tpcEnabled, int threadCount, int durationSeconds,
+                            int keyCount, int valueSize) throws InterruptedException {
+        Config config = new Config();
+        config.getJetConfig().setEnabled(false);
+        config.getTpcConfig().setEnabled(tpcEnabled);
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        // connect to all reactors, so every request lands on the reactor owning its partition
+        clientConfig.getTpcConfig().setEnabled(tpcEnabled).setConnectionCount(0);
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        try {
+            IMap<Integer, byte[]> map = client.getMap(MAP_NAME);
+            byte[] value = new byte[valueSize];
+            for (int key = 0; key < keyCount; key++) {
+                map.set(key, value);
+            }
+
+            // warm up
+            runLoad(map, value, threadCount, WARMUP_SECONDS, keyCount);
+
+            long startNanos = System.nanoTime();
+            Histogram histogram = runLoad(map, value, threadCount, durationSeconds, keyCount);
+            double seconds = (System.nanoTime() - startNanos) / (double) SECONDS.toNanos(1);
+
+            System.out.println(format("tpc=%-5s throughput: %,12.0f ops/s, latency p50: %,6d us, "
+                            + "p99: %,6d us, p99.9: %,6d us, max: %,8d us",
+                    tpcEnabled, histogram.getTotalCount() / seconds,
+                    NANOSECONDS.toMicros(histogram.getValueAtPercentile(50)),
+                    NANOSECONDS.toMicros(histogram.getValueAtPercentile(99)),
+                    NANOSECONDS.toMicros(histogram.getValueAtPercentile(99.9)),
+                    NANOSECONDS.toMicros(histogram.getMaxValue())));
+        } finally {
+            client.shutdown();
+            member.shutdown();
+        }
+    }
+
+    private static Histogram runLoad(IMap<Integer, byte[]> map, byte[] value, int threadCount,
+                                     int durationSeconds, int keyCount) throws InterruptedException {
+        long deadline = System.nanoTime() + SECONDS.toNanos(durationSeconds);
+        Histogram[] histograms = new Histogram[threadCount];
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            Histogram histogram = new Histogram(MICROSECONDS.toNanos(1), MAX_LATENCY_NANOS, 3);
+            histograms[i] = histogram;
+            threads[i] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now = System.nanoTime();
+                while (now < deadline) {
+                    int key = random.nextInt(keyCount);
+                    int operation = random.nextInt(100);
+                    if (operation < 70) {
+                        map.get(key);
+                    } else if (operation < 80) {
+                        map.put(key, value);
+                    } else if (operation < 95) {
+                        map.set(key, value);
+                    } else {
+                        map.delete(key);
+                    }
+                    long end = System.nanoTime();
+                    histogram.recordValue(Math.min(end - now, MAX_LATENCY_NANOS));
+                    now = end;
+                }
+            });
+            threads[i].start();
+        }
+
+        Histogram result = new Histogram(MICROSECONDS.toNanos(1), MAX_LATENCY_NANOS, 3);
+        for (int i = 0; i < threadCount; i++) {
+            threads[i].join();
+            result.add(histograms[i]);
+        }
+        return result;
+    }
+}
@@ -30,6 +30,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 
@@ -45,6 +46,7 @@ public class IndexConfigTest {
         assertNull(config.getName());
         assertEquals(QueryConstants.KEY_ATTRIBUTE_NAME.value(), config.getBitmapIndexOptions().getUniqueKey());
         assertEquals(UniqueKeyTransformation.OBJECT, config.getBitmapIndexOptions().getUniqueKeyTransformation());
+        assertFalse(config.isBPlusTreeStoreEnabled());
     }
 
     @Test
@@ -67,6 +69,13 @@ public class IndexConfigTest {
 
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name"), true);
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name2"), false);
+
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("a"), true);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("b"), false);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig(), false);
+
+        checkIndexQuality(new IndexConfig().setBPlusTreeStoreEnabled(true), new IndexConfig().setBPlusTreeStoreEnabled(true), true);
+        checkIndexQuality(new IndexConfig().setBPlusTreeStoreEnabled(true), new IndexConfig(), false);
     }
 
     private void checkIndexQuality(IndexConfig config1, IndexConfig config2, boolean expected) {
@@ -125,4 +134,14 @@ public class IndexConfigTest {
         new IndexConfig().addAttribute("");
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testIncludedAttributesNull() {
+        new IndexConfig().setIncludedAttributes(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncludedAttributeEmptyAdd() {
+        new IndexConfig().addIncludedAttribute("");
+    }
+
 }
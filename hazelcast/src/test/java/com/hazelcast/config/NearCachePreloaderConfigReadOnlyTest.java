@@ -51,4 +51,9 @@ public class NearCachePreloaderConfigReadOnlyTest {
     public void setStoreIntervalSecondsOnReadOnlyNearCachePreloaderConfigShouldFail() {
         getReadOnlyConfig().setStoreIntervalSeconds(5);
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setPreloadModeOnReadOnlyNearCachePreloaderConfigShouldFail() {
+        getReadOnlyConfig().setPreloadMode(NearCachePreloaderConfig.PreloadMode.KEYS_AND_VALUES);
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -85,12 +86,25 @@ public class NearCachePreloaderConfigTest {
         config.setStoreIntervalSeconds(-1);
     }
 
+    @Test
+    public void setPreloadMode() {
+        config.setPreloadMode(PreloadMode.KEYS_AND_VALUES);
+
+        assertEquals(PreloadMode.KEYS_AND_VALUES, config.getPreloadMode());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setPreloadMode_withNull() {
+        config.setPreloadMode(null);
+    }
+
     @Test
     public void testSerialization() {
         config.setEnabled(true);
         config.setDirectory("myParentDirectory");
         config.setStoreInitialDelaySeconds(23);
         config.setStoreIntervalSeconds(42);
+        config.setPreloadMode(PreloadMode.KEYS_AND_VALUES);
 
         SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
         Data serialized = serializationService.toData(config);
@@ -100,6 +114,7 @@ public class NearCachePreloaderConfigTest {
         assertEquals(config.getDirectory(), deserialized.getDirectory());
         assertEquals(config.getStoreInitialDelaySeconds(), deserialized.getStoreInitialDelaySeconds());
         assertEquals(config.getStoreIntervalSeconds(), deserialized.getStoreIntervalSeconds());
+        assertEquals(config.getPreloadMode(), deserialized.getPreloadMode());
         assertEquals(config.toString(), deserialized.toString());
     }
 }
@@ -86,6 +86,7 @@ import static com.hazelcast.config.RestEndpointGroup.HEALTH_CHECK;
 import static com.hazelcast.config.WanQueueFullBehavior.THROW_EXCEPTION;
 import static com.hazelcast.internal.util.StringUtil.lowerCaseInternal;
 import static java.io.File.createTempFile;
+import static java.util.Arrays.asList;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -2484,7 +2485,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        <async-backup-count>1</async-backup-count>"
                 + "        <time-to-live-seconds>42</time-to-live-seconds>"
                 + "        <max-idle-seconds>42</max-idle-seconds>"
-                + "        <eviction eviction-policy=\"RANDOM\" max-size-policy=\"PER_NODE\" size=\"42\"/>"
+                + "        <eviction eviction-policy=\"RANDOM\" admission-policy=\"TINY_LFU\" max-size-policy=\"PER_NODE\" size=\"42\"/>"
                 + "        <read-backup-data>true</read-backup-data>"
                 + "        <merkle-tree enabled=\"true\">\n"
                 + "            <depth>20</depth>\n"
@@ -2557,6 +2558,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(42, mapConfig.getTimeToLiveSeconds());
         assertEquals(42, mapConfig.getMaxIdleSeconds());
         assertEquals(EvictionPolicy.RANDOM, mapConfig.getEvictionConfig().getEvictionPolicy());
+        assertEquals(AdmissionPolicy.TINY_LFU, mapConfig.getEvictionConfig().getAdmissionPolicy());
         assertEquals(MaxSizePolicy.PER_NODE, mapConfig.getEvictionConfig().getMaxSizePolicy());
         assertEquals(42, mapConfig.getEvictionConfig().getSize());
         assertTrue(mapConfig.isReadBackupData());
@@ -2643,6 +2645,10 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "               <attributes>\n"
                 + "                   <attribute>name</attribute>\n"
                 + "               </attributes>\n"
+                + "               <included-attributes>\n"
+                + "                   <attribute>age</attribute>\n"
+                + "                   <attribute>address.city</attribute>\n"
+                + "               </included-attributes>\n"
                 + "           </index>\n"
                 + "           <index>\n"
                 + "               <attributes>\n"
@@ -2653,6 +2659,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "               <attributes>\n"
                 + "                   <attribute>age</attribute>\n"
                 + "               </attributes>\n"
+                + "               <b-plus-tree-store-enabled>true</b-plus-tree-store-enabled>\n"
                 + "               <btree-index>"
                 + "                   <page-size value=\"1337\" unit=\"BYTES\" />"
                 + "                   <memory-tier>"
@@ -2672,6 +2679,10 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertEquals(asList("age", "address.city"), indexConfigs.get(0).getIncludedAttributes());
+        assertTrue(indexConfigs.get(1).getIncludedAttributes().isEmpty());
+        assertFalse(indexConfigs.get(1).isBPlusTreeStoreEnabled());
+        assertTrue(indexConfigs.get(2).isBPlusTreeStoreEnabled());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
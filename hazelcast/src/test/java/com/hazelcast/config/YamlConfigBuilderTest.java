@@ -2484,6 +2484,7 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "      max-idle-seconds: 42\n"
                 + "      eviction:\n"
                 + "         eviction-policy: RANDOM\n"
+                + "         admission-policy: TINY_LFU\n"
                 + "         max-size-policy: PER_NODE\n"
                 + "         size: 42\n"
                 + "      read-backup-data: true\n"
@@ -2552,6 +2553,7 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(42, mapConfig.getTimeToLiveSeconds());
         assertEquals(42, mapConfig.getMaxIdleSeconds());
         assertEquals(EvictionPolicy.RANDOM, mapConfig.getEvictionConfig().getEvictionPolicy());
+        assertEquals(AdmissionPolicy.TINY_LFU, mapConfig.getEvictionConfig().getAdmissionPolicy());
         assertEquals(MaxSizePolicy.PER_NODE, mapConfig.getEvictionConfig().getMaxSizePolicy());
         assertEquals(42, mapConfig.getEvictionConfig().getSize());
         assertTrue(mapConfig.isReadBackupData());
@@ -2639,11 +2641,15 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        - type: HASH\n"
                 + "          attributes:\n"
                 + "            - \"name\"\n"
+                + "          included-attributes:\n"
+                + "            - \"age\"\n"
+                + "            - \"address.city\"\n"
                 + "        - attributes:\n"
                 + "          - \"age\"\n"
                 + "        - type: SORTED\n"
                 + "          attributes:\n"
                 + "            - \"age\"\n"
+                + "          b-plus-tree-store-enabled: true\n"
                 + "          btree-index:\n"
                 + "            page-size:\n"
                 + "              value: 1337\n"
@@ -2662,6 +2668,10 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertEquals(asList("age", "address.city"), indexConfigs.get(0).getIncludedAttributes());
+        assertTrue(indexConfigs.get(1).getIncludedAttributes().isEmpty());
+        assertFalse(indexConfigs.get(1).isBPlusTreeStoreEnabled());
+        assertTrue(indexConfigs.get(2).isBPlusTreeStoreEnabled());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
@@ -18,6 +18,7 @@ package com.hazelcast.internal.config;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -30,9 +31,12 @@ import org.junit.runner.RunWith;
 import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.config.MaxSizePolicy.USED_HEAP_SIZE;
 import static com.hazelcast.config.NearCacheConfig.LocalUpdatePolicy.CACHE_ON_UPDATE;
 import static com.hazelcast.config.NearCacheConfig.LocalUpdatePolicy.INVALIDATE;
 import static com.hazelcast.internal.config.ConfigValidator.checkNearCacheConfig;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -66,6 +70,33 @@ public class ConfigValidatorNearCacheConfigTest extends HazelcastTestSupport {
         checkNearCacheConfig(MAP_NAME, getNearCacheConfig(BINARY), null, true);
     }
 
+    @Test
+    public void checkNearCacheConfig_NATIVE_onClients() {
+        assumeTrue(MEM_AVAILABLE);
+        NearCacheConfig nearCacheConfig = getNearCacheConfig(NATIVE)
+                .setCacheLocalEntries(false);
+
+        checkNearCacheConfig(MAP_NAME, nearCacheConfig, new NativeMemoryConfig().setEnabled(true), true);
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void checkNearCacheConfig_NATIVE_onClients_withoutNativeMemoryConfig() {
+        NearCacheConfig nearCacheConfig = getNearCacheConfig(NATIVE)
+                .setCacheLocalEntries(false);
+
+        checkNearCacheConfig(MAP_NAME, nearCacheConfig, new NativeMemoryConfig(), true);
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void checkNearCacheConfig_NATIVE_onClients_withUnsupportedMaxSizePolicy() {
+        assumeTrue(MEM_AVAILABLE);
+        NearCacheConfig nearCacheConfig = getNearCacheConfig(NATIVE)
+                .setCacheLocalEntries(false);
+        nearCacheConfig.getEvictionConfig().setMaxSizePolicy(USED_HEAP_SIZE);
+
+        checkNearCacheConfig(MAP_NAME, nearCacheConfig, new NativeMemoryConfig().setEnabled(true), true);
+    }
+
     @Test
     public void checkNearCacheConfig_withPreLoaderConfig_onClients() {
         NearCacheConfig nearCacheConfig = getNearCacheConfig(BINARY)
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * Replays a recorded key stream against a Near Cache record store and
+ * reports the hit ratio of plain LRU eviction versus LRU eviction with
+ * the {@link AdmissionPolicy#TINY_LFU TinyLFU} admission policy.
+ * <p>
+ * Usage: {@code AdmissionPolicyTraceReplayBenchmark [cacheSize] [traceFile]}.
+ * The trace file contains one key per line, only the first token of each
+ * line is used. Without a trace file a synthetic stream is replayed,
+ * Zipf distributed keys interleaved with scans of keys which are read
+ * only once.
+ * <p>
+ * This is no JUnit test.
+ */
+public class AdmissionPolicyTraceReplayBenchmark {
+
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private static final int SYNTHETIC_KEY_COUNT = 100000;
+    private static final int SYNTHETIC_STREAM_LENGTH = 2000000;
+    private static final double ZIPF_EXPONENT = 0.9;
+    private static final int SCAN_INTERVAL = 50000;
+    private static final int SCAN_LENGTH = 5000;
+
+    private static final SerializationService SERIALIZATION_SERVICE = new DefaultSerializationServiceBuilder().build();
+
+    public static void main(String[] args) throws IOException {
+        int cacheSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CACHE_SIZE;
+        String[] trace = args.length > 1 ? readTrace(args[1]) : syntheticTrace();
+
+        System.out.println(format("Replaying %d accesses with cache size %d", trace.length, cacheSize));
+        for (AdmissionPolicy admissionPolicy : AdmissionPolicy.values()) {
+            long start = System.nanoTime();
+            double hitRatio = replay(trace, cacheSize, admissionPolicy);
+            long tookMillis = (System.nanoTime() - start) / 1000000;
+            System.out.println(format("LRU + %-8s hit ratio: %6.2f%%, took %d ms",
+                    admissionPolicy, hitRatio * 100, tookMillis));
+        }
+    }
+
+    private static double replay(String[] trace, int cacheSize, AdmissionPolicy admissionPolicy) {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(cacheSize)
+                .setAdmissionPolicy(admissionPolicy);
+        NearCacheConfig nearCacheConfig = new NearCacheConfig("trace")
+                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setEvictionConfig(evictionConfig);
+        NearCacheRecordStore<String, String> recordStore
+                = new NearCacheObjectRecordStore<>("trace", nearCacheConfig, SERIALIZATION_SERVICE, null);
+        recordStore.initialize();
+
+        long hits = 0;
+        for (String key : trace) {
+            if (recordStore.get(key) != null) {
+                hits++;
+            } else if (recordStore.doEvictionToAdmit(key)) {
+                recordStore.put(key, null, key, null);
+            }
+        }
+        recordStore.destroy();
+        return (double) hits / trace.length;
+    }
+
+    private static String[] readTrace(String file) throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(file))) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(line -> line.split("\\s+", 2)[0])
+                    .toArray(String[]::new);
+        }
+    }
+
+    private static String[] syntheticTrace() {
+        double[] cumulative = new double[SYNTHETIC_KEY_COUNT];
+        double sum = 0;
+        for (int i = 0; i < SYNTHETIC_KEY_COUNT; i++) {
+            sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+
+        Random random = new Random(42);
+        List<String> trace = new ArrayList<>(SYNTHETIC_STREAM_LENGTH);
+        int scannedKey = 0;
+        while (trace.size() < SYNTHETIC_STREAM_LENGTH) {
+            if (trace.size() % SCAN_INTERVAL == 0) {
+                for (int i = 0; i < SCAN_LENGTH; i++) {
+                    trace.add("scan-" + scannedKey++);
+                }
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace.add("key-" + (index < 0 ? -index - 1 : index));
+        }
+        return trace.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.AdmissionFilter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
+import static com.hazelcast.config.MaxSizePolicy.PER_NODE;
+import static com.hazelcast.internal.eviction.AdmissionFilterProvider.getAdmissionFilter;
+import static com.hazelcast.internal.eviction.impl.admission.FrequencySketch.MAX_FREQUENCY;
+import static com.hazelcast.internal.eviction.impl.admission.FrequencySketch.SAMPLE_FACTOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static com.hazelcast.test.HazelcastTestSupport.assertInstanceOf;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLfuAdmissionFilterTest {
+
+    private final TinyLfuAdmissionFilter filter = new TinyLfuAdmissionFilter(1024);
+
+    @Test
+    public void testFrequency_countsAccesses() {
+        for (int i = 0; i < 5; i++) {
+            filter.recordAccess("hot");
+        }
+        filter.recordAccess("cold");
+
+        assertEquals(5, filter.frequency("hot"));
+        assertEquals(1, filter.frequency("cold"));
+        assertEquals(0, filter.frequency("unknown"));
+    }
+
+    @Test
+    public void testFrequency_saturates() {
+        for (int i = 0; i < 100; i++) {
+            filter.recordAccess("hot");
+        }
+
+        assertEquals(MAX_FREQUENCY, filter.frequency("hot"));
+    }
+
+    @Test
+    public void testFrequency_isHalvedPeriodically() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(8, sketch.frequency(42));
+
+        // other keys fill the sample until the counters are reset
+        for (int i = 0; i < SAMPLE_FACTOR * sketch.tableLength(); i++) {
+            sketch.increment(1000 + i);
+        }
+
+        assertTrue(sketch.frequency(42) < 8);
+    }
+
+    @Test
+    public void testAdmit_whenCandidateMoreFrequent() {
+        filter.recordAccess("candidate");
+        filter.recordAccess("candidate");
+        filter.recordAccess("victim");
+
+        assertTrue(filter.admit("candidate", "victim"));
+    }
+
+    @Test
+    public void testAdmit_whenCandidateLessFrequent() {
+        filter.recordAccess("candidate");
+        filter.recordAccess("victim");
+        filter.recordAccess("victim");
+
+        assertFalse(filter.admit("candidate", "victim"));
+    }
+
+    @Test
+    public void testAdmit_whenEquallyFrequent() {
+        filter.recordAccess("candidate");
+        filter.recordAccess("victim");
+
+        assertFalse(filter.admit("candidate", "victim"));
+    }
+
+    @Test
+    public void testEnsureCapacity_growsAndForgets() {
+        TinyLfuAdmissionFilter filter = new TinyLfuAdmissionFilter(16);
+        filter.recordAccess("key");
+
+        filter.ensureCapacity(8);
+        assertEquals(1, filter.frequency("key"));
+
+        filter.ensureCapacity(4096);
+        assertEquals(0, filter.frequency("key"));
+    }
+
+    @Test
+    public void testProvider_whenAdmissionPolicyNone() {
+        EvictionConfig evictionConfig = new EvictionConfig();
+
+        assertNull(getAdmissionFilter(evictionConfig, ENTRY_COUNT, 100));
+    }
+
+    @Test
+    public void testProvider_whenEvictionPolicyNone() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.NONE)
+                .setAdmissionPolicy(AdmissionPolicy.TINY_LFU);
+
+        assertNull(getAdmissionFilter(evictionConfig, ENTRY_COUNT, 100));
+    }
+
+    @Test
+    public void testProvider_whenTinyLfu() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setAdmissionPolicy(AdmissionPolicy.TINY_LFU);
+
+        AdmissionFilter admissionFilter = getAdmissionFilter(evictionConfig, PER_NODE, Integer.MAX_VALUE);
+
+        assertInstanceOf(TinyLfuAdmissionFilter.class, admissionFilter);
+    }
+}
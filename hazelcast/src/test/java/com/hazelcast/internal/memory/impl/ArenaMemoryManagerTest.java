@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArenaMemoryManagerTest {
+
+    private static final long CAPACITY = 1024;
+
+    private NativeMemoryBudget budget;
+    private ArenaMemoryManager arena;
+
+    @Before
+    public void setUp() {
+        budget = new NativeMemoryBudget(CAPACITY);
+        arena = budget.newArena();
+    }
+
+    @After
+    public void tearDown() {
+        arena.dispose();
+    }
+
+    @Test
+    public void testAllocate_returnsZeroedBlock() {
+        long address = arena.allocate(64);
+        MemoryAccessor mem = arena.getAccessor();
+        for (int i = 0; i < 64; i += 8) {
+            assertEquals(0L, mem.getLong(address + i));
+        }
+
+        assertEquals(64, arena.getUsedMemory());
+        assertEquals(64, budget.getUsed());
+        arena.free(address, 64);
+    }
+
+    @Test
+    public void testFree_releasesBudget() {
+        long address = arena.allocate(128);
+        arena.free(address, 128);
+
+        assertEquals(0, arena.getUsedMemory());
+        assertEquals(0, budget.getUsed());
+    }
+
+    @Test
+    public void testReallocate_keepsContentAndAccounting() {
+        MemoryAccessor mem = arena.getAccessor();
+        long address = arena.allocate(8);
+        mem.putLong(address, 42L);
+
+        address = arena.reallocate(address, 8, 16);
+        assertEquals(42L, mem.getLong(address));
+        assertEquals(0L, mem.getLong(address + 8));
+        assertEquals(16, budget.getUsed());
+
+        address = arena.reallocate(address, 16, 8);
+        assertEquals(42L, mem.getLong(address));
+        assertEquals(8, arena.getUsedMemory());
+        assertEquals(8, budget.getUsed());
+        arena.free(address, 8);
+    }
+
+    @Test
+    public void testAllocate_whenBudgetExceeded_thenThrowsAndKeepsAccounting() {
+        long address = arena.allocate(CAPACITY - 8);
+        try {
+            arena.allocate(16);
+            fail("NativeOutOfMemoryError expected");
+        } catch (NativeOutOfMemoryError expected) {
+            assertEquals(CAPACITY - 8, budget.getUsed());
+        }
+        arena.free(address, CAPACITY - 8);
+    }
+
+    @Test
+    public void testArenas_shareBudget() {
+        ArenaMemoryManager other = budget.newArena();
+        long address = arena.allocate(CAPACITY / 2);
+        long otherAddress = other.allocate(CAPACITY / 2);
+
+        assertEquals(CAPACITY, budget.getUsed());
+        assertEquals(CAPACITY / 2, other.getUsedMemory());
+
+        arena.free(address, CAPACITY / 2);
+        other.free(otherAddress, CAPACITY / 2);
+        other.dispose();
+    }
+}
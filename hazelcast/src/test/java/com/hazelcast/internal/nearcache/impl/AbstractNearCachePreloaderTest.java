@@ -22,6 +22,7 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig.PreloadMode;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.nearcache.NearCache;
@@ -197,6 +198,54 @@ public abstract class AbstractNearCachePreloaderTest<NK, NV> extends HazelcastTe
         assertNearCacheContent(clientContext, keyCount, keyType);
     }
 
+    @Test(timeout = 10 * MINUTE)
+    @Category(SlowTest.class)
+    public void testStoreAndLoadSnapshot_withIntegerKeys() {
+        storeAndLoadSnapshot(2342, INTEGER);
+    }
+
+    @Test(timeout = 10 * MINUTE)
+    @Category(SlowTest.class)
+    public void testStoreAndLoadSnapshot_withStringKeys() {
+        storeAndLoadSnapshot(4223, STRING);
+    }
+
+    private void storeAndLoadSnapshot(int keyCount, KeyType keyType) {
+        int updatedKeyCount = 10;
+        nearCacheConfig.getPreloaderConfig()
+                .setStoreInitialDelaySeconds(3)
+                .setStoreIntervalSeconds(1)
+                .setPreloadMode(PreloadMode.KEYS_AND_VALUES);
+
+        NearCacheTestContext<Object, String, NK, NV> context = createContext(true);
+
+        populateDataAdapter(context, keyCount, keyType);
+        populateNearCache(context, keyCount, keyType);
+        waitForNearCachePersistence(context, 1);
+        assertLastNearCachePersistence(context, getStoreFile(), keyCount);
+
+        // shutdown the first client
+        context.nearCacheInstance.shutdown();
+
+        // update some keys, so their partitions in the snapshot become stale
+        for (int i = 0; i < updatedKeyCount; i++) {
+            context.dataAdapter.put(createKey(keyType, i), "updated-value-" + i);
+        }
+
+        // start a new client which will restore the snapshot
+        NearCacheTestContext<Object, String, NK, NV> clientContext = createNearCacheContext();
+
+        // wait until the pre-loading is done, then check that no stale value was restored
+        assertNearCachePreloadDoneEventually(clientContext);
+        assertNearCacheSizeEventually(clientContext, keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            Object nearCacheKey = getNearCacheKey(clientContext, createKey(keyType, i));
+            String value = clientContext.serializationService.toObject(getValueFromNearCache(clientContext, nearCacheKey));
+            String expectedValue = (i < updatedKeyCount ? "updated-value-" : "value-") + i;
+            assertEqualsFormat("Expected value %s in Near Cache, but found %s (%s)", expectedValue, value, clientContext.stats);
+        }
+    }
+
     @Test(timeout = 10 * MINUTE)
     @Category(SlowTest.class)
     public void testCreateStoreFile_withInvalidDirectory() {
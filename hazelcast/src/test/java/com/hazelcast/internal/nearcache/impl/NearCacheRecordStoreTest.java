@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.AdmissionPolicy;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
@@ -37,6 +38,9 @@ import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 import java.util.Collection;
 
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParametrizedRunner.class)
@@ -169,4 +173,45 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
             assertTrue(maxSize >= nearCacheRecordStore.size());
         }
     }
+
+    @Test
+    public void evictionWithTinyLfuAdmissionPolicyKeepsFrequentlyReadRecords() {
+        int maxSize = DEFAULT_RECORD_COUNT / 2;
+
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize)
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setAdmissionPolicy(AdmissionPolicy.TINY_LFU);
+
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        for (int i = 0; i < maxSize; i++) {
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < maxSize; i++) {
+                assertNotNull(nearCacheRecordStore.get(i));
+            }
+        }
+
+        // a scan of keys which are read only once
+        for (int i = maxSize; i < DEFAULT_RECORD_COUNT; i++) {
+            assertNull(nearCacheRecordStore.get(i));
+            if (nearCacheRecordStore.doEvictionToAdmit(i)) {
+                nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            }
+            assertTrue(maxSize >= nearCacheRecordStore.size());
+        }
+
+        for (int i = 0; i < maxSize; i++) {
+            assertNotNull(nearCacheRecordStore.get(i));
+        }
+        for (int i = maxSize; i < DEFAULT_RECORD_COUNT; i++) {
+            assertFalse(nearCacheRecordStore.doEvictionToAdmit(i));
+        }
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.invalidation;
+
+import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class InvalidationCoalescingTest {
+
+    private static final String NAME = "name";
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final UUID localUuid = UUID.randomUUID();
+    private final UUID sourceUuid = UUID.randomUUID();
+    private final UUID partitionUuid = UUID.randomUUID();
+    private final UUID otherPartitionUuid = UUID.randomUUID();
+
+    private Data key1;
+    private Data key2;
+    private Data key3;
+
+    @Before
+    public void setUp() {
+        key1 = serializationService.toData("key1");
+        key2 = serializationService.toData("key2");
+        key3 = serializationService.toData("key3");
+    }
+
+    @Test
+    public void coalesce_whenNoKeyRepeats_thenInvalidationsUnchanged() {
+        List<Invalidation> invalidations = asList(
+                invalidation(key1, sourceUuid, partitionUuid, 1),
+                invalidation(key2, sourceUuid, partitionUuid, 2));
+
+        assertSame(invalidations, BatchInvalidator.coalesce(invalidations));
+    }
+
+    @Test
+    public void coalesce_keepsLastInvalidationOfKey() {
+        List<Invalidation> coalesced = BatchInvalidator.coalesce(asList(
+                invalidation(key1, sourceUuid, partitionUuid, 5),
+                invalidation(key1, sourceUuid, partitionUuid, 6),
+                invalidation(key2, sourceUuid, otherPartitionUuid, 3),
+                invalidation(key1, sourceUuid, partitionUuid, 7)));
+
+        assertEquals(3, coalesced.size());
+        assertEquals(key2, coalesced.get(0).getKey());
+        assertEquals(3, coalesced.get(0).getSequence());
+        // the only remaining invalidation of the partition is sent with both bounds of its range
+        assertEquals(key1, coalesced.get(1).getKey());
+        assertEquals(5, coalesced.get(1).getSequence());
+        assertEquals(key1, coalesced.get(2).getKey());
+        assertEquals(7, coalesced.get(2).getSequence());
+        assertEquals(sourceUuid, coalesced.get(2).getSourceUuid());
+    }
+
+    @Test
+    public void coalesce_thenClientSequenceCatchesUp() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isSerializeKeys()).thenReturn(true);
+        RepairingHandler repairingHandler = newRepairingHandler(nearCache);
+        repairingHandler.initUuid(0, partitionUuid);
+        repairingHandler.initSequence(0, 4);
+
+        repairingHandler.handle(new BatchNearCacheInvalidation(NAME, BatchInvalidator.coalesce(asList(
+                invalidation(key1, sourceUuid, partitionUuid, 5),
+                invalidation(key1, sourceUuid, partitionUuid, 6),
+                invalidation(key1, sourceUuid, partitionUuid, 7)))));
+        repairingHandler.handle(new BatchNearCacheInvalidation(NAME, asList(
+                invalidation(key2, sourceUuid, partitionUuid, 8))));
+
+        MetaDataContainer metaData = repairingHandler.getMetaDataContainer(0);
+        assertEquals(8, metaData.getSequence());
+        assertEquals(0, metaData.getMissedSequenceCount());
+    }
+
+    @Test
+    public void coalesce_keepsSequenceRangeOfPartition() {
+        List<Invalidation> coalesced = BatchInvalidator.coalesce(asList(
+                invalidation(key1, sourceUuid, partitionUuid, 5),
+                invalidation(key2, sourceUuid, partitionUuid, 6),
+                invalidation(key3, sourceUuid, partitionUuid, 7),
+                invalidation(key1, sourceUuid, partitionUuid, 8)));
+
+        assertEquals(3, coalesced.size());
+        assertEquals(key2, coalesced.get(0).getKey());
+        assertEquals(5, coalesced.get(0).getSequence());
+        assertEquals(key3, coalesced.get(1).getKey());
+        assertEquals(7, coalesced.get(1).getSequence());
+        assertEquals(key1, coalesced.get(2).getKey());
+        assertEquals(8, coalesced.get(2).getSequence());
+    }
+
+    @Test
+    public void coalesce_whenSourcesDiffer_thenNoSource() {
+        List<Invalidation> coalesced = BatchInvalidator.coalesce(asList(
+                invalidation(key1, sourceUuid, partitionUuid, 1),
+                invalidation(key1, UUID.randomUUID(), partitionUuid, 2)));
+
+        assertEquals(2, coalesced.size());
+        assertNull(coalesced.get(0).getSourceUuid());
+        assertNull(coalesced.get(1).getSourceUuid());
+    }
+
+    @Test
+    public void handleBatch_whenSequencesCoalesced_thenNoMissCounted() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isSerializeKeys()).thenReturn(true);
+        RepairingHandler repairingHandler = newRepairingHandler(nearCache);
+        repairingHandler.initUuid(0, partitionUuid);
+        repairingHandler.initSequence(0, 4);
+
+        repairingHandler.handle(new BatchNearCacheInvalidation(NAME, asList(
+                invalidation(key2, sourceUuid, partitionUuid, 5),
+                invalidation(key3, sourceUuid, partitionUuid, 7),
+                invalidation(key1, sourceUuid, partitionUuid, 8))));
+
+        MetaDataContainer metaData = repairingHandler.getMetaDataContainer(0);
+        assertEquals(8, metaData.getSequence());
+        assertEquals(0, metaData.getMissedSequenceCount());
+        verify(nearCache, times(3)).invalidate(any());
+    }
+
+    @Test
+    public void handleBatch_whenGapBeforeBatch_thenMissCounted() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isSerializeKeys()).thenReturn(true);
+        RepairingHandler repairingHandler = newRepairingHandler(nearCache);
+        repairingHandler.initUuid(0, partitionUuid);
+        repairingHandler.initSequence(0, 4);
+
+        repairingHandler.handle(new BatchNearCacheInvalidation(NAME, asList(
+                invalidation(key1, sourceUuid, partitionUuid, 7),
+                invalidation(key2, sourceUuid, partitionUuid, 8))));
+
+        MetaDataContainer metaData = repairingHandler.getMetaDataContainer(0);
+        assertEquals(8, metaData.getSequence());
+        assertEquals(2, metaData.getMissedSequenceCount());
+    }
+
+    @Test
+    public void handleBatch_whenLocalSource_thenNotInvalidated() {
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isSerializeKeys()).thenReturn(true);
+        RepairingHandler repairingHandler = newRepairingHandler(nearCache);
+
+        repairingHandler.handle(new BatchNearCacheInvalidation(NAME, asList(
+                invalidation(key1, localUuid, partitionUuid, 1))));
+
+        verify(nearCache, never()).invalidate(any());
+    }
+
+    private RepairingHandler newRepairingHandler(NearCache nearCache) {
+        MinimalPartitionService partitionService = mock(MinimalPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(1);
+        return new RepairingHandler(Logger.getLogger(getClass()), localUuid, NAME, nearCache,
+                serializationService, partitionService);
+    }
+
+    private static Invalidation invalidation(Data key, UUID sourceUuid, UUID partitionUuid, long sequence) {
+        return new SingleNearCacheInvalidation(key, NAME, sourceUuid, partitionUuid, sequence);
+    }
+}
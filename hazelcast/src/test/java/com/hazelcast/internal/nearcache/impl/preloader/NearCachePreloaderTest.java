@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheDataRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 2;
+    private static final int KEY_COUNT = 100;
+
+    private final String nearCacheName = randomName();
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+    private final Map<Integer, MetaDataContainer> metaData = new HashMap<>();
+    private final StaleReadDetector staleReadDetector = new TestStaleReadDetector();
+
+    private final Map<Data, Data> restoredEntries = new HashMap<>();
+    private final Set<Object> loadedKeys = new HashSet<>();
+
+    private NearCachePreloader<Integer> preloader;
+    private DataStructureAdapter<Object, ?> adapter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+            MetaDataContainer container = new MetaDataContainer();
+            container.setUuid(UUID.randomUUID());
+            container.setSequence(23);
+            metaData.put(partitionId, container);
+        }
+
+        NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig(true, "");
+        preloader = new NearCachePreloader<>(nearCacheName, preloaderConfig, nearCacheStats, serializationService);
+
+        adapter = mock(DataStructureAdapter.class);
+        doAnswer(invocation -> {
+            loadedKeys.addAll(invocation.getArgument(0));
+            return null;
+        }).when(adapter).getAll(anySet());
+    }
+
+    @After
+    public void tearDown() {
+        preloader.destroy();
+        deleteQuietly(new File("nearCache-" + nearCacheName + ".store"));
+    }
+
+    @Test
+    public void testStoreSnapshot_andRestoreAllEntries() {
+        preloader.storeSnapshot(createRecords(KEY_COUNT).entrySet().iterator(), staleReadDetector);
+
+        assertEquals(KEY_COUNT, nearCacheStats.getLastPersistenceKeyCount());
+        assertTrue(nearCacheStats.getLastPersistenceFailure().isEmpty());
+
+        preloader.loadKeys(adapter, this::restore);
+
+        assertEquals(KEY_COUNT, restoredEntries.size());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            Data value = restoredEntries.get(serializationService.toData(i));
+            assertEquals("value-" + i, serializationService.toObject(value));
+        }
+        verify(adapter, never()).getAll(anySet());
+    }
+
+    @Test
+    public void testStoreSnapshot_whenPartitionSequenceChanged_thenLoadKeysOfPartition() {
+        preloader.storeSnapshot(createRecords(KEY_COUNT).entrySet().iterator(), staleReadDetector);
+
+        metaData.get(1).setSequence(24);
+        preloader.loadKeys(adapter, this::restore);
+
+        assertEquals(KEY_COUNT / 2, restoredEntries.size());
+        assertEquals(KEY_COUNT / 2, loadedKeys.size());
+        for (Object key : loadedKeys) {
+            assertEquals(1, getPartitionId(key));
+        }
+    }
+
+    @Test
+    public void testStoreSnapshot_whenPartitionUuidChanged_thenLoadKeysOfPartition() {
+        preloader.storeSnapshot(createRecords(KEY_COUNT).entrySet().iterator(), staleReadDetector);
+
+        metaData.get(0).setUuid(UUID.randomUUID());
+        preloader.loadKeys(adapter, this::restore);
+
+        assertEquals(KEY_COUNT / 2, restoredEntries.size());
+        assertEquals(KEY_COUNT / 2, loadedKeys.size());
+        for (Object key : loadedKeys) {
+            assertEquals(0, getPartitionId(key));
+        }
+    }
+
+    @Test
+    public void testStoreSnapshot_skipsReservedAndCachedAsNullRecords() {
+        Map<Integer, NearCacheRecord> records = createRecords(KEY_COUNT);
+        records.get(0).setReservationId(42);
+        records.put(1, new NearCacheDataRecord(null, 0, Long.MAX_VALUE));
+        records.get(1).setCachedAsNull(true);
+
+        preloader.storeSnapshot(records.entrySet().iterator(), staleReadDetector);
+
+        assertEquals(KEY_COUNT - 2, nearCacheStats.getLastPersistenceKeyCount());
+        preloader.loadKeys(adapter, this::restore);
+        assertFalse(restoredEntries.containsKey(serializationService.toData(0)));
+        assertFalse(restoredEntries.containsKey(serializationService.toData(1)));
+    }
+
+    @Test
+    public void testLoadKeys_withoutRestorer_thenLoadAllKeys() {
+        preloader.storeSnapshot(createRecords(KEY_COUNT).entrySet().iterator(), staleReadDetector);
+
+        preloader.loadKeys(adapter);
+
+        assertEquals(KEY_COUNT, loadedKeys.size());
+    }
+
+    @Test
+    public void testLoadKeys_withKeyFile_thenLoadAllKeys() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys.add(i);
+        }
+        preloader.storeKeys(keys.iterator());
+
+        preloader.loadKeys(adapter, this::restore);
+
+        assertEquals(KEY_COUNT, loadedKeys.size());
+        assertTrue(restoredEntries.isEmpty());
+    }
+
+    private boolean restore(Data key, Data value, UUID partitionUuid, long sequence) {
+        MetaDataContainer container = metaData.get(getPartitionId(key));
+        if (!container.getUuid().equals(partitionUuid) || container.getSequence() != sequence) {
+            return false;
+        }
+        restoredEntries.put(key, value);
+        return true;
+    }
+
+    private Map<Integer, NearCacheRecord> createRecords(int count) {
+        Map<Integer, NearCacheRecord> records = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            records.put(i, new NearCacheDataRecord(serializationService.toData("value-" + i), 0, Long.MAX_VALUE));
+        }
+        return records;
+    }
+
+    private int getPartitionId(Object key) {
+        Object object = serializationService.toObject(key);
+        return (Integer) object % PARTITION_COUNT;
+    }
+
+    private class TestStaleReadDetector implements StaleReadDetector {
+
+        @Override
+        public boolean isStaleRead(Object key, NearCacheRecord record) {
+            return false;
+        }
+
+        @Override
+        public int getPartitionId(Object key) {
+            return NearCachePreloaderTest.this.getPartitionId(key);
+        }
+
+        @Override
+        public MetaDataContainer getMetaDataContainer(int partitionId) {
+            return metaData.get(partitionId);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.EvictionPolicy.LRU;
+import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
+import static com.hazelcast.config.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheNativeRecordStoreTest {
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private NativeMemoryBudget budget;
+    private NearCacheNativeRecordStore<Integer, String> store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+            assertEquals(0, budget.getUsed());
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        createStore(MEGABYTE, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(100));
+
+        put(1, "value1");
+        put(2, "value2");
+
+        assertEquals("value1", store.get(1));
+        assertEquals("value2", store.get(2));
+        assertNull(store.get(3));
+        assertEquals(2, store.size());
+        assertTrue(store.getMemoryManager().getUsedMemory() > 0);
+        assertEquals(store.getMemoryManager().getUsedMemory(), budget.getUsed());
+    }
+
+    @Test
+    public void testPutAfterInvalidate() {
+        createStore(MEGABYTE, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(100));
+
+        put(1, "value");
+        long usedMemory = store.getMemoryManager().getUsedMemory();
+        store.invalidate(1);
+        put(1, "value");
+
+        assertEquals("value", store.get(1));
+        assertEquals(usedMemory, store.getMemoryManager().getUsedMemory());
+        assertEquals(1, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testInvalidate_freesValue() {
+        createStore(MEGABYTE, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(100));
+
+        put(1, "value");
+        store.invalidate(1);
+
+        assertNull(store.get(1));
+        assertEquals(0, store.size());
+        assertEquals(0, store.getMemoryManager().getUsedMemory());
+    }
+
+    @Test
+    public void testClear_freesAllValues() {
+        createStore(MEGABYTE, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(100));
+
+        for (int i = 0; i < 50; i++) {
+            put(i, "value" + i);
+        }
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.getMemoryManager().getUsedMemory());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testEviction_withEntryCount() {
+        createStore(MEGABYTE, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(10).setEvictionPolicy(LRU));
+
+        for (int i = 0; i < 100; i++) {
+            put(i, "value" + i);
+            store.doEviction(false);
+        }
+
+        assertTrue("size: " + store.size(), store.size() <= 10);
+        assertEquals(store.size(), store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testEviction_withUsedNativeMemorySize() {
+        createStore(4 * MEGABYTE, new EvictionConfig().setMaxSizePolicy(USED_NATIVE_MEMORY_SIZE).setSize(1));
+
+        String value = new String(new char[64 * 1024]);
+        for (int i = 0; i < 100; i++) {
+            put(i, value);
+            store.doEviction(false);
+        }
+
+        assertTrue("used: " + store.getMemoryManager().getUsedMemory(),
+                store.getMemoryManager().getUsedMemory() <= MEGABYTE + 2 * value.length() * 2L);
+    }
+
+    @Test
+    public void testBudgetExhausted_dropsValueAndEvicts() {
+        createStore(1024, new EvictionConfig().setMaxSizePolicy(ENTRY_COUNT).setSize(100));
+
+        put(1, "value");
+        put(2, new String(new char[4096]));
+
+        assertNull(store.get(2));
+        // the only other entry is evicted to make room for the next one
+        assertEquals(0, store.size());
+        assertEquals(store.getMemoryManager().getUsedMemory(), budget.getUsed());
+        assertTrue(budget.getUsed() <= budget.getCapacity());
+    }
+
+    private void createStore(long capacity, EvictionConfig evictionConfig) {
+        assumeTrue(MEM_AVAILABLE);
+
+        NearCacheConfig config = new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.NATIVE)
+                .setSerializeKeys(false)
+                .setEvictionConfig(evictionConfig);
+
+        budget = new NativeMemoryBudget(capacity);
+        store = new NearCacheNativeRecordStore<>("name", config, serializationService,
+                getClass().getClassLoader(), budget);
+        store.initialize();
+    }
+
+    private void put(int key, String value) {
+        Data keyData = serializationService.toData(key);
+        store.put(key, keyData, value, serializationService.toData(value));
+    }
+}
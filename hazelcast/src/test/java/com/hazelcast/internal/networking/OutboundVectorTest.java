@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundVectorTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenThresholdNotPositive() {
+        new OutboundVector(0);
+    }
+
+    @Test
+    public void canAttach() {
+        OutboundVector vector = new OutboundVector(10);
+
+        assertFalse(vector.canAttach(9));
+        assertTrue(vector.canAttach(10));
+    }
+
+    @Test
+    public void write_preservesOrder() throws Exception {
+        OutboundVector vector = new OutboundVector(1);
+        ByteBuffer dst = ByteBuffer.allocate(100);
+
+        dst.put(bytes("header1"));
+        vector.attach(dst, bytes("payload1"), 0, 8);
+        dst.put(bytes("header2"));
+        vector.attach(dst, bytes("xpayload2x"), 1, 8);
+        dst.put(bytes("tail"));
+        vector.flip(dst);
+
+        CapturingChannel channel = new CapturingChannel(Integer.MAX_VALUE);
+        long written = vector.write(channel, dst);
+
+        assertEquals("header1payload1header2payload2tail", channel.content());
+        assertEquals(written, channel.bytes.size());
+        assertTrue(vector.isEmpty());
+        assertFalse(dst.hasRemaining());
+    }
+
+    @Test
+    public void write_whenPartiallyWritten() throws Exception {
+        OutboundVector vector = new OutboundVector(1);
+        ByteBuffer dst = ByteBuffer.allocate(100);
+
+        dst.put(bytes("header"));
+        vector.attach(dst, bytes("payload"), 0, 7);
+        dst.put(bytes("tail"));
+        vector.flip(dst);
+
+        CapturingChannel channel = new CapturingChannel(3);
+        vector.write(channel, dst);
+        assertFalse(vector.isEmpty());
+
+        while (!vector.isEmpty() || dst.hasRemaining()) {
+            if (vector.isEmpty()) {
+                channel.write(dst);
+            } else {
+                vector.write(channel, dst);
+            }
+        }
+
+        assertEquals("headerpayloadtail", channel.content());
+
+        // once the vector is empty, the dst buffer can be reused
+        compactOrClear(dst);
+        dst.put(bytes("next"));
+        vector.flip(dst);
+        assertEquals(4, dst.remaining());
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(UTF_8);
+    }
+
+    private static class CapturingChannel implements GatheringByteChannel {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxBytesPerWrite;
+
+        CapturingChannel(int maxBytesPerWrite) {
+            this.maxBytesPerWrite = maxBytesPerWrite;
+        }
+
+        String content() {
+            return new String(bytes.toByteArray(), UTF_8);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long written = 0;
+            for (int k = offset; k < offset + length; k++) {
+                written += write(srcs[k], (int) (maxBytesPerWrite - written));
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return write(src, maxBytesPerWrite);
+        }
+
+        private int write(ByteBuffer src, int max) {
+            int count = Math.min(src.remaining(), max);
+            for (int k = 0; k < count; k++) {
+                bytes.write(src.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SelectAdaptive_NioThreadTest extends NioThreadAbstractTest {
+
+    private long busyPollWindowNanos;
+
+    @Override
+    protected SelectorMode selectorMode() {
+        return SelectorMode.SELECT_ADAPTIVE;
+    }
+
+    @Override
+    protected void beforeStartThread() {
+        thread.setBusyPollWindowNanos(busyPollWindowNanos);
+    }
+
+    @Test
+    public void whenBusyPollWindowNotPassed_thenBusyPolling() {
+        busyPollWindowNanos = HOURS.toNanos(1);
+        whenValidSelectionKey_thenHandlerCalled();
+
+        assertTrueEventually(() -> assertTrue(thread.busyPollTimeNanos() > 0));
+        assertEquals(0, thread.blockedTimeNanos());
+    }
+
+    @Test
+    public void whenNoBusyPollWindow_thenBlocking() {
+        busyPollWindowNanos = 0;
+        whenValidSelectionKey_thenHandlerCalled();
+
+        assertTrueEventually(() -> assertTrue(thread.blockedTimeNanos() > 0));
+        assertEquals(0, thread.busyPollTimeNanos());
+    }
+
+    @Test
+    public void whenTaskAddedWhileBlocking_thenTaskExecuted() {
+        busyPollWindowNanos = 0;
+        whenValidSelectionKey_thenHandlerCalled();
+
+        Runnable task = mock(Runnable.class);
+        thread.addTaskAndWakeup(task);
+
+        assertTrueEventually(() -> verify(task).run());
+    }
+}
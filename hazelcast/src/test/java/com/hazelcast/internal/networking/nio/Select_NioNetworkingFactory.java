@@ -26,6 +26,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_GATHER_THRESHOLD;
 
 public class Select_NioNetworkingFactory implements NetworkingFactory {
 
@@ -44,6 +45,7 @@ public class Select_NioNetworkingFactory implements NetworkingFactory {
                         .inputThreadCount(properties.getInteger(IO_INPUT_THREAD_COUNT))
                         .outputThreadCount(properties.getInteger(IO_OUTPUT_THREAD_COUNT))
                         .balancerIntervalSeconds(properties.getInteger(IO_BALANCER_INTERVAL_SECONDS))
+                        .gatherWriteThreshold(properties.getInteger(IO_WRITE_GATHER_THRESHOLD))
                         .selectorMode(SelectorMode.SELECT));
     }
 }
@@ -61,4 +61,14 @@ public class SelectorModeTest {
     public void fromString_whenSelect() throws Exception {
         assertEquals(SelectorMode.SELECT, SelectorMode.fromString("select"));
     }
+
+    @Test
+    public void fromString_whenAdaptive() throws Exception {
+        assertEquals(SelectorMode.SELECT_ADAPTIVE, SelectorMode.fromString("adaptive"));
+    }
+
+    @Test
+    public void fromString_whenAdaptiveWithConfig() throws Exception {
+        assertEquals(SelectorMode.SELECT_ADAPTIVE, SelectorMode.fromString("adaptive,100"));
+    }
 }
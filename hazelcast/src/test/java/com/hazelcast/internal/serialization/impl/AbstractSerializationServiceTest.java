@@ -27,6 +27,7 @@ import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.StreamSerializer;
 import com.hazelcast.nio.serialization.TypedDataSerializable;
+import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -42,7 +43,9 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.nio.ByteOrder;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -84,6 +87,42 @@ public class AbstractSerializationServiceTest {
         }
     }
 
+    @Test
+    public void toData_primitiveKeys_sameBytesAsSerializer() {
+        assertPrimitiveFastPath(abstractSerializationService);
+    }
+
+    @Test
+    public void toData_primitiveKeys_sameBytesAsSerializer_littleEndian() {
+        assertPrimitiveFastPath(new DefaultSerializationServiceBuilder()
+                .setByteOrder(ByteOrder.LITTLE_ENDIAN)
+                .build());
+    }
+
+    @Test
+    public void toData_primitiveKeys_withPartitioningStrategy() {
+        PartitioningStrategy<Object> strategy = key -> key.toString();
+        for (Object key : new Object[]{42L, 42, Long.MIN_VALUE, Integer.MAX_VALUE}) {
+            Data data = abstractSerializationService.toData(key, strategy);
+            Data partitionKey = abstractSerializationService.toData(key.toString());
+
+            assertEquals(partitionKey.getPartitionHash(), data.getPartitionHash());
+            assertEquals(key, abstractSerializationService.toObject(data));
+        }
+    }
+
+    private static void assertPrimitiveFastPath(AbstractSerializationService ss) {
+        for (Object key : new Object[]{0L, -1L, 42L, Long.MIN_VALUE, Long.MAX_VALUE,
+                0, -1, 42, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            Data data = ss.toData(key);
+
+            // toBytes always goes through the registered serializer
+            assertArrayEquals(ss.toBytes(key), data.toByteArray());
+            assertEquals(key, ss.toObject(data));
+            assertEquals(key, ss.toObject(new HeapData(ss.toBytes(key))));
+        }
+    }
+
     @Test
     public void testExternalizable() {
         ExternalizableValue original = new ExternalizableValue(100);
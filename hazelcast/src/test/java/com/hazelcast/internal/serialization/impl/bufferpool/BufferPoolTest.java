@@ -36,6 +36,7 @@ import org.junit.runner.RunWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -112,6 +113,86 @@ public class BufferPoolTest extends HazelcastTestSupport {
         assertEquals(Version.UNKNOWN, found2.getVersion());
     }
 
+    @Test
+    public void returnOutputBuffer_whenMediumPayload_thenBufferRetained() {
+        BufferObjectDataOutput out = takeAndWrite(BufferPoolImpl.SMALL_MAX_CAPACITY + 1);
+        int capacity = out.capacity();
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(0, bufferPool.outputQueue.size());
+        assertEquals(1, bufferPool.sizeClasses[BufferPoolImpl.MEDIUM].queue.size());
+        assertEquals(capacity, bufferPool.getRetainedBytes());
+        BufferObjectDataOutput found = bufferPool.takeOutputBuffer();
+        assertSame(out, found);
+        assertEquals(0, found.position());
+        assertEquals(capacity, found.capacity());
+        assertEquals(0, bufferPool.getRetainedBytes());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenOversizedPayload_thenBufferTrimmed() {
+        BufferObjectDataOutput out = takeAndWrite(BufferPoolImpl.LARGE_MAX_CAPACITY + 1);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(1, bufferPool.outputQueue.size());
+        assertTrue(out.capacity() <= BufferPoolImpl.SMALL_MAX_CAPACITY);
+    }
+
+    @Test
+    public void takeOutputBuffer_whenPooledInSeveralSizeClasses_thenSizeClassOfPreviousPayloadFirst() {
+        BufferObjectDataOutput small = bufferPool.takeOutputBuffer();
+        BufferObjectDataOutput large = takeAndWrite(BufferPoolImpl.MEDIUM_MAX_CAPACITY + 1);
+        bufferPool.returnOutputBuffer(small);
+        bufferPool.returnOutputBuffer(large);
+
+        assertSame(large, bufferPool.takeOutputBuffer());
+        assertSame(small, bufferPool.takeOutputBuffer());
+    }
+
+    @Test
+    public void takeOutputBuffer_countsHitsAndMisses() {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(out);
+        bufferPool.takeOutputBuffer();
+
+        assertEquals(1, bufferPool.getMisses());
+        assertEquals(1, bufferPool.getHits());
+    }
+
+    @Test
+    public void takeOutputBuffer_whenLargeSizeClassIdle_thenTrimmed() {
+        BufferObjectDataOutput small = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(takeAndWrite(BufferPoolImpl.MEDIUM_MAX_CAPACITY + 1));
+        // the previous payload is small, so the large output is not taken anymore
+        bufferPool.returnOutputBuffer(small);
+
+        takeAndReturnUntilTrimCheck();
+        // not idle for long enough yet
+        assertEquals(1, bufferPool.sizeClasses[BufferPoolImpl.LARGE].queue.size());
+        assertEquals(0, bufferPool.getTrimmedBuffers());
+
+        bufferPool.sizeClasses[BufferPoolImpl.LARGE].lastTake -= BufferPoolImpl.IDLE_NANOS;
+        takeAndReturnUntilTrimCheck();
+
+        assertEquals(0, bufferPool.sizeClasses[BufferPoolImpl.LARGE].queue.size());
+        assertEquals(1, bufferPool.getTrimmedBuffers());
+        assertEquals(bufferPool.outputQueue.peek().capacity(), bufferPool.getRetainedBytes());
+    }
+
+    private void takeAndReturnUntilTrimCheck() {
+        for (int k = 0; k <= BufferPoolImpl.TRIM_CHECK_INTERVAL_MASK; k++) {
+            bufferPool.returnOutputBuffer(bufferPool.takeOutputBuffer());
+        }
+    }
+
+    private BufferObjectDataOutput takeAndWrite(int length) {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.writeZeroBytes(length);
+        return out;
+    }
+
     // ======================= in ==========================================
 
     @Test
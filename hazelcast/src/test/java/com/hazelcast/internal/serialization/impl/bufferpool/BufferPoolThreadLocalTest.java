@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -30,8 +31,11 @@ import org.junit.runner.RunWith;
 
 import java.lang.ref.WeakReference;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -64,6 +68,60 @@ public class BufferPoolThreadLocalTest extends HazelcastTestSupport {
         assertSame(pool1, pool2);
     }
 
+    @Test
+    public void metrics_whenDifferentThreads_thenAggregated() throws Exception {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        BufferPoolThreadLocal threadLocal = new BufferPoolThreadLocal(ss, new BufferPoolFactoryImpl(),
+                HazelcastInstanceNotActiveException::new);
+        Runnable takeTwiceAndReturn = () -> {
+            BufferPool pool = threadLocal.get();
+            pool.returnOutputBuffer(pool.takeOutputBuffer());
+            pool.returnOutputBuffer(pool.takeOutputBuffer());
+        };
+
+        CountDownLatch done = new CountDownLatch(1);
+
+        takeTwiceAndReturn.run();
+        Future<?> future = spawn((Runnable) () -> {
+            takeTwiceAndReturn.run();
+            assertOpenEventually(done);
+        });
+
+        assertTrueEventually(() -> assertEquals(2, threadLocal.hits()));
+        assertEquals(2, threadLocal.misses());
+        assertEquals(2L * ss.createObjectDataOutput().capacity(), threadLocal.retainedBytes());
+        assertEquals(0, threadLocal.trimmedBuffers());
+
+        done.countDown();
+        future.get();
+    }
+
+    @Test
+    public void metrics_whenThreadDies_thenCountersRetained() throws Exception {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        BufferPoolThreadLocal threadLocal = new BufferPoolThreadLocal(ss, new BufferPoolFactoryImpl(),
+                HazelcastInstanceNotActiveException::new);
+        Thread thread = new Thread(() -> {
+            BufferPool pool = threadLocal.get();
+            pool.returnOutputBuffer(pool.takeOutputBuffer());
+            pool.returnOutputBuffer(pool.takeOutputBuffer());
+        });
+
+        thread.start();
+        thread.join();
+
+        assertEquals(1, threadLocal.hits());
+        assertEquals(1, threadLocal.misses());
+        // the buffers of the dead thread are released with its pool
+        assertEquals(0, threadLocal.retainedBytes());
+
+        BufferPool pool = threadLocal.get();
+        pool.returnOutputBuffer(pool.takeOutputBuffer());
+
+        assertEquals(1, threadLocal.hits());
+        assertEquals(2, threadLocal.misses());
+    }
+
     @Test
     public void get_whenDifferentThreads_thenDifferentInstances() throws Exception {
         BufferPool pool1 = bufferPoolThreadLocal.get();
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import example.serialization.EmployeeDTO;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.TYPE_COMPACT;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.TYPE_COMPACT_COMPRESSED;
+import static com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer.COMPRESSION_ENABLED_PROPERTY;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createFixedSizeFieldsDTO;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createInMemorySchemaService;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createMainDTO;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createVarSizedFieldsDTO;
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactCompressedStreamSerializerAdapterTest {
+
+    private final SchemaService schemaService = createInMemorySchemaService();
+    private final InternalSerializationService plain = CompactTestUtil.createSerializationService(schemaService);
+    private final InternalSerializationService compressed = createCompressingSerializationService(schemaService);
+
+    @Test
+    public void testSerializeDeserialize() {
+        assertRoundTrip(createMainDTO());
+        assertRoundTrip(createFixedSizeFieldsDTO());
+        assertRoundTrip(createVarSizedFieldsDTO());
+        assertRoundTrip(new EmployeeDTO(-1, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testSerializeDeserialize_genericRecord_withWideOffsets() {
+        GenericRecord shortOffsets = compact("wide")
+                .setString("s", repeat('a', 1_000))
+                .setInt32("i", -5)
+                .setString("n", null)
+                .build();
+        GenericRecord intOffsets = compact("wide")
+                .setString("s", repeat('b', 100_000))
+                .setInt32("i", Integer.MIN_VALUE)
+                .setString("n", "n")
+                .build();
+
+        assertRoundTrip(shortOffsets);
+        assertRoundTrip(intOffsets);
+    }
+
+    @Test
+    public void testCompressedDataIsSmaller() {
+        EmployeeDTO employee = new EmployeeDTO(30, 102310312);
+
+        Data plainData = plain.toData(employee);
+        Data compressedData = compressed.toData(employee);
+
+        assertEquals(TYPE_COMPACT, plainData.getType());
+        assertEquals(TYPE_COMPACT_COMPRESSED, compressedData.getType());
+        assertTrue(compressedData.totalSize() < plainData.totalSize());
+    }
+
+    @Test
+    public void testSchemaAndGenericRecordAreReadable() throws IOException {
+        EmployeeDTO employee = new EmployeeDTO(30, 102310312);
+        Data data = compressed.toData(employee);
+
+        Schema schema = compressed.extractSchemaFromData(data);
+        InternalGenericRecord record = compressed.readAsInternalGenericRecord(data);
+
+        assertEquals(plain.extractSchemaFromData(plain.toData(employee)), schema);
+        assertEquals(30, record.getInt32("age"));
+        assertEquals(102310312, record.getInt64("id"));
+    }
+
+    @Test
+    public void testDecompressCompactData() throws IOException {
+        Object[] values = {createMainDTO(), createVarSizedFieldsDTO(), new EmployeeDTO(30, 102310312)};
+        for (Object value : values) {
+            Data compressedData = compressed.toData(value);
+
+            Data decompressedData = ((AbstractSerializationService) compressed).decompressCompactData(compressedData);
+
+            assertTrue(compressedData.isCompact());
+            assertEquals(TYPE_COMPACT, decompressedData.getType());
+            assertArrayEquals(plain.toData(value).toByteArray(), decompressedData.toByteArray());
+        }
+    }
+
+    @Test
+    public void testSetValueField() {
+        LazyMapEntry<Object, Object> entry = new LazyMapEntry<>();
+        entry.init(compressed, compressed.toData("key"), compressed.toData(new EmployeeDTO(30, 102310312)), null);
+
+        entry.setValueField("age", 31);
+
+        EmployeeDTO value = (EmployeeDTO) entry.getValue();
+        assertEquals(31, value.getAge());
+        assertEquals(102310312, value.getId());
+    }
+
+    @Test
+    public void testVarInts() throws IOException {
+        int[] ints = {0, 1, -1, 63, -64, 64, Short.MIN_VALUE, Short.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        long[] longs = {0, 1, -1, Integer.MIN_VALUE - 1L, Integer.MAX_VALUE + 1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        BufferObjectDataOutput out = plain.createObjectDataOutput();
+        for (int value : ints) {
+            CompactCompressedStreamSerializerAdapter.writeVarInt(out, value);
+        }
+        for (long value : longs) {
+            CompactCompressedStreamSerializerAdapter.writeVarLong(out, value);
+        }
+
+        BufferObjectDataInput in = plain.createObjectDataInput(out.toByteArray());
+        for (int value : ints) {
+            assertEquals(value, CompactCompressedStreamSerializerAdapter.readVarInt(in));
+        }
+        for (long value : longs) {
+            assertEquals(value, CompactCompressedStreamSerializerAdapter.readVarLong(in));
+        }
+        assertEquals(out.position(), in.position());
+    }
+
+    private void assertRoundTrip(Object expected) {
+        Data compressedData = compressed.toData(expected);
+        Data plainData = plain.toData(expected);
+        assertEquals(TYPE_COMPACT_COMPRESSED, compressedData.getType());
+
+        // readers do not need the compression to be enabled
+        assertEquals(expected, plain.toObject(compressedData));
+        assertEquals(expected, compressed.toObject(compressedData));
+        assertEquals(expected, compressed.toObject(plainData));
+        // also when written as a part of another object
+        Object[] array = compressed.toObject(compressed.toData(new Object[]{expected}));
+        assertEquals(expected, array[0]);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static InternalSerializationService createCompressingSerializationService(SchemaService schemaService) {
+        System.setProperty(COMPRESSION_ENABLED_PROPERTY, "true");
+        try {
+            return CompactTestUtil.createSerializationService(schemaService);
+        } finally {
+            System.clearProperty(COMPRESSION_ENABLED_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.CompactSerializerBenchmark.OrderDTO;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer.COMPRESSION_ENABLED_PROPERTY;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static java.lang.String.format;
+
+/**
+ * Compares the serialized size and the serialize/deserialize throughput of
+ * the regular and the compressed Compact format, for an object with mixed
+ * fields and for an object with mostly small integral fields.
+ * <p>
+ * Usage: {@code CompactCompressionBenchmark [iterations] [rounds]}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class CompactCompressionBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        InternalSerializationService regular = createService(false);
+        InternalSerializationService compressed = createService(true);
+        for (int round = 0; round < rounds; round++) {
+            System.out.println("round " + round);
+            run("order   regular   ", regular, OrderDTO.create(), iterations);
+            run("order   compressed", compressed, OrderDTO.create(), iterations);
+            run("counter regular   ", regular, CounterDTO.create(), iterations);
+            run("counter compressed", compressed, CounterDTO.create(), iterations);
+        }
+    }
+
+    private static InternalSerializationService createService(boolean compressionEnabled) {
+        System.setProperty(COMPRESSION_ENABLED_PROPERTY, String.valueOf(compressionEnabled));
+        try {
+            return createSerializationService();
+        } finally {
+            System.clearProperty(COMPRESSION_ENABLED_PROPERTY);
+        }
+    }
+
+    private static void run(String name, InternalSerializationService serializationService, Object object,
+                            int iterations) {
+        Data data = serializationService.toData(object);
+
+        long startNanos = System.nanoTime();
+        long blackhole = 0;
+        for (int i = 0; i < iterations; i++) {
+            blackhole += serializationService.toData(object).totalSize();
+        }
+        long serializeNanos = System.nanoTime() - startNanos;
+
+        startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            blackhole += serializationService.toObject(data).hashCode();
+        }
+        long deserializeNanos = System.nanoTime() - startNanos;
+
+        System.out.println(format("  %s size: %d bytes, serialize: %,d ops/s, deserialize: %,d ops/s (%d)", name,
+                data.totalSize(),
+                iterations * 1_000_000_000L / serializeNanos,
+                iterations * 1_000_000_000L / deserializeNanos,
+                blackhole % 10));
+    }
+
+    public static class CounterDTO {
+        private long id;
+        private long timestampMillis;
+        private long hits;
+        private long misses;
+        private int puts;
+        private int removes;
+        private int evictions;
+        private int expirations;
+        private short shard;
+        private short version;
+
+        static CounterDTO create() {
+            CounterDTO counter = new CounterDTO();
+            counter.id = 42;
+            counter.timestampMillis = System.currentTimeMillis();
+            counter.hits = 1_000;
+            counter.misses = 20;
+            counter.puts = 300;
+            counter.removes = 4;
+            counter.evictions = 0;
+            counter.expirations = 1;
+            counter.shard = 7;
+            counter.version = 1;
+            return counter;
+        }
+    }
+}
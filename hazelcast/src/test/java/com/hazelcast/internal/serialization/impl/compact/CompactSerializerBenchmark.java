@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer.GENERATED_SERIALIZERS_ENABLED_PROPERTY;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static java.lang.String.format;
+
+/**
+ * Compares the serialize/deserialize throughput of a POJO serialized with
+ * zero-config Compact serialization, using the {@link ReflectiveCompactSerializer}
+ * and the {@link GeneratedCompactSerializer}.
+ * <p>
+ * Usage: {@code CompactSerializerBenchmark [iterations] [rounds]}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class CompactSerializerBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        InternalSerializationService reflective = createService(false);
+        InternalSerializationService generated = createService(true);
+        for (int round = 0; round < rounds; round++) {
+            System.out.println("round " + round);
+            run("reflective", reflective, iterations);
+            run("generated ", generated, iterations);
+        }
+    }
+
+    private static InternalSerializationService createService(boolean generatedSerializersEnabled) {
+        System.setProperty(GENERATED_SERIALIZERS_ENABLED_PROPERTY, String.valueOf(generatedSerializersEnabled));
+        try {
+            return createSerializationService();
+        } finally {
+            System.clearProperty(GENERATED_SERIALIZERS_ENABLED_PROPERTY);
+        }
+    }
+
+    private static void run(String name, InternalSerializationService serializationService, int iterations) {
+        OrderDTO order = OrderDTO.create();
+        Data data = serializationService.toData(order);
+
+        long startNanos = System.nanoTime();
+        long blackhole = 0;
+        for (int i = 0; i < iterations; i++) {
+            blackhole += serializationService.toData(order).totalSize();
+        }
+        long serializeNanos = System.nanoTime() - startNanos;
+
+        startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            OrderDTO deserialized = serializationService.toObject(data);
+            blackhole += deserialized.quantity;
+        }
+        long deserializeNanos = System.nanoTime() - startNanos;
+
+        System.out.println(format("  %s serialize: %,d ops/s, deserialize: %,d ops/s (%d)", name,
+                iterations * 1_000_000_000L / serializeNanos,
+                iterations * 1_000_000_000L / deserializeNanos,
+                blackhole % 10));
+    }
+
+    public static class OrderDTO {
+        private long id;
+        private int quantity;
+        private short status;
+        private byte priority;
+        private char currency;
+        private boolean express;
+        private float discount;
+        private double price;
+        private long createdMillis;
+        private int customerId;
+        private String product;
+
+        static OrderDTO create() {
+            OrderDTO order = new OrderDTO();
+            order.id = 42;
+            order.quantity = 3;
+            order.status = 2;
+            order.priority = 1;
+            order.currency = 'E';
+            order.express = true;
+            order.discount = 0.1f;
+            order.price = 99.95;
+            order.createdMillis = System.currentTimeMillis();
+            order.customerId = 1234;
+            order.product = "keyboard";
+            return order;
+        }
+    }
+}
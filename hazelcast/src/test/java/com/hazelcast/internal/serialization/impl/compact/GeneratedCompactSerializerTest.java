@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer.GENERATED_SERIALIZERS_ENABLED_PROPERTY;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GeneratedCompactSerializerTest {
+
+    private static SerializationService createGeneratedSerializationService() {
+        return createGeneratedSerializationService(new CompactSerializationConfig());
+    }
+
+    private static SerializationService createGeneratedSerializationService(CompactSerializationConfig config) {
+        System.setProperty(GENERATED_SERIALIZERS_ENABLED_PROPERTY, "true");
+        try {
+            return createSerializationService(config);
+        } finally {
+            System.clearProperty(GENERATED_SERIALIZERS_ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testSerializeDeserialize() {
+        SerializationService serializationService = createGeneratedSerializationService();
+        PrimitivesDTO expected = PrimitivesDTO.create();
+
+        PrimitivesDTO actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertPrimitivesEqual(expected, actual);
+    }
+
+    @Test
+    public void testSerializeDeserialize_withFinalAndInheritedFields() {
+        SerializationService serializationService = createGeneratedSerializationService();
+        ChildDTO expected = new ChildDTO(5, "child");
+        expected.parentValue = 7L;
+
+        ChildDTO actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(5, actual.id);
+        assertEquals("child", actual.name);
+        assertEquals(7L, actual.parentValue);
+    }
+
+    @Test
+    public void testSerializeDeserialize_withoutEmptyConstructor() {
+        SerializationService serializationService = createGeneratedSerializationService();
+        ChildDTO expected = new ChildDTO(3, null);
+
+        ChildDTO actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(3, actual.id);
+        assertNull(actual.name);
+    }
+
+    @Test
+    public void testSameBinaryAsReflectiveSerializer() {
+        SerializationService generated = createGeneratedSerializationService();
+        SerializationService reflective = createSerializationService();
+        PrimitivesDTO expected = PrimitivesDTO.create();
+
+        Data generatedData = generated.toData(expected);
+        Data reflectiveData = reflective.toData(expected);
+
+        assertArrayEquals(reflectiveData.toByteArray(), generatedData.toByteArray());
+        assertPrimitivesEqual(expected, reflective.toObject(generatedData));
+        assertPrimitivesEqual(expected, generated.toObject(reflectiveData));
+    }
+
+    @Test
+    public void testDeserialize_whenSchemasWithMissingFields() {
+        SerializationService serializationService = createGeneratedSerializationService();
+        GenericRecord onlyInt = compact(PrimitivesDTO.class.getName())
+                .setInt32("i", 42)
+                .build();
+        GenericRecord onlyNullableLong = compact(PrimitivesDTO.class.getName())
+                .setNullableInt64("l", 43L)
+                .setString("s", "foo")
+                .build();
+        Data onlyIntData = serializationService.toData(onlyInt);
+        Data onlyNullableLongData = serializationService.toData(onlyNullableLong);
+
+        // alternate between the schemas to verify that the fields of the right schema are used
+        for (int i = 0; i < 3; i++) {
+            PrimitivesDTO first = serializationService.toObject(onlyIntData);
+            assertEquals(42, first.i);
+            assertEquals(0L, first.l);
+            assertNull(first.s);
+
+            PrimitivesDTO second = serializationService.toObject(onlyNullableLongData);
+            assertEquals(0, second.i);
+            assertEquals(43L, second.l);
+            assertEquals("foo", second.s);
+        }
+    }
+
+    @Test
+    public void testAccessorsAreDefinedPerSerializer() {
+        GeneratedCompactSerializer<PrimitivesDTO> serializer1 = new GeneratedCompactSerializer<>(null, PrimitivesDTO.class);
+        GeneratedCompactSerializer<PrimitivesDTO> serializer2 = new GeneratedCompactSerializer<>(null, PrimitivesDTO.class);
+
+        Class<?> accessorsClass1 = serializer1.accessors().getClass();
+        Class<?> accessorsClass2 = serializer2.accessors().getClass();
+        assertEquals(GeneratedCompactAccessors.class.getName(), accessorsClass1.getName());
+        assertNotSame(GeneratedCompactAccessors.class, accessorsClass1);
+        assertNotSame(accessorsClass1, accessorsClass2);
+    }
+
+    @Test
+    public void testSerialize_whenNestedFieldCannotBeCompact() {
+        CompactSerializationConfig config = new CompactSerializationConfig();
+        config.addClass(NestedDataSerializableDTO.class);
+        // the serializer is created at the registration, before the other serializers are known
+        SerializationService serializationService = createGeneratedSerializationService(config);
+
+        NestedDataSerializableDTO dto = new NestedDataSerializableDTO();
+        dto.nested = new DataSerializableDTO();
+        assertThrows(HazelcastSerializationException.class, () -> serializationService.toData(dto));
+    }
+
+    private static void assertPrimitivesEqual(PrimitivesDTO expected, PrimitivesDTO actual) {
+        assertEquals(expected.b, actual.b);
+        assertEquals(expected.c, actual.c);
+        assertEquals(expected.sh, actual.sh);
+        assertEquals(expected.i, actual.i);
+        assertEquals(expected.l, actual.l);
+        assertEquals(expected.f, actual.f, 0);
+        assertEquals(expected.d, actual.d, 0);
+        assertEquals(expected.bool, actual.bool);
+        assertEquals(expected.s, actual.s);
+        assertEquals(expected.boxed, actual.boxed);
+    }
+
+    public static class PrimitivesDTO {
+        private byte b;
+        private char c;
+        private short sh;
+        private int i;
+        private long l;
+        private float f;
+        private double d;
+        private boolean bool;
+        private String s;
+        private Integer boxed;
+
+        static PrimitivesDTO create() {
+            PrimitivesDTO dto = new PrimitivesDTO();
+            dto.b = 1;
+            dto.c = 'c';
+            dto.sh = 2;
+            dto.i = 3;
+            dto.l = 4;
+            dto.f = 5.5f;
+            dto.d = 6.5;
+            dto.bool = true;
+            dto.s = "string";
+            dto.boxed = 7;
+            return dto;
+        }
+    }
+
+    public static class ParentDTO {
+        long parentValue;
+    }
+
+    public static class ChildDTO extends ParentDTO {
+        private final int id;
+        private final String name;
+
+        public ChildDTO(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    public static class NestedDataSerializableDTO {
+        private DataSerializableDTO nested;
+    }
+
+    public static class DataSerializableDTO implements DataSerializable {
+        @Override
+        public void writeData(ObjectDataOutput out) {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+        }
+    }
+}
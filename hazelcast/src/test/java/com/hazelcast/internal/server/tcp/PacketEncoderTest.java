@@ -17,6 +17,7 @@
 package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundVector;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -31,6 +32,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
@@ -39,6 +41,8 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -91,6 +95,78 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenLargePayload_thenAttachedToOutboundVector() throws Exception {
+        Packet packet = new Packet(serializationService.toBytes(new byte[2000]));
+        Packet nextPacket = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        upcast(dst).flip();
+        OutboundVector vector = new OutboundVector(1000);
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.outboundVector(vector);
+
+        // the payload doesn't fit in dst, but it is attached instead of being copied
+        assertEquals(CLEAN, encoder.onWrite());
+        assertFalse(vector.isEmpty());
+        assertEquals(0, dst.remaining());
+
+        // as long as the payload isn't written, nothing is added to dst
+        src.queue.add(nextPacket);
+        assertEquals(DIRTY, encoder.onWrite());
+        assertEquals(0, dst.remaining());
+
+        ByteBufferChannel channel = new ByteBufferChannel();
+        vector.write(channel, dst);
+        assertTrue(vector.isEmpty());
+
+        assertEquals(CLEAN, encoder.onWrite());
+        channel.write(dst);
+
+        upcast(channel.target).flip();
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(packet, reader.readFrom(channel.target));
+        assertEquals(nextPacket, reader.readFrom(channel.target));
+    }
+
+    static class ByteBufferChannel implements GatheringByteChannel {
+        final ByteBuffer target = ByteBuffer.allocate(10000);
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long written = 0;
+            for (int k = offset; k < offset + length; k++) {
+                written += write(srcs[k]);
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            target.put(src);
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
@@ -18,8 +18,11 @@ package com.hazelcast.internal.tpc;
 
 import com.hazelcast.client.HazelcastClient;
 import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.impl.CapturingCollector;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.map.IMap;
@@ -29,9 +32,17 @@ import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Map;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_METRIC_TASK_GROUP_TASKS_COMPLETED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_PREFIX_TASK_GROUP;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TPC_TAG_TASK_GROUP;
 import static com.hazelcast.internal.tpc.TpcServerBootstrap.TPC_ENABLED;
 import static com.hazelcast.internal.tpc.TpcServerBootstrap.TPC_EVENTLOOP_COUNT;
+import static com.hazelcast.spi.impl.operationexecutor.impl.TpcOperationScheduler.OPERATIONS_TASK_GROUP;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 public class TpcIntegrationTest extends HazelcastTestSupport {
@@ -80,4 +91,32 @@ public class TpcIntegrationTest extends HazelcastTestSupport {
 
         assertEquals(iterations, map.size());
     }
+
+    @Test
+    public void testTaskGroupMetrics() {
+        Config config = new Config();
+        config.getTpcConfig().setEnabled(true);
+        server = Hazelcast.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = server.getMap("foo");
+        for (int k = 0; k < iterations; k++) {
+            map.put(k, k);
+        }
+
+        assertTrueEventually(() -> {
+            CapturingCollector collector = new CapturingCollector();
+            getNodeEngineImpl(server).getMetricsRegistry().collect(collector);
+
+            long tasksCompleted = 0;
+            for (Map.Entry<MetricDescriptor, CapturingCollector.Capture> entry : collector.captures().entrySet()) {
+                MetricDescriptor descriptor = entry.getKey();
+                if (TPC_PREFIX_TASK_GROUP.equals(descriptor.prefix())
+                        && TPC_METRIC_TASK_GROUP_TASKS_COMPLETED.equals(descriptor.metric())
+                        && OPERATIONS_TASK_GROUP.equals(descriptor.tagValue(TPC_TAG_TASK_GROUP))) {
+                    tasksCompleted += entry.getValue().singleCapturedValue().longValue();
+                }
+            }
+            assertTrue(tasksCompleted >= iterations);
+        });
+    }
 }
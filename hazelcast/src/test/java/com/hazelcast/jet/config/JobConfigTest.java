@@ -18,6 +18,8 @@ package com.hazelcast.jet.config;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.jet.core.DAG;
 import com.hazelcast.jet.core.JetTestSupport;
 import com.hazelcast.nio.ObjectDataInput;
@@ -168,6 +170,47 @@ public class JobConfigTest extends JetTestSupport {
         assertThat(config.isSuspendOnFailure()).isEqualTo(TRUE);
     }
 
+    @Test
+    public void when_default_then_heapAggregationStateBackend() {
+        // When
+        JobConfig config = new JobConfig();
+
+        // Then
+        assertThat(config.getAggregationStateBackend()).isEqualTo(AggregationStateBackend.HEAP);
+        assertThat(config.getAggregationMemoryLimit()).isEqualTo(64L << 20);
+    }
+
+    @Test
+    public void when_aggregationStateBackendSet_then_aggregationStateBackendIsReturned() {
+        // Given
+        JobConfig config = new JobConfig();
+
+        // When
+        config.setAggregationStateBackend(AggregationStateBackend.OFF_HEAP)
+              .setAggregationMemoryLimit(1024);
+
+        // Then
+        assertThat(config.getAggregationStateBackend()).isEqualTo(AggregationStateBackend.OFF_HEAP);
+        assertThat(config.getAggregationMemoryLimit()).isEqualTo(1024);
+    }
+
+    @Test
+    public void when_serialized_then_aggregationStateBackendIsKept() {
+        // Given
+        JobConfig config = new JobConfig()
+                .setAggregationStateBackend(AggregationStateBackend.OFF_HEAP)
+                .setAggregationMemoryLimit(1024);
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        JobConfig deserialized = serializationService.toObject(serializationService.toData(config));
+
+        // Then
+        assertThat(deserialized).isEqualTo(config);
+        assertThat(deserialized.getAggregationStateBackend()).isEqualTo(AggregationStateBackend.OFF_HEAP);
+        assertThat(deserialized.getAggregationMemoryLimit()).isEqualTo(1024);
+    }
+
     @Test
     public void addCustomClasspath() {
         JobConfig jobConfig = new JobConfig();
@@ -268,7 +311,9 @@ public class JobConfigTest extends JetTestSupport {
                 () -> jobConfig.setMetricsEnabled(false),
                 () -> jobConfig.setStoreMetricsAfterJobCompletion(false),
                 () -> jobConfig.setMaxProcessorAccumulatedRecords(0L),
-                () -> jobConfig.setTimeoutMillis(0L)
+                () -> jobConfig.setTimeoutMillis(0L),
+                () -> jobConfig.setAggregationStateBackend(null),
+                () -> jobConfig.setAggregationMemoryLimit(0L)
         );
 
         jobConfig.lock();
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.aggregate.AggregateOperations.summingLong;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapAccumulatorMapTest {
+
+    private static final AggregateOperation1<Long, LongAccumulator, Long> SUMMING = summingLong(Long::longValue);
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private OffHeapAggregationState state;
+
+    @After
+    public void after() {
+        if (state != null) {
+            state.dispose();
+            assertEquals(0, state.getUsedMemory());
+        }
+    }
+
+    @Test
+    public void when_fitsInMemory_then_noSpill() {
+        state = new OffHeapAggregationState(serializationService, 1 << 20);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map = state.newMap(SUMMING);
+
+        for (long i = 0; i < 300; i++) {
+            assertEquals(i < 100, map.accumulate(0, i % 100, i));
+        }
+
+        assertEquals(0, map.runCount());
+        assertEquals(100, map.size());
+        assertThat(state.getUsedMemory()).isPositive();
+        assertSums(map, 100, 3);
+    }
+
+    @Test
+    public void when_memoryLimitReached_then_spillAndMerge() {
+        state = new OffHeapAggregationState(serializationService, 16 << 10);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map = state.newMap(SUMMING);
+
+        for (long i = 0; i < 10_000; i++) {
+            map.accumulate(0, i % 2000, i);
+        }
+
+        assertThat(map.runCount()).isGreaterThan(1);
+        assertThat(state.getUsedMemory()).isLessThanOrEqualTo(16 << 10);
+        assertSums(map, 2000, 5);
+        assertEquals(1, map.runCount());
+    }
+
+    @Test
+    public void when_accumulatedAfterIteration_then_iteratedAgain() {
+        state = new OffHeapAggregationState(serializationService, 16 << 10);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map = state.newMap(SUMMING);
+        for (long i = 0; i < 4000; i++) {
+            map.accumulate(0, i % 2000, i);
+        }
+        assertSums(map, 2000, 2);
+
+        for (long i = 4000; i < 6000; i++) {
+            map.accumulate(0, i % 2000, i);
+        }
+
+        assertSums(map, 2000, 3);
+    }
+
+    @Test
+    public void when_oneMapExceedsLimit_then_allMapsSpill() {
+        state = new OffHeapAggregationState(serializationService, 16 << 10);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map1 = state.newMap(SUMMING);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map2 = state.newMap(SUMMING);
+        for (long i = 0; i < 100; i++) {
+            map1.accumulate(0, i, i);
+        }
+
+        for (long i = 0; i < 2000; i++) {
+            map2.accumulate(0, i, i);
+        }
+
+        assertEquals(1, map1.runCount());
+        assertSums(map1, 100, 1);
+        assertSums(map2, 2000, 1);
+    }
+
+    @Test
+    public void when_combine_then_combinedWithRecordInMemory() {
+        state = new OffHeapAggregationState(serializationService, 1 << 20);
+        OffHeapAccumulatorMap<String, LongAccumulator> map = state.newMap(SUMMING);
+
+        assertTrue(map.combine("a", new LongAccumulator(1)));
+        assertFalse(map.combine("a", new LongAccumulator(2)));
+        assertTrue(map.combine("b", new LongAccumulator(3)));
+
+        Map<String, Long> result = new HashMap<>();
+        map.forEach((k, v) -> result.put(k, v.get()));
+        assertEquals(Map.of("a", 3L, "b", 3L), result);
+    }
+
+    @Test
+    public void when_noCombineFnAndLimitReached_then_limitExceeded() {
+        AggregateOperation1<Long, LongAccumulator, Long> aggrOp = AggregateOperation
+                .withCreate(LongAccumulator::new)
+                .<Long>andAccumulate(LongAccumulator::add)
+                .andExportFinish(LongAccumulator::get);
+        state = new OffHeapAggregationState(serializationService, 16 << 10);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map = state.newMap(aggrOp);
+
+        assertThatThrownBy(() -> {
+            for (long i = 0; i < 10_000; i++) {
+                map.accumulate(0, i, i);
+            }
+        }).isInstanceOf(AccumulationLimitExceededException.class);
+    }
+
+    @Test
+    public void when_disposed_then_memoryReleased() {
+        state = new OffHeapAggregationState(serializationService, 16 << 10);
+        OffHeapAccumulatorMap<Long, LongAccumulator> map = state.newMap(SUMMING);
+        for (long i = 0; i < 2000; i++) {
+            map.accumulate(0, i, i);
+        }
+
+        map.dispose();
+
+        assertEquals(0, state.getUsedMemory());
+        assertEquals(0, map.runCount());
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Asserts that key {@code k} maps to the sum of the first {@code rounds}
+     * values {@code k + n * keyCount}.
+     */
+    private static void assertSums(OffHeapAccumulatorMap<Long, LongAccumulator> map, int keyCount, int rounds) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Entry<Long, LongAccumulator> e : map.entrySet()) {
+            assertThat(result.put(e.getKey(), e.getValue().get())).isNull();
+        }
+        assertEquals(keyCount, result.size());
+        for (long k = 0; k < keyCount; k++) {
+            long expected = rounds * k + (long) keyCount * rounds * (rounds - 1) / 2;
+            assertEquals("key " + k, expected, (long) result.get(k));
+        }
+    }
+}
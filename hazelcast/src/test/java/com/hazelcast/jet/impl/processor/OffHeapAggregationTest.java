@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.config.AggregationStateBackend;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.SlidingWindowPolicy;
+import com.hazelcast.jet.core.TimestampKind;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.core.test.TestProcessorSupplierContext;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.datamodel.KeyedWindowResult;
+import com.hazelcast.jet.impl.processor.SlidingWindowP.SnapshotKey;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.SlidingWindowPolicy.slidingWinPolicy;
+import static com.hazelcast.jet.core.SlidingWindowPolicy.tumblingWinPolicy;
+import static com.hazelcast.jet.core.processor.Processors.aggregateByKeyP;
+import static com.hazelcast.jet.core.processor.Processors.aggregateToSlidingWindowP;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapAggregationTest extends SimpleTestInClusterSupport {
+
+    private static final int KEY_COUNT = 50;
+    private static final int ITEM_COUNT = 4 * KEY_COUNT;
+
+    private final JobConfig jobConfig = new JobConfig()
+            .setAggregationStateBackend(AggregationStateBackend.OFF_HEAP)
+            // small enough to spill several times
+            .setAggregationMemoryLimit(4 << 10);
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void groupP() {
+        FunctionEx<Integer, Integer> keyFn = i -> i % KEY_COUNT;
+        List<Integer> input = IntStream.range(0, ITEM_COUNT).boxed().collect(toList());
+        List<Entry<Integer, Long>> expected = input.stream()
+                .collect(groupingBy(keyFn, Collectors.counting()))
+                .entrySet().stream()
+                .map(e -> entry(e.getKey(), e.getValue()))
+                .collect(toList());
+
+        TestSupport
+                .verifyProcessor(aggregateByKeyP(singletonList(keyFn), counting(), Util::entry))
+                .hazelcastInstance(instance())
+                .jobConfig(jobConfig)
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(input)
+                .expectOutput(expected);
+    }
+
+    @Test
+    public void when_offHeap_then_notCooperative() {
+        assertThat(groupP(jobConfig).isCooperative()).isFalse();
+        assertThat(slidingWindowP(jobConfig).isCooperative()).isFalse();
+    }
+
+    @Test
+    public void when_heap_then_cooperative() {
+        JobConfig heapJobConfig = new JobConfig();
+        assertThat(groupP(heapJobConfig).isCooperative()).isTrue();
+        assertThat(slidingWindowP(heapJobConfig).isCooperative()).isTrue();
+    }
+
+    @Test
+    public void when_duplicateKeyRestored_then_fails() throws Exception {
+        SlidingWindowP<Integer, ?, ?, ?> p = (SlidingWindowP<Integer, ?, ?, ?>) slidingWindowP(jobConfig);
+        p.init(new TestOutbox(1), new TestProcessorContext().setHazelcastInstance(instance()).setJobConfig(jobConfig));
+        try {
+            p.restoreFromSnapshot(new SnapshotKey(2, 1), new LongAccumulator(1));
+            assertThatThrownBy(() -> p.restoreFromSnapshot(new SnapshotKey(2, 1), new LongAccumulator(1)))
+                    .isInstanceOf(JetException.class)
+                    .hasMessageContaining("Duplicate key in snapshot");
+        } finally {
+            p.close();
+        }
+    }
+
+    @Test
+    public void slidingWindowP_tumbling() {
+        testSlidingWindowP(tumblingWinPolicy(2));
+    }
+
+    @Test
+    public void slidingWindowP_sliding() {
+        testSlidingWindowP(slidingWinPolicy(4, 2));
+    }
+
+    private void testSlidingWindowP(SlidingWindowPolicy winPolicy) {
+        FunctionEx<Entry<Long, Integer>, Integer> keyFn = Entry::getValue;
+        ToLongFunctionEx<Entry<Long, Integer>> timestampFn = Entry::getKey;
+        List<Entry<Long, Integer>> input = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> entry((long) i % 8, i % KEY_COUNT))
+                .collect(toList());
+
+        // window end -> key -> count
+        Map<Long, Map<Integer, Long>> counts = new TreeMap<>();
+        for (Entry<Long, Integer> item : input) {
+            long frameTs = winPolicy.higherFrameTs(item.getKey());
+            for (long end = frameTs; end < frameTs + winPolicy.windowSize(); end += winPolicy.frameSize()) {
+                counts.computeIfAbsent(end, x -> new TreeMap<>()).merge(item.getValue(), 1L, Long::sum);
+            }
+        }
+        List<KeyedWindowResult<Integer, Long>> expected = counts.entrySet().stream()
+                .flatMap(e -> e.getValue().entrySet().stream()
+                        .map(e2 -> new KeyedWindowResult<>(
+                                e.getKey() - winPolicy.windowSize(), e.getKey(), e2.getKey(), e2.getValue())))
+                .collect(toList());
+
+        TestSupport
+                .verifyProcessor(aggregateToSlidingWindowP(singletonList(keyFn), singletonList(timestampFn),
+                        TimestampKind.EVENT, winPolicy, 0L, counting(), KeyedWindowResult::new))
+                .hazelcastInstance(instance())
+                .jobConfig(jobConfig)
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(input)
+                .expectOutput(expected);
+    }
+
+    private static Processor groupP(JobConfig jobConfig) {
+        FunctionEx<Integer, Integer> keyFn = i -> i % KEY_COUNT;
+        return processor(aggregateByKeyP(singletonList(keyFn), counting(), Util::entry), jobConfig);
+    }
+
+    private static Processor slidingWindowP(JobConfig jobConfig) {
+        FunctionEx<Entry<Long, Integer>, Integer> keyFn = Entry::getValue;
+        ToLongFunctionEx<Entry<Long, Integer>> timestampFn = Entry::getKey;
+        return processor(aggregateToSlidingWindowP(singletonList(keyFn), singletonList(timestampFn),
+                TimestampKind.EVENT, tumblingWinPolicy(2), 0L, counting(), KeyedWindowResult::new), jobConfig);
+    }
+
+    private static Processor processor(SupplierEx<Processor> supplier, JobConfig jobConfig) {
+        return TestSupport.supplierFrom(ProcessorSupplier.of(supplier),
+                new TestProcessorSupplierContext().setJobConfig(jobConfig)).get();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public abstract class AbstractMapQueryResultIterableTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 500;
+    private static final int FETCH_SIZE = 7;
+
+    protected TestHazelcastFactory factory;
+    protected HazelcastInstance instanceProxy;
+
+    private IMap<Integer, String> map;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        instanceProxy = createInstanceProxy();
+        map = instanceProxy.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, "value-" + i);
+        }
+    }
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    protected abstract HazelcastInstance createInstanceProxy();
+
+    protected abstract Iterable<Integer> keySetIterable(IMap<Integer, String> map, int fetchSize,
+                                                        Predicate<Integer, String> predicate);
+
+    protected abstract Iterable<String> valuesIterable(IMap<Integer, String> map, int fetchSize,
+                                                       Predicate<Integer, String> predicate);
+
+    protected abstract Iterable<Entry<Integer, String>> entrySetIterable(IMap<Integer, String> map, int fetchSize,
+                                                                         Predicate<Integer, String> predicate);
+
+    @Test
+    public void testKeySetIterable() {
+        Predicate<Integer, String> predicate = Predicates.lessThan("__key", 300);
+
+        assertThat(collect(keySetIterable(map, FETCH_SIZE, predicate)))
+                .containsExactlyInAnyOrderElementsOf(map.keySet(predicate));
+    }
+
+    @Test
+    public void testValuesIterable() {
+        Predicate<Integer, String> predicate = Predicates.greaterEqual("__key", 100);
+
+        assertThat(collect(valuesIterable(map, FETCH_SIZE, predicate)))
+                .containsExactlyInAnyOrderElementsOf(map.values(predicate));
+    }
+
+    @Test
+    public void testEntrySetIterable() {
+        Predicate<Integer, String> predicate = Predicates.like("this", "value-1%");
+
+        Map<Integer, String> expected = new HashMap<>();
+        for (Entry<Integer, String> entry : map.entrySet(predicate)) {
+            expected.put(entry.getKey(), entry.getValue());
+        }
+
+        Map<Integer, String> actual = new HashMap<>();
+        for (Entry<Integer, String> entry : entrySetIterable(map, FETCH_SIZE, predicate)) {
+            actual.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testEntrySetIterable_deserializesEntriesLazily() {
+        Predicate<Integer, String> predicate = Predicates.equal("__key", 42);
+
+        Entry<Integer, String> entry = entrySetIterable(map, FETCH_SIZE, predicate).iterator().next();
+
+        assertThat(entry).isInstanceOf(LazyMapEntry.class);
+        LazyMapEntry<Integer, String> lazyEntry = (LazyMapEntry<Integer, String>) entry;
+        assertNull(lazyEntry.getKeyIfPresent());
+        assertNotNull(lazyEntry.getKeyData());
+        assertEquals(42, (int) lazyEntry.getKey());
+        assertEquals("value-42", lazyEntry.getValue());
+    }
+
+    @Test
+    public void testIterable_whenNothingMatches() {
+        Predicate<Integer, String> predicate = Predicates.equal("this", "absent");
+
+        assertFalse(keySetIterable(map, FETCH_SIZE, predicate).iterator().hasNext());
+        assertFalse(valuesIterable(map, FETCH_SIZE, predicate).iterator().hasNext());
+        assertFalse(entrySetIterable(map, FETCH_SIZE, predicate).iterator().hasNext());
+    }
+
+    @Test
+    public void testIterable_isReusable() {
+        Iterable<Integer> keys = keySetIterable(map, FETCH_SIZE, Predicates.alwaysTrue());
+
+        assertEquals(ENTRY_COUNT, collect(keys).size());
+        assertEquals(ENTRY_COUNT, collect(keys).size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testIterable_whenNullPredicate() {
+        keySetIterable(map, FETCH_SIZE, null);
+    }
+
+    private static <T> List<T> collect(Iterable<T> iterable) {
+        List<T> result = new ArrayList<>();
+        iterable.forEach(result::add);
+        return result;
+    }
+}
@@ -1476,6 +1476,19 @@ public class EntryProcessorTest extends HazelcastTestSupport {
                 1L, interceptGetCallCounter.sum());
     }
 
+    @Test
+    public void testSetValueField_whenCompactValue() {
+        IMap<String, CompactCounter> map = createHazelcastInstance(getConfig()).getMap(MAP_NAME);
+        map.put("key", new CompactCounter("counter", 41));
+
+        long result = map.executeOnKey("key", new CompactCounterIncrementor());
+
+        assertEquals(42, result);
+        CompactCounter counter = map.get("key");
+        assertEquals("counter", counter.name);
+        assertEquals(42, counter.count);
+    }
+
     private void testEntryProcessorWithPredicate_updatesLastAccessTime(boolean accessExpected) {
         Config config = withoutNetworkJoin(getConfig());
         config.getMetricsConfig().setEnabled(false);
@@ -1500,6 +1513,26 @@ public class EntryProcessorTest extends HazelcastTestSupport {
 
     }
 
+    private static class CompactCounter {
+        private String name;
+        private long count;
+
+        CompactCounter(String name, long count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    private static class CompactCounterIncrementor implements EntryProcessor<String, CompactCounter, Long> {
+        @Override
+        public Long process(Entry<String, CompactCounter> entry) {
+            ExtendedMapEntry<String, CompactCounter> extendedEntry = (ExtendedMapEntry<String, CompactCounter>) entry;
+            long count = extendedEntry.getValueAsGenericRecord().getInt64("count") + 1;
+            extendedEntry.setValueField("count", count);
+            return count;
+        }
+    }
+
     private static class MyData implements Serializable {
         private long lastValue;
 
@@ -504,6 +504,22 @@ public class LocalIndexStatsTest extends HazelcastTestSupport {
         assertEquals(0, keyStats().getRemoveCount());
     }
 
+    @Test
+    public void testRebuildTracking() {
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        addIndex(map, "this", true);
+        assertEquals(100, valueStats().getRebuildCount());
+        assertTrue(valueStats().getTotalRebuildLatency() > 0);
+        assertEquals(100, valueStats().getInsertCount());
+
+        map.put(100, 100);
+        assertEquals(100, valueStats().getRebuildCount());
+        assertEquals(101, valueStats().getInsertCount());
+    }
+
     @Test
     public void testUpdateTracking() {
         addIndex(map, "__key", false);
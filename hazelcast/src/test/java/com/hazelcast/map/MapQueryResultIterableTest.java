@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map.Entry;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapQueryResultIterableTest extends AbstractMapQueryResultIterableTest {
+
+    @Override
+    protected HazelcastInstance createInstanceProxy() {
+        return factory.newHazelcastInstance(smallInstanceConfig());
+    }
+
+    @Override
+    protected Iterable<Integer> keySetIterable(IMap<Integer, String> map, int fetchSize,
+                                               Predicate<Integer, String> predicate) {
+        return ((MapProxyImpl<Integer, String>) map).keySetIterable(fetchSize, predicate);
+    }
+
+    @Override
+    protected Iterable<String> valuesIterable(IMap<Integer, String> map, int fetchSize,
+                                              Predicate<Integer, String> predicate) {
+        return ((MapProxyImpl<Integer, String>) map).valuesIterable(fetchSize, predicate);
+    }
+
+    @Override
+    protected Iterable<Entry<Integer, String>> entrySetIterable(IMap<Integer, String> map, int fetchSize,
+                                                                Predicate<Integer, String> predicate) {
+        return ((MapProxyImpl<Integer, String>) map).entrySetIterable(fetchSize, predicate);
+    }
+}
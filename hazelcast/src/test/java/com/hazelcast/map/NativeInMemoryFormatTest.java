@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeInMemoryFormatTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "native";
+
+    @Test
+    public void testBasicOperations() {
+        IMap<Integer, String> map = createHazelcastInstance(newConfig()).getMap(MAP_NAME);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+        assertEquals(1000, map.size());
+        assertEquals("value-42", map.get(42));
+
+        assertEquals("value-42", map.replace(42, "replaced"));
+        assertEquals("replaced", map.get(42));
+
+        assertEquals("value-1", map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(999, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testEntryProcessorAndQuery() {
+        Config config = newConfig();
+        config.getMapConfig(MAP_NAME).addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        map.executeOnEntries(entry -> {
+            entry.setValue(entry.getValue() * 2);
+            return null;
+        });
+
+        Collection<Integer> values = map.values(Predicates.greaterEqual("this", 100));
+        assertEquals(50, values.size());
+        assertTrue(values.contains(198));
+        assertEquals(100, map.entrySet().size());
+    }
+
+    @Test
+    public void testEntryStats_sameAsBinary() {
+        Config config = newConfig();
+        config.getMapConfig(MAP_NAME).setPerEntryStatsEnabled(true);
+        config.addMapConfig(new MapConfig("binary").setPerEntryStatsEnabled(true));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> nativeMap = instance.getMap(MAP_NAME);
+        IMap<Integer, Integer> binaryMap = instance.getMap("binary");
+        for (IMap<Integer, Integer> map : asList(nativeMap, binaryMap)) {
+            map.put(1, 1);
+            map.put(1, 2);
+            map.get(1);
+        }
+
+        EntryView<Integer, Integer> nativeView = nativeMap.getEntryView(1);
+        EntryView<Integer, Integer> binaryView = binaryMap.getEntryView(1);
+        assertEquals(2, (int) nativeView.getValue());
+        assertEquals(binaryView.getVersion(), nativeView.getVersion());
+        assertEquals(binaryView.getHits(), nativeView.getHits());
+        assertTrue(nativeView.getCreationTime() > 0);
+        assertTrue(nativeView.getLastAccessTime() >= nativeView.getCreationTime());
+    }
+
+    @Test
+    public void testExpiration() {
+        IMap<Integer, Integer> map = createHazelcastInstance(newConfig()).getMap(MAP_NAME);
+        map.put(-1, -1, 1, TimeUnit.HOURS);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, i % 2 == 0 ? 1 : 0, TimeUnit.SECONDS);
+        }
+        EntryView<Integer, Integer> entryView = map.getEntryView(-1);
+        assertEquals(TimeUnit.HOURS.toMillis(1), entryView.getTtl());
+        assertTrue(entryView.getExpirationTime() > entryView.getCreationTime());
+
+        assertTrueEventually(() -> assertEquals(51, map.size()));
+        for (int i = 1; i < 100; i += 2) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testEviction_withUsedNativeMemorySize() {
+        Config config = newConfig();
+        config.getMapConfig(MAP_NAME).getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.USED_NATIVE_MEMORY_SIZE)
+                .setSize(1);
+        IMap<Integer, byte[]> map = createHazelcastInstance(config).getMap(MAP_NAME);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, new byte[4096]);
+        }
+
+        assertTrue(map.size() < 1000);
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() < 2 * MemoryUnit.MEGABYTES.toBytes(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = newConfig();
+        config.getMapConfig(MAP_NAME).setPerEntryStatsEnabled(true);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance1.getMap(MAP_NAME);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, -1);
+            map.put(i, i);
+            map.get(i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        EntryView<Integer, Integer>[] entryViews = new EntryView[1000];
+        for (int i = 0; i < 1000; i++) {
+            entryViews[i] = map.getEntryView(i);
+        }
+        instance1.shutdown();
+
+        IMap<Integer, Integer> migrated = instance2.getMap(MAP_NAME);
+        assertEquals(1000, migrated.size());
+        for (int i = 0; i < 1000; i++) {
+            EntryView<Integer, Integer> entryView = migrated.getEntryView(i);
+            assertEquals(i, (int) entryView.getValue());
+            assertEquals(1, entryView.getVersion());
+            assertEquals(entryViews[i].getVersion(), entryView.getVersion());
+            assertEquals(entryViews[i].getHits(), entryView.getHits());
+            assertEquals(entryViews[i].getCreationTime(), entryView.getCreationTime());
+            assertEquals(entryViews[i].getLastUpdateTime(), entryView.getLastUpdateTime());
+        }
+    }
+
+    private Config newConfig() {
+        Config config = smallInstanceConfig();
+        config.setNativeMemoryConfig(new NativeMemoryConfig()
+                .setEnabled(true)
+                .setCapacity(new Capacity(64, MemoryUnit.MEGABYTES)));
+        config.addMapConfig(new MapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.NATIVE));
+        return config;
+    }
+}
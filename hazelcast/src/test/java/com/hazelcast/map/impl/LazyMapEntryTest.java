@@ -22,6 +22,8 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestJavaSerializationUtils;
@@ -34,7 +36,11 @@ import org.junit.runner.RunWith;
 import java.io.IOException;
 import java.io.Serializable;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -43,6 +49,7 @@ public class LazyMapEntryTest extends HazelcastTestSupport {
 
     private LazyMapEntry entry = new LazyMapEntry();
     private InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private InternalSerializationService compactService = createSerializationService();
 
     @Test
     public void testJavaSerialization() throws IOException, ClassNotFoundException {
@@ -122,6 +129,104 @@ public class LazyMapEntryTest extends HazelcastTestSupport {
         assertEquals(1, ((MyObject) value).deserializedCount);
     }
 
+    @Test
+    public void testGetValueAsGenericRecord() {
+        Data valueData = compactService.toData(new CompactValue(true, 3, 4L, 5.5, "name"));
+        entry.init(compactService, compactService.toData("key"), valueData, null);
+
+        GenericRecord record = entry.getValueAsGenericRecord();
+
+        assertEquals(3, record.getInt32("i"));
+        assertEquals("name", record.getString("s"));
+        assertFalse(entry.isModified());
+    }
+
+    @Test
+    public void testGetValueAsGenericRecord_whenNullValue() {
+        entry.init(compactService, compactService.toData("key"), null, null);
+
+        assertNull(entry.getValueAsGenericRecord());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetValueAsGenericRecord_whenNotCompact() {
+        entry.init(compactService, compactService.toData("key"), compactService.toData("value"), null);
+
+        entry.getValueAsGenericRecord();
+    }
+
+    @Test
+    public void testSetValueField() {
+        Data valueData = compactService.toData(new CompactValue(true, 3, 4L, 5.5, "name"));
+        byte[] originalBytes = valueData.toByteArray().clone();
+        entry.init(compactService, compactService.toData("key"), valueData, null);
+
+        entry.setValueField("b", false);
+        entry.setValueField("i", 30);
+        entry.setValueField("l", 40L);
+        entry.setValueField("d", 55.5);
+
+        assertTrue(entry.isModified());
+        CompactValue value = (CompactValue) entry.getValue();
+        assertFalse(value.b);
+        assertEquals(30, value.i);
+        assertEquals(40L, value.l);
+        assertEquals(55.5, value.d, 0);
+        assertEquals("name", value.s);
+        // the original serialized value is not modified
+        assertArrayEquals(originalBytes, valueData.toByteArray());
+    }
+
+    @Test
+    public void testSetValueField_whenObjectValue() {
+        entry.init(compactService, compactService.toData("key"), new CompactValue(false, 3, 4L, 5.5, "name"), null);
+
+        entry.setValueField("b", true);
+
+        CompactValue value = (CompactValue) entry.getValue();
+        assertTrue(value.b);
+        assertEquals(3, value.i);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testSetValueField_whenVariableSizeField() {
+        entry.init(compactService, compactService.toData("key"),
+                compactService.toData(new CompactValue(true, 3, 4L, 5.5, "name")), null);
+
+        entry.setValueField("s", "other");
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testSetValueField_whenValueTypeDoesNotMatch() {
+        entry.init(compactService, compactService.toData("key"),
+                compactService.toData(new CompactValue(true, 3, 4L, 5.5, "name")), null);
+
+        entry.setValueField("i", 30L);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetValueField_whenNotCompact() {
+        entry.init(compactService, compactService.toData("key"), compactService.toData("value"), null);
+
+        entry.setValueField("i", 30);
+    }
+
+    private static class CompactValue {
+        private boolean b;
+        private int i;
+        private long l;
+        private double d;
+        private String s;
+
+        CompactValue(boolean b, int i, long l, double d, String s) {
+            this.b = b;
+            this.i = i;
+            this.l = l;
+            this.d = d;
+            this.s = s;
+        }
+    }
+
     private static class MyObject implements DataSerializable, Serializable {
 
         int serializedCount = 0;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.AdmissionPolicy;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.MaxSizePolicy.PER_PARTITION;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdmissionPolicyTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 100;
+    private static final int SCAN_SIZE = 1000;
+
+    private final String mapName = "default";
+
+    @Test
+    public void frequently_read_entries_survive_scan_when_tiny_lfu_configured() {
+        IMap<Integer, Integer> map = createMap(AdmissionPolicy.TINY_LFU);
+
+        populateAndScan(map);
+
+        int hotKeysLeft = countHotKeys(map);
+        assertTrue("Only " + hotKeysLeft + " hot keys survived the scan", hotKeysLeft >= MAX_SIZE * 9 / 10);
+        assertTrue(map.size() <= MAX_SIZE);
+    }
+
+    @Test
+    public void frequently_read_entries_evicted_by_scan_when_no_admission_policy() {
+        IMap<Integer, Integer> map = createMap(AdmissionPolicy.NONE);
+
+        populateAndScan(map);
+
+        int hotKeysLeft = countHotKeys(map);
+        assertTrue(hotKeysLeft + " hot keys survived the scan", hotKeysLeft < MAX_SIZE / 10);
+        assertTrue(map.size() <= MAX_SIZE);
+    }
+
+    private IMap<Integer, Integer> createMap(AdmissionPolicy admissionPolicy) {
+        Config config = getConfig();
+        config.setProperty(PARTITION_COUNT.getName(), "1");
+        config.getMapConfig(mapName)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setAdmissionPolicy(admissionPolicy)
+                .setMaxSizePolicy(PER_PARTITION)
+                .setSize(MAX_SIZE);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        return instance.getMap(mapName);
+    }
+
+    private static void populateAndScan(IMap<Integer, Integer> map) {
+        for (int i = 0; i < MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < MAX_SIZE; i++) {
+                map.get(i);
+            }
+        }
+        for (int i = MAX_SIZE; i < MAX_SIZE + SCAN_SIZE; i++) {
+            map.put(i, i);
+        }
+    }
+
+    private static int countHotKeys(IMap<Integer, Integer> map) {
+        int count = 0;
+        for (int i = 0; i < MAX_SIZE; i++) {
+            if (map.containsKey(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.nearcache.impl.invalidation.BatchNearCacheInvalidation;
 import com.hazelcast.internal.nearcache.impl.invalidation.Invalidation;
+import com.hazelcast.internal.nearcache.impl.invalidation.PartitionGroupedBatchNearCacheInvalidation;
 import com.hazelcast.internal.nearcache.impl.invalidation.SingleNearCacheInvalidation;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -38,6 +39,7 @@ import java.util.UUID;
 
 import static com.hazelcast.internal.nearcache.impl.NearCacheTestUtils.getBaseConfig;
 import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -85,6 +87,29 @@ public class InvalidationTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testPartitionGroupedBatchDeserialization() {
+        UUID sourceUuid = UUID.randomUUID();
+        UUID partitionUuid1 = UUID.randomUUID();
+        UUID partitionUuid2 = UUID.randomUUID();
+        List<Invalidation> invalidations = asList(
+                new SingleNearCacheInvalidation(serializationService.toData("key1"), "mapName", sourceUuid, partitionUuid1, 10),
+                new SingleNearCacheInvalidation(serializationService.toData("key2"), "mapName", null, partitionUuid2, 3),
+                new SingleNearCacheInvalidation(serializationService.toData("key3"), "mapName", sourceUuid, partitionUuid1, 12));
+        BatchNearCacheInvalidation batch = new PartitionGroupedBatchNearCacheInvalidation("mapName", invalidations);
+
+        Data serializedInvalidation = serializationService.toData(batch);
+        BatchNearCacheInvalidation deserializedInvalidation = serializationService.toObject(serializedInvalidation);
+
+        assertInvalidation(batch, deserializedInvalidation, false);
+        List<Invalidation> deserializedInvalidations = deserializedInvalidation.getInvalidations();
+        assertEquals(3, deserializedInvalidations.size());
+        // invalidations are grouped by partition
+        assertInvalidation(invalidations.get(0), deserializedInvalidations.get(0), true);
+        assertInvalidation(invalidations.get(2), deserializedInvalidations.get(1), true);
+        assertInvalidation(invalidations.get(1), deserializedInvalidations.get(2), true);
+    }
+
     private static void assertInvalidation(Invalidation expected, Invalidation actual, boolean hasKey) {
         if (hasKey) {
             assertEquals("Expected the same key", expected.getKey(), actual.getKey());
@@ -93,6 +93,22 @@ public class MemberMapMetaDataGeneratorTest extends HazelcastTestSupport {
         assertNull(metaDataGenerator.getSequenceGenerators().get(MAP_NAME));
     }
 
+    @Test
+    public void sequences_advance_without_invalidation_listener_when_metadata_was_requested() {
+        Config config = getConfig();
+        HazelcastInstance member = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = member.getMap(MAP_NAME);
+        MetaDataGenerator metaDataGenerator = getMetaDataGenerator(member);
+        metaDataGenerator.initSequences(MAP_NAME);
+
+        map.put(1, 1);
+        map.remove(1);
+
+        int partitionId = member.getPartitionService().getPartition(1).getPartitionId();
+        assertEqualsEventually(() -> metaDataGenerator.currentSequence(MAP_NAME, partitionId), 2L);
+    }
+
     protected Config getConfig() {
         return getBaseConfig();
     }
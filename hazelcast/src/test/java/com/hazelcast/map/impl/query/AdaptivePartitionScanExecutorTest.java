@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.executor.NamedThreadPoolExecutor;
+import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.test.starter.ReflectionUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptivePartitionScanExecutorTest extends HazelcastTestSupport {
+
+    private static final int POOL_SIZE = 4;
+
+    @Rule
+    public TestName testName = new TestName();
+
+    private NamedThreadPoolExecutor threadPoolExecutor;
+    private PartitionScanRunner runner;
+    private MapServiceContext mapServiceContext;
+    private RecordStore recordStore;
+    private AdaptivePartitionScanExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        PoolExecutorThreadFactory threadFactory = new PoolExecutorThreadFactory(testName.getMethodName()
+                + "-" + UUID.randomUUID(), currentThread().getContextClassLoader());
+        threadPoolExecutor = new NamedThreadPoolExecutor(testName.getMethodName()
+                + "-" + UUID.randomUUID(), POOL_SIZE, POOL_SIZE, 100, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(100), threadFactory);
+
+        IPartitionService partitionService = mock(IPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(271);
+        runner = mock(PartitionScanRunner.class);
+        ReflectionUtils.setFieldValueReflectively(runner, "partitionService", partitionService);
+
+        recordStore = mock(RecordStore.class);
+        PartitionContainer partitionContainer = mock(PartitionContainer.class);
+        when(partitionContainer.getExistingRecordStore("Map")).thenReturn(recordStore);
+        mapServiceContext = mock(MapServiceContext.class);
+        when(mapServiceContext.getPartitionContainer(anyInt())).thenReturn(partitionContainer);
+
+        executor = new AdaptivePartitionScanExecutor(mapServiceContext, runner, threadPoolExecutor, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        threadPoolExecutor.shutdownNow();
+    }
+
+    @Test
+    public void parallelism_whenFewEntries_thenCallerRuns() {
+        assertEquals(1, executor.parallelism(0, 271, new PartitionScanStats()));
+        assertEquals(1, executor.parallelism(100, 271, new PartitionScanStats()));
+    }
+
+    @Test
+    public void parallelism_whenManyEntries_thenBoundedByPoolSize() {
+        assertEquals(POOL_SIZE, executor.parallelism(10_000_000, 271, new PartitionScanStats()));
+    }
+
+    @Test
+    public void parallelism_whenManyEntries_thenBoundedByPartitionCount() {
+        assertEquals(2, executor.parallelism(10_000_000, 2, new PartitionScanStats()));
+    }
+
+    @Test
+    public void parallelism_whenScansAreExpensive_thenParallelismGrows() {
+        PartitionScanStats cheap = new PartitionScanStats();
+        cheap.recordScan(1000, 1000);
+        PartitionScanStats expensive = new PartitionScanStats();
+        expensive.recordScan(1000, 100_000_000);
+
+        assertEquals(1, executor.parallelism(10_000, 271, cheap));
+        assertEquals(POOL_SIZE, executor.parallelism(10_000, 271, expensive));
+    }
+
+    @Test
+    public void parallelism_whenCombiningDominates_thenCallerRuns() {
+        PartitionScanStats stats = new PartitionScanStats();
+        stats.recordScan(1000, 30_000);
+        stats.recordMatches(1000, 1000);
+
+        assertEquals(1, executor.parallelism(10_000, 271, stats));
+
+        stats = new PartitionScanStats();
+        stats.recordScan(1000, 30_000);
+        stats.recordMatches(1000, 0);
+
+        assertTrue(executor.parallelism(10_000, 271, stats) > 1);
+    }
+
+    @Test
+    public void group_balancesEntryCounts() {
+        int[] partitionIds = {0, 1, 2, 3, 4};
+        long[] entryCounts = {10, 50, 20, 30, 40};
+
+        List<List<Integer>> groups = AdaptivePartitionScanExecutor.group(partitionIds, entryCounts, 2);
+
+        assertEquals(2, groups.size());
+        Set<Integer> grouped = new HashSet<>();
+        for (List<Integer> group : groups) {
+            long entryCount = 0;
+            for (int partitionId : group) {
+                entryCount += entryCounts[partitionId];
+                assertTrue(grouped.add(partitionId));
+            }
+            assertTrue(entryCount == 70 || entryCount == 80);
+        }
+        assertEquals(5, grouped.size());
+    }
+
+    @Test
+    public void execute_whenFewEntries_thenCallerRuns() {
+        when(recordStore.size()).thenReturn(10);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+
+        verify(runner, times(3)).run(eq("Map"), eq(predicate), anyInt(), eq(queryResult));
+    }
+
+    @Test
+    public void execute_whenManyEntries_thenParallel() {
+        when(recordStore.size()).thenReturn(1_000_000);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        executor.execute("Map", predicate, asList(1, 2, 3, 4, 5, 6, 7, 8), queryResult);
+
+        verify(runner, times(8)).run(eq("Map"), eq(predicate), anyInt(), isA(QueryResult.class));
+        assertEquals(0, queryResult.size());
+        assertEquals(8, queryResult.getPartitionIds().size());
+    }
+
+    @Test(expected = RetryableHazelcastException.class)
+    public void execute_fail_retryable_callerRuns() {
+        when(recordStore.size()).thenReturn(10);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        doThrow(new RetryableHazelcastException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+    }
+
+    @Test(expected = RetryableHazelcastException.class)
+    public void execute_fail_retryable_parallel() {
+        when(recordStore.size()).thenReturn(1_000_000);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        doThrow(new RetryableHazelcastException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+    }
+
+    @Test
+    public void query_whenAdaptiveEvaluationEnabled_thenDecisionsExposedAsMetrics() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.QUERY_PREDICATE_ADAPTIVE_PARALLEL_EVALUATION.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(50, map.values(Predicates.lessThan("this", 50)).size());
+
+        MetricsRegistry registry = getNodeEngineImpl(instance).getMetricsRegistry();
+        long callerRunsCount = registry.newLongGauge("map.query.partitionScan.callerRunsCount").read();
+        long parallelCount = registry.newLongGauge("map.query.partitionScan.parallelCount").read();
+        assertEquals(1, callerRunsCount + parallelCount);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.query.Predicates.equal;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastSerialParametersRunnerFactory.class)
+@Category(QuickTest.class)
+public class CoveringIndexTest extends HazelcastTestSupport {
+
+    private static final int TENANTS = 5;
+    private static final int ORDERS = 100;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object> parameters() {
+        return asList((Object[]) IndexType.values());
+    }
+
+    @Parameter
+    public IndexType indexType;
+
+    private IMap<Integer, Order> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.setProperty(QueryEngineImpl.DISABLE_MIGRATION_FALLBACK.getName(), "true");
+        // don't keep deserialized values in the index entries
+        config.getMapConfig("orders")
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER)
+                .addIndexConfig(new IndexConfig(indexType, "tenant").addIncludedAttribute("status"));
+        map = createHazelcastInstance(config).getMap("orders");
+        for (int i = 0; i < ORDERS; ++i) {
+            map.put(i, new Order(i % TENANTS, "status-" + i, "payload-" + i));
+        }
+    }
+
+    @Test
+    public void testProjectionOfCoveredAttributesDoesNotDeserializeValues() {
+        Order.DESERIALIZATIONS.set(0);
+
+        Collection<Object[]> result = map.project(Projections.multiAttribute("tenant", "status"), equal("tenant", 1));
+
+        assertEquals(expectedStatuses(1), statuses(result, 1));
+        assertEquals(0, Order.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testProjectionOfUncoveredAttributesDeserializesValues() {
+        Order.DESERIALIZATIONS.set(0);
+
+        Collection<String> result = map.project(Projections.singleAttribute("payload"), equal("tenant", 1));
+
+        assertEquals(ORDERS / TENANTS, result.size());
+        assertNotEquals(0, Order.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void testProjectionOfCoveredAttributesReflectsUpdates() {
+        map.put(1, new Order(1, "updated", "payload"));
+        map.put(2, new Order(1, "moved", "payload"));
+        map.remove(6);
+        Order.DESERIALIZATIONS.set(0);
+
+        Collection<Object[]> result = map.project(Projections.multiAttribute("tenant", "status"), equal("tenant", 1));
+
+        Set<String> expected = expectedStatuses(1);
+        expected.remove("status-1");
+        expected.remove("status-6");
+        expected.add("updated");
+        expected.add("moved");
+        assertEquals(expected, statuses(result, 1));
+        assertEquals(0, Order.DESERIALIZATIONS.get());
+    }
+
+    private static Set<String> expectedStatuses(int tenant) {
+        Set<String> statuses = new HashSet<>();
+        for (int i = tenant; i < ORDERS; i += TENANTS) {
+            statuses.add("status-" + i);
+        }
+        return statuses;
+    }
+
+    private static Set<String> statuses(Collection<Object[]> rows, int tenant) {
+        Set<String> statuses = new HashSet<>();
+        for (Object[] row : rows) {
+            assertEquals(tenant, row[0]);
+            statuses.add((String) row[1]);
+        }
+        assertEquals(rows.size(), statuses.size());
+        return statuses;
+    }
+
+    public static class Order implements DataSerializable {
+
+        static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+        public int tenant;
+        public String status;
+        public String payload;
+
+        public Order() {
+        }
+
+        Order(int tenant, String status, String payload) {
+            this.tenant = tenant;
+            this.status = status;
+            this.payload = payload;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(tenant);
+            out.writeString(status);
+            out.writeString(payload);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+            tenant = in.readInt();
+            status = in.readString();
+            payload = in.readString();
+        }
+
+    }
+
+}
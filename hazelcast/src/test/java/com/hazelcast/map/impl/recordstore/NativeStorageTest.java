@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.ArenaMemoryManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadataImpl;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.util.IterableUtil.size;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeStorageTest {
+
+    private SerializationService ss;
+    private DataRecordFactory recordFactory;
+    private NativeMemoryBudget budget;
+    private NativeStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        MapConfig mapConfig = new MapConfig().setPerEntryStatsEnabled(true);
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.getMapConfig()).thenReturn(mapConfig);
+        recordFactory = new DataRecordFactory(mapContainer, ss);
+
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+
+        budget = new NativeMemoryBudget(Long.MAX_VALUE);
+        ArenaMemoryManager arena = budget.newArena();
+        storage = new NativeStorage(arena, expirySystem, ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+        assertEquals(0, budget.getUsed());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = ss.toData("key");
+        Record record = recordFactory.newRecord(key, "value");
+        record.setVersion(3);
+        record.setCreationTime(System.currentTimeMillis());
+        storage.put(key, record);
+
+        Record stored = storage.get(ss.toData("key"));
+        assertEquals("value", ss.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(record.getRawCreationTime(), stored.getRawCreationTime());
+        assertEquals(record.getMatchingRecordReaderWriter(), stored.getMatchingRecordReaderWriter());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key));
+    }
+
+    @Test
+    public void testGetIfSameKey() {
+        Data key = ss.toData("key");
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        assertEquals("value", ss.toObject(storage.getIfSameKey(ss.toData("key")).getValue()));
+        assertNull(storage.getIfSameKey(ss.toData("otherKey")));
+    }
+
+    @Test
+    public void testSetValue_isWrittenThrough() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, 1));
+
+        Record record = storage.get(key);
+        record.setValue(ss.toData("a longer value"));
+        assertEquals("a longer value", ss.toObject(storage.get(key).getValue()));
+
+        record.setValue(null);
+        assertNull(storage.get(key).getValue());
+    }
+
+    @Test
+    public void testMetadataUpdates_areWrittenThrough() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, 1));
+
+        long now = System.currentTimeMillis();
+        Record record = storage.get(key);
+        record.onUpdate(now);
+        record.onAccess(now);
+
+        Record stored = storage.get(key);
+        assertEquals(1, stored.getVersion());
+        assertEquals(1, stored.getHits());
+        assertEquals(record.getLastAccessTime(), stored.getLastAccessTime());
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "a"));
+
+        storage.updateRecordValue(key, storage.get(key), "longer value");
+        assertEquals("longer value", ss.toObject(storage.get(key).getValue()));
+
+        storage.updateRecordValue(key, storage.get(key), "short");
+        assertEquals("short", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord_isReadableUntilDeferredBlocksDisposed() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        Record record = storage.get(key);
+        long usedBeforeRemove = budget.getUsed();
+
+        storage.removeRecord(key, record);
+        assertNull(storage.get(key));
+        assertEquals(0, storage.size());
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertEquals(usedBeforeRemove, budget.getUsed());
+
+        storage.disposeDeferredBlocks();
+        assertTrue(budget.getUsed() < usedBeforeRemove);
+    }
+
+    @Test
+    public void testIterator_visitsAllEntriesAcrossResizes() {
+        int entryCount = 10_000;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            Integer key = ss.toObject(entry.getKey());
+            assertEquals(key, ss.toObject(entry.getValue().getValue()));
+            assertTrue(seen.add(key));
+        }
+        assertEquals(entryCount, seen.size());
+    }
+
+    @Test
+    public void testFetchKeys_doesNotReturnDuplicatesWhenResizedDuringIteration() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Data> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        MapKeysWithCursor batch = storage.fetchKeys(pointers, 10);
+        fetched.addAll(batch.getBatch());
+
+        // trigger several resizes
+        for (int i = 100; i < 5_000; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        pointers = batch.getIterationPointers();
+        while (pointers[pointers.length - 1].getIndex() >= 0) {
+            batch = storage.fetchKeys(pointers, 10);
+            for (Data key : batch.getBatch()) {
+                assertTrue("Duplicate key " + ss.toObject(key), fetched.add(key));
+            }
+            pointers = batch.getIterationPointers();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(fetched.contains(ss.toData(i)));
+        }
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Iterable<EntryView> samples = storage.getRandomSamples(15);
+        assertEquals(15, size(samples));
+        for (EntryView sample : samples) {
+            assertEquals(sample.getKey(), sample.getValue());
+        }
+    }
+
+    @Test
+    public void testExpiryMetadataView() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        Map<Data, ExpiryMetadata> view = storage.getExpiryMetadataView();
+        assertTrue(view.isEmpty());
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            view.put(ss.toData(i), new ExpiryMetadataImpl(1000L * (i + 1), Long.MAX_VALUE, now + 1000L * (i + 1), now));
+        }
+        assertEquals(10, view.size());
+        assertNull(view.get(ss.toData(50)));
+
+        ExpiryMetadata expiryMetadata = view.get(ss.toData(2));
+        assertEquals(3000L, expiryMetadata.getTtl());
+        assertEquals(Long.MAX_VALUE, expiryMetadata.getMaxIdle());
+        expiryMetadata.setExpirationTime(now + 10_000);
+        assertEquals(expiryMetadata.getRawExpirationTime(), view.get(ss.toData(2)).getRawExpirationTime());
+
+        Set<Integer> expirableKeys = new HashSet<>();
+        for (Map.Entry<Data, ExpiryMetadata> entry : view.entrySet()) {
+            assertTrue(entry.getValue().hasExpiry());
+            expirableKeys.add(ss.toObject(entry.getKey()));
+        }
+        assertEquals(10, expirableKeys.size());
+
+        view.remove(ss.toData(0));
+        Data removedKey = ss.toData(1);
+        storage.removeRecord(removedKey, storage.get(removedKey));
+        assertEquals(8, view.size());
+        assertNull(view.get(ss.toData(0)));
+        assertEquals(99, storage.size());
+
+        view.clear();
+        assertTrue(view.isEmpty());
+        assertEquals(99, storage.size());
+    }
+
+    @Test
+    public void testClear_freesAllEntries() {
+        long emptyFootprint = budget.getUsed();
+        for (int i = 0; i < 1_000; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > emptyFootprint);
+
+        storage.clear(false);
+        assertTrue(storage.isEmpty());
+        assertFalse(storage.containsKey(ss.toData(1)));
+        assertTrue(storage.getEntryCostEstimator().getEstimate() >= emptyFootprint);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.BTreeIndexConfig;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.BPlusTreeIndexStore.MAX_NODE_CAPACITY;
+import static com.hazelcast.query.impl.BPlusTreeIndexStore.MIN_NODE_CAPACITY;
+import static com.hazelcast.query.impl.BPlusTreeIndexStore.nodeCapacity;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BPlusTreeIndexStoreTest {
+
+    private static final int VALUE_COUNT = 50;
+
+    private final Random random = new Random();
+
+    private InternalSerializationService ss;
+    private Extractors extractors;
+    private BPlusTreeIndexStore store;
+    private OrderedIndexStore expected;
+    private Map<Integer, Integer> values;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        extractors = Extractors.newBuilder(ss).build();
+        store = new BPlusTreeIndexStore(MIN_NODE_CAPACITY);
+        expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        values = new HashMap<>();
+    }
+
+    @Test
+    public void testNodeCapacity() {
+        assertEquals(256, nodeCapacity(BTreeIndexConfig.DEFAULT_PAGE_SIZE));
+        assertEquals(MIN_NODE_CAPACITY, nodeCapacity(Capacity.of(1, MemoryUnit.BYTES)));
+        assertEquals(MAX_NODE_CAPACITY, nodeCapacity(Capacity.of(1, MemoryUnit.MEGABYTES)));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        for (int key = 0; key < 1000; key++) {
+            put(key, key % VALUE_COUNT);
+        }
+        assertSameAsOrderedIndexStore();
+
+        for (int key = 0; key < 1000; key += 2) {
+            remove(key);
+        }
+        assertSameAsOrderedIndexStore();
+
+        for (int key = 1; key < 1000; key += 2) {
+            remove(key);
+        }
+        assertSameAsOrderedIndexStore();
+        assertFalse(store.getSqlRecordIteratorBatch(false).hasNext());
+    }
+
+    @Test
+    public void testInsert_returnsReplacedEntry() {
+        QueryableEntry first = entry(1, 10);
+        QueryableEntry second = entry(1, 10);
+        QueryableEntry third = entry(2, 10);
+
+        assertNull(store.insertInternal(10, first));
+        assertEquals(first, store.insertInternal(10, second));
+        assertNull(store.insertInternal(10, third));
+        assertEquals(third, store.insertInternal(10, third));
+
+        assertEquals(second, store.removeInternal(10, second.getKeyData()));
+        assertNull(store.removeInternal(10, second.getKeyData()));
+        assertEquals(third, store.removeInternal(10, third.getKeyData()));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        for (int i = 0; i < 10000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                remove(key);
+            } else {
+                put(key, random.nextInt(10) == 0 ? null : random.nextInt(VALUE_COUNT));
+            }
+        }
+        assertSameAsOrderedIndexStore();
+
+        store.clear();
+        expected.clear();
+        values.clear();
+        assertSameAsOrderedIndexStore();
+    }
+
+    @Test
+    public void testSqlIterator_whenModifiedDuringIteration() {
+        for (int key = 0; key < 100; key++) {
+            put(key, key);
+        }
+
+        Iterator<IndexKeyEntries> iterator = store.getSqlRecordIteratorBatch(false);
+        assertEquals(0, iterator.next().getIndexKey());
+        for (int key = 1; key < 100; key++) {
+            remove(key);
+        }
+        put(100, 100);
+
+        // only the rest of the already copied leaf is seen before the new value
+        List<Comparable> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            seen.add(iterator.next().getIndexKey());
+        }
+        assertTrue(seen.toString(), seen.size() <= MIN_NODE_CAPACITY);
+        assertEquals(100, seen.get(seen.size() - 1));
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.toString(), (Integer) seen.get(i - 1) < (Integer) seen.get(i));
+        }
+    }
+
+    private void put(int key, Integer value) {
+        QueryableEntry entry = entry(key, value);
+        boolean present = values.containsKey(key);
+        Integer oldValue = values.put(key, value);
+        if (present) {
+            store.update(oldValue, value, (CachedQueryEntry) entry, entry, IndexOperationStats.EMPTY);
+            expected.update(oldValue, value, (CachedQueryEntry) entry, entry, IndexOperationStats.EMPTY);
+        } else {
+            store.insert(value, (CachedQueryEntry) entry, entry, IndexOperationStats.EMPTY);
+            expected.insert(value, (CachedQueryEntry) entry, entry, IndexOperationStats.EMPTY);
+        }
+    }
+
+    private void remove(int key) {
+        if (!values.containsKey(key)) {
+            return;
+        }
+        Integer value = values.remove(key);
+        CachedQueryEntry entry = (CachedQueryEntry) entry(key, value);
+        store.remove(value, entry, IndexOperationStats.EMPTY);
+        expected.remove(value, entry, IndexOperationStats.EMPTY);
+    }
+
+    private QueryableEntry entry(int key, Integer value) {
+        Data keyData = ss.toData(key);
+        return new CachedQueryEntry(ss, keyData, value, extractors);
+    }
+
+    private void assertSameAsOrderedIndexStore() {
+        Comparable[] bounds = new Comparable[VALUE_COUNT + 3];
+        bounds[0] = NULL;
+        for (int i = 1; i < bounds.length; i++) {
+            bounds[i] = i - 2;
+        }
+
+        for (Comparable value : bounds) {
+            assertSameKeys(expected.getRecords(value), store.getRecords(value));
+            assertSameBatches(expected.getSqlRecordIteratorBatch(value, false), store.getSqlRecordIteratorBatch(value, false));
+            for (Comparison comparison : Comparison.values()) {
+                assertSameKeys(expected.getRecords(comparison, value), store.getRecords(comparison, value));
+                if (value != NULL) {
+                    for (boolean descending : new boolean[]{false, true}) {
+                        assertSameBatches(expected.getSqlRecordIteratorBatch(comparison, value, descending),
+                                store.getSqlRecordIteratorBatch(comparison, value, descending));
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            Comparable from = bounds[random.nextInt(bounds.length)];
+            Comparable to = bounds[random.nextInt(bounds.length)];
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+            assertSameKeys(expected.getRecords(from, fromInclusive, to, toInclusive),
+                    store.getRecords(from, fromInclusive, to, toInclusive));
+            assertSameBatches(expected.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending),
+                    store.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+        }
+
+        assertSameBatches(expected.getSqlRecordIteratorBatch(false), store.getSqlRecordIteratorBatch(false));
+        assertSameBatches(expected.getSqlRecordIteratorBatch(true), store.getSqlRecordIteratorBatch(true));
+        assertEquals(values.size(), count(store.getSqlRecordIterator(false)));
+    }
+
+    private static void assertSameKeys(Set<QueryableEntry> expected, Set<QueryableEntry> actual) {
+        assertEquals(keys(expected), keys(actual));
+        for (QueryableEntry entry : expected) {
+            assertTrue(actual.contains(entry));
+        }
+    }
+
+    private static Set<Data> keys(Set<QueryableEntry> entries) {
+        Set<Data> keys = new HashSet<>();
+        for (QueryableEntry entry : entries) {
+            assertNotNull(entry);
+            assertTrue(keys.add(entry.getKeyData()));
+        }
+        return keys;
+    }
+
+    private static void assertSameBatches(Iterator<IndexKeyEntries> expected, Iterator<IndexKeyEntries> actual) {
+        assertEquals(batches(expected), batches(actual));
+    }
+
+    private static List<Object> batches(Iterator<IndexKeyEntries> iterator) {
+        List<Object> batches = new ArrayList<>();
+        while (iterator.hasNext()) {
+            IndexKeyEntries batch = iterator.next();
+            batches.add(batch.getIndexKey());
+            Iterator<QueryableEntry> entries = batch.getEntries();
+            while (entries.hasNext()) {
+                batches.add(entries.next().getKeyData());
+            }
+        }
+        return batches;
+    }
+
+    private static int count(Iterator<QueryableEntry> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+}
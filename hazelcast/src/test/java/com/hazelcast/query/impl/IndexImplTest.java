@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -42,16 +43,20 @@ public class IndexImplTest {
 
     private static final String ATTRIBUTE_NAME = "attribute";
 
+    private InternalSerializationService mockSerializationService;
+    private Extractors mockExtractors;
     private IndexImpl index;
 
     @Before
     public void setUp() {
-        InternalSerializationService mockSerializationService = mock(InternalSerializationService.class);
-        Extractors mockExtractors = Extractors.newBuilder(mockSerializationService).build();
+        mockSerializationService = mock(InternalSerializationService.class);
+        mockExtractors = Extractors.newBuilder(mockSerializationService).build();
 
-        IndexConfig config = IndexUtils.createTestIndexConfig(IndexType.HASH, ATTRIBUTE_NAME);
+        index = createIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, ATTRIBUTE_NAME));
+    }
 
-        index = new IndexImpl(
+    private IndexImpl createIndex(IndexConfig config) {
+        return new IndexImpl(
             null,
             config,
             mockSerializationService,
@@ -70,6 +75,21 @@ public class IndexImplTest {
         verify(entry, never()).getKey();
     }
 
+    @Test
+    public void sortedIndex_storedInSkipListByDefault() {
+        IndexImpl sortedIndex = createIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, ATTRIBUTE_NAME));
+
+        assertTrue(sortedIndex.indexStore instanceof OrderedIndexStore);
+    }
+
+    @Test
+    public void sortedIndex_whenBPlusTreeStoreEnabled_thenStoredInBPlusTree() {
+        IndexConfig config = new IndexConfig(IndexType.SORTED, ATTRIBUTE_NAME).setBPlusTreeStoreEnabled(true);
+        IndexImpl sortedIndex = createIndex(IndexUtils.validateAndNormalize("test", config));
+
+        assertTrue(sortedIndex.indexStore instanceof BPlusTreeIndexStore);
+    }
+
     private CachedQueryEntry<?, ?> createMockQueryableEntry() {
         CachedQueryEntry<?, ?> entry = mock(CachedQueryEntry.class);
         Data keyData = mock(Data.class);
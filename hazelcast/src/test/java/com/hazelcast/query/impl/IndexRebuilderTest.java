@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.config.MapConfig.DEFAULT_IN_MEMORY_FORMAT;
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.internal.util.IterableUtil.size;
+import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static com.hazelcast.test.HazelcastTestSupport.assertOpenEventually;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexRebuilderTest {
+
+    private static final int ENTRY_COUNT = 3 * IndexRebuilder.BATCH_SIZE + 7;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(serializationService).build();
+
+    private ExecutorService executor;
+    private IndexRegistry indexes;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(2);
+        indexes = IndexRegistry.newBuilder(null, "test", serializationService, IndexCopyBehavior.COPY_ON_READ,
+                DEFAULT_IN_MEMORY_FORMAT).statsEnabled(true).build();
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "name"));
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "salary"));
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "__key"));
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSerialRebuild() {
+        assertTrue(rebuild(new IndexRebuilder(indexes.getIndexes(), null, Index.OperationSource.SYSTEM)).isDone());
+        assertIndexesPopulated();
+    }
+
+    @Test
+    public void testParallelRebuild() {
+        rebuild(new IndexRebuilder(indexes.getIndexes(), executor, Index.OperationSource.SYSTEM)).join();
+        assertIndexesPopulated();
+    }
+
+    @Test
+    public void testParallelRebuild_whenExecutorRejects() {
+        assertTrue(rebuild(new IndexRebuilder(indexes.getIndexes(), command -> {
+            throw new RejectedExecutionException();
+        }, Index.OperationSource.SYSTEM)).isDone());
+        assertIndexesPopulated();
+    }
+
+    @Test
+    public void testParallelRebuild_whenExtractionFails() {
+        IndexRebuilder rebuilder = new IndexRebuilder(indexes.getIndexes(), executor, Index.OperationSource.SYSTEM);
+        rebuilder.add(newEntry(1, new Employee("name", 10, true, 100)), newEntry(1, new Employee("name", 10, true, 100)));
+        CachedQueryEntry notAnEmployee = newEntry(2, "not an employee");
+        rebuilder.add(notAnEmployee, notAnEmployee);
+
+        assertThatThrownBy(() -> rebuilder.complete().join()).isInstanceOf(CompletionException.class);
+    }
+
+    @Test
+    public void testParallelRebuild_doesNotWaitForExecutor() {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService blockedExecutor = Executors.newSingleThreadExecutor();
+        blockedExecutor.execute(() -> assertOpenEventually(release));
+
+        try {
+            IndexRebuilder rebuilder = new IndexRebuilder(indexes.getIndexes(), blockedExecutor, Index.OperationSource.SYSTEM);
+            CompletableFuture<Void> population = rebuild(rebuilder);
+            indexes.trackPopulation(0, population);
+            assertFalse(population.isDone());
+
+            release.countDown();
+            indexes.awaitPopulation(0);
+            assertTrue(population.isDone());
+            assertIndexesPopulated();
+        } finally {
+            blockedExecutor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> rebuild(IndexRebuilder rebuilder) {
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            // descending ages and salaries make the batches unsorted
+            Employee employee = new Employee("name" + i, ENTRY_COUNT - i, i % 2 == 0, ENTRY_COUNT - i);
+            CachedQueryEntry entry = newEntry(i, employee);
+            rebuilder.add(entry, entry);
+        }
+        return rebuilder.complete();
+    }
+
+    private void assertIndexesPopulated() {
+        assertEquals(1, size(indexes.query(Predicates.equal("name", "name7"), SKIP_PARTITIONS_COUNT_CHECK)));
+        assertEquals(10, size(indexes.query(Predicates.between("age", 1, 10), SKIP_PARTITIONS_COUNT_CHECK)));
+        assertEquals(5, size(indexes.query(Predicates.lessThan("salary", 6.0), SKIP_PARTITIONS_COUNT_CHECK)));
+        assertEquals(3, size(indexes.query(Predicates.greaterEqual("__key", ENTRY_COUNT - 3), SKIP_PARTITIONS_COUNT_CHECK)));
+
+        for (InternalIndex index : indexes.getIndexes()) {
+            assertEquals(ENTRY_COUNT, index.getPerIndexStats().getRebuildCount());
+            assertEquals(0, index.getPerIndexStats().getInsertCount());
+        }
+    }
+
+    private CachedQueryEntry newEntry(int key, Object value) {
+        return new CachedQueryEntry<>(serializationService, toData(key), value, extractors);
+    }
+}
@@ -28,7 +28,7 @@ import com.hazelcast.query.SampleTestObjects.Value;
 import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
-import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
 import com.hazelcast.query.impl.predicates.SqlPredicate;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
@@ -229,7 +229,7 @@ public class IndexesTest {
         matched = indexes.matchIndex(bitmapIndex.getName(), EqualPredicate.class, IndexMatchHint.EXACT_NAME,
                 SKIP_PARTITIONS_COUNT_CHECK);
         assertSame(bitmapIndex, matched);
-        matched = indexes.matchIndex(bitmapIndex.getName(), GreaterLessPredicate.class, IndexMatchHint.EXACT_NAME,
+        matched = indexes.matchIndex(bitmapIndex.getName(), LikePredicate.class, IndexMatchHint.EXACT_NAME,
                 SKIP_PARTITIONS_COUNT_CHECK);
         assertNull(matched);
     }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.config.AttributeConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createInMemorySchemaService;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.MATCH;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.NOT_APPLICABLE;
+import static com.hazelcast.query.impl.predicates.CompactScanFilter.NO_MATCH;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactScanFilterTest {
+
+    private SchemaService schemaService;
+    private InternalSerializationService ss;
+    private Extractors extractors;
+    private List<Data> values;
+
+    @Before
+    public void setUp() {
+        schemaService = createInMemorySchemaService();
+        ss = createSerializationService(schemaService);
+        extractors = Extractors.newBuilder(ss).build();
+
+        values = new ArrayList<>();
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            padding.append('x');
+        }
+        for (int i = -50; i < 50; i++) {
+            GenericRecordBuilder builder = GenericRecordBuilder.compact("employee")
+                    .setInt8("level", (byte) (i % 5))
+                    .setInt16("floor", (short) (i * 3))
+                    .setInt32("age", i)
+                    .setInt64("id", i * 1_000_000_000L)
+                    .setBoolean("active", i % 2 == 0)
+                    .setString("name", i % 10 == 0 ? null : "name-" + (i % 7))
+                    .setNullableInt32("score", i);
+            // forces wider variable size field offsets
+            builder.setString("padding", i % 3 == 0 ? padding.toString() : "");
+            values.add(ss.toData(builder.build()));
+        }
+        // another schema with some of the fields
+        values.add(ss.toData(GenericRecordBuilder.compact("other")
+                .setString("name", "name-3")
+                .setInt32("id", 0)
+                .build()));
+    }
+
+    @Test
+    public void testEqual() {
+        assertSameAsPredicate(Predicates.equal("age", 10));
+        assertSameAsPredicate(Predicates.equal("age", 10L));
+        assertSameAsPredicate(Predicates.equal("age", "10"));
+        assertSameAsPredicate(Predicates.equal("id", 3_000_000_000L));
+        assertSameAsPredicate(Predicates.equal("level", 3));
+        assertSameAsPredicate(Predicates.equal("floor", -9));
+        assertSameAsPredicate(Predicates.equal("active", true));
+        assertSameAsPredicate(Predicates.equal("name", "name-3"));
+        assertSameAsPredicate(Predicates.equal("name", "unknown"));
+    }
+
+    @Test
+    public void testBetween() {
+        assertSameAsPredicate(Predicates.between("age", -10, 20));
+        assertSameAsPredicate(Predicates.between("age", 20, -10));
+        assertSameAsPredicate(Predicates.between("id", -5_000_000_000L, 7_000_000_000L));
+        assertSameAsPredicate(Predicates.between("floor", (short) 0, 100L));
+    }
+
+    @Test
+    public void testIn() {
+        assertSameAsPredicate(Predicates.in("age", 1, 5, 7, 100));
+        assertSameAsPredicate(Predicates.in("level", 0, 4));
+        assertSameAsPredicate(Predicates.in("active", false));
+        assertSameAsPredicate(Predicates.in("name", "name-1", "name-6"));
+    }
+
+    @Test
+    public void testAnd() {
+        assertSameAsPredicate(Predicates.and(Predicates.between("age", 0, 40),
+                Predicates.equal("active", true), Predicates.in("name", "name-2", "name-4")));
+    }
+
+    @Test
+    public void testNotApplicable_forUnsupportedFieldKinds() {
+        CompactScanFilter filter = create(Predicates.equal("score", 10));
+        for (Data value : values) {
+            assertEquals(NOT_APPLICABLE, filter.test(value));
+        }
+        filter = create(Predicates.between("name", "a", "z"));
+        for (Data value : values) {
+            assertEquals(NOT_APPLICABLE, filter.test(value));
+        }
+    }
+
+    @Test
+    public void testNotApplicable_forNonCompactValues() {
+        CompactScanFilter filter = create(Predicates.equal("age", 10));
+        assertEquals(NOT_APPLICABLE, filter.test(ss.toData(10)));
+        assertEquals(NOT_APPLICABLE, filter.test(10));
+    }
+
+    @Test
+    public void testUnsupportedPredicates() {
+        assertNull(create(Predicates.or(Predicates.equal("age", 1), Predicates.equal("age", 2))));
+        assertNull(create(Predicates.greaterThan("age", 1)));
+        assertNull(create(Predicates.equal("__key", 1)));
+        assertNull(create(Predicates.equal("this", 1)));
+        assertNull(create(Predicates.equal("address.city", "London")));
+        assertNull(create(Predicates.equal("age", null)));
+        assertNotNull(create(Predicates.and(Predicates.equal("age", 1), Predicates.in("id", 2L))));
+    }
+
+    @Test
+    public void testUnsupported_whenCustomExtractorRegistered() {
+        Extractors extractors = Extractors.newBuilder(ss)
+                .setAttributeConfigs(singletonList(new AttributeConfig("age", AgeExtractor.class.getName())))
+                .build();
+        assertNull(CompactScanFilter.create(Predicates.equal("age", 1), extractors, schemaService, ByteOrder.BIG_ENDIAN));
+    }
+
+    private CompactScanFilter create(Predicate predicate) {
+        return CompactScanFilter.create(predicate, extractors, schemaService, ss.getByteOrder());
+    }
+
+    private void assertSameAsPredicate(Predicate predicate) {
+        CompactScanFilter filter = create(predicate);
+        assertNotNull(filter);
+        Data key = ss.toData(1);
+        int applicable = 0;
+        for (Data value : values) {
+            int result = filter.test(value);
+            if (result == NOT_APPLICABLE) {
+                continue;
+            }
+            applicable++;
+            boolean expected = predicate.apply(new LazyMapEntry(key, value, ss, extractors));
+            assertEquals("Mismatch for " + ss.toObject(value), expected ? MATCH : NO_MATCH, result);
+        }
+        assertNotEquals(0, applicable);
+    }
+
+    public static class AgeExtractor implements ValueExtractor<GenericRecord, Object> {
+        @Override
+        public void extract(GenericRecord target, Object argument, ValueCollector collector) {
+            collector.addObject(target.getInt32("age") + 1);
+        }
+    }
+}
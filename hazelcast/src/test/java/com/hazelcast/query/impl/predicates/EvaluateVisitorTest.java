@@ -38,8 +38,11 @@ import java.util.Set;
 
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
 import static com.hazelcast.query.Predicates.like;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.notEqual;
@@ -67,6 +70,10 @@ public class EvaluateVisitorTest {
         EVALUABLE_PREDICATES.add(EqualPredicate.class);
         EVALUABLE_PREDICATES.add(NotEqualPredicate.class);
         EVALUABLE_PREDICATES.add(InPredicate.class);
+
+        EVALUABLE_PREDICATES.add(GreaterLessPredicate.class);
+        EVALUABLE_PREDICATES.add(BetweenPredicate.class);
+        EVALUABLE_PREDICATES.add(BoundedRangePredicate.class);
     }
 
     private EvaluateVisitor visitor = new EvaluateVisitor();
@@ -129,6 +136,18 @@ public class EvaluateVisitorTest {
                     }
                 });
 
+        InternalIndex bitmapS = mock(InternalIndex.class);
+        when(bitmapS.getConverter()).thenReturn(TypeConverters.INTEGER_CONVERTER);
+        when(bitmapS.getName()).thenReturn("s_bitmap");
+        when(indexes.matchIndex(eq("s"), any(), eq(IndexMatchHint.PREFER_UNORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .then((Answer<InternalIndex>) invocation ->
+                        EVALUABLE_PREDICATES.contains(invocation.getArgument(1)) ? bitmapS : null);
+        InternalIndex sortedS = mock(InternalIndex.class);
+        when(sortedS.isOrdered()).thenReturn(true);
+        when(sortedS.getName()).thenReturn("s_sorted");
+        when(indexes.matchIndex(eq("s"), eq(IndexMatchHint.PREFER_ORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(sortedS);
+
         visitor = new EvaluateVisitor();
     }
 
@@ -157,6 +176,17 @@ public class EvaluateVisitorTest {
         assertNoOptimization(not(equal("r", 1)));
         assertNoOptimization(not(equal("nc", 1)));
         assertNoOptimization(notEqual("noIndex", 1));
+        assertNoOptimization(greaterThan("r", 1));
+        assertNoOptimization(greaterThan("nc", 1));
+        assertNoOptimization(between("nc", 1, 2));
+    }
+
+    @Test
+    public void testRangePredicates_whenSortedIndexPresent_thenNotEvaluatedByBitmap() {
+        assertNoOptimization(greaterThan("s", 1));
+        assertNoOptimization(between("s", 1, 2));
+        assertNoOptimization(lessEqual("s", 1));
+        assertOptimization(equal("s", 1), eval(equal("s", 1), "s_bitmap"));
     }
 
     @Test
@@ -190,6 +220,11 @@ public class EvaluateVisitorTest {
         assertOptimization(not(equal("a", 1)), eval(not(equal("a", 1)), "a"));
         assertOptimization(not(equal("ns", 1)), not(eval(equal("ns", 1), "ns")));
 
+        assertOptimization(greaterThan("a", 1), eval(greaterThan("a", 1), "a"));
+        assertOptimization(between("a", 1, 5), eval(between("a", 1, 5), "a"));
+        assertOptimization(and(greaterThan("a", 1), equal("a", 3)), eval(and(greaterThan("a", 1), equal("a", 3)), "a"));
+        assertOptimization(or(lessEqual("a", 1), equal("b", 3)), or(eval(lessEqual("a", 1), "a"), eval(equal("b", 3), "b")));
+
         assertOptimization(and(or(equal("a", 1), equal("b", 2)), equal("a", 3), equal("a", 4)),
                 and(or(eval(equal("a", 1), "a"), eval(equal("b", 2), "b")), eval(and(equal("a", 3), equal("a", 4)), "a")));
     }
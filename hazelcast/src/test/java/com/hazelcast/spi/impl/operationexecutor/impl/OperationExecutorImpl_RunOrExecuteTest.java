@@ -247,6 +247,118 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
         });
     }
 
+    // ===================== partition specific runnables ========================
+
+    @Test(expected = NullPointerException.class)
+    public void whenNullPartitionTask() {
+        initExecutor();
+
+        executor.runOrExecutePartitionTask(null);
+    }
+
+    @Test
+    public void whenPartitionTask_andCallingFromUserThread() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        PartitionSpecificRunnable task = new ThreadCapturingPartitionTask(executingThread, 0);
+
+        executor.runOrExecutePartitionTask(task);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertInstanceOf(PartitionOperationThread.class, executingThread.get());
+            }
+        });
+    }
+
+    @Test
+    public void whenPartitionTask_andCallingFromIdlePartitionThread_andCorrectPartition_thenRunInline() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        final AtomicReference<Thread> callingThread = new AtomicReference<Thread>();
+        final int partitionId = 0;
+
+        // a plain runnable doesn't occupy an operation runner; just like a TPC reactor reading a request
+        executor.executeOnPartitionThreads(new Runnable() {
+            @Override
+            public void run() {
+                PartitionOperationThread thread = (PartitionOperationThread) Thread.currentThread();
+                if (executor.toPartitionThreadIndex(partitionId) != thread.threadId) {
+                    return;
+                }
+                executor.runOrExecutePartitionTask(new ThreadCapturingPartitionTask(executingThread, partitionId));
+                // since the task ran inline, the result is available immediately
+                callingThread.set(executingThread.get() == thread ? thread : null);
+            }
+        });
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertInstanceOf(PartitionOperationThread.class, callingThread.get());
+                assertSame(callingThread.get(), executingThread.get());
+            }
+        });
+    }
+
+    @Test
+    public void whenPartitionTask_andCallingFromIdlePartitionThread_andWrongPartition() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        final AtomicReference<Thread> callingThread = new AtomicReference<Thread>();
+        final int partitionId = 0;
+
+        executor.executeOnPartitionThreads(new Runnable() {
+            @Override
+            public void run() {
+                PartitionOperationThread thread = (PartitionOperationThread) Thread.currentThread();
+                if (executor.toPartitionThreadIndex(partitionId) == thread.threadId
+                        || !callingThread.compareAndSet(null, thread)) {
+                    return;
+                }
+                executor.runOrExecutePartitionTask(new ThreadCapturingPartitionTask(executingThread, partitionId));
+            }
+        });
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertInstanceOf(PartitionOperationThread.class, executingThread.get());
+                assertNotSame(callingThread.get(), executingThread.get());
+            }
+        });
+    }
+
+    @Test
+    public void whenPartitionTask_andCallingFromPartitionTaskOfSamePartition_thenNotNested() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        final AtomicReference<Boolean> ranInline = new AtomicReference<Boolean>();
+        final PartitionSpecificCallable<Thread> task = new PartitionSpecificCallable<Thread>(0) {
+            @Override
+            public Thread call() {
+                executor.runOrExecutePartitionTask(new ThreadCapturingPartitionTask(executingThread, 0));
+                ranInline.set(executingThread.get() != null);
+                return Thread.currentThread();
+            }
+        };
+
+        executor.execute(task);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertSame(Boolean.FALSE, ranInline.get());
+                assertSame(task.getResult(), executingThread.get());
+            }
+        });
+    }
+
     private static class ThreadCapturingOperation extends Operation {
 
         private final AtomicReference<Thread> executingThread;
@@ -260,4 +372,25 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
             executingThread.set(Thread.currentThread());
         }
     }
+
+    private static class ThreadCapturingPartitionTask implements PartitionSpecificRunnable {
+
+        private final AtomicReference<Thread> executingThread;
+        private final int partitionId;
+
+        ThreadCapturingPartitionTask(AtomicReference<Thread> executingThread, int partitionId) {
+            this.executingThread = executingThread;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            executingThread.set(Thread.currentThread());
+        }
+    }
 }